@@ -0,0 +1,71 @@
+package com.iona.ionaapi.application.service;
+
+import com.iona.ionaapi.domain.InsuranceCertificateDto;
+import com.iona.ionaapi.domain.entities.Attestation;
+import com.iona.ionaapi.domain.entities.AiStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Analysis job of one uploaded attestation
+ * The attestation is only mutated by the worker thread; readers see the volatile snapshot fields
+ */
+public class AnalysisJob {
+
+    private final UUID jobId;
+    private final String tenantId;
+    private final Attestation attestation;
+    private final Instant submittedAt;
+
+    private volatile AiStatus status;
+    private volatile int progressPercent;
+    private volatile InsuranceCertificateDto result;
+    private volatile Integer riskScore;
+    private volatile String error;
+    private volatile Instant completedAt;
+
+    public AnalysisJob(UUID jobId, String tenantId, Attestation attestation) {
+        this.jobId = jobId;
+        this.tenantId = tenantId;
+        this.attestation = attestation;
+        this.submittedAt = Instant.now();
+        refresh();
+    }
+
+    /**
+     * Copies the attestation state into the snapshot read by pollers
+     */
+    void refresh() {
+        this.status = attestation.getAiStatus();
+        this.progressPercent = attestation.getAiProgressPercent();
+    }
+
+    void complete(InsuranceCertificateDto result, Integer riskScore) {
+        this.result = result;
+        this.riskScore = riskScore;
+        this.completedAt = Instant.now();
+        refresh();
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.completedAt = Instant.now();
+        refresh();
+    }
+
+    public boolean isFinished() {
+        return completedAt != null;
+    }
+
+    public UUID getJobId() { return jobId; }
+    public String getTenantId() { return tenantId; }
+    public Attestation getAttestation() { return attestation; }
+    public Instant getSubmittedAt() { return submittedAt; }
+    public AiStatus getStatus() { return status; }
+    public int getProgressPercent() { return progressPercent; }
+    public InsuranceCertificateDto getResult() { return result; }
+    public Integer getRiskScore() { return riskScore; }
+    public String getError() { return error; }
+    public Instant getCompletedAt() { return completedAt; }
+}
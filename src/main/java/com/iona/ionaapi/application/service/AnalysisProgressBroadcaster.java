@@ -0,0 +1,327 @@
+package com.iona.ionaapi.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes analysis progress to the Server-Sent Events subscribers of each tenant
+ * Events are buffered and flushed periodically: successive progress updates of one subject
+ * collapse into the latest, while each status transition is still delivered once.
+ * The flush only hands events to each subscriber's outbox; writes to the connections run on a
+ * dedicated executor, one task per subscriber at a time, and a subscriber whose outbox keeps
+ * growing is disconnected so a slow client never delays the others
+ */
+@Component
+public class AnalysisProgressBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisProgressBroadcaster.class);
+
+    public static final String EVENT_NAME = "analysis-progress";
+
+    private final long emitterTimeoutMs;
+    private final int maxSubscribersPerTenant;
+    private final int maxPendingPerSubscriber;
+    private final Executor sendExecutor;
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    private final Counter published;
+    private final Counter coalesced;
+    private final Counter sent;
+    private final Counter dropped;
+
+    public AnalysisProgressBroadcaster(@Value("${iona.analysis.progress.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                       @Value("${iona.analysis.progress.max-subscribers-per-tenant:100}") int maxSubscribersPerTenant,
+                                       @Value("${iona.analysis.progress.max-pending-per-subscriber:500}") int maxPendingPerSubscriber,
+                                       @Qualifier("progressSendExecutor") Executor sendExecutor,
+                                       ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxSubscribersPerTenant = maxSubscribersPerTenant;
+        this.maxPendingPerSubscriber = maxPendingPerSubscriber;
+        this.sendExecutor = sendExecutor;
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            Gauge.builder("iona.analysis.progress.subscribers", this, AnalysisProgressBroadcaster::subscriberCount)
+                    .description("Open analysis progress SSE connections")
+                    .register(meterRegistry);
+            this.published = Counter.builder("iona.analysis.progress.events").tag("result", "published")
+                    .description("Analysis progress events published")
+                    .register(meterRegistry);
+            this.coalesced = Counter.builder("iona.analysis.progress.events").tag("result", "coalesced")
+                    .description("Analysis progress events replaced by a newer one before delivery")
+                    .register(meterRegistry);
+            this.sent = Counter.builder("iona.analysis.progress.events").tag("result", "sent")
+                    .description("Analysis progress events delivered to subscribers")
+                    .register(meterRegistry);
+            this.dropped = Counter.builder("iona.analysis.progress.dropped")
+                    .description("Progress subscribers disconnected for not keeping up")
+                    .register(meterRegistry);
+        } else {
+            this.published = null;
+            this.coalesced = null;
+            this.sent = null;
+            this.dropped = null;
+        }
+    }
+
+    /**
+     * Opens an SSE stream of the analysis progress of a tenant
+     *
+     * @throws IllegalStateException if the tenant already has too many open streams
+     */
+    public SseEmitter subscribe(String tenant) {
+        return subscribe(tenant, new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter subscribe(String tenant, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        // Added under the map's per-key lock so the idle channel cleanup cannot drop it
+        Channel channel = channels.compute(tenant, (t, existing) -> {
+            Channel c = existing != null ? existing : new Channel();
+            if (c.subscribers.size() >= maxSubscribersPerTenant) {
+                throw new IllegalStateException("Too many progress subscribers for tenant " + tenant);
+            }
+            c.subscribers.add(subscriber);
+            return c;
+        });
+        emitter.onCompletion(() -> channel.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> channel.subscribers.remove(subscriber));
+        emitter.onError(e -> channel.subscribers.remove(subscriber));
+
+        logger.debug("Progress subscriber added for tenant {} ({} open)", tenant, channel.subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Queues an event for the subscribers of a tenant
+     * Inside a transaction, the event is only queued once the transaction commits
+     */
+    public void publish(String tenant, AnalysisProgressEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(tenant, event);
+                }
+            });
+        } else {
+            enqueue(tenant, event);
+        }
+    }
+
+    /**
+     * Hands the buffered events of every tenant to the outbox of each subscriber
+     */
+    @Scheduled(fixedDelayString = "${iona.analysis.progress.flush-interval-ms:250}")
+    public void flush() {
+        channels.forEach((tenant, channel) -> {
+            List<AnalysisProgressEvent> events = channel.drain();
+            if (events.isEmpty() || channel.subscribers.isEmpty()) {
+                return;
+            }
+            List<Message> messages = new ArrayList<>(events.size());
+            for (AnalysisProgressEvent event : events) {
+                messages.add(new Message(SseEmitter.event().name(EVENT_NAME).id(event.key()).data(event), true));
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                offer(tenant, channel, subscriber, messages);
+            }
+        });
+    }
+
+    /**
+     * Keeps idle connections open through proxies
+     */
+    @Scheduled(fixedDelayString = "${iona.analysis.progress.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        channels.forEach((tenant, channel) -> {
+            for (Subscriber subscriber : channel.subscribers) {
+                // A subscriber with pending events does not need a keep-alive
+                if (subscriber.pending.get() == 0) {
+                    offer(tenant, channel, subscriber, List.of(new Message(SseEmitter.event().comment("keep-alive"), false)));
+                }
+            }
+        });
+        // Drop channels left without subscriber nor pending event
+        channels.keySet().forEach(tenant -> channels.computeIfPresent(tenant, (t, c) -> c.isIdle() ? null : c));
+    }
+
+    public int subscriberCount() {
+        return channels.values().stream().mapToInt(channel -> channel.subscribers.size()).sum();
+    }
+
+    private void enqueue(String tenant, AnalysisProgressEvent event) {
+        increment(published, 1);
+        Channel channel = channels.get(tenant);
+        if (channel == null || channel.subscribers.isEmpty()) {
+            // Nobody listening: nothing to buffer
+            return;
+        }
+        if (channel.add(event)) {
+            increment(coalesced, 1);
+        }
+    }
+
+    /**
+     * Queues messages for a subscriber and makes sure a send task is running for it
+     * A subscriber whose outbox would exceed the limit is disconnected instead
+     */
+    private void offer(String tenant, Channel channel, Subscriber subscriber, List<Message> messages) {
+        if (subscriber.pending.get() + messages.size() > maxPendingPerSubscriber) {
+            channel.subscribers.remove(subscriber);
+            increment(dropped, 1);
+            logger.warn("Progress subscriber of tenant {} dropped: {} events not yet delivered",
+                    tenant, subscriber.pending.get());
+            subscriber.emitter.completeWithError(new IllegalStateException("Progress subscriber too slow"));
+            return;
+        }
+        subscriber.outbox.addAll(messages);
+        subscriber.pending.addAndGet(messages.size());
+        schedule(channel, subscriber);
+    }
+
+    private void schedule(Channel channel, Subscriber subscriber) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> deliver(channel, subscriber));
+        } catch (RejectedExecutionException e) {
+            // Retried on the next flush or heartbeat
+            subscriber.sending.set(false);
+        }
+    }
+
+    /**
+     * Writes the outbox of one subscriber to its connection (send executor thread)
+     */
+    private void deliver(Channel channel, Subscriber subscriber) {
+        try {
+            Message message;
+            while ((message = subscriber.outbox.poll()) != null) {
+                subscriber.pending.decrementAndGet();
+                subscriber.emitter.send(message.event());
+                if (message.counted()) {
+                    increment(sent, 1);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Connection closed by the client
+            channel.subscribers.remove(subscriber);
+            subscriber.outbox.clear();
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // Messages queued while the last send was finishing
+        if (!subscriber.outbox.isEmpty() && channel.subscribers.contains(subscriber)) {
+            schedule(channel, subscriber);
+        }
+    }
+
+    private static void increment(Counter counter, int amount) {
+        if (counter != null) {
+            counter.increment(amount);
+        }
+    }
+
+    private record Message(SseEmitter.SseEventBuilder event, boolean counted) {
+    }
+
+    /**
+     * SSE connection and the messages waiting to be written to it
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Message> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    /**
+     * Subscribers and pending events of one tenant
+     */
+    private static final class Channel {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Map<String, Deque<AnalysisProgressEvent>> pending = new LinkedHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * @return true if the event replaced a pending one
+         */
+        private boolean add(AnalysisProgressEvent event) {
+            lock.lock();
+            try {
+                Deque<AnalysisProgressEvent> queue = pending.computeIfAbsent(event.key(), k -> new ArrayDeque<>(2));
+                AnalysisProgressEvent last = queue.peekLast();
+                if (last != null && last.status().equals(event.status())) {
+                    queue.pollLast();
+                    queue.addLast(event);
+                    return true;
+                }
+                queue.addLast(event);
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private List<AnalysisProgressEvent> drain() {
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return List.of();
+                }
+                List<AnalysisProgressEvent> events = new ArrayList<>();
+                pending.values().forEach(events::addAll);
+                pending.clear();
+                return events;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isIdle() {
+            lock.lock();
+            try {
+                return subscribers.isEmpty() && pending.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.iona.ionaapi.application.service;
+
+import java.time.Instant;
+
+/**
+ * Progress or status change of an attestation or project analysis, pushed to SSE subscribers
+ *
+ * @param subject   "attestation" or "project"
+ * @param id        identifier of the analysed subject (analysis job id or project id)
+ * @param status    analysis status code, shared by both subjects: AiStatus or AIAnalysisStatus code
+ *                  (pending, analyzing, compliant, non-compliant, partial, error)
+ * @param progressPercent progression between 0 and 100
+ */
+public record AnalysisProgressEvent(String subject, String id, String status, int progressPercent, Instant at) {
+
+    public static final String ATTESTATION = "attestation";
+    public static final String PROJECT = "project";
+
+    public AnalysisProgressEvent(String subject, String id, String status, int progressPercent) {
+        this(subject, id, status, progressPercent, Instant.now());
+    }
+
+    String key() {
+        return subject + ':' + id;
+    }
+}
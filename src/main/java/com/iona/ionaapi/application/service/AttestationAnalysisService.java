@@ -0,0 +1,317 @@
+package com.iona.ionaapi.application.service;
+
+import com.iona.ionaapi.domain.InsuranceCertificateDto;
+import com.iona.ionaapi.domain.entities.AIAnalysisReport;
+import com.iona.ionaapi.domain.entities.Attestation;
+import com.iona.ionaapi.domain.entities.AttestationType;
+import com.iona.ionaapi.infrastructure.dto.AnalysisJobResponse;
+import com.iona.ionaapi.infrastructure.migration.TenantMigrationService;
+import com.iona.ionaapi.infrastructure.tenant.TenantAwareExecutor;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantResolver;
+import com.iona.ionaapi.service.MistralAiService;
+import com.iona.ionaapi.service.PdfExtractorService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous attestation analysis pipeline
+ * Uploads return a job at once; a bounded worker pool extracts the PDF text, calls the LLM
+ * and builds the analysis report while the attestation moves through its analysis lifecycle
+ * Job snapshots live in memory for polling and progress; the attestation row stays the source of truth
+ */
+@Service
+public class AttestationAnalysisService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttestationAnalysisService.class);
+
+    /**
+     * Attestation details sit on the first pages of the document
+     */
+    private static final int ANALYZED_PAGES = 2;
+
+    private final PdfExtractorService pdfExtractorService;
+    private final MistralAiService mistralAiService;
+    private final AttestationReportMapper reportMapper;
+    private final AttestationService attestationService;
+    private final AnalysisProgressBroadcaster progressBroadcaster;
+    private final TenantAwareExecutor executor;
+    private final TenantMigrationService tenantMigrationService;
+    private final MeterRegistry meterRegistry;
+    private final Duration retention;
+    private final Duration stalledAfter;
+
+    private final Map<UUID, AnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlightByTenant = new ConcurrentHashMap<>();
+
+    public AttestationAnalysisService(PdfExtractorService pdfExtractorService,
+                                      MistralAiService mistralAiService,
+                                      AttestationReportMapper reportMapper,
+                                      AttestationService attestationService,
+                                      AnalysisProgressBroadcaster progressBroadcaster,
+                                      @Qualifier("analysisExecutor") TenantAwareExecutor executor,
+                                      @Qualifier("analysisWorkerExecutor") ThreadPoolTaskExecutor workers,
+                                      TenantMigrationService tenantMigrationService,
+                                      ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                      @Value("${iona.analysis.job-retention-minutes:60}") long retentionMinutes,
+                                      @Value("${iona.analysis.stalled-after-minutes:15}") long stalledAfterMinutes) {
+        this.pdfExtractorService = pdfExtractorService;
+        this.mistralAiService = mistralAiService;
+        this.reportMapper = reportMapper;
+        this.attestationService = attestationService;
+        this.progressBroadcaster = progressBroadcaster;
+        this.executor = executor;
+        this.tenantMigrationService = tenantMigrationService;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable();
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.stalledAfter = Duration.ofMinutes(stalledAfterMinutes);
+
+        if (meterRegistry != null) {
+            Gauge.builder("iona.analysis.queue.depth", workers, e -> e.getThreadPoolExecutor().getQueue().size())
+                    .description("Attestation analyses waiting for a worker")
+                    .register(meterRegistry);
+            Gauge.builder("iona.analysis.active", workers, ThreadPoolTaskExecutor::getActiveCount)
+                    .description("Attestation analyses currently running")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Queues the analysis of an uploaded attestation for the current tenant
+     *
+     * @throws IllegalStateException if the analysis queue or the tenant's share of it is full;
+     *                               nothing is kept and the upload must be retried
+     */
+    public AnalysisJob submit(MultipartFile file, UUID intervenantId, AttestationType type, String uploadedBy) throws IOException {
+        String tenant = TenantContext.getTenantOrDefault();
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "attestation.pdf";
+
+        // The multipart upload is deleted when the request ends: keep a private copy for the worker
+        Path document = Files.createTempFile("iona-analysis-", ".pdf");
+        AnalysisJob job;
+        try {
+            file.transferTo(document);
+            Attestation attestation = attestationService.register(new Attestation(fileName, intervenantId, type,
+                    file.getSize(), uploadedBy, "uploads/" + tenant + "/" + UUID.randomUUID() + "/" + fileName, tenant));
+            // The job is identified by the persisted attestation id
+            job = new AnalysisJob(attestation.getId(), tenant, attestation);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(document);
+            throw e;
+        }
+
+        UUID jobId = job.getJobId();
+        jobs.put(jobId, job);
+        inFlight(tenant).incrementAndGet();
+        try {
+            executor.execute(() -> process(job, document));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            inFlight(tenant).decrementAndGet();
+            Files.deleteIfExists(document);
+            // The document is gone with the temporary file: drop the attestation, the client uploads again
+            attestationService.discard(jobId);
+            throw new IllegalStateException("Analysis queue is full, retry later");
+        }
+
+        publishProgress(job);
+        logger.info("Analysis job {} queued for '{}' (tenant: {})", jobId, fileName, tenant);
+        return job;
+    }
+
+    /**
+     * Returns a job of the current tenant
+     */
+    public Optional<AnalysisJob> getJob(UUID jobId) {
+        String tenant = TenantContext.getTenantOrDefault();
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getTenantId().equals(tenant));
+    }
+
+    /**
+     * Status of an analysis of the current tenant: the live job while it is retained,
+     * then the persisted attestation (after the retention period, a restart, or on another node)
+     */
+    public Optional<AnalysisJobResponse> getStatus(UUID jobId) {
+        Optional<AnalysisJob> job = getJob(jobId);
+        if (job.isPresent()) {
+            return job.map(AnalysisJobResponse::from);
+        }
+        return attestationService.getAnalysisStatus(jobId);
+    }
+
+    /**
+     * Fails the analyses left pending or running by a stopped node, in every tenant
+     * Their document only lived in that node's temporary file, so they cannot be requeued;
+     * analyses still running here, or updated recently (possibly on another node), are left alone
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${iona.analysis.stalled-check-interval-ms:300000}",
+            initialDelayString = "${iona.analysis.stalled-check-interval-ms:300000}")
+    public void recoverStalledAnalyses() {
+        Instant before = Instant.now().minus(stalledAfter);
+        Set<UUID> active = Set.copyOf(jobs.keySet());
+        for (String schema : tenantMigrationService.listTenantSchemas()) {
+            String tenant = schema.substring(TenantResolver.SCHEMA_PREFIX.length());
+            try {
+                int failed = TenantContext.callWithTenant(tenant,
+                        () -> attestationService.failStalledAnalyses(before, active));
+                if (failed > 0) {
+                    logger.warn("{} stalled analyses marked as failed (tenant: {})", failed, tenant);
+                }
+            } catch (Exception e) {
+                logger.warn("Stalled analysis check failed for tenant {}: {}", tenant, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops finished jobs once their retention period is over
+     */
+    @Scheduled(fixedDelayString = "${iona.analysis.cleanup-interval-ms:60000}")
+    public void purgeFinishedJobs() {
+        Instant threshold = Instant.now().minus(retention);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt().isBefore(threshold));
+        int purged = before - jobs.size();
+        if (purged > 0) {
+            logger.debug("{} finished analysis jobs purged", purged);
+        }
+    }
+
+    private void process(AnalysisJob job, Path document) {
+        Attestation attestation = job.getAttestation();
+        long start = System.nanoTime();
+        String outcome = "error";
+
+        try {
+            attestation.startAnalysis();
+            advance(job);
+
+            String content = timed("extract",
+                    () -> pdfExtractorService.extractText(new FileSystemResource(document), 1, ANALYZED_PAGES));
+            attestation.updateAnalysisProgress(30);
+            advance(job);
+
+            InsuranceCertificateDto certificate = timed("llm",
+                    () -> mistralAiService.getInsuranceCertificateFromLLm(content, ""));
+            if (certificate == null) {
+                throw new IllegalStateException("The model answer could not be parsed");
+            }
+            attestation.updateAnalysisProgress(80);
+            advance(job);
+
+            int processingTimeMs = (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            AIAnalysisReport report = timed("report", () -> reportMapper.toReport(job.getJobId(), certificate,
+                    processingTimeMs, MistralAiService.PROMPT_VERSION, job.getTenantId()));
+            timed("persist", () -> attestationService.completeAnalysis(job.getJobId(), report));
+            attestation.completeAnalysis(report);
+            job.complete(certificate, report.calculateRiskScore());
+            publishProgress(job);
+            outcome = attestation.getAiStatus().getCode();
+
+            logger.info("Analysis job {} completed: {} in {} ms", job.getJobId(), attestation.getAiStatus(), processingTimeMs);
+        } catch (Exception e) {
+            attestation.markAnalysisAsFailed(e.getMessage());
+            job.fail(e.getMessage());
+            try {
+                attestationService.markAnalysisAsFailed(job.getJobId(), e.getMessage());
+            } catch (RuntimeException persistError) {
+                logger.error("Unable to record failure of analysis job {}", job.getJobId(), persistError);
+            }
+            publishProgress(job);
+            logger.error("Analysis job {} failed (tenant: {})", job.getJobId(), job.getTenantId(), e);
+        } finally {
+            inFlight(job.getTenantId()).decrementAndGet();
+            try {
+                Files.deleteIfExists(document);
+            } catch (IOException e) {
+                logger.warn("Unable to delete analysed document {}: {}", document, e.getMessage());
+            }
+            if (meterRegistry != null) {
+                Timer.builder("iona.analysis.duration")
+                        .description("End-to-end attestation analysis time")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Publishes a lifecycle step of the in-memory attestation: snapshot, database and subscribers
+     */
+    private void advance(AnalysisJob job) {
+        job.refresh();
+        attestationService.recordAnalysisState(job.getJobId(), job.getStatus(), job.getProgressPercent());
+        publishProgress(job);
+    }
+
+    private void publishProgress(AnalysisJob job) {
+        progressBroadcaster.publish(job.getTenantId(), new AnalysisProgressEvent(AnalysisProgressEvent.ATTESTATION,
+                job.getJobId().toString(), job.getStatus().getCode(), job.getProgressPercent()));
+    }
+
+    private <T> T timed(String stage, Stage<T> action) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return action.run();
+        } finally {
+            if (meterRegistry != null) {
+                Timer.builder("iona.analysis.stage")
+                        .description("Time spent in each attestation analysis stage")
+                        .tag("stage", stage)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * In-flight analyses of a tenant, exported as a gauge on first use
+     */
+    private AtomicInteger inFlight(String tenant) {
+        return inFlightByTenant.computeIfAbsent(tenant, t -> {
+            AtomicInteger counter = new AtomicInteger();
+            if (meterRegistry != null) {
+                Gauge.builder("iona.analysis.inflight", counter, AtomicInteger::get)
+                        .description("Attestation analyses queued or running per tenant")
+                        .tag("tenant", t)
+                        .register(meterRegistry);
+            }
+            return counter;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Stage<T> {
+        T run() throws Exception;
+    }
+}
@@ -0,0 +1,219 @@
+package com.iona.ionaapi.application.service;
+
+import com.iona.ionaapi.domain.CoverageAmountDto;
+import com.iona.ionaapi.domain.CoveredActivityDto;
+import com.iona.ionaapi.domain.InsuranceCertificateDto;
+import com.iona.ionaapi.domain.entities.AIAnalysisReport;
+import com.iona.ionaapi.domain.entities.AiAlert;
+import com.iona.ionaapi.domain.entities.AiStatus;
+import com.iona.ionaapi.domain.entities.AlertCategory;
+import com.iona.ionaapi.domain.entities.Coverage;
+import com.iona.ionaapi.domain.entities.ExtractedData;
+import com.iona.ionaapi.domain.entities.Severity;
+import com.iona.ionaapi.domain.valueobjects.ValidityPeriod;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maps the certificate extracted by the LLM to the persistent analysis report graph
+ */
+@Component
+public class AttestationReportMapper {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String NOT_SPECIFIED = "Non précisé";
+    private static final int EXPIRY_WARNING_DAYS = 60;
+
+    /**
+     * Builds the analysis report of an attestation
+     *
+     * @throws IllegalArgumentException if the certificate lacks the dates, policy number or amounts a report requires
+     */
+    public AIAnalysisReport toReport(UUID attestationId, InsuranceCertificateDto certificate,
+                                     int processingTimeMs, String version, String tenantId) {
+        LocalDate startDate = parseDate(certificate.getStartDate(), "startDate");
+        LocalDate endDate = parseDate(certificate.getEndDate(), "endDate");
+        String policyNumber = required(certificate.getPolicyNumber(), "policyNumber");
+        String insurerName = required(certificate.getInsurerName(), "insurerName");
+
+        ExtractedData extractedData = new ExtractedData(
+                certificate.isDecennialCertificate() ? "DECENNALE" : "AUTRE",
+                insurerName, startDate, endDate, policyNumber,
+                maxAmount(certificate.getCoverageAmounts()), false, tenantId);
+
+        ValidityPeriod validityPeriod = new ValidityPeriod(startDate, endDate);
+        for (CoverageAmountDto coverageAmount : certificate.getCoverageAmounts()) {
+            BigDecimal amount = parseAmount(coverageAmount.getAmount());
+            if (amount != null && coverageAmount.getGuaranteeType() != null) {
+                extractedData.addCoverage(new Coverage(coverageAmount.getGuaranteeType(), coverageAmount.getAmount(),
+                        amount, true, validityPeriod, tenantId));
+            }
+        }
+        for (CoveredActivityDto activity : certificate.getCoveredActivities()) {
+            if (isSpecified(activity.getActivity())) {
+                extractedData.addCoveredActivity(activity.getActivity());
+            }
+        }
+        for (String limitation : certificate.getLimitations()) {
+            if (isSpecified(limitation)) {
+                extractedData.addExclusion(limitation);
+            }
+        }
+
+        List<AiAlert> alerts = buildAlerts(certificate, extractedData, tenantId);
+        boolean compliant = certificate.isDecennialCertificate() && certificate.isLegallyCompliant()
+                && !extractedData.isExpired();
+
+        AIAnalysisReport report = new AIAnalysisReport(attestationId,
+                compliant ? AiStatus.COMPLIANT : AiStatus.NON_COMPLIANT,
+                100, extractedData, processingTimeMs, confidence(certificate), version, tenantId);
+        alerts.forEach(report::addAlert);
+        report.setGlobalScore(Math.max(0, 100 - report.calculateRiskScore()));
+        return report;
+    }
+
+    private List<AiAlert> buildAlerts(InsuranceCertificateDto certificate, ExtractedData extractedData, String tenantId) {
+        List<AiAlert> alerts = new ArrayList<>();
+        if (!certificate.isDecennialCertificate()) {
+            alerts.add(new AiAlert(Severity.CRITICAL, AlertCategory.COMPLIANCE, "Not a decennial certificate",
+                    "The document was not recognised as a decennial insurance certificate", List.of(), tenantId));
+        }
+        if (!certificate.isLegallyCompliant()) {
+            alerts.add(new AiAlert(Severity.CRITICAL, AlertCategory.COMPLIANCE, "Legal requirements not met",
+                    certificate.getLegalComplianceDetails(), List.of(), tenantId));
+        }
+        if (extractedData.isExpired()) {
+            alerts.add(new AiAlert(Severity.CRITICAL, AlertCategory.EXPIRY, "Certificate expired",
+                    "Expired on " + extractedData.getExpiryDate(), List.of(), tenantId));
+        } else if (extractedData.getExpiryDate().isBefore(LocalDate.now().plusDays(EXPIRY_WARNING_DAYS))) {
+            alerts.add(new AiAlert(Severity.WARNING, AlertCategory.EXPIRY, "Certificate expiring soon",
+                    "Expires on " + extractedData.getExpiryDate(), List.of(), tenantId));
+        }
+        if (!extractedData.getExclusions().isEmpty()) {
+            alerts.add(new AiAlert(Severity.INFO, AlertCategory.EXCLUSION, "Coverage exclusions",
+                    null, extractedData.getExclusions(), tenantId));
+        }
+        return alerts;
+    }
+
+    /**
+     * Share of the key fields the model actually found
+     */
+    private static int confidence(InsuranceCertificateDto certificate) {
+        String[] keyFields = {certificate.getCompanyName(), certificate.getSiretNumber(), certificate.getInsurerName(),
+                certificate.getInsurerAddress(), certificate.getPolicyNumber()};
+        int found = 0;
+        for (String field : keyFields) {
+            if (isSpecified(field)) {
+                found++;
+            }
+        }
+        return found * 100 / keyFields.length;
+    }
+
+    private static BigDecimal maxAmount(List<CoverageAmountDto> coverageAmounts) {
+        BigDecimal max = null;
+        for (CoverageAmountDto coverageAmount : coverageAmounts) {
+            BigDecimal amount = parseAmount(coverageAmount.getAmount());
+            if (amount != null && (max == null || amount.compareTo(max) > 0)) {
+                max = amount;
+            }
+        }
+        if (max == null) {
+            throw new IllegalArgumentException("No coverage amount found in certificate");
+        }
+        return max;
+    }
+
+    /**
+     * Parses amounts such as "10 000 000 € par sinistre", "1.500.000,50 €" or "1,500,000.00"
+     * When both '.' and ',' appear, the last one is the decimal separator; a single separator
+     * followed by exactly three digits is a thousands separator ("1.500" or "1,500" is 1500)
+     */
+    static BigDecimal parseAmount(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder number = new StringBuilder();
+        boolean started = false;
+        for (char c : text.toCharArray()) {
+            if (Character.isDigit(c)) {
+                number.append(c);
+                started = true;
+            } else if (started && (c == '.' || c == ',')) {
+                number.append(c);
+            } else if (started && !Character.isWhitespace(c) && c != '\u00A0' && c != '\u202F') {
+                break;
+            }
+        }
+        // Trailing punctuation ("10 000 000." at the end of a sentence) is not a separator
+        while (!number.isEmpty() && !Character.isDigit(number.charAt(number.length() - 1))) {
+            number.setLength(number.length() - 1);
+        }
+        if (number.isEmpty()) {
+            return null;
+        }
+
+        int decimalAt = decimalSeparatorIndex(number);
+        StringBuilder digits = new StringBuilder(number.length());
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (i == decimalAt) {
+                digits.append('.');
+            } else if (Character.isDigit(c)) {
+                digits.append(c);
+            }
+        }
+        try {
+            BigDecimal amount = new BigDecimal(digits.toString());
+            return amount.signum() > 0 ? amount : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Position of the decimal separator in a number made of digits, '.' and ',', or -1 if it has none
+     */
+    private static int decimalSeparatorIndex(CharSequence number) {
+        String value = number.toString();
+        int lastDot = value.lastIndexOf('.');
+        int lastComma = value.lastIndexOf(',');
+        if (lastDot >= 0 && lastComma >= 0) {
+            return Math.max(lastDot, lastComma);
+        }
+        int last = Math.max(lastDot, lastComma);
+        if (last < 0) {
+            return -1;
+        }
+        boolean repeated = value.indexOf(value.charAt(last)) != last;
+        int fractionDigits = value.length() - last - 1;
+        return repeated || fractionDigits == 3 ? -1 : last;
+    }
+
+    private static LocalDate parseDate(String value, String field) {
+        try {
+            return LocalDate.parse(required(value, field).strip(), DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + " in certificate: " + value);
+        }
+    }
+
+    private static String required(String value, String field) {
+        if (!isSpecified(value)) {
+            throw new IllegalArgumentException("Missing " + field + " in certificate");
+        }
+        return value;
+    }
+
+    private static boolean isSpecified(String value) {
+        return value != null && !value.isBlank() && !NOT_SPECIFIED.equalsIgnoreCase(value.strip());
+    }
+}
@@ -0,0 +1,206 @@
+package com.iona.ionaapi.application.service;
+
+import com.iona.ionaapi.domain.entities.AIAnalysisReport;
+import com.iona.ionaapi.domain.entities.AiStatus;
+import com.iona.ionaapi.domain.entities.Attestation;
+import com.iona.ionaapi.application.service.dto.AttestationStats;
+import com.iona.ionaapi.infrastructure.counter.CountedEntity;
+import com.iona.ionaapi.infrastructure.counter.EntityCounterService;
+import com.iona.ionaapi.infrastructure.dto.AnalysisJobResponse;
+import com.iona.ionaapi.infrastructure.dto.AnalysisReportResponse;
+import com.iona.ionaapi.infrastructure.dto.AttestationSummary;
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.repository.AIAnalysisReportRepository;
+import com.iona.ionaapi.infrastructure.repository.AttestationRepository;
+import com.iona.ionaapi.infrastructure.repository.KeysetCursor;
+import com.iona.ionaapi.infrastructure.repository.ReportFetchProfile;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Business service for attestation persistence
+ * All operations are performed in the current tenant context
+ */
+@Service
+@Transactional
+public class AttestationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttestationService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final AttestationRepository attestationRepository;
+    private final AIAnalysisReportRepository reportRepository;
+    private final EntityCounterService counterService;
+
+    public AttestationService(AttestationRepository attestationRepository,
+                              AIAnalysisReportRepository reportRepository,
+                              EntityCounterService counterService) {
+        this.attestationRepository = attestationRepository;
+        this.reportRepository = reportRepository;
+        this.counterService = counterService;
+    }
+
+    /**
+     * Persists a newly uploaded attestation
+     */
+    public Attestation register(Attestation attestation) {
+        Attestation saved = attestationRepository.save(attestation);
+        logger.info("Attestation {} registered for tenant: {}", saved.getId(), TenantContext.getTenantOrDefault());
+        return saved;
+    }
+
+    /**
+     * Records the analysis status and progress with a single update statement
+     * The bulk update bypasses the entity listeners, so a status change is reported to the counters here
+     */
+    public void recordAnalysisState(UUID id, AiStatus status, int progressPercent) {
+        AiStatus previous = attestationRepository.findAiStatusById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Attestation not found: " + id));
+        if (attestationRepository.updateAnalysisState(id, status, progressPercent, Instant.now()) == 0) {
+            throw new IllegalArgumentException("Attestation not found: " + id);
+        }
+        counterService.recordTransition(CountedEntity.ATTESTATION, "aiStatus", previous, status);
+    }
+
+    /**
+     * Attaches the analysis report; the whole report graph is written by the cascade in this transaction
+     */
+    public Attestation completeAnalysis(UUID id, AIAnalysisReport report) {
+        Attestation attestation = findOrThrow(id);
+        attestation.completeAnalysis(report);
+        Attestation saved = attestationRepository.save(attestation);
+        logger.info("Analysis report saved for attestation {} ({}) for tenant: {}",
+                id, saved.getAiStatus(), TenantContext.getTenantOrDefault());
+        return saved;
+    }
+
+    /**
+     * Removes an attestation whose analysis could not be queued, so a rejected upload leaves nothing behind
+     */
+    public void discard(UUID id) {
+        attestationRepository.deleteById(id);
+        logger.info("Attestation {} discarded for tenant: {}", id, TenantContext.getTenantOrDefault());
+    }
+
+    /**
+     * Analysis status of a persisted attestation, with the risk score once its report is saved
+     * Serves pollers once the in-memory job is gone (retention over, restart)
+     */
+    @Transactional(readOnly = true)
+    public Optional<AnalysisJobResponse> getAnalysisStatus(UUID id) {
+        return attestationRepository.findById(id).map(attestation -> {
+            Integer riskScore = attestation.getAiStatus() == AiStatus.COMPLIANT || attestation.getAiStatus() == AiStatus.NON_COMPLIANT
+                    ? reportRepository.findAlertsByAttestationId(id).map(AIAnalysisReport::calculateRiskScore).orElse(null)
+                    : null;
+            return AnalysisJobResponse.from(attestation, riskScore);
+        });
+    }
+
+    /**
+     * Fails the analyses pending or running without any progress since the given instant
+     * Their uploaded document only lived in the worker's temporary file: they cannot be resumed
+     *
+     * @param active analyses still running on this node, left untouched
+     * @return number of analyses failed
+     */
+    public int failStalledAnalyses(Instant before, Set<UUID> active) {
+        int failed = 0;
+        for (UUID id : attestationRepository.findStalledAnalysisIds(before)) {
+            if (!active.contains(id)) {
+                markAnalysisAsFailed(id, "Analysis interrupted, upload the attestation again");
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    public void markAnalysisAsFailed(UUID id, String errorMessage) {
+        Attestation attestation = findOrThrow(id);
+        attestation.markAnalysisAsFailed(errorMessage);
+        attestationRepository.save(attestation);
+        logger.warn("Analysis of attestation {} failed for tenant {}: {}", id, TenantContext.getTenantOrDefault(), errorMessage);
+    }
+
+    /**
+     * Lists attestations from the most recent, using keyset pagination on (createdAt, id)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AttestationSummary> listAttestations(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // One extra row tells whether a next page exists, without a count query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<AttestationSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = attestationRepository.findSummaries(limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = attestationRepository.findSummariesAfter(parseInstant(position.sortValue()), position.id(), limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<AttestationSummary> page = rows.subList(0, pageSize);
+        AttestationSummary last = page.get(pageSize - 1);
+        return new CursorPage<>(List.copyOf(page), new KeysetCursor(last.getCreatedAt().toString(), last.getId()).encode());
+    }
+
+    /**
+     * Attestation counters by analysis status for the current tenant
+     * Served from the maintained counters; the aggregate query is only used when they are disabled
+     */
+    @Transactional(readOnly = true)
+    public AttestationStats getAttestationStats() {
+        if (!counterService.isEnabled()) {
+            return attestationRepository.computeStats();
+        }
+        CountedEntity attestation = CountedEntity.ATTESTATION;
+        return new AttestationStats(
+                counterService.count(attestation, "aiStatus", AiStatus.PENDING),
+                counterService.count(attestation, "aiStatus", AiStatus.ANALYZING),
+                counterService.count(attestation, "aiStatus", AiStatus.COMPLIANT),
+                counterService.count(attestation, "aiStatus", AiStatus.NON_COMPLIANT),
+                counterService.count(attestation, "aiStatus", AiStatus.ERROR),
+                counterService.total(attestation));
+    }
+
+    /**
+     * Loads the analysis report of an attestation with the graph of the requested profile
+     * The response is built in this transaction, so serialization never triggers lazy loading
+     */
+    @Transactional(readOnly = true)
+    public Optional<AnalysisReportResponse> getReport(UUID attestationId, ReportFetchProfile profile) {
+        Optional<AIAnalysisReport> report = switch (profile) {
+            case SUMMARY -> reportRepository.findSummaryByAttestationId(attestationId);
+            case FULL -> reportRepository.findFullByAttestationId(attestationId);
+            case ALERTS_ONLY -> reportRepository.findAlertsByAttestationId(attestationId);
+        };
+        return report.map(r -> AnalysisReportResponse.from(r, profile));
+    }
+
+    private static Instant parseInstant(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor position: " + value);
+        }
+    }
+
+    private Attestation findOrThrow(UUID id) {
+        return attestationRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Attestation not found: " + id));
+    }
+}
@@ -1,11 +1,20 @@
 package com.iona.ionaapi.application.service;
 
+import com.iona.ionaapi.application.service.dto.ContractorStats;
 import com.iona.ionaapi.domain.contractor.Contractor;
 
 import com.iona.ionaapi.domain.contractor.enums.ContractorSpecialty;
 import com.iona.ionaapi.domain.contractor.enums.ContractorStatus;
 import com.iona.ionaapi.domain.contractor.enums.ContractorType;
+import com.iona.ionaapi.infrastructure.counter.CountedEntity;
+import com.iona.ionaapi.infrastructure.counter.EntityCounterService;
+import com.iona.ionaapi.infrastructure.dto.ContractorSummary;
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.dto.SearchHit;
 import com.iona.ionaapi.infrastructure.repository.ContractorRepository;
+import com.iona.ionaapi.infrastructure.repository.SearchTarget;
+import com.iona.ionaapi.infrastructure.repository.TrigramSearchRepository;
+import com.iona.ionaapi.infrastructure.repository.KeysetPaginator;
 import com.iona.ionaapi.infrastructure.tenant.TenantContext;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,7 +23,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,9 +40,16 @@ public class ContractorService {
     private static final Logger logger = LoggerFactory.getLogger(ContractorService.class);
     
     private final ContractorRepository contractorRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final TrigramSearchRepository trigramSearchRepository;
+    private final EntityCounterService counterService;
     
-    public ContractorService(ContractorRepository contractorRepository) {
+    public ContractorService(ContractorRepository contractorRepository, KeysetPaginator keysetPaginator,
+                          TrigramSearchRepository trigramSearchRepository, EntityCounterService counterService) {
         this.contractorRepository = contractorRepository;
+        this.counterService = counterService;
+        this.keysetPaginator = keysetPaginator;
+        this.trigramSearchRepository = trigramSearchRepository;
     }
     
     /**
@@ -132,22 +150,60 @@ public class ContractorService {
      * Lists all contractors with pagination
      */
     @Transactional(readOnly = true)
-    public Page<Contractor> getAllContractors(Pageable pageable) {
+    public Page<ContractorSummary> getAllContractors(Pageable pageable) {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Retrieving all contractors for tenant: {}", tenant);
         
-        return contractorRepository.findAll(pageable);
+        Page<ContractorSummary> summaries = contractorRepository.findSummaries(pageable);
+        loadSpecialties(summaries.getContent());
+        return summaries;
     }
     
     /**
-     * Searches contractors by name
+     * Lists contractors with keyset pagination (no count unless includeTotal)
      */
     @Transactional(readOnly = true)
-    public List<Contractor> searchContractorsByName(String name) {
+    public CursorPage<ContractorSummary> listContractors(String cursor, int size, String sort, boolean includeTotal) {
+        CursorPage<ContractorSummary> page = keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, sort, cursor, size, includeTotal);
+        loadSpecialties(page.getItems());
+        return page;
+    }
+    
+    /**
+     * One query for the specialties of the whole page instead of one per contractor
+     */
+    private void loadSpecialties(List<ContractorSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+        Map<String, ContractorSummary> byId = new HashMap<>();
+        summaries.forEach(summary -> byId.put(summary.getId(), summary));
+        List<UUID> ids = byId.keySet().stream().map(UUID::fromString).toList();
+        for (Object[] row : contractorRepository.findSpecialtiesByContractorIds(ids)) {
+            byId.get(row[0].toString()).getSpecialties().add((ContractorSpecialty) row[1]);
+        }
+    }
+    
+    /**
+     * Searches contractors by name, ranked by trigram similarity
+     */
+    @Transactional(readOnly = true)
+    public List<SearchHit> searchContractorsByName(String name, int limit) {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Searching contractors by name '{}' for tenant: {}", name, tenant);
         
-        return contractorRepository.searchByName(name);
+        return trigramSearchRepository.searchByName(SearchTarget.CONTRACTOR, name, limit);
+    }
+    
+    /**
+     * Searches contractors by SIRET prefix
+     */
+    @Transactional(readOnly = true)
+    public List<SearchHit> searchContractorsBySiretPrefix(String prefix, int limit) {
+        String tenant = TenantContext.getTenantOrDefault();
+        logger.debug("Searching contractors by SIRET prefix '{}' for tenant: {}", prefix, tenant);
+        
+        return trigramSearchRepository.searchBySiretPrefix(SearchTarget.CONTRACTOR, prefix, limit);
     }
     
     /**
@@ -229,50 +285,16 @@ public class ContractorService {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Generating contractor stats for tenant: {}", tenant);
         
-        return new ContractorStats(
-            contractorRepository.countByType(ContractorType.GENERAL_CONTRACTOR),
-            contractorRepository.countByType(ContractorType.SUBCONTRACTOR),
-            contractorRepository.countByType(ContractorType.SPECIALIST),
-            contractorRepository.countByType(ContractorType.CONSULTANT),
-            contractorRepository.count(),
-            contractorRepository.findActiveContractors().size()
-        );
-    }
-    
-    /**
-     * Statistics class
-     */
-    public static class ContractorStats {
-        private final long generalContractorCount;
-        private final long subcontractorCount;
-        private final long specialistCount;
-        private final long consultantCount;
-        private final long totalCount;
-        private final long activeCount;
-        
-        public ContractorStats(long generalContractorCount, long subcontractorCount, 
-                             long specialistCount, long consultantCount, 
-                             long totalCount, long activeCount) {
-            this.generalContractorCount = generalContractorCount;
-            this.subcontractorCount = subcontractorCount;
-            this.specialistCount = specialistCount;
-            this.consultantCount = consultantCount;
-            this.totalCount = totalCount;
-            this.activeCount = activeCount;
-        }
-        
-        // Getters
-        public long getGeneralContractorCount() { return generalContractorCount; }
-        public long getSubcontractorCount() { return subcontractorCount; }
-        public long getSpecialistCount() { return specialistCount; }
-        public long getConsultantCount() { return consultantCount; }
-        public long getTotalCount() { return totalCount; }
-        public long getActiveCount() { return activeCount; }
-        
-        @Override
-        public String toString() {
-            return String.format("ContractorStats{general=%d, sub=%d, specialist=%d, consultant=%d, total=%d, active=%d}", 
-                               generalContractorCount, subcontractorCount, specialistCount, consultantCount, totalCount, activeCount);
+        if (!counterService.isEnabled()) {
+            return contractorRepository.computeStats();
         }
+        CountedEntity contractor = CountedEntity.CONTRACTOR;
+        return new ContractorStats(
+                counterService.count(contractor, "type", ContractorType.GENERAL_CONTRACTOR),
+                counterService.count(contractor, "type", ContractorType.SUBCONTRACTOR),
+                counterService.count(contractor, "type", ContractorType.SPECIALIST),
+                counterService.count(contractor, "type", ContractorType.CONSULTANT),
+                counterService.total(contractor),
+                counterService.count(contractor, "status", ContractorStatus.ACTIVE));
     }
 }
\ No newline at end of file
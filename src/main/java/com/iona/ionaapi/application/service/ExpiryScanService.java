@@ -0,0 +1,178 @@
+package com.iona.ionaapi.application.service;
+
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.dto.ExpiringItem;
+import com.iona.ionaapi.infrastructure.migration.TenantMigrationService;
+import com.iona.ionaapi.infrastructure.repository.ExpiryRepository;
+import com.iona.ionaapi.infrastructure.repository.KeysetCursor;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Expiry of attestations and coverages: indexed listing of what expires soon, and a scheduled scanner
+ * The scanner walks the tenant schemas in parallel and raises an EXPIRY alert on the analysis report
+ * of every attestation or coverage entering the expiry window, and escalates it to CRITICAL once the item
+ * enters the critical window; a per-tenant checkpoint limits each run to what entered either window
+ * or changed since the previous run
+ */
+@Service
+public class ExpiryScanService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiryScanService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_WINDOW_DAYS = 365;
+
+    // Changes committed while the previous run was reading are picked up again; the dated alert title avoids duplicates
+    private static final Duration CHECKPOINT_OVERLAP = Duration.ofMinutes(5);
+
+    private final ExpiryRepository expiryRepository;
+    private final TenantMigrationService tenantMigrationService;
+    private final TaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean scanRunning = new AtomicBoolean();
+
+    // Same threshold as Attestation.isExpiryApproaching
+    @Value("${iona.expiry.window-days:60}")
+    private int windowDays;
+
+    @Value("${iona.expiry.critical-days:15}")
+    private int criticalDays;
+
+    public ExpiryScanService(ExpiryRepository expiryRepository,
+                             TenantMigrationService tenantMigrationService,
+                             @Qualifier("expiryScanExecutor") TaskExecutor executor,
+                             PlatformTransactionManager transactionManager) {
+        this.expiryRepository = expiryRepository;
+        this.tenantMigrationService = tenantMigrationService;
+        this.executor = executor;
+        // Explicit transaction: the scan runs on executor threads through a method reference, outside the proxy
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Attestations of the current tenant expiring within the given number of days, soonest first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ExpiringItem> listExpiringAttestations(int days, String cursor, int size) {
+        return page(days, cursor, size, true);
+    }
+
+    /**
+     * Coverages of the current tenant expiring within the given number of days, soonest first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ExpiringItem> listExpiringCoverages(int days, String cursor, int size) {
+        return page(days, cursor, size, false);
+    }
+
+    /**
+     * Scans every tenant schema; a run still in progress makes the next trigger a no-op
+     */
+    @Scheduled(cron = "${iona.expiry.scan-cron:0 0 5 * * *}")
+    public void scanAllTenants() {
+        if (!scanRunning.compareAndSet(false, true)) {
+            logger.info("Expiry scan already running, skipping this trigger");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<String> schemas = tenantMigrationService.listTenantSchemas();
+            AtomicInteger alerts = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>(schemas.size());
+            for (String schema : schemas) {
+                String tenant = schema.substring(TenantResolver.SCHEMA_PREFIX.length());
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        alerts.addAndGet(TenantContext.callWithTenant(tenant, this::scanCurrentTenant));
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        logger.warn("Expiry scan failed for tenant {}: {}", tenant, e.getMessage());
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            logger.info("Expiry scan done: {} tenants, {} failed, {} alerts raised in {} ms",
+                    schemas.size(), failed.get(), alerts.get(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } finally {
+            scanRunning.set(false);
+        }
+    }
+
+    /**
+     * Raises and escalates the expiry alerts of the current tenant since its checkpoint, in one transaction
+     * The checkpoint row is locked for the run, so two nodes never scan the same tenant at once
+     *
+     * @return number of alerts raised or escalated
+     */
+    public int scanCurrentTenant() {
+        Integer raised = transactionTemplate.execute(status -> {
+            Instant scanStart = Instant.now();
+            LocalDate today = LocalDate.now();
+            LocalDate horizon = today.plusDays(windowDays);
+            LocalDate criticalUntil = today.plusDays(criticalDays);
+
+            return expiryRepository.lockCheckpoint().map(checkpoint -> {
+                ExpiryRepository.Checkpoint since = new ExpiryRepository.Checkpoint(checkpoint.horizon(),
+                        checkpoint.criticalHorizon(), checkpoint.scannedAt().minus(CHECKPOINT_OVERLAP));
+                int count = expiryRepository.escalateAttestationAlerts(today, criticalUntil, since)
+                        + expiryRepository.escalateCoverageAlerts(today, criticalUntil, since)
+                        + expiryRepository.insertAttestationAlerts(today, horizon, criticalUntil, since)
+                        + expiryRepository.insertCoverageAlerts(today, horizon, criticalUntil, since);
+                expiryRepository.saveCheckpoint(horizon, criticalUntil, scanStart);
+                if (count > 0) {
+                    logger.info("{} expiry alerts raised or escalated for tenant {}", count, TenantContext.getTenantOrDefault());
+                }
+                return count;
+            }).orElseGet(() -> {
+                logger.debug("Expiry checkpoint busy or missing for tenant {}", TenantContext.getTenantOrDefault());
+                return 0;
+            });
+        });
+        return raised != null ? raised : 0;
+    }
+
+    private CursorPage<ExpiringItem> page(int days, String cursor, int size, boolean attestations) {
+        if (days < 1 || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Expiry window must be between 1 and " + MAX_WINDOW_DAYS + " days");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        LocalDate today = LocalDate.now();
+        LocalDate until = today.plusDays(days);
+
+        // One extra row tells whether a next page exists
+        List<ExpiringItem> rows = attestations
+                ? expiryRepository.findExpiringAttestations(today, until, after, pageSize + 1)
+                : expiryRepository.findExpiringCoverages(today, until, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<ExpiringItem> page = rows.subList(0, pageSize);
+        ExpiringItem last = page.get(pageSize - 1);
+        return new CursorPage<>(List.copyOf(page), new KeysetCursor(last.expiryDate().toString(), last.id()).encode());
+    }
+}
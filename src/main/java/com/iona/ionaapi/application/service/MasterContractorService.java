@@ -4,7 +4,13 @@ import com.iona.ionaapi.application.service.dto.MasterContractorStats;
 import com.iona.ionaapi.domain.mastercontractor.Contact;
 import com.iona.ionaapi.domain.mastercontractor.MasterContractor;
 import com.iona.ionaapi.domain.mastercontractor.enums.MasterContractorType;
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.dto.SearchHit;
+import com.iona.ionaapi.infrastructure.dto.MasterContractorSummary;
+import com.iona.ionaapi.infrastructure.repository.KeysetPaginator;
 import com.iona.ionaapi.infrastructure.repository.MasterContractorRepository;
+import com.iona.ionaapi.infrastructure.repository.SearchTarget;
+import com.iona.ionaapi.infrastructure.repository.TrigramSearchRepository;
 import com.iona.ionaapi.infrastructure.tenant.TenantContext;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,9 +35,14 @@ public class MasterContractorService {
     private static final Logger logger = LoggerFactory.getLogger(MasterContractorService.class);
 
     private final MasterContractorRepository masterContractorRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final TrigramSearchRepository trigramSearchRepository;
 
-    public MasterContractorService(MasterContractorRepository masterContractorRepository) {
+    public MasterContractorService(MasterContractorRepository masterContractorRepository, KeysetPaginator keysetPaginator,
+                                   TrigramSearchRepository trigramSearchRepository) {
         this.masterContractorRepository = masterContractorRepository;
+        this.keysetPaginator = keysetPaginator;
+        this.trigramSearchRepository = trigramSearchRepository;
     }
 
     /**
@@ -118,22 +129,41 @@ public class MasterContractorService {
      * Lists all master contractors with pagination
      */
     @Transactional(readOnly = true)
-    public Page<MasterContractor> getAllMasterContractors(Pageable pageable) {
+    public Page<MasterContractorSummary> getAllMasterContractors(Pageable pageable) {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Retrieving all master contractors for tenant: {}", tenant);
 
-        return masterContractorRepository.findAll(pageable);
+        return masterContractorRepository.findSummaries(pageable);
     }
 
     /**
-     * Searches master contractors by name
+     * Lists master contractors with keyset pagination (no count unless includeTotal)
      */
     @Transactional(readOnly = true)
-    public List<MasterContractor> searchMasterContractorsByName(String name) {
+    public CursorPage<MasterContractorSummary> listMasterContractors(String cursor, int size, String sort, boolean includeTotal) {
+        return keysetPaginator.page(MasterContractorRepository.SUMMARY_KEYSET, sort, cursor, size, includeTotal);
+    }
+
+    /**
+     * Searches master contractors by name, ranked by trigram similarity
+     */
+    @Transactional(readOnly = true)
+    public List<SearchHit> searchMasterContractorsByName(String name, int limit) {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Searching master contractors by name '{}' for tenant: {}", name, tenant);
 
-        return masterContractorRepository.searchByName(name);
+        return trigramSearchRepository.searchByName(SearchTarget.MASTER_CONTRACTOR, name, limit);
+    }
+    
+    /**
+     * Searches master contractors by SIRET prefix
+     */
+    @Transactional(readOnly = true)
+    public List<SearchHit> searchMasterContractorsBySiretPrefix(String prefix, int limit) {
+        String tenant = TenantContext.getTenantOrDefault();
+        logger.debug("Searching master contractors by SIRET prefix '{}' for tenant: {}", prefix, tenant);
+
+        return trigramSearchRepository.searchBySiretPrefix(SearchTarget.MASTER_CONTRACTOR, prefix, limit);
     }
 
     /**
@@ -170,10 +200,7 @@ public class MasterContractorService {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Generating master contractor stats for tenant: {}", tenant);
 
-        return new MasterContractorStats(
-                masterContractorRepository.countByType(MasterContractorType.PRIVATE),
-                masterContractorRepository.countByType(MasterContractorType.PUBLIC)
-        );
+        return masterContractorRepository.computeStats();
     }
 
 
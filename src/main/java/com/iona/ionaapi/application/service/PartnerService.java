@@ -4,7 +4,15 @@ import com.iona.ionaapi.application.service.dto.PartnerStats;
 import com.iona.ionaapi.domain.partner.enums.PartnerStatus;
 import com.iona.ionaapi.domain.partner.enums.PartnerType;
 import com.iona.ionaapi.domain.partner.Partner;
+import com.iona.ionaapi.infrastructure.counter.CountedEntity;
+import com.iona.ionaapi.infrastructure.counter.EntityCounterService;
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.dto.SearchHit;
+import com.iona.ionaapi.infrastructure.dto.PartnerSummary;
+import com.iona.ionaapi.infrastructure.repository.KeysetPaginator;
 import com.iona.ionaapi.infrastructure.repository.PartnerRepository;
+import com.iona.ionaapi.infrastructure.repository.SearchTarget;
+import com.iona.ionaapi.infrastructure.repository.TrigramSearchRepository;
 import com.iona.ionaapi.infrastructure.tenant.TenantContext;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -28,9 +36,16 @@ public class PartnerService {
     private static final Logger logger = LoggerFactory.getLogger(PartnerService.class);
     
     private final PartnerRepository partnerRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final TrigramSearchRepository trigramSearchRepository;
+    private final EntityCounterService counterService;
     
-    public PartnerService(PartnerRepository partnerRepository) {
+    public PartnerService(PartnerRepository partnerRepository, KeysetPaginator keysetPaginator,
+                          TrigramSearchRepository trigramSearchRepository, EntityCounterService counterService) {
         this.partnerRepository = partnerRepository;
+        this.counterService = counterService;
+        this.keysetPaginator = keysetPaginator;
+        this.trigramSearchRepository = trigramSearchRepository;
     }
     
     /**
@@ -103,22 +118,41 @@ public class PartnerService {
      * Liste tous les partners avec pagination
      */
     @Transactional(readOnly = true)
-    public Page<Partner> getAllPartners(Pageable pageable) {
+    public Page<PartnerSummary> getAllPartners(Pageable pageable) {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Récupération de tous les partners pour le tenant: {}", tenant);
         
-        return partnerRepository.findAll(pageable);
+        return partnerRepository.findSummaries(pageable);
     }
     
     /**
-     * Recherche des partners par nom
+     * Liste les partners par pagination par clé (sans count, sauf si includeTotal)
      */
     @Transactional(readOnly = true)
-    public List<Partner> searchPartnersByName(String name) {
+    public CursorPage<PartnerSummary> listPartners(String cursor, int size, String sort, boolean includeTotal) {
+        return keysetPaginator.page(PartnerRepository.SUMMARY_KEYSET, sort, cursor, size, includeTotal);
+    }
+    
+    /**
+     * Recherche des partners par nom, classés par similarité (trigrammes)
+     */
+    @Transactional(readOnly = true)
+    public List<SearchHit> searchPartnersByName(String name, int limit) {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Recherche de partners par nom '{}' pour le tenant: {}", name, tenant);
         
-        return partnerRepository.searchByName(name);
+        return trigramSearchRepository.searchByName(SearchTarget.PARTNER, name, limit);
+    }
+    
+    /**
+     * Recherche des partners par préfixe de SIRET
+     */
+    @Transactional(readOnly = true)
+    public List<SearchHit> searchPartnersBySiretPrefix(String prefix, int limit) {
+        String tenant = TenantContext.getTenantOrDefault();
+        logger.debug("Recherche de partners par préfixe SIRET '{}' pour le tenant: {}", prefix, tenant);
+        
+        return trigramSearchRepository.searchBySiretPrefix(SearchTarget.PARTNER, prefix, limit);
     }
     
     /**
@@ -174,12 +208,17 @@ public class PartnerService {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Génération des statistiques partners pour le tenant: {}", tenant);
         
+        // Compteurs maintenus ; requête d'agrégation uniquement s'ils sont désactivés
+        if (!counterService.isEnabled()) {
+            return partnerRepository.computeStats();
+        }
+        CountedEntity partner = CountedEntity.PARTNER;
         return new PartnerStats(
-            partnerRepository.countByPartnerType(PartnerType.BROKER),
-            partnerRepository.countByPartnerType(PartnerType.INSURER),
-            partnerRepository.countByPartnerType(PartnerType.MASTER_CONTRACTOR),
-            partnerRepository.countByPartnerType(PartnerType.CONTRACTOR)
-        );
+                counterService.count(partner, "partnerType", PartnerType.BROKER),
+                counterService.count(partner, "partnerType", PartnerType.INSURER),
+                counterService.count(partner, "partnerType", PartnerType.MASTER_CONTRACTOR),
+                counterService.count(partner, "partnerType", PartnerType.CONTRACTOR),
+                counterService.total(partner));
     }
     
 
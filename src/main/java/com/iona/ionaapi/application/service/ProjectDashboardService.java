@@ -0,0 +1,184 @@
+package com.iona.ionaapi.application.service;
+
+import com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectDashboard;
+import com.iona.ionaapi.infrastructure.repository.ProjectDashboardRepository;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantEvent;
+import com.iona.ionaapi.infrastructure.tenant.TenantEventType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project dashboard served from the per-tenant materialized table
+ * Project changes mark the tenant dirty once committed and a background pass recomputes it;
+ * dashboards older than the maximum age are also recomputed, which covers writes made by other nodes
+ */
+@Service
+public class ProjectDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectDashboardService.class);
+
+    private final ProjectDashboardRepository dashboardRepository;
+
+    // Tenants changed since their last refresh
+    private final Map<String, Boolean> dirtyTenants = new ConcurrentHashMap<>();
+    // Last refresh of the tenants whose dashboard is read, used for the age-based refresh and the staleness gauge
+    private final Map<String, Instant> refreshedAt = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastReadNanos = new ConcurrentHashMap<>();
+
+    private final Timer refreshTimer;
+    private final Timer readStaleness;
+
+    @Value("${iona.dashboard.list-size:5}")
+    private int listSize;
+
+    @Value("${iona.dashboard.max-age-ms:300000}")
+    private long maxAgeMs;
+
+    @Value("${iona.dashboard.idle-eviction-ms:3600000}")
+    private long idleEvictionMs;
+
+    public ProjectDashboardService(ProjectDashboardRepository dashboardRepository,
+                                   ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.dashboardRepository = dashboardRepository;
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            this.refreshTimer = Timer.builder("iona.dashboard.refresh")
+                    .description("Duration of a project dashboard refresh")
+                    .register(meterRegistry);
+            this.readStaleness = Timer.builder("iona.dashboard.staleness")
+                    .description("Age of the project dashboard when it is read")
+                    .register(meterRegistry);
+            Gauge.builder("iona.dashboard.staleness.max", refreshedAt, ProjectDashboardService::maxAgeSeconds)
+                    .description("Age in seconds of the oldest dashboard among the tenants being read")
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        } else {
+            this.refreshTimer = null;
+            this.readStaleness = null;
+        }
+    }
+
+    /**
+     * Dashboard of the current tenant, computed on the spot only the first time
+     */
+    public ProjectDashboard getDashboard() {
+        String tenant = TenantContext.getTenantOrDefault();
+        lastReadNanos.put(tenant, System.nanoTime());
+
+        ProjectDashboard dashboard = dashboardRepository.find().orElseGet(() -> {
+            refresh(tenant);
+            return dashboardRepository.find()
+                    .orElseThrow(() -> new IllegalStateException("Project dashboard not computed for tenant: " + tenant));
+        });
+        refreshedAt.put(tenant, dashboard.getRefreshedAt());
+        if (readStaleness != null) {
+            readStaleness.record(Duration.between(dashboard.getRefreshedAt(), Instant.now()));
+        }
+        return dashboard;
+    }
+
+    /**
+     * Marks the dashboard of the current tenant for refresh once the current transaction commits
+     */
+    public void markDirty() {
+        String tenant = TenantContext.getTenantOrDefault();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyTenants.put(tenant, Boolean.TRUE);
+                }
+            });
+        } else {
+            dirtyTenants.put(tenant, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Refreshes the dashboards changed since the previous pass; a burst of changes costs a single refresh
+     */
+    @Scheduled(fixedDelayString = "${iona.dashboard.refresh-interval-ms:5000}")
+    public void refreshDirty() {
+        for (String tenant : dirtyTenants.keySet()) {
+            dirtyTenants.remove(tenant);
+            refreshQuietly(tenant);
+        }
+    }
+
+    /**
+     * Refreshes the dashboards older than the maximum age and forgets the tenants no longer read
+     */
+    @Scheduled(fixedDelayString = "${iona.dashboard.max-age-ms:300000}",
+               initialDelayString = "${iona.dashboard.max-age-ms:300000}")
+    public void refreshExpired() {
+        long now = System.nanoTime();
+        Instant oldest = Instant.now().minusMillis(maxAgeMs);
+        for (Map.Entry<String, Long> entry : lastReadNanos.entrySet()) {
+            String tenant = entry.getKey();
+            if (now - entry.getValue() > TimeUnit.MILLISECONDS.toNanos(idleEvictionMs)) {
+                lastReadNanos.remove(tenant, entry.getValue());
+                refreshedAt.remove(tenant);
+                continue;
+            }
+            Instant lastRefresh = refreshedAt.get(tenant);
+            if (lastRefresh == null || lastRefresh.isBefore(oldest)) {
+                refreshQuietly(tenant);
+            }
+        }
+    }
+
+    @EventListener
+    public void onTenantEvent(TenantEvent event) {
+        if (event.type() == TenantEventType.DELETED) {
+            dirtyTenants.remove(event.tenantId());
+            refreshedAt.remove(event.tenantId());
+            lastReadNanos.remove(event.tenantId());
+        }
+    }
+
+    private void refreshQuietly(String tenant) {
+        try {
+            refresh(tenant);
+        } catch (Exception e) {
+            logger.warn("Project dashboard refresh failed for tenant {}: {}", tenant, e.getMessage());
+        }
+    }
+
+    private void refresh(String tenant) {
+        long start = System.nanoTime();
+        TenantContext.runWithTenant(tenant, () -> dashboardRepository.refresh(listSize));
+        long elapsed = System.nanoTime() - start;
+        if (refreshTimer != null) {
+            refreshTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+        if (lastReadNanos.containsKey(tenant)) {
+            refreshedAt.put(tenant, Instant.now());
+        }
+        logger.debug("Project dashboard refreshed for tenant {} in {} ms", tenant, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private static double maxAgeSeconds(Map<String, Instant> refreshedAt) {
+        Instant now = Instant.now();
+        return refreshedAt.values().stream()
+                .mapToDouble(at -> Duration.between(at, now).toMillis() / 1000.0)
+                .max()
+                .orElse(0);
+    }
+}
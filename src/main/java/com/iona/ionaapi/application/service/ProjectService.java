@@ -1,10 +1,20 @@
 package com.iona.ionaapi.application.service;
 
+import com.iona.ionaapi.application.service.dto.ProjectStats;
 import com.iona.ionaapi.domain.project.Project;
 import com.iona.ionaapi.domain.project.ProjectAIAnalysis;
 import com.iona.ionaapi.domain.project.enums.AIAnalysisStatus;
 import com.iona.ionaapi.domain.project.enums.ProjectStatus;
+import com.iona.ionaapi.infrastructure.counter.CountedEntity;
+import com.iona.ionaapi.infrastructure.counter.EntityCounterService;
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.dto.SearchHit;
+import com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectDashboard;
+import com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectSummary;
+import com.iona.ionaapi.infrastructure.repository.KeysetPaginator;
 import com.iona.ionaapi.infrastructure.repository.ProjectRepository;
+import com.iona.ionaapi.infrastructure.repository.SearchTarget;
+import com.iona.ionaapi.infrastructure.repository.TrigramSearchRepository;
 import com.iona.ionaapi.infrastructure.tenant.TenantContext;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -30,9 +40,21 @@ public class ProjectService {
     private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
     
     private final ProjectRepository projectRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final TrigramSearchRepository trigramSearchRepository;
+    private final AnalysisProgressBroadcaster progressBroadcaster;
+    private final EntityCounterService counterService;
+    private final ProjectDashboardService dashboardService;
     
-    public ProjectService(ProjectRepository projectRepository) {
+    public ProjectService(ProjectRepository projectRepository, AnalysisProgressBroadcaster progressBroadcaster,
+                          KeysetPaginator keysetPaginator, TrigramSearchRepository trigramSearchRepository,
+                          EntityCounterService counterService, ProjectDashboardService dashboardService) {
         this.projectRepository = projectRepository;
+        this.counterService = counterService;
+        this.dashboardService = dashboardService;
+        this.keysetPaginator = keysetPaginator;
+        this.trigramSearchRepository = trigramSearchRepository;
+        this.progressBroadcaster = progressBroadcaster;
     }
     
     /**
@@ -58,6 +80,7 @@ public class ProjectService {
         }
         
         Project savedProject = projectRepository.save(project);
+        dashboardService.markDirty();
         logger.info("Project created with ID: {} for tenant: {}", savedProject.getId(), tenant);
         
         return savedProject;
@@ -114,6 +137,7 @@ public class ProjectService {
         }
         
         Project updatedProject = projectRepository.save(toUpdate);
+        dashboardService.markDirty();
         logger.info("Project {} updated for tenant: {}", id, tenant);
         
         return updatedProject;
@@ -134,22 +158,30 @@ public class ProjectService {
      * Lists all projects with pagination
      */
     @Transactional(readOnly = true)
-    public Page<Project> getAllProjects(Pageable pageable) {
+    public Page<ProjectSummary> getAllProjects(Pageable pageable) {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Retrieving all projects for tenant: {}", tenant);
         
-        return projectRepository.findAll(pageable);
+        return projectRepository.findSummaries(pageable);
     }
     
     /**
-     * Searches projects by name
+     * Lists projects with keyset pagination (no count unless includeTotal)
      */
     @Transactional(readOnly = true)
-    public List<Project> searchProjectsByName(String name) {
+    public CursorPage<ProjectSummary> listProjects(String cursor, int size, String sort, boolean includeTotal) {
+        return keysetPaginator.page(ProjectRepository.SUMMARY_KEYSET, sort, cursor, size, includeTotal);
+    }
+    
+    /**
+     * Searches projects by name, ranked by trigram similarity
+     */
+    @Transactional(readOnly = true)
+    public List<SearchHit> searchProjectsByName(String name, int limit) {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Searching projects by name '{}' for tenant: {}", name, tenant);
         
-        return projectRepository.searchByName(name);
+        return trigramSearchRepository.searchByName(SearchTarget.PROJECT, name, limit);
     }
     
     /**
@@ -205,6 +237,7 @@ public class ProjectService {
         
         projectEntity.addContractor(contractorId, role, contractAmount);
         projectRepository.save(projectEntity);
+        dashboardService.markDirty();
         
         logger.info("Contractor {} added to project {} for tenant: {}", contractorId, projectId, tenant);
     }
@@ -224,6 +257,7 @@ public class ProjectService {
         Project projectEntity = project.get();
         projectEntity.removeContractor(contractorId);
         projectRepository.save(projectEntity);
+        dashboardService.markDirty();
         
         logger.info("Contractor {} removed from project {} for tenant: {}", contractorId, projectId, tenant);
     }
@@ -244,6 +278,12 @@ public class ProjectService {
         projectEntity.getAiAnalysis().markAsAnalyzed(status, complianceScore, summary);
         
         projectRepository.save(projectEntity);
+        dashboardService.markDirty();
+        
+        // Delivered to SSE subscribers once the transaction commits
+        progressBroadcaster.publish(tenant, new AnalysisProgressEvent(AnalysisProgressEvent.PROJECT,
+                projectId.toString(), status.getCode(),
+                projectEntity.getAiAnalysis().getProgressPercent()));
         
         logger.info("AI analysis updated for project {} for tenant: {}", projectId, tenant);
     }
@@ -274,79 +314,40 @@ public class ProjectService {
         Project projectEntity = project.get();
         projectEntity.setStatus(ProjectStatus.CANCELLED);
         projectRepository.save(projectEntity);
+        dashboardService.markDirty();
         
         logger.info("Project {} archived for tenant: {}", id, tenant);
     }
     
+    /**
+     * Project dashboard of the current tenant, read from the materialized dashboard
+     */
+    public ProjectDashboard getProjectDashboard() {
+        return dashboardService.getDashboard();
+    }
+    
     /**
      * Get project statistics for current tenant
+     * Served from the maintained counters; the aggregate query is only used when they are disabled
      */
     @Transactional(readOnly = true)
     public ProjectStats getProjectStats() {
         String tenant = TenantContext.getTenantOrDefault();
         logger.debug("Generating project stats for tenant: {}", tenant);
         
-        return new ProjectStats(
-            projectRepository.countByStatus(ProjectStatus.PLANNED),
-            projectRepository.countByStatus(ProjectStatus.STARTED),
-            projectRepository.countByStatus(ProjectStatus.IN_PROGRESS),
-            projectRepository.countByStatus(ProjectStatus.COMPLETED),
-            projectRepository.countByStatus(ProjectStatus.CANCELLED),
-            projectRepository.countByAIStatus(AIAnalysisStatus.PENDING),
-            projectRepository.countByAIStatus(AIAnalysisStatus.COMPLIANT),
-            projectRepository.countByAIStatus(AIAnalysisStatus.NON_COMPLIANT),
-            projectRepository.count()
-        );
-    }
-    
-    /**
-     * Statistics class
-     */
-    public static class ProjectStats {
-        private final long plannedCount;
-        private final long startedCount;
-        private final long inProgressCount;
-        private final long completedCount;
-        private final long cancelledCount;
-        private final long pendingAnalysisCount;
-        private final long compliantCount;
-        private final long nonCompliantCount;
-        private final long totalCount;
-        
-        public ProjectStats(long plannedCount, long startedCount, long inProgressCount, 
-                          long completedCount, long cancelledCount,
-                          long pendingAnalysisCount, long compliantCount, long nonCompliantCount,
-                          long totalCount) {
-            this.plannedCount = plannedCount;
-            this.startedCount = startedCount;
-            this.inProgressCount = inProgressCount;
-            this.completedCount = completedCount;
-            this.cancelledCount = cancelledCount;
-            this.pendingAnalysisCount = pendingAnalysisCount;
-            this.compliantCount = compliantCount;
-            this.nonCompliantCount = nonCompliantCount;
-            this.totalCount = totalCount;
-        }
-        
-        // Getters
-        public long getPlannedCount() { return plannedCount; }
-        public long getStartedCount() { return startedCount; }
-        public long getInProgressCount() { return inProgressCount; }
-        public long getCompletedCount() { return completedCount; }
-        public long getCancelledCount() { return cancelledCount; }
-        public long getPendingAnalysisCount() { return pendingAnalysisCount; }
-        public long getCompliantCount() { return compliantCount; }
-        public long getNonCompliantCount() { return nonCompliantCount; }
-        public long getTotalCount() { return totalCount; }
-        
-        public long getActiveCount() {
-            return startedCount + inProgressCount;
-        }
-        
-        @Override
-        public String toString() {
-            return String.format("ProjectStats{total=%d, active=%d, completed=%d, compliant=%d, pending=%d}", 
-                               totalCount, getActiveCount(), completedCount, compliantCount, pendingAnalysisCount);
+        if (!counterService.isEnabled()) {
+            return projectRepository.computeStats();
         }
+        CountedEntity project = CountedEntity.PROJECT;
+        return new ProjectStats(
+                counterService.count(project, "status", ProjectStatus.PLANNED),
+                counterService.count(project, "status", ProjectStatus.STARTED),
+                counterService.count(project, "status", ProjectStatus.IN_PROGRESS),
+                counterService.count(project, "status", ProjectStatus.COMPLETED),
+                counterService.count(project, "status", ProjectStatus.CANCELLED),
+                counterService.count(project, "aiStatus", AIAnalysisStatus.PENDING),
+                counterService.count(project, "aiStatus", AIAnalysisStatus.COMPLIANT),
+                counterService.count(project, "aiStatus", AIAnalysisStatus.NON_COMPLIANT),
+                counterService.total(project));
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.iona.ionaapi.application.service;
+
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.dto.RiskScore;
+import com.iona.ionaapi.infrastructure.repository.KeysetCursor;
+import com.iona.ionaapi.infrastructure.repository.RiskScoringRepository;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Portfolio-wide risk ranking of contractors and projects
+ * Scores are computed in the database from the latest analysis reports, never by loading the reports
+ */
+@Service
+@Transactional(readOnly = true)
+public class RiskScoringService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RiskScoringService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final RiskScoringRepository riskScoringRepository;
+
+    public RiskScoringService(RiskScoringRepository riskScoringRepository) {
+        this.riskScoringRepository = riskScoringRepository;
+    }
+
+    /**
+     * Riskiest contractors first, using keyset pagination on (riskScore, id)
+     */
+    public CursorPage<RiskScore> rankContractors(String cursor, int size) {
+        logger.debug("Ranking contractors by risk for tenant: {}", TenantContext.getTenantOrDefault());
+        return page(riskScoringRepository::rankContractors, cursor, size);
+    }
+
+    /**
+     * Riskiest projects first, using keyset pagination on (riskScore, id)
+     */
+    public CursorPage<RiskScore> rankProjects(String cursor, int size) {
+        logger.debug("Ranking projects by risk for tenant: {}", TenantContext.getTenantOrDefault());
+        return page(riskScoringRepository::rankProjects, cursor, size);
+    }
+
+    private CursorPage<RiskScore> page(BiFunction<KeysetCursor, Integer, List<RiskScore>> ranking, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+
+        // One extra row tells whether a next page exists
+        List<RiskScore> rows = ranking.apply(after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<RiskScore> page = rows.subList(0, pageSize);
+        RiskScore last = page.get(pageSize - 1);
+        return new CursorPage<>(List.copyOf(page), new KeysetCursor(Long.toString(last.riskScore()), last.id()).encode());
+    }
+}
@@ -0,0 +1,14 @@
+package com.iona.ionaapi.application.service.dto;
+
+/**
+ * Attestation dashboard counters by analysis status
+ */
+public record AttestationStats(long pendingCount, long analyzingCount, long compliantCount,
+                               long nonCompliantCount, long errorCount, long totalCount) {
+
+    @Override
+    public String toString() {
+        return String.format("AttestationStats{pending=%d, analyzing=%d, compliant=%d, nonCompliant=%d, error=%d, total=%d}",
+                pendingCount, analyzingCount, compliantCount, nonCompliantCount, errorCount, totalCount);
+    }
+}
@@ -0,0 +1,15 @@
+package com.iona.ionaapi.application.service.dto;
+
+/**
+ * Contractor dashboard counters, computed in a single aggregate query
+ */
+public record ContractorStats(long generalContractorCount, long subcontractorCount,
+                              long specialistCount, long consultantCount,
+                              long totalCount, long activeCount) {
+
+    @Override
+    public String toString() {
+        return String.format("ContractorStats{general=%d, sub=%d, specialist=%d, consultant=%d, total=%d, active=%d}",
+                generalContractorCount, subcontractorCount, specialistCount, consultantCount, totalCount, activeCount);
+    }
+}
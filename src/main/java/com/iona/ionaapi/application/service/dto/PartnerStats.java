@@ -1,45 +1,14 @@
 package com.iona.ionaapi.application.service.dto;
 
 /**
- * Classe pour les statistiques
+ * Statistiques des partners, calculées en une seule requête d'agrégation
  */
-public class PartnerStats {
-    private final long brokerCount;
-    private final long insurerCount;
-    private final long masterContractorCount;
-    private final long contractorCount;
-
-    public PartnerStats(long brokerCount, long insurerCount, long masterContractorCount, long contractorCount) {
-        this.brokerCount = brokerCount;
-        this.insurerCount = insurerCount;
-        this.masterContractorCount = masterContractorCount;
-        this.contractorCount = contractorCount;
-    }
-
-    // Getters
-    public long getBrokerCount() {
-        return brokerCount;
-    }
-
-    public long getInsurerCount() {
-        return insurerCount;
-    }
-
-    public long getMasterContractorCount() {
-        return masterContractorCount;
-    }
-
-    public long getContractorCount() {
-        return contractorCount;
-    }
-
-    public long getTotalCount() {
-        return brokerCount + insurerCount + masterContractorCount + contractorCount;
-    }
+public record PartnerStats(long brokerCount, long insurerCount, long masterContractorCount,
+                           long contractorCount, long totalCount) {
 
     @Override
     public String toString() {
         return String.format("PartnerStats{brokers=%d, insurers=%d, masterContractors=%d, contractors=%d, total=%d}",
-                brokerCount, insurerCount, masterContractorCount, contractorCount, getTotalCount());
+                brokerCount, insurerCount, masterContractorCount, contractorCount, totalCount);
     }
-}
\ No newline at end of file
+}
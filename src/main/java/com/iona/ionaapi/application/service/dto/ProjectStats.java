@@ -0,0 +1,20 @@
+package com.iona.ionaapi.application.service.dto;
+
+/**
+ * Project dashboard counters, computed in a single aggregate query
+ */
+public record ProjectStats(long plannedCount, long startedCount, long inProgressCount,
+                           long completedCount, long cancelledCount,
+                           long pendingAnalysisCount, long compliantCount, long nonCompliantCount,
+                           long totalCount) {
+
+    public long getActiveCount() {
+        return startedCount + inProgressCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProjectStats{total=%d, active=%d, completed=%d, compliant=%d, pending=%d}",
+                totalCount, getActiveCount(), completedCount, compliantCount, pendingAnalysisCount);
+    }
+}
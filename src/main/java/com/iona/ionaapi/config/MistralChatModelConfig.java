@@ -6,6 +6,7 @@ import dev.langchain4j.model.chat.request.ResponseFormat;
 import dev.langchain4j.model.mistralai.MistralAiChatModel;
 import dev.langchain4j.model.mistralai.MistralAiChatModelName;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Component;
 
@@ -16,12 +17,16 @@ public class MistralChatModelConfig {
     @Value("${mistral.api.key}")
     private String apiKey="12222222222222222222222";
 
+    @Value("${mistral.model.name:mistral-small-latest}")
+    private String modelName = MistralAiChatModelName.MISTRAL_SMALL_LATEST.toString();
+
     @Bean
+    @ConditionalOnProperty(name = "iona.llm.provider", havingValue = "mistral", matchIfMissing = true)
     public ChatModel mistralAiChatModelConfig() {
         return MistralAiChatModel.builder()
                 .apiKey(apiKey)
 //                .modelName(MistralAiChatModelName.MISTRAL_MEDIUM_LATEST) //pas mal
-                .modelName(MistralAiChatModelName.MISTRAL_SMALL_LATEST)
+                .modelName(modelName)
                 .safePrompt(true)
                 .responseFormat(ResponseFormat.JSON)
                 .temperature((double) 0)
@@ -0,0 +1,69 @@
+package com.iona.ionaapi.config;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Offline ChatModel returning a fixed, valid decennial certificate analysis.
+ * Enabled with iona.llm.provider=stub to exercise the analysis pipeline without calling Mistral.
+ */
+@Slf4j
+public class StubChatModel implements ChatModel {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final long latencyMs;
+
+    public StubChatModel(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public ChatResponse doChat(ChatRequest chatRequest) {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Stub chat model interrupted", e);
+            }
+        }
+        log.debug("Stub chat model answering {} messages", chatRequest.messages().size());
+        return ChatResponse.builder()
+                .aiMessage(AiMessage.from(certificateJson()))
+                .build();
+    }
+
+    private static String certificateJson() {
+        LocalDate startDate = LocalDate.now().withDayOfYear(1);
+        LocalDate endDate = startDate.plusYears(1).minusDays(1);
+        return """
+                {
+                  "decennialCertificate": true,
+                  "companyName": "SARL Bâtiments Durables",
+                  "siretNumber": "12345678901234",
+                  "insurerName": "AXA Assurance",
+                  "insurerAddress": "10 Rue de la Paix, 75002 Paris, France",
+                  "policyNumber": "POL123456789",
+                  "coveredActivities": [
+                    { "activity": "Construction de maisons individuelles" }
+                  ],
+                  "coverageAmounts": [
+                    { "guaranteeType": "structure_gros_oeuvre", "amount": "10 000 000 € par sinistre" },
+                    { "guaranteeType": "sans_structure_gros_oeuvre", "amount": "6 000 000 € par sinistre" }
+                  ],
+                  "startDate": "%s",
+                  "endDate": "%s",
+                  "limitations": [ "Exclusion travaux hors France" ],
+                  "legallyCompliant": true,
+                  "legalComplianceDetails": "Réponse simulée (iona.llm.provider=stub)."
+                }
+                """.formatted(startDate.format(DATE_FORMAT), endDate.format(DATE_FORMAT));
+    }
+}
@@ -0,0 +1,21 @@
+package com.iona.ionaapi.config;
+
+import dev.langchain4j.model.chat.ChatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+
+@Component
+@ConditionalOnProperty(name = "iona.llm.provider", havingValue = "stub")
+public class StubChatModelConfig {
+
+    @Value("${iona.llm.stub.latency-ms:0}")
+    private long latencyMs;
+
+    @Bean
+    public ChatModel stubChatModel() {
+        return new StubChatModel(latencyMs);
+    }
+}
@@ -1,6 +1,20 @@
 package com.iona.ionaapi.controller;
 
+import com.iona.ionaapi.application.service.AnalysisJob;
+import com.iona.ionaapi.application.service.AnalysisProgressBroadcaster;
+import com.iona.ionaapi.application.service.AttestationAnalysisService;
+import com.iona.ionaapi.application.service.AttestationService;
+import com.iona.ionaapi.application.service.ExpiryScanService;
+import com.iona.ionaapi.application.service.dto.AttestationStats;
 import com.iona.ionaapi.domain.InsuranceCertificateDto;
+import com.iona.ionaapi.domain.entities.AttestationType;
+import com.iona.ionaapi.infrastructure.dto.AnalysisJobResponse;
+import com.iona.ionaapi.infrastructure.dto.AnalysisReportResponse;
+import com.iona.ionaapi.infrastructure.dto.AttestationSummary;
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.dto.ExpiringItem;
+import com.iona.ionaapi.infrastructure.repository.ReportFetchProfile;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
 import com.iona.ionaapi.service.MistralAiService;
 import com.iona.ionaapi.service.PdfExtractorService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,12 +22,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.net.URI;
+import java.util.UUID;
 
 @RestController
 @RequiredArgsConstructor
@@ -21,11 +37,12 @@ import java.util.List;
 @Slf4j
 public class AnalyzerController {
 
-
-    private final List<InsuranceCertificateDto> insuranceCertificateDtos = new ArrayList<>();
-
     private final PdfExtractorService pdfExtractorService;
     private final MistralAiService  mistralAiService;
+    private final AttestationAnalysisService attestationAnalysisService;
+    private final AttestationService attestationService;
+    private final AnalysisProgressBroadcaster analysisProgressBroadcaster;
+    private final ExpiryScanService expiryScanService;
 
     @PostMapping("/analyze")
     public ResponseEntity<InsuranceCertificateDto> analyze(
@@ -35,17 +52,138 @@ public class AnalyzerController {
         Resource pdf = pdfFile.getResource();
         String content = "";
         log.info("Loading data from pdf file {}", pdfFile.getOriginalFilename());
-         content = pdfExtractorService.extractPage(pdf,1);
-         content+=  pdfExtractorService.extractPage(pdf,2);
+        // Attestation details sit on the first two pages; the document is parsed only once
+        content = pdfExtractorService.extractText(pdf, 1, 2);
         log.info("Extracted content from pdf file {}",content);
         InsuranceCertificateDto insuranceCertificateDto = mistralAiService.getInsuranceCertificateFromLLm(content,"");
-        insuranceCertificateDtos.add(insuranceCertificateDto);
         return new  ResponseEntity<>(insuranceCertificateDto, HttpStatus.OK);
     }
 
+    /**
+     * Queues the analysis of an attestation and returns its job at once
+     */
+    @PostMapping("/analyze/jobs")
+    public ResponseEntity<AnalysisJobResponse> submitAnalysis(
+            @RequestParam("pdf") MultipartFile pdfFile,
+            @RequestParam("intervenantId") UUID intervenantId,
+            @RequestParam(value = "type", defaultValue = "DECENNALE") AttestationType type,
+            @RequestParam(value = "uploadedBy", defaultValue = "api") String uploadedBy) {
+        try {
+            AnalysisJob job = attestationAnalysisService.submit(pdfFile, intervenantId, type, uploadedBy);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/analyze/jobs/" + job.getJobId()))
+                    .body(AnalysisJobResponse.from(job));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid analysis request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.warn("Analysis rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+        } catch (Exception e) {
+            log.error("Error while queuing analysis of {}", pdfFile.getOriginalFilename(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/analyze/jobs/{jobId}")
+    public ResponseEntity<AnalysisJobResponse> getAnalysisJob(@PathVariable UUID jobId) {
+        return attestationAnalysisService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streams the analysis progress of the current tenant (Server-Sent Events)
+     * EventSource cannot send headers: the tenant may be given with the tenantId query parameter
+     */
+    @GetMapping(value = "/analyze/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAnalysisProgress() {
+        try {
+            return ResponseEntity.ok(analysisProgressBroadcaster.subscribe(TenantContext.getTenantOrDefault()));
+        } catch (IllegalStateException e) {
+            log.warn("Progress subscription rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
 
+    /**
+     * Analysed attestations of the current tenant, most recent first
+     * Pass the returned nextCursor to get the following page
+     */
     @GetMapping("/insurances")
-    public List<InsuranceCertificateDto> getInsuranceCertificates() {
-        return insuranceCertificateDtos;
+    public ResponseEntity<CursorPage<AttestationSummary>> getInsuranceCertificates(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(attestationService.listAttestations(cursor, size));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid attestation page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Attestations of the current tenant expiring within the next days, soonest first
+     * Pass the returned nextCursor to get the following page
+     */
+    @GetMapping("/insurances/expiring")
+    public ResponseEntity<CursorPage<ExpiringItem>> getExpiringInsuranceCertificates(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(expiryScanService.listExpiringAttestations(days, cursor, size));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid expiring attestation request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Coverages of the current tenant expiring within the next days, soonest first
+     * Pass the returned nextCursor to get the following page
+     */
+    @GetMapping("/insurances/coverages/expiring")
+    public ResponseEntity<CursorPage<ExpiringItem>> getExpiringCoverages(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(expiryScanService.listExpiringCoverages(days, cursor, size));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid expiring coverage request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Attestation counters by analysis status for the current tenant
+     */
+    @GetMapping("/insurances/stats")
+    public ResponseEntity<AttestationStats> getInsuranceStats() {
+        try {
+            return ResponseEntity.ok(attestationService.getAttestationStats());
+        } catch (Exception e) {
+            log.error("Error generating attestation stats", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Analysis report of an attestation
+     * profile: summary (default), full or alerts-only
+     */
+    @GetMapping("/insurances/{attestationId}/report")
+    public ResponseEntity<AnalysisReportResponse> getAnalysisReport(
+            @PathVariable UUID attestationId,
+            @RequestParam(defaultValue = "summary") String profile) {
+        try {
+            return attestationService.getReport(attestationId, ReportFetchProfile.fromParameter(profile))
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid report request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
@@ -273,7 +273,7 @@ public class AiAction {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AiAction aiAction = (AiAction) o;
-        return Objects.equals(id, aiAction.id);
+        return id != null && Objects.equals(id, aiAction.id);
     }
 
     @Override
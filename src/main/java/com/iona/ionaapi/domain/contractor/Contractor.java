@@ -13,7 +13,10 @@ import java.util.*;
  * This entity will be automatically created in the current tenant's schema
  */
 @Entity
-@Table(name = "contractors")
+@Table(name = "contractors", indexes = {
+    @Index(name = "idx_contractor_name_id", columnList = "name, id"),
+    @Index(name = "idx_contractor_created_id", columnList = "created_at, id")
+})
 public class Contractor {
     
     @Id
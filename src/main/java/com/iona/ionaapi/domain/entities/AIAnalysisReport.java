@@ -2,6 +2,8 @@ package com.iona.ionaapi.domain.entities;
 
 import com.iona.ionaapi.domain.action.AiAction;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,8 +19,29 @@ import java.util.stream.Collectors;
  */
 @Entity
 @Table(name = "ai_analysis_reports")
+@NamedEntityGraph(name = AIAnalysisReport.GRAPH_SUMMARY,
+        attributeNodes = @NamedAttributeNode("extractedData"))
+@NamedEntityGraph(name = AIAnalysisReport.GRAPH_FULL,
+        attributeNodes = @NamedAttributeNode(value = "extractedData", subgraph = "coverages"),
+        subgraphs = @NamedSubgraph(name = "coverages", attributeNodes = @NamedAttributeNode("coverages")))
+@NamedEntityGraph(name = AIAnalysisReport.GRAPH_ALERTS,
+        attributeNodes = @NamedAttributeNode("alerts"))
 public class AIAnalysisReport {
 
+    /**
+     * Graphes de chargement : un seul bag est joint par requête, les autres collections
+     * sont chargées par sous-requête (SUBSELECT) pour rester en nombre de requêtes borné
+     */
+    public static final String GRAPH_SUMMARY = "AIAnalysisReport.summary";
+    public static final String GRAPH_FULL = "AIAnalysisReport.full";
+    public static final String GRAPH_ALERTS = "AIAnalysisReport.alerts";
+
+    /**
+     * Poids des alertes dans le score de risque, repris par le classement SQL du portefeuille
+     */
+    public static final int CRITICAL_RISK_WEIGHT = 30;
+    public static final int WARNING_RISK_WEIGHT = 10;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -51,7 +74,7 @@ public class AIAnalysisReport {
     /**
      * Données extraites du document
      */
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "extracted_data_id", unique = true)
     private ExtractedData extractedData;
 
@@ -59,21 +82,24 @@ public class AIAnalysisReport {
      * Recommandations générées
      */
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "analysis_report_id")
+    @JoinColumn(name = "analysis_report_id", nullable = false, updatable = false)
+    @Fetch(FetchMode.SUBSELECT)
     private List<AiRecommendation> recommendations = new ArrayList<>();
 
     /**
      * Alertes détectées
      */
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "analysis_report_id")
+    @JoinColumn(name = "analysis_report_id", nullable = false, updatable = false)
+    @Fetch(FetchMode.SUBSELECT)
     private List<AiAlert> alerts = new ArrayList<>();
 
     /**
      * Actions recommandées
      */
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "analysis_report_id")
+    @JoinColumn(name = "analysis_report_id", nullable = false, updatable = false)
+    @Fetch(FetchMode.SUBSELECT)
     private List<AiAction> actions = new ArrayList<>();
 
     /**
@@ -228,7 +254,7 @@ public class AIAnalysisReport {
         int criticalCount = (int) countAlertsBySeverity(Severity.CRITICAL);
         int warningCount = (int) countAlertsBySeverity(Severity.WARNING);
         
-        return (criticalCount * 30) + (warningCount * 10);
+        return (criticalCount * CRITICAL_RISK_WEIGHT) + (warningCount * WARNING_RISK_WEIGHT);
     }
 
     /**
@@ -345,7 +371,7 @@ public class AIAnalysisReport {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AIAnalysisReport that = (AIAnalysisReport) o;
-        return Objects.equals(id, that.id);
+        return id != null && Objects.equals(id, that.id);
     }
 
     @Override
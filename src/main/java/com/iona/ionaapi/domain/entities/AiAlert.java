@@ -1,6 +1,8 @@
 package com.iona.ionaapi.domain.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -51,6 +53,7 @@ public class AiAlert {
      * Éléments affectés (ex: ["Couverture RC", "Zone géographique"])
      */
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "alert_affected_items", 
                     joinColumns = @JoinColumn(name = "alert_id"))
     @Column(name = "item")
@@ -211,7 +214,7 @@ public class AiAlert {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AiAlert aiAlert = (AiAlert) o;
-        return Objects.equals(id, aiAlert.id);
+        return id != null && Objects.equals(id, aiAlert.id);
     }
 
     @Override
@@ -180,7 +180,7 @@ public class AiRecommendation {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AiRecommendation that = (AiRecommendation) o;
-        return Objects.equals(id, that.id);
+        return id != null && Objects.equals(id, that.id);
     }
 
     @Override
@@ -18,7 +18,8 @@ import java.util.UUID;
 @Table(name = "attestations", indexes = {
     @Index(name = "idx_attestation_intervenant", columnList = "intervenant_id"),
     @Index(name = "idx_attestation_status", columnList = "ai_status"),
-    @Index(name = "idx_attestation_tenant", columnList = "tenant_id")
+    @Index(name = "idx_attestation_tenant", columnList = "tenant_id"),
+    @Index(name = "idx_attestation_created", columnList = "created_at DESC, id DESC")
 })
 public class Attestation {
 
@@ -112,7 +113,7 @@ public class Attestation {
     /**
      * Rapport d'analyse IA (optionnel, créé après l'analyse)
      */
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "ai_analysis_report_id", unique = true)
     private AIAnalysisReport aiAnalysisReport;
 
@@ -387,7 +388,7 @@ public class Attestation {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Attestation that = (Attestation) o;
-        return Objects.equals(id, that.id);
+        return id != null && Objects.equals(id, that.id);
     }
 
     @Override
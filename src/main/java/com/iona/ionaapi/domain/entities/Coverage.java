@@ -167,7 +167,7 @@ public class Coverage {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Coverage coverage = (Coverage) o;
-        return Objects.equals(id, coverage.id);
+        return id != null && Objects.equals(id, coverage.id);
     }
 
     @Override
@@ -1,6 +1,8 @@
 package com.iona.ionaapi.domain.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -86,13 +88,15 @@ public class ExtractedData {
      * Couvertures détaillées
      */
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "extracted_data_id")
+    @JoinColumn(name = "extracted_data_id", nullable = false, updatable = false)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Coverage> coverages = new ArrayList<>();
 
     /**
      * Exclusions
      */
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "extracted_data_exclusions", 
                     joinColumns = @JoinColumn(name = "extracted_data_id"))
     @Column(name = "exclusion", columnDefinition = "TEXT")
@@ -102,6 +106,7 @@ public class ExtractedData {
      * Activités couvertes
      */
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "extracted_data_covered_activities", 
                     joinColumns = @JoinColumn(name = "extracted_data_id"))
     @Column(name = "activity")
@@ -111,6 +116,7 @@ public class ExtractedData {
      * Zones géographiques couvertes
      */
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "extracted_data_geographic_scope", 
                     joinColumns = @JoinColumn(name = "extracted_data_id"))
     @Column(name = "zone")
@@ -353,7 +359,7 @@ public class ExtractedData {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ExtractedData that = (ExtractedData) o;
-        return Objects.equals(id, that.id);
+        return id != null && Objects.equals(id, that.id);
     }
 
     @Override
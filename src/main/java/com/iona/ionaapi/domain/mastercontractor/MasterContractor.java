@@ -12,7 +12,10 @@ import java.util.UUID;
  * This entity will be automatically created in the current tenant's schema
  */
 @Entity
-@Table(name = "master_contractors")
+@Table(name = "master_contractors", indexes = {
+    @Index(name = "idx_master_contractor_name_id", columnList = "name, id"),
+    @Index(name = "idx_master_contractor_created_id", columnList = "created_at, id")
+})
 public class MasterContractor {
 
     @Id
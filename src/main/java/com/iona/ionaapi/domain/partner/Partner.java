@@ -11,7 +11,10 @@ import java.util.UUID;
  * Cette entité sera automatiquement créée dans le schema du tenant courant
  */
 @Entity
-@Table(name = "partners")
+@Table(name = "partners", indexes = {
+    @Index(name = "idx_partner_name_id", columnList = "name, id"),
+    @Index(name = "idx_partner_created_id", columnList = "created_at, id")
+})
 public class Partner {
     
     @Id
@@ -17,7 +17,10 @@ import java.util.UUID;
  * Represents a construction project with insurance validation
  */
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+    @Index(name = "idx_project_name_id", columnList = "name, id"),
+    @Index(name = "idx_project_created_id", columnList = "created_at, id")
+})
 public class Project {
     
     @Id
@@ -1,10 +1,24 @@
 package com.iona.ionaapi.domain.project.enums;
 
+/**
+ * Statut de l'analyse IA d'un projet
+ * Les codes reprennent ceux d'AiStatus (attestations) : un même vocabulaire pour les flux de progression
+ */
 public enum AIAnalysisStatus {
-    PENDING,        // En attente d'analyse
-    IN_PROGRESS,    // Analyse en cours
-    COMPLIANT,      // Conforme
-    NON_COMPLIANT,  // Non conforme
-    PARTIAL,        // Partiellement conforme
-    ERROR          // Erreur d'analyse
-}
\ No newline at end of file
+    PENDING("pending"),             // En attente d'analyse
+    IN_PROGRESS("analyzing"),       // Analyse en cours
+    COMPLIANT("compliant"),         // Conforme
+    NON_COMPLIANT("non-compliant"), // Non conforme
+    PARTIAL("partial"),             // Partiellement conforme
+    ERROR("error");                 // Erreur d'analyse
+
+    private final String code;
+
+    AIAnalysisStatus(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,208 @@
+package com.iona.ionaapi.infrastructure.config;
+
+import com.iona.ionaapi.infrastructure.tenant.TenantAwareExecutor;
+import com.iona.ionaapi.infrastructure.tenant.TenantAwareTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration des exécuteurs asynchrones de l'application
+ * Toutes les tâches (@Async, planifiées, exécuteurs dédiés) héritent du tenant du thread soumetteur
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig implements AsyncConfigurer {
+
+    @Value("${iona.tenant.provisioning.pool-size:2}")
+    private int provisioningPoolSize;
+
+    @Value("${iona.tenant.provisioning.queue-capacity:100}")
+    private int provisioningQueueCapacity;
+
+    @Value("${iona.migration.parallelism:4}")
+    private int migrationParallelism;
+
+    @Value("${iona.expiry.scan-parallelism:4}")
+    private int expiryScanParallelism;
+
+    @Value("${iona.async.max-concurrent-per-tenant:4}")
+    private int maxConcurrentPerTenant;
+
+    @Value("${iona.async.max-pending-per-tenant:1000}")
+    private int maxPendingPerTenant;
+
+    @Value("${iona.async.max-concurrency:64}")
+    private int maxConcurrency;
+
+    @Value("${iona.analysis.workers:4}")
+    private int analysisWorkers;
+
+    @Value("${iona.analysis.queue-capacity:200}")
+    private int analysisQueueCapacity;
+
+    @Value("${iona.analysis.max-concurrent-per-tenant:2}")
+    private int analysisMaxConcurrentPerTenant;
+
+    @Value("${iona.analysis.max-pending-per-tenant:50}")
+    private int analysisMaxPendingPerTenant;
+
+    @Value("${iona.analysis.progress.send-threads:4}")
+    private int progressSendThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    public TaskDecorator tenantTaskDecorator() {
+        return new TenantAwareTaskDecorator();
+    }
+
+    /**
+     * Exécuteur par défaut des méthodes @Async
+     * Concurrence globale bornée et limite par tenant pour qu'un tenant ne monopolise pas l'exécuteur ;
+     * file d'attente bornée par tenant, au-delà la soumission est rejetée
+     */
+    @Bean(name = "taskExecutor")
+    public TenantAwareExecutor taskExecutor() {
+        return new TenantAwareExecutor(asyncWorkerExecutor(), maxConcurrentPerTenant, maxPendingPerTenant);
+    }
+
+    /**
+     * Workers de l'exécuteur @Async : au plus max-concurrency threads, sans file d'attente
+     * Quand tous les workers sont occupés, la soumission est rejetée au lieu de bloquer l'appelant
+     */
+    @Bean(name = "asyncWorkerExecutor")
+    public ThreadPoolTaskExecutor asyncWorkerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("iona-async-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return taskExecutor();
+    }
+
+    /**
+     * Planificateur des tâches @Scheduled
+     */
+    @Bean(name = "taskScheduler")
+    public SimpleAsyncTaskScheduler taskScheduler() {
+        SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+        scheduler.setThreadNamePrefix("iona-scheduling-");
+        scheduler.setVirtualThreads(virtualThreads);
+        scheduler.setTaskDecorator(tenantTaskDecorator());
+        return scheduler;
+    }
+
+    /**
+     * Exécuteur borné dédié à la création des schemas tenant (DDL)
+     * Au-delà de la file, les demandes sont rejetées plutôt que d'épuiser les connexions
+     */
+    @Bean(name = "tenantProvisioningExecutor")
+    public ThreadPoolTaskExecutor tenantProvisioningExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(provisioningPoolSize);
+        executor.setMaxPoolSize(provisioningPoolSize);
+        executor.setQueueCapacity(provisioningQueueCapacity);
+        executor.setThreadNamePrefix("tenant-provisioning-");
+        executor.setTaskDecorator(tenantTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Exécuteur des migrations de schemas : le parallélisme borne le nombre de connexions DDL simultanées
+     * File non bornée, une campagne soumet une tâche par schema
+     */
+    @Bean(name = "tenantMigrationExecutor")
+    public ThreadPoolTaskExecutor tenantMigrationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(migrationParallelism);
+        executor.setMaxPoolSize(migrationParallelism);
+        executor.setThreadNamePrefix("tenant-migration-");
+        executor.setTaskDecorator(tenantTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Exécuteur du scanner d'échéances : un tenant par tâche, le parallélisme borne les connexions simultanées
+     */
+    @Bean(name = "expiryScanExecutor")
+    public ThreadPoolTaskExecutor expiryScanExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(expiryScanParallelism);
+        executor.setMaxPoolSize(expiryScanParallelism);
+        executor.setThreadNamePrefix("expiry-scan-");
+        executor.setTaskDecorator(tenantTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Exécuteur des analyses d'attestations (extraction PDF + appel LLM)
+     * Limite par tenant : l'envoi en masse d'un tenant ne prend pas tous les workers ni toute la file ;
+     * file du tenant pleine ou workers saturés = demande rejetée
+     */
+    @Bean(name = "analysisExecutor")
+    public TenantAwareExecutor analysisExecutor() {
+        return new TenantAwareExecutor(analysisWorkerExecutor(), analysisMaxConcurrentPerTenant, analysisMaxPendingPerTenant);
+    }
+
+    /**
+     * Workers des analyses : leur nombre borne les appels simultanés au modèle
+     * La file ne contient que des workers de tenants (au plus un par place de tenant), les tâches en attente
+     * restent dans la file de leur tenant
+     */
+    @Bean(name = "analysisWorkerExecutor")
+    public ThreadPoolTaskExecutor analysisWorkerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(analysisWorkers);
+        executor.setMaxPoolSize(analysisWorkers);
+        executor.setQueueCapacity(analysisQueueCapacity);
+        executor.setThreadNamePrefix("attestation-analysis-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Écritures des flux SSE de progression : hors du thread de planification,
+     * une tâche au plus par abonné (file bornée par le nombre d'abonnés)
+     */
+    @Bean(name = "progressSendExecutor")
+    public ThreadPoolTaskExecutor progressSendExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(progressSendThreads);
+        executor.setMaxPoolSize(progressSendThreads);
+        executor.setThreadNamePrefix("progress-send-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
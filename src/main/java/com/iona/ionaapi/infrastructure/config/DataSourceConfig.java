@@ -1,27 +1,36 @@
 package com.iona.ionaapi.infrastructure.config;
 
 import com.iona.ionaapi.infrastructure.datasource.MultiTenantDataSource;
+import com.iona.ionaapi.infrastructure.datasource.SearchPathDataSource;
+import com.iona.ionaapi.infrastructure.datasource.TenantDataSourceFactory;
+import com.iona.ionaapi.infrastructure.datasource.TenantDataSourceRegistry;
+import com.iona.ionaapi.infrastructure.datasource.TenantPoolSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration des DataSources multi-tenant
  * Crée et configure dynamiquement les sources de données pour chaque tenant
+ * Chaque schema dispose d'un pool Hikari borné ; le nombre total de connexions est plafonné
  */
 @Configuration
 public class DataSourceConfig {
     
     private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
     
+    private static final String PUBLIC_SCHEMA = "public";
+    private static final String DEFAULT_TENANT_SCHEMA = "tenant_default";
+    
     @Value("${spring.datasource.url:jdbc:postgresql://localhost:5432/iona}")
     private String databaseUrl;
     
@@ -34,117 +43,121 @@ public class DataSourceConfig {
     @Value("${spring.datasource.driver-class-name:org.postgresql.Driver}")
     private String driverClassName;
     
-    /**
-     * DataSource principal multi-tenant
-     */
-    @Bean
-    @Primary
-    public DataSource dataSource() {
-        MultiTenantDataSource multiTenantDataSource = new MultiTenantDataSource();
-        
-        // Configure les sources de données pour les schemas par défaut
-        Map<Object, Object> dataSourceMap = createInitialDataSources();
-        
-        multiTenantDataSource.setTargetDataSources(dataSourceMap);
-        multiTenantDataSource.setDefaultTargetDataSource(createDataSourceForSchema("public"));
-        
-        // Initialise la résolution des DataSources
-        multiTenantDataSource.afterPropertiesSet();
-        
-        logger.info("MultiTenantDataSource configuré avec {} schemas initiaux", dataSourceMap.size());
-        return multiTenantDataSource;
+    @Value("${iona.datasource.pool.max-size-per-tenant:5}")
+    private int maxPoolSizePerTenant;
+    
+    @Value("${iona.datasource.pool.min-idle-per-tenant:0}")
+    private int minIdlePerTenant;
+    
+    @Value("${iona.datasource.pool.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+    
+    @Value("${iona.datasource.pool.max-lifetime-ms:1800000}")
+    private long maxLifetimeMs;
+    
+    @Value("${iona.datasource.pool.connection-timeout-ms:10000}")
+    private long connectionTimeoutMs;
+    
+    @Value("${iona.datasource.pool.max-total-connections:100}")
+    private int maxTotalConnections;
+    
+    @Value("${iona.datasource.pool.shared-max-size:20}")
+    private int sharedPoolMaxSize;
+    
+    @Value("${iona.multitenancy.mode:routing}")
+    private String multitenancyMode;
+    
+    @Value("${iona.datasource.registry.max-tenants:0}")
+    private int maxCachedTenants;
+    
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    
+    public DataSourceConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
     }
     
     /**
-     * Crée les sources de données initiales pour les schemas par défaut
+     * Fabrique des pools de connexions par schema
      */
-    private Map<Object, Object> createInitialDataSources() {
-        Map<Object, Object> dataSourceMap = new HashMap<>();
+    @Bean(destroyMethod = "close")
+    public TenantDataSourceFactory tenantDataSourceFactory() {
+        TenantPoolSettings settings = new TenantPoolSettings(
+                maxPoolSizePerTenant,
+                minIdlePerTenant,
+                idleTimeoutMs,
+                maxLifetimeMs,
+                connectionTimeoutMs,
+                maxTotalConnections
+        );
         
-        // Schema public (par défaut)
-        dataSourceMap.put("public", createDataSourceForSchema("public"));
-        
-        // Schema tenant par défaut
-        dataSourceMap.put("tenant_default", createDataSourceForSchema("tenant_default"));
-        
-        // Peut ajouter d'autres schemas prédéfinis ici
-        addPredefinedTenantSchemas(dataSourceMap);
-        
-        return dataSourceMap;
+        logger.info("Pools tenant: {} connexions max par schema, plafond global {} ({} pools)",
+                settings.maxPoolSizePerTenant(), settings.maxTotalConnections(), settings.maxOpenPools());
+        return new TenantDataSourceFactory(databaseUrl, databaseUsername, databasePassword,
+                driverClassName, settings, meterRegistry.getIfAvailable());
     }
     
     /**
-     * Ajoute des schemas tenant prédéfinis (optionnel)
+     * Registre des pools tenant, créés à la demande et évincés en LRU
      */
-    private void addPredefinedTenantSchemas(Map<Object, Object> dataSourceMap) {
-        // Exemples de tenants prédéfinis - peut être configuré via properties
-        String[] predefinedTenants = {
-            "courtier-lacroix",
-            "axa-assurance", 
-            "bouygues-construction"
-        };
-        
-        for (String tenant : predefinedTenants) {
-            String schemaName = "tenant_" + tenant.toLowerCase().replaceAll("[^a-z0-9_-]", "_");
-            dataSourceMap.put(schemaName, createDataSourceForSchema(schemaName));
-            logger.debug("Schema prédéfini ajouté: {}", schemaName);
-        }
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "iona.multitenancy.mode", havingValue = MultiTenancyConfig.ROUTING_MODE, matchIfMissing = true)
+    public TenantDataSourceRegistry tenantDataSourceRegistry() {
+        TenantDataSourceRegistry registry = new TenantDataSourceRegistry(
+                tenantDataSourceFactory(),
+                maxCachedTenants,
+                Set.of(PUBLIC_SCHEMA, DEFAULT_TENANT_SCHEMA),
+                meterRegistry.getIfAvailable()
+        );
+        logger.info("Registre de DataSources tenant configuré (capacité: {} pools)", registry.getMaxTenants());
+        return registry;
     }
     
     /**
-     * Crée une DataSource pour un schema spécifique
+     * DataSource principal multi-tenant
+     * Mode "routing" : un pool par schema, routé selon le tenant courant
+     * Mode "schema" : un pool partagé, search_path positionné à chaque emprunt
      */
-    private DataSource createDataSourceForSchema(String schema) {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        if (isSchemaMode()) {
+            logger.info("Multi-tenancy en mode schema : pool partagé de {} connexions", sharedPoolMaxSize);
+            return new SearchPathDataSource(tenantDataSourceFactory().createShared(sharedPoolMaxSize));
+        }
         
-        // Configuration de base
-        dataSource.setDriverClassName(driverClassName);
-        dataSource.setUsername(databaseUsername);
-        dataSource.setPassword(databasePassword);
+        TenantDataSourceRegistry registry = tenantDataSourceRegistry();
+        MultiTenantDataSource multiTenantDataSource = new MultiTenantDataSource(registry);
         
-        // URL avec schema par défaut
-        String urlWithSchema = buildUrlWithSchema(schema);
-        dataSource.setUrl(urlWithSchema);
+        // Schemas épinglés, ouverts dès le démarrage ; les autres tenants sont créés au premier accès
+        multiTenantDataSource.setDefaultTargetDataSource(registry.getDataSource(PUBLIC_SCHEMA));
+        registry.getDataSource(DEFAULT_TENANT_SCHEMA);
         
-        logger.debug("DataSource créée pour le schema: {} avec URL: {}", schema, urlWithSchema);
-        return dataSource;
-    }
-    
-    /**
-     * Construit l'URL de connexion avec le schema par défaut
-     */
-    private String buildUrlWithSchema(String schema) {
-        // Ajoute le paramètre currentSchema à l'URL PostgreSQL
-        String separator = databaseUrl.contains("?") ? "&" : "?";
-        return String.format("%s%scurrentSchema=%s", databaseUrl, separator, schema);
+        // Initialise la résolution des DataSources
+        multiTenantDataSource.afterPropertiesSet();
+        
+        logger.info("MultiTenantDataSource configuré avec {} schemas initiaux", registry.size());
+        return multiTenantDataSource;
     }
     
     /**
      * Ajoute dynamiquement une DataSource pour un nouveau tenant
-     * Cette méthode peut être appelée programmatiquement
+     * Ouvre le pool à l'avance pour éviter le coût de création à la première requête
      */
     public void addTenantDataSource(String tenantId) {
         if (tenantId == null || tenantId.trim().isEmpty()) {
             throw new IllegalArgumentException("Tenant ID ne peut pas être vide");
         }
         
-        String schemaName = "tenant_" + tenantId.toLowerCase().replaceAll("[^a-z0-9_-]", "_");
+        String schemaName = MultiTenantDataSource.resolveSchemaName(tenantId);
+        
+        // En mode schema, le pool partagé sert tous les tenants : rien à ouvrir
+        if (isSchemaMode()) {
+            return;
+        }
         
         try {
-            // Obtient la référence du MultiTenantDataSource
-            DataSource mainDataSource = dataSource();
-            if (mainDataSource instanceof MultiTenantDataSource multiTenantDS) {
-                
-                // Crée la nouvelle DataSource
-                DataSource newDataSource = createDataSourceForSchema(schemaName);
-                
-                // Note: Dans une vraie implémentation, il faudrait une méthode
-                // pour ajouter dynamiquement à MultiTenantDataSource
-                // Pour l'instant, les nouveaux tenants seront créés automatiquement
-                // via la résolution dynamique dans MultiTenantDataSource
-                
-                logger.info("DataSource ajoutée pour le tenant: {} (schema: {})", tenantId, schemaName);
-            }
+            tenantDataSourceRegistry().getDataSource(schemaName);
+            logger.info("DataSource ajoutée pour le tenant: {} (schema: {})", tenantId, schemaName);
             
         } catch (Exception e) {
             logger.error("Erreur lors de l'ajout de la DataSource pour le tenant: {}", tenantId, e);
@@ -152,16 +165,16 @@ public class DataSourceConfig {
         }
     }
     
+    public boolean isSchemaMode() {
+        return MultiTenancyConfig.SCHEMA_MODE.equalsIgnoreCase(multitenancyMode);
+    }
+    
     /**
      * DataSource pour les opérations administratives (sans tenant)
      */
-    @Bean(name = "adminDataSource")
+    @Bean(name = "adminDataSource", destroyMethod = "close")
     public DataSource adminDataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(driverClassName);
-        dataSource.setUrl(databaseUrl);
-        dataSource.setUsername(databaseUsername);
-        dataSource.setPassword(databasePassword);
+        DataSource dataSource = tenantDataSourceFactory().createAdmin();
         
         logger.debug("DataSource administrateur créée");
         return dataSource;
@@ -0,0 +1,48 @@
+package com.iona.ionaapi.infrastructure.config;
+
+import com.iona.ionaapi.infrastructure.datasource.SearchPathDataSource;
+import com.iona.ionaapi.infrastructure.datasource.TenantIdentifierResolver;
+import com.iona.ionaapi.infrastructure.datasource.TenantSchemaConnectionProvider;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration Hibernate du mode multi-tenant "schema"
+ * Activée par iona.multitenancy.mode=schema ; le mode "routing" (par défaut) n'utilise pas ces beans
+ */
+@Configuration
+@ConditionalOnProperty(name = "iona.multitenancy.mode", havingValue = MultiTenancyConfig.SCHEMA_MODE)
+public class MultiTenancyConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiTenancyConfig.class);
+
+    public static final String ROUTING_MODE = "routing";
+    public static final String SCHEMA_MODE = "schema";
+
+    /**
+     * Enregistre le fournisseur de connexions et le résolveur de tenant auprès d'Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer multiTenancyHibernateCustomizer(DataSource dataSource) {
+        if (!(dataSource instanceof SearchPathDataSource searchPathDataSource)) {
+            throw new IllegalStateException("Le mode schema requiert une SearchPathDataSource comme DataSource principale");
+        }
+
+        TenantSchemaConnectionProvider connectionProvider =
+                new TenantSchemaConnectionProvider(searchPathDataSource.getTargetDataSource());
+        TenantIdentifierResolver identifierResolver = new TenantIdentifierResolver();
+
+        logger.info("Hibernate configuré en multi-tenancy par schema (search_path)");
+        return properties -> {
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, connectionProvider);
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, identifierResolver);
+        };
+    }
+}
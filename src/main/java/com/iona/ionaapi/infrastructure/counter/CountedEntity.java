@@ -0,0 +1,83 @@
+package com.iona.ionaapi.infrastructure.counter;
+
+import com.iona.ionaapi.domain.contractor.Contractor;
+import com.iona.ionaapi.domain.entities.Attestation;
+import com.iona.ionaapi.domain.partner.Partner;
+import com.iona.ionaapi.domain.project.Project;
+import com.iona.ionaapi.domain.project.ProjectAIAnalysis;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Entités dont les compteurs par statut sont tenus à jour par tenant
+ * Chaque dimension associe une propriété de l'entité à la colonne utilisée pour la réconciliation
+ */
+public enum CountedEntity {
+    PROJECT(Project.class, "projects", List.of(
+            new Dimension("status", "status", "status", Function.identity()),
+            new Dimension("aiStatus", "aiAnalysis", "ai_status",
+                    analysis -> ((ProjectAIAnalysis) analysis).getStatus()))),
+    CONTRACTOR(Contractor.class, "contractors", List.of(
+            new Dimension("status", "status", "status", Function.identity()),
+            new Dimension("type", "type", "type", Function.identity()))),
+    PARTNER(Partner.class, "partners", List.of(
+            new Dimension("status", "status", "status", Function.identity()),
+            new Dimension("partnerType", "partnerType", "partner_type", Function.identity()))),
+    ATTESTATION(Attestation.class, "attestations", List.of(
+            new Dimension("aiStatus", "aiStatus", "ai_status", Function.identity())));
+
+    private final Class<?> entityClass;
+    private final String table;
+    private final List<Dimension> dimensions;
+
+    CountedEntity(Class<?> entityClass, String table, List<Dimension> dimensions) {
+        this.entityClass = entityClass;
+        this.table = table;
+        this.dimensions = dimensions;
+    }
+
+    public Class<?> entityClass() {
+        return entityClass;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public List<Dimension> dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Entité comptée correspondant à une classe persistée, ou null
+     */
+    public static CountedEntity of(Class<?> type) {
+        for (CountedEntity entity : values()) {
+            if (entity.entityClass == type) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param name      nom de la dimension exposé par les compteurs
+     * @param property  propriété Hibernate de premier niveau portant la valeur (éventuellement un embeddable)
+     * @param column    colonne SQL relue lors de la réconciliation
+     * @param extractor valeur comptée à partir de la valeur de la propriété (non nulle)
+     */
+    public record Dimension(String name, String property, String column, Function<Object, Object> extractor) {
+
+        /**
+         * Clé de compteur de la valeur de la propriété, null si elle n'est pas renseignée
+         */
+        public String keyOf(Object propertyValue) {
+            if (propertyValue == null) {
+                return null;
+            }
+            Object value = extractor.apply(propertyValue);
+            return value != null ? value.toString() : null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.iona.ionaapi.infrastructure.counter;
+
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Transmet aux compteurs les insertions, mises à jour et suppressions validées des entités comptées
+ * Les événements post-commit ne sont émis qu'après le commit : un rollback ne fausse jamais les compteurs
+ */
+@Component
+public class EntityCounterListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCounterListener.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityCounterService counterService;
+
+    public EntityCounterListener(EntityManagerFactory entityManagerFactory, EntityCounterService counterService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.counterService = counterService;
+    }
+
+    @PostConstruct
+    void register() {
+        if (!counterService.isEnabled()) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        logger.info("Compteurs d'entités activés");
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return CountedEntity.of(persister.getMappedClass()) != null;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        CountedEntity entity = CountedEntity.of(event.getPersister().getMappedClass());
+        if (entity != null) {
+            List<EntityCounterService.Delta> deltas = new ArrayList<>();
+            deltas.add(new EntityCounterService.Delta(entity, null, null, 1));
+            addState(deltas, entity, event.getPersister(), event.getState(), 1);
+            counterService.apply(TenantContext.getTenantOrDefault(), deltas);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        CountedEntity entity = CountedEntity.of(event.getPersister().getMappedClass());
+        // Sans état chargé (entité détachée fusionnée), la réconciliation corrigera l'écart éventuel
+        if (entity == null || event.getOldState() == null) {
+            return;
+        }
+        List<EntityCounterService.Delta> deltas = new ArrayList<>();
+        String[] propertyNames = event.getPersister().getPropertyNames();
+        for (CountedEntity.Dimension dimension : entity.dimensions()) {
+            int index = indexOf(propertyNames, dimension.property());
+            String before = dimension.keyOf(event.getOldState()[index]);
+            String after = dimension.keyOf(event.getState()[index]);
+            if (!Objects.equals(before, after)) {
+                deltas.add(new EntityCounterService.Delta(entity, dimension.name(), before, -1));
+                deltas.add(new EntityCounterService.Delta(entity, dimension.name(), after, 1));
+            }
+        }
+        if (!deltas.isEmpty()) {
+            counterService.apply(TenantContext.getTenantOrDefault(), deltas);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        CountedEntity entity = CountedEntity.of(event.getPersister().getMappedClass());
+        if (entity != null) {
+            List<EntityCounterService.Delta> deltas = new ArrayList<>();
+            deltas.add(new EntityCounterService.Delta(entity, null, null, -1));
+            if (event.getDeletedState() != null) {
+                addState(deltas, entity, event.getPersister(), event.getDeletedState(), -1);
+            }
+            counterService.apply(TenantContext.getTenantOrDefault(), deltas);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Transaction annulée : aucun delta n'a été appliqué
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Transaction annulée : aucun delta n'a été appliqué
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Transaction annulée : aucun delta n'a été appliqué
+    }
+
+    private void addState(List<EntityCounterService.Delta> deltas, CountedEntity entity,
+                          EntityPersister persister, Object[] state, long amount) {
+        String[] propertyNames = persister.getPropertyNames();
+        for (CountedEntity.Dimension dimension : entity.dimensions()) {
+            String value = dimension.keyOf(state[indexOf(propertyNames, dimension.property())]);
+            deltas.add(new EntityCounterService.Delta(entity, dimension.name(), value, amount));
+        }
+    }
+
+    private static int indexOf(String[] propertyNames, String property) {
+        for (int i = 0; i < propertyNames.length; i++) {
+            if (propertyNames[i].equals(property)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Propriété comptée introuvable: " + property);
+    }
+}
@@ -0,0 +1,238 @@
+package com.iona.ionaapi.infrastructure.counter;
+
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantEvent;
+import com.iona.ionaapi.infrastructure.tenant.TenantEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compteurs par tenant et par statut des projets, entreprises, partners et attestations
+ * Chargés au premier accès d'un tenant (une requête groupée par table), puis tenus à jour par les deltas
+ * des transactions validées (EntityCounterListener) : la lecture est en temps constant quelle que soit la volumétrie.
+ * Une réconciliation périodique relit la base pour corriger les écarts (écritures hors Hibernate, autres noeuds)
+ */
+@Service
+public class EntityCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCounterService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, TenantCounters> tenants = new ConcurrentHashMap<>();
+    // Premiers chargements en cours : reçoivent les deltas validés pendant la lecture
+    private final Map<String, TenantCounters> loading = new ConcurrentHashMap<>();
+
+    private final Counter driftCounter;
+    private final Timer reconcileTimer;
+
+    @Value("${iona.counters.enabled:true}")
+    private boolean enabled;
+
+    // Tenants non lus depuis ce délai : compteurs libérés, rechargés au prochain accès
+    @Value("${iona.counters.idle-eviction-ms:3600000}")
+    private long idleEvictionMs;
+
+    public EntityCounterService(JdbcTemplate jdbcTemplate, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.jdbcTemplate = jdbcTemplate;
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            Gauge.builder("iona.counters.tenants", tenants, Map::size)
+                    .description("Tenants dont les compteurs sont chargés")
+                    .register(meterRegistry);
+            this.driftCounter = Counter.builder("iona.counters.drift")
+                    .description("Écart cumulé corrigé par la réconciliation")
+                    .register(meterRegistry);
+            this.reconcileTimer = Timer.builder("iona.counters.reconcile")
+                    .description("Durée de réconciliation des compteurs d'un tenant")
+                    .register(meterRegistry);
+        } else {
+            this.driftCounter = null;
+            this.reconcileTimer = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Nombre total d'entités du tenant courant
+     */
+    public long total(CountedEntity entity) {
+        return countersOf(TenantContext.getTenantOrDefault()).total(entity);
+    }
+
+    /**
+     * Nombre d'entités du tenant courant ayant la valeur donnée sur une dimension (ex: status = ACTIVE)
+     */
+    public long count(CountedEntity entity, String dimension, Enum<?> value) {
+        return countersOf(TenantContext.getTenantOrDefault()).count(entity, dimension, value.name());
+    }
+
+    /**
+     * Enregistre un changement de valeur fait hors du cycle de vie Hibernate (mise à jour en masse)
+     * Dans une transaction, le delta n'est appliqué qu'après le commit
+     */
+    public void recordTransition(CountedEntity entity, String dimension, Enum<?> from, Enum<?> to) {
+        if (!enabled || from == to) {
+            return;
+        }
+        String tenant = TenantContext.getTenantOrDefault();
+        List<Delta> deltas = List.of(
+                new Delta(entity, dimension, from != null ? from.name() : null, -1),
+                new Delta(entity, dimension, to != null ? to.name() : null, 1));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(tenant, deltas);
+                }
+            });
+        } else {
+            apply(tenant, deltas);
+        }
+    }
+
+    /**
+     * Applique les deltas d'une transaction validée
+     * Sans compteurs chargés ni en chargement pour le tenant, rien à faire : le prochain chargement relira la base
+     */
+    void apply(String tenant, List<Delta> deltas) {
+        TenantCounters counters = tenants.get(tenant);
+        if (counters == null) {
+            // Relecture de tenants après loading : un chargement publié entre les deux lectures n'est pas manqué
+            counters = loading.get(tenant);
+            if (counters == null) {
+                counters = tenants.get(tenant);
+            }
+        }
+        if (counters != null) {
+            counters.apply(deltas);
+        }
+    }
+
+    /**
+     * Relit les compteurs de tous les tenants chargés et libère ceux qui ne sont plus consultés
+     * Les deltas validés pendant la relecture sont rejoués sur l'instantané (voir TenantCounters#replace)
+     */
+    @Scheduled(fixedDelayString = "${iona.counters.reconcile-interval-ms:300000}",
+               initialDelayString = "${iona.counters.reconcile-interval-ms:300000}")
+    public void reconcileAll() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, TenantCounters> entry : tenants.entrySet()) {
+            String tenant = entry.getKey();
+            if (now - entry.getValue().lastReadNanos() > TimeUnit.MILLISECONDS.toNanos(idleEvictionMs)) {
+                tenants.remove(tenant, entry.getValue());
+                logger.debug("Compteurs libérés pour le tenant inactif: {}", tenant);
+                continue;
+            }
+            try {
+                long drift = TenantContext.callWithTenant(tenant, () -> reconcile(entry.getValue()));
+                if (drift > 0) {
+                    if (driftCounter != null) {
+                        driftCounter.increment(drift);
+                    }
+                    logger.info("Compteurs du tenant '{}' corrigés (écart: {})", tenant, drift);
+                }
+            } catch (Exception e) {
+                logger.warn("Réconciliation des compteurs impossible pour le tenant '{}': {}", tenant, e.getMessage());
+            }
+        }
+    }
+
+    @EventListener
+    public void onTenantEvent(TenantEvent event) {
+        if (event.type() == TenantEventType.DELETED) {
+            tenants.remove(event.tenantId());
+            loading.remove(event.tenantId());
+        }
+    }
+
+    private TenantCounters countersOf(String tenant) {
+        TenantCounters counters = tenants.get(tenant);
+        if (counters != null) {
+            return counters;
+        }
+        // Le chargement enregistré dans loading reçoit les deltas validés pendant sa lecture et est seul publié ;
+        // une lecture concurrente charge pour elle-même sans publier
+        TenantCounters loaded = new TenantCounters(true);
+        boolean owner = loading.putIfAbsent(tenant, loaded) == null;
+        try {
+            reconcile(loaded);
+            if (!owner) {
+                return loaded;
+            }
+            TenantCounters existing = tenants.putIfAbsent(tenant, loaded);
+            return existing != null ? existing : loaded;
+        } finally {
+            if (owner) {
+                loading.remove(tenant, loaded);
+            }
+        }
+    }
+
+    /**
+     * Une requête groupée par table, sur toutes ses dimensions à la fois
+     * Doit être appelé dans le contexte du tenant
+     */
+    private long reconcile(TenantCounters counters) {
+        if (reconcileTimer == null) {
+            return reload(counters);
+        }
+        return reconcileTimer.record(() -> reload(counters));
+    }
+
+    private long reload(TenantCounters counters) {
+        long drift = 0;
+        for (CountedEntity entity : CountedEntity.values()) {
+            List<CountedEntity.Dimension> dimensions = entity.dimensions();
+            String columns = String.join(", ", dimensions.stream().map(CountedEntity.Dimension::column).toList());
+            String sql = "SELECT " + columns + ", COUNT(*) FROM " + entity.table() + " GROUP BY " + columns;
+
+            long[] total = new long[1];
+            Map<String, Long> counts = new HashMap<>();
+            counters.beginSnapshot(entity);
+            try {
+                jdbcTemplate.query(sql, rs -> {
+                    long count = rs.getLong(dimensions.size() + 1);
+                    total[0] += count;
+                    for (int i = 0; i < dimensions.size(); i++) {
+                        String value = rs.getString(i + 1);
+                        if (value != null) {
+                            counts.merge(TenantCounters.key(entity, dimensions.get(i).name(), value), count, Long::sum);
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                counters.abortSnapshot(entity);
+                throw e;
+            }
+            drift += counters.replace(entity, total[0], counts);
+        }
+        return drift;
+    }
+
+    /**
+     * Variation d'un compteur ; dimension null pour le total de l'entité
+     */
+    record Delta(CountedEntity entity, String dimension, String value, long amount) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.iona.ionaapi.infrastructure.counter;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compteurs d'un tenant : total par entité et effectif par (entité, dimension, valeur)
+ * Lectures sans verrou ; deltas et remplacement par un instantané sérialisés par un verrou court.
+ * Pendant la relecture d'une entité, ses deltas sont appliqués et mémorisés, puis rejoués sur l'instantané :
+ * un delta validé après le début de la requête n'est ni perdu ni écrasé
+ */
+final class TenantCounters {
+
+    private final Map<CountedEntity, AtomicLong> totals = new EnumMap<>(CountedEntity.class);
+    private final Map<String, AtomicLong> values = new ConcurrentHashMap<>();
+    private volatile long lastReadNanos = System.nanoTime();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Entités en cours de relecture -> deltas reçus depuis le début de l'instantané
+    private final Map<CountedEntity, List<EntityCounterService.Delta>> snapshots = new EnumMap<>(CountedEntity.class);
+
+    TenantCounters() {
+        this(false);
+    }
+
+    /**
+     * @param loading true pour un premier chargement : toutes les entités sont en instantané dès la création
+     */
+    TenantCounters(boolean loading) {
+        for (CountedEntity entity : CountedEntity.values()) {
+            totals.put(entity, new AtomicLong());
+            if (loading) {
+                snapshots.put(entity, new ArrayList<>());
+            }
+        }
+    }
+
+    long total(CountedEntity entity) {
+        lastReadNanos = System.nanoTime();
+        return totals.get(entity).get();
+    }
+
+    long count(CountedEntity entity, String dimension, String value) {
+        lastReadNanos = System.nanoTime();
+        AtomicLong counter = values.get(key(entity, dimension, value));
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * Applique les deltas d'une transaction validée, et les mémorise pour les entités en cours de relecture
+     */
+    void apply(List<EntityCounterService.Delta> deltas) {
+        lock.lock();
+        try {
+            for (EntityCounterService.Delta delta : deltas) {
+                if (delta.dimension() == null) {
+                    totals.get(delta.entity()).addAndGet(delta.amount());
+                } else if (delta.value() != null) {
+                    values.computeIfAbsent(key(delta.entity(), delta.dimension(), delta.value()), k -> new AtomicLong())
+                            .addAndGet(delta.amount());
+                }
+                List<EntityCounterService.Delta> pending = snapshots.get(delta.entity());
+                if (pending != null) {
+                    pending.add(delta);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Début de la relecture d'une entité : à appeler juste avant la requête
+     */
+    void beginSnapshot(CountedEntity entity) {
+        lock.lock();
+        try {
+            snapshots.putIfAbsent(entity, new ArrayList<>());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Relecture échouée : les valeurs courantes, deltas compris, restent en place
+     */
+    void abortSnapshot(CountedEntity entity) {
+        lock.lock();
+        try {
+            snapshots.remove(entity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remplace les compteurs d'une entité par les valeurs relues en base, augmentées des deltas reçus
+     * depuis beginSnapshot (validés après le début de la requête, donc absents de l'instantané)
+     * Seul un delta validé entre beginSnapshot et la prise d'instantané par la base est compté deux fois,
+     * jusqu'à la réconciliation suivante : la fenêtre se limite à l'envoi de la requête
+     *
+     * @return somme des écarts absolus corrigés
+     */
+    long replace(CountedEntity entity, long total, Map<String, Long> counts) {
+        lock.lock();
+        try {
+            return replaceLocked(entity, total, counts);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long replaceLocked(CountedEntity entity, long total, Map<String, Long> counts) {
+        Map<String, Long> expected = new HashMap<>(counts);
+        List<EntityCounterService.Delta> pending = snapshots.remove(entity);
+        if (pending != null) {
+            for (EntityCounterService.Delta delta : pending) {
+                if (delta.dimension() == null) {
+                    total += delta.amount();
+                } else if (delta.value() != null) {
+                    expected.merge(key(entity, delta.dimension(), delta.value()), delta.amount(), Long::sum);
+                }
+            }
+        }
+        long drift = Math.abs(totals.get(entity).getAndSet(total) - total);
+
+        String prefix = entity.name() + '|';
+        for (Map.Entry<String, AtomicLong> e : values.entrySet()) {
+            if (e.getKey().startsWith(prefix)) {
+                long actual = expected.getOrDefault(e.getKey(), 0L);
+                drift += Math.abs(e.getValue().getAndSet(actual) - actual);
+                expected.remove(e.getKey());
+            }
+        }
+        for (Map.Entry<String, Long> e : expected.entrySet()) {
+            drift += Math.abs(values.computeIfAbsent(e.getKey(), k -> new AtomicLong()).getAndSet(e.getValue()) - e.getValue());
+        }
+        return drift;
+    }
+
+    long lastReadNanos() {
+        return lastReadNanos;
+    }
+
+    static String key(CountedEntity entity, String dimension, String value) {
+        return entity.name() + '|' + dimension + '|' + value;
+    }
+}
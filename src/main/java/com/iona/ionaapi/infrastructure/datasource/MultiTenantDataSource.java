@@ -1,18 +1,45 @@
 package com.iona.ionaapi.infrastructure.datasource;
 
 import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 
+import javax.sql.DataSource;
+import java.util.Map;
+
 /**
  * DataSource multi-tenant qui route dynamiquement vers les schemas PostgreSQL
  * selon le tenant courant défini dans TenantContext
+ * Les DataSources cibles sont fournies par le registre, qui les crée à la demande
  */
 public class MultiTenantDataSource extends AbstractRoutingDataSource {
 
     private static final Logger logger = LoggerFactory.getLogger(MultiTenantDataSource.class);
 
+    private final TenantDataSourceRegistry registry;
+
+    public MultiTenantDataSource(TenantDataSourceRegistry registry) {
+        this.registry = registry;
+        // Aucune cible statique : toutes les résolutions passent par le registre
+        setTargetDataSources(Map.of());
+    }
+
+    /**
+     * Résout la DataSource du schema courant via le registre (création paresseuse)
+     * au lieu de la map statique, afin qu'aucun tenant ne retombe sur la cible par défaut
+     */
+    @Override
+    protected DataSource determineTargetDataSource() {
+        String schema = (String) determineCurrentLookupKey();
+        return registry.getDataSource(schema);
+    }
+
+    public TenantDataSourceRegistry getRegistry() {
+        return registry;
+    }
+
     /**
      * Détermine quel schema utiliser basé sur le tenant actuel
      * Cette méthode est appelée à chaque accès à la base de données
@@ -30,17 +57,7 @@ public class MultiTenantDataSource extends AbstractRoutingDataSource {
      * Résout le nom du schema PostgreSQL basé sur l'identifiant du tenant
      * Format: tenant_{tenantId} ou "public" par défaut
      */
-    private String resolveSchemaName(String tenant) {
-        if (tenant == null || tenant.trim().isEmpty()) {
-            logger.debug("Aucun tenant défini, utilisation du schema public");
-            return "public";
-        }
-
-        // Nettoie et normalise le nom du tenant
-        String cleanTenant = tenant.toLowerCase()
-                .replaceAll("[^a-z0-9_-]", "_")  // Remplace caractères invalides
-                .replaceAll("_{2,}", "_");        // Supprime les underscores multiples
-
-        return "tenant_" + cleanTenant;
+    public static String resolveSchemaName(String tenant) {
+        return TenantResolver.resolveSchemaName(tenant);
     }
-}
\ No newline at end of file
+}
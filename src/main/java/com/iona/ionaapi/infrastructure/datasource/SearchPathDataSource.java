@@ -0,0 +1,54 @@
+package com.iona.ionaapi.infrastructure.datasource;
+
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource du mode "schema" : toutes les connexions proviennent d'un pool partagé
+ * et leur search_path est positionné sur le schema du tenant courant à chaque emprunt
+ * Utilisée par JdbcTemplate ; Hibernate passe par TenantSchemaConnectionProvider
+ */
+public class SearchPathDataSource extends DelegatingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchPathDataSource.class);
+
+    public SearchPathDataSource(DataSource sharedDataSource) {
+        super(sharedDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String schema = MultiTenantDataSource.resolveSchemaName(TenantContext.getTenant());
+        return applySearchPath(obtainTargetDataSource().getConnection(), schema);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        String schema = MultiTenantDataSource.resolveSchemaName(TenantContext.getTenant());
+        return applySearchPath(obtainTargetDataSource().getConnection(username, password), schema);
+    }
+
+    /**
+     * Positionne le search_path de la connexion sur le schema donné
+     * Chaque emprunt du pool partagé passe par ici, aucune connexion ne conserve donc le schema d'un autre tenant
+     * En cas d'échec, la connexion est rendue au pool avant de propager l'erreur
+     */
+    public static Connection applySearchPath(Connection connection, String schema) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // Le nom du schema est déjà normalisé ([a-z0-9_-]) ; les guillemets protègent les tirets
+            statement.execute("SET search_path TO \"" + schema + "\"");
+            logger.debug("search_path positionné sur le schema: {}", schema);
+            return connection;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.iona.ionaapi.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fabrique des pools de connexions par schema tenant
+ * Chaque pool est borné et libère ses connexions inactives ; l'ensemble des pools
+ * ouverts respecte le plafond global défini dans {@link TenantPoolSettings}
+ */
+public class TenantDataSourceFactory implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantDataSourceFactory.class);
+
+    public static final String POOL_NAME_PREFIX = "iona-";
+    public static final String SHARED_POOL_KEY = "shared";
+
+    private final String databaseUrl;
+    private final String username;
+    private final String password;
+    private final String driverClassName;
+    private final TenantPoolSettings settings;
+    private final MeterRegistry meterRegistry;
+
+    // Pools ouverts, indexés par schema
+    private final Map<String, HikariDataSource> pools = new ConcurrentHashMap<>();
+    private final ReentrantLock poolsLock = new ReentrantLock();
+
+    // Un seul thread de maintenance partagé par tous les pools (au lieu d'un thread par pool)
+    private final ScheduledThreadPoolExecutor housekeeper;
+
+    public TenantDataSourceFactory(String databaseUrl, String username, String password,
+                                   String driverClassName, TenantPoolSettings settings,
+                                   MeterRegistry meterRegistry) {
+        this.databaseUrl = databaseUrl;
+        this.username = username;
+        this.password = password;
+        this.driverClassName = driverClassName;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.housekeeper = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "iona-pool-housekeeper-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Crée le pool d'un schema
+     * Refuse la création si le plafond global de connexions serait dépassé
+     */
+    public HikariDataSource create(String schema) {
+        poolsLock.lock();
+        try {
+            HikariDataSource existing = pools.get(schema);
+            if (existing != null && !existing.isClosed()) {
+                return existing;
+            }
+
+            if (pools.size() >= settings.maxOpenPools()) {
+                throw new IllegalStateException(String.format(
+                        "Plafond global de connexions atteint (%d pools de %d connexions), impossible d'ouvrir le schema: %s",
+                        pools.size(), settings.maxPoolSizePerTenant(), schema));
+            }
+
+            HikariConfig config = baseConfig(POOL_NAME_PREFIX + schema);
+            config.setJdbcUrl(buildUrlWithSchema(schema));
+            config.setMaximumPoolSize(settings.maxPoolSizePerTenant());
+            config.setMinimumIdle(settings.minIdlePerTenant());
+
+            HikariDataSource dataSource = new HikariDataSource(config);
+            pools.put(schema, dataSource);
+
+            logger.debug("Pool créé pour le schema: {} (max={}, pools ouverts={})",
+                    schema, settings.maxPoolSizePerTenant(), pools.size());
+            return dataSource;
+        } finally {
+            poolsLock.unlock();
+        }
+    }
+
+    /**
+     * Pool unique partagé par tous les tenants (mode "schema")
+     * Le schema est sélectionné par search_path à chaque emprunt, l'URL n'en fixe aucun
+     */
+    public HikariDataSource createShared(int maxPoolSize) {
+        if (maxPoolSize <= 0 || maxPoolSize > settings.maxTotalConnections()) {
+            throw new IllegalArgumentException("Taille du pool partagé invalide: " + maxPoolSize);
+        }
+
+        poolsLock.lock();
+        try {
+            HikariDataSource existing = pools.get(SHARED_POOL_KEY);
+            if (existing != null && !existing.isClosed()) {
+                return existing;
+            }
+
+            HikariConfig config = baseConfig(POOL_NAME_PREFIX + SHARED_POOL_KEY);
+            config.setJdbcUrl(databaseUrl);
+            config.setMaximumPoolSize(maxPoolSize);
+            config.setMinimumIdle(Math.min(settings.minIdlePerTenant(), maxPoolSize));
+
+            HikariDataSource dataSource = new HikariDataSource(config);
+            pools.put(SHARED_POOL_KEY, dataSource);
+
+            logger.info("Pool partagé créé (max={})", maxPoolSize);
+            return dataSource;
+        } finally {
+            poolsLock.unlock();
+        }
+    }
+
+    /**
+     * Pool d'administration (sans schema), hors plafond tenant
+     */
+    public HikariDataSource createAdmin() {
+        HikariConfig config = baseConfig(POOL_NAME_PREFIX + "admin");
+        config.setJdbcUrl(databaseUrl);
+        config.setMaximumPoolSize(settings.maxPoolSizePerTenant());
+        config.setMinimumIdle(0);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Ferme et oublie le pool d'un schema
+     */
+    public void close(String schema) {
+        HikariDataSource dataSource;
+        poolsLock.lock();
+        try {
+            dataSource = pools.remove(schema);
+        } finally {
+            poolsLock.unlock();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+            logger.info("Pool fermé pour le schema: {}", schema);
+        }
+    }
+
+    /**
+     * Vue en lecture seule des pools ouverts
+     */
+    public Map<String, HikariDataSource> getPools() {
+        return Collections.unmodifiableMap(pools);
+    }
+
+    public TenantPoolSettings getSettings() {
+        return settings;
+    }
+
+    @Override
+    public void close() {
+        poolsLock.lock();
+        try {
+            pools.values().forEach(HikariDataSource::close);
+            pools.clear();
+        } finally {
+            poolsLock.unlock();
+        }
+        housekeeper.shutdownNow();
+    }
+
+    /**
+     * Configuration commune à tous les pools
+     */
+    private HikariConfig baseConfig(String poolName) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDriverClassName(driverClassName);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setIdleTimeout(settings.idleTimeoutMs());
+        config.setMaxLifetime(settings.maxLifetimeMs());
+        config.setConnectionTimeout(settings.connectionTimeoutMs());
+        config.setScheduledExecutor(housekeeper);
+        // Pas de connexion ouverte à la construction : le pool reste paresseux comme l'ancien DriverManagerDataSource
+        config.setInitializationFailTimeout(-1);
+        if (databaseUrl.startsWith("jdbc:postgresql:")) {
+            // Les lots d'INSERT Hibernate sont réécrits en INSERT multi-lignes : un aller-retour par lot
+            config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        }
+        if (meterRegistry != null) {
+            config.setMetricRegistry(meterRegistry);
+        }
+        return config;
+    }
+
+    /**
+     * Construit l'URL de connexion avec le schema par défaut
+     */
+    private String buildUrlWithSchema(String schema) {
+        // Ajoute le paramètre currentSchema à l'URL PostgreSQL
+        String separator = databaseUrl.contains("?") ? "&" : "?";
+        return String.format("%s%scurrentSchema=%s", databaseUrl, separator, schema);
+    }
+}
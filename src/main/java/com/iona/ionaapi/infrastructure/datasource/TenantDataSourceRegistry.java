@@ -0,0 +1,234 @@
+package com.iona.ionaapi.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registre concurrent des DataSources tenant
+ * Les pools sont créés paresseusement au premier accès et conservés dans un LRU borné :
+ * au-delà de la capacité, le pool inactif le moins récemment utilisé est fermé.
+ * Un pool ayant des connexions empruntées n'est jamais fermé : sans pool inactif, la création attend
+ * qu'un pool se libère (au plus le délai de connexion) puis échoue
+ */
+public class TenantDataSourceRegistry implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantDataSourceRegistry.class);
+
+    // Un pool consulté à l'instant peut être sur le point d'emprunter une connexion : il n'est pas évincé
+    static final long EVICTION_GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long EVICTION_POLL_MS = 50;
+
+    private final TenantDataSourceFactory factory;
+    private final int maxTenants;
+    private final Set<String> pinnedSchemas;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // ReentrantLock plutôt que synchronized : la fermeture d'un pool peut bloquer sans épingler les threads virtuels
+    private final ReentrantLock creationLock = new ReentrantLock();
+
+    private final Counter evictionCounter;
+    private final Counter creationCounter;
+
+    /**
+     * @param maxTenants    nombre maximum de pools conservés (0 = déduit du plafond global de connexions)
+     * @param pinnedSchemas schemas jamais évincés (public, tenant_default...)
+     */
+    public TenantDataSourceRegistry(TenantDataSourceFactory factory, int maxTenants,
+                                    Set<String> pinnedSchemas, MeterRegistry meterRegistry) {
+        int maxOpenPools = factory.getSettings().maxOpenPools();
+        this.factory = factory;
+        this.maxTenants = maxTenants > 0 ? Math.min(maxTenants, maxOpenPools) : maxOpenPools;
+        this.pinnedSchemas = Set.copyOf(pinnedSchemas);
+
+        if (this.pinnedSchemas.size() >= this.maxTenants) {
+            throw new IllegalArgumentException("La capacité du registre doit dépasser le nombre de schemas épinglés");
+        }
+
+        if (meterRegistry != null) {
+            Gauge.builder("iona.tenant.datasources", entries, Map::size)
+                    .description("Nombre de pools tenant ouverts")
+                    .register(meterRegistry);
+            this.evictionCounter = Counter.builder("iona.tenant.datasources.evictions")
+                    .description("Pools tenant fermés par éviction LRU")
+                    .register(meterRegistry);
+            this.creationCounter = Counter.builder("iona.tenant.datasources.creations")
+                    .description("Pools tenant créés à la demande")
+                    .register(meterRegistry);
+        } else {
+            this.evictionCounter = null;
+            this.creationCounter = null;
+        }
+    }
+
+    /**
+     * Retourne la DataSource d'un schema, en la créant si nécessaire
+     * Chemin rapide sans verrou pour les schemas déjà ouverts
+     */
+    public DataSource getDataSource(String schema) {
+        Entry entry = entries.get(schema);
+        if (entry != null && !entry.dataSource.isClosed()) {
+            entry.touch();
+            return entry.dataSource;
+        }
+
+        creationLock.lock();
+        try {
+            entry = entries.get(schema);
+            if (entry != null && !entry.dataSource.isClosed()) {
+                entry.touch();
+                return entry.dataSource;
+            }
+
+            makeRoom(schema);
+
+            HikariDataSource dataSource = factory.create(schema);
+            entries.put(schema, new Entry(dataSource));
+            if (creationCounter != null) {
+                creationCounter.increment();
+            }
+
+            logger.info("DataSource créée à la demande pour le schema: {} ({} / {} pools)",
+                    schema, entries.size(), maxTenants);
+            return dataSource;
+        } finally {
+            creationLock.unlock();
+        }
+    }
+
+    /**
+     * Ferme et retire le pool d'un schema (ex: suppression du tenant)
+     */
+    public void remove(String schema) {
+        creationLock.lock();
+        try {
+            if (entries.remove(schema) != null) {
+                factory.close(schema);
+            }
+        } finally {
+            creationLock.unlock();
+        }
+    }
+
+    public boolean contains(String schema) {
+        return entries.containsKey(schema);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxTenants() {
+        return maxTenants;
+    }
+
+    @Override
+    public void close() {
+        creationLock.lock();
+        try {
+            entries.keySet().forEach(factory::close);
+            entries.clear();
+        } finally {
+            creationLock.unlock();
+        }
+    }
+
+    /**
+     * Libère une place en évinçant des pools inactifs, en attendant au besoin qu'un pool se libère
+     * Doit être appelé en détenant creationLock
+     *
+     * @throws IllegalStateException si aucun pool n'est devenu inactif dans le délai de connexion
+     */
+    private void makeRoom(String schema) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(factory.getSettings().connectionTimeoutMs());
+        while (entries.size() >= maxTenants) {
+            if (evictIdleLeastRecentlyUsed()) {
+                continue;
+            }
+            if (entries.keySet().stream().allMatch(pinnedSchemas::contains)) {
+                // Rien d'évinçable : la fabrique applique le plafond global
+                return;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new IllegalStateException(String.format(
+                        "Tous les pools tenant sont occupés (%d / %d), impossible d'ouvrir le schema: %s",
+                        entries.size(), maxTenants, schema));
+            }
+            try {
+                Thread.sleep(EVICTION_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrompu en attendant un pool tenant libre pour le schema: " + schema, e);
+            }
+        }
+    }
+
+    /**
+     * Évince le pool inactif (aucune connexion empruntée) le moins récemment utilisé
+     * Doit être appelé en détenant creationLock
+     *
+     * @return false si aucun pool n'est inactif
+     */
+    private boolean evictIdleLeastRecentlyUsed() {
+        String victim = null;
+        long victimAccess = Long.MAX_VALUE;
+        long recentLimit = System.nanoTime() - EVICTION_GRACE_NANOS;
+
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (pinnedSchemas.contains(e.getKey())) {
+                continue;
+            }
+            long lastAccess = e.getValue().lastAccess;
+            if (lastAccess < victimAccess && lastAccess - recentLimit < 0
+                    && activeConnections(e.getValue().dataSource) == 0) {
+                victim = e.getKey();
+                victimAccess = lastAccess;
+            }
+        }
+
+        if (victim == null) {
+            return false;
+        }
+
+        entries.remove(victim);
+        factory.close(victim);
+        if (evictionCounter != null) {
+            evictionCounter.increment();
+        }
+        logger.info("Pool évincé (LRU) pour le schema: {}", victim);
+        return true;
+    }
+
+    private static int activeConnections(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+
+    /**
+     * Pool ouvert et horodatage de son dernier accès
+     */
+    private static final class Entry {
+        private final HikariDataSource dataSource;
+        private volatile long lastAccess;
+
+        private Entry(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.lastAccess = System.nanoTime();
+        }
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+    }
+}
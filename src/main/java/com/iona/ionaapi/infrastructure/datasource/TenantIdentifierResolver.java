@@ -0,0 +1,21 @@
+package com.iona.ionaapi.infrastructure.datasource;
+
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Résout l'identifiant de tenant Hibernate depuis TenantContext
+ * L'identifiant retourné est directement le nom du schema PostgreSQL
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return MultiTenantDataSource.resolveSchemaName(TenantContext.getTenant());
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package com.iona.ionaapi.infrastructure.datasource;
+
+/**
+ * Paramètres des pools de connexions tenant
+ *
+ * @param maxPoolSizePerTenant nombre maximum de connexions par schema
+ * @param minIdlePerTenant     connexions inactives conservées par schema (0 = pool vidé quand inutilisé)
+ * @param idleTimeoutMs        délai avant fermeture d'une connexion inactive
+ * @param maxLifetimeMs        durée de vie maximale d'une connexion
+ * @param connectionTimeoutMs  attente maximale pour emprunter une connexion
+ * @param maxTotalConnections  plafond global de connexions, tous tenants confondus
+ */
+public record TenantPoolSettings(int maxPoolSizePerTenant,
+                                 int minIdlePerTenant,
+                                 long idleTimeoutMs,
+                                 long maxLifetimeMs,
+                                 long connectionTimeoutMs,
+                                 int maxTotalConnections) {
+
+    public TenantPoolSettings {
+        if (maxPoolSizePerTenant <= 0) {
+            throw new IllegalArgumentException("La taille maximale du pool tenant doit être positive");
+        }
+        if (maxTotalConnections < maxPoolSizePerTenant) {
+            throw new IllegalArgumentException("Le plafond global doit permettre au moins un pool tenant complet");
+        }
+        minIdlePerTenant = Math.min(Math.max(minIdlePerTenant, 0), maxPoolSizePerTenant);
+    }
+
+    /**
+     * Nombre maximum de pools tenant pouvant être ouverts simultanément sans dépasser le plafond global
+     */
+    public int maxOpenPools() {
+        return maxTotalConnections / maxPoolSizePerTenant;
+    }
+}
@@ -0,0 +1,60 @@
+package com.iona.ionaapi.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Endpoint actuator exposant l'état des pools de connexions par tenant
+ * Accessible via /actuator/tenantpools
+ */
+@Component
+@Endpoint(id = "tenantpools")
+public class TenantPoolsEndpoint {
+
+    private final TenantDataSourceFactory dataSourceFactory;
+
+    public TenantPoolsEndpoint(TenantDataSourceFactory dataSourceFactory) {
+        this.dataSourceFactory = dataSourceFactory;
+    }
+
+    @ReadOperation
+    public Map<String, Object> pools() {
+        TenantPoolSettings settings = dataSourceFactory.getSettings();
+        Map<String, Object> pools = new TreeMap<>();
+        int totalActive = 0;
+
+        for (Map.Entry<String, HikariDataSource> entry : dataSourceFactory.getPools().entrySet()) {
+            HikariPoolMXBean pool = entry.getValue().getHikariPoolMXBean();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            if (pool != null) {
+                stats.put("active", pool.getActiveConnections());
+                stats.put("idle", pool.getIdleConnections());
+                stats.put("total", pool.getTotalConnections());
+                stats.put("waiting", pool.getThreadsAwaitingConnection());
+                totalActive += pool.getActiveConnections();
+            } else {
+                // Pool pas encore démarré (aucune connexion empruntée)
+                stats.put("active", 0);
+                stats.put("idle", 0);
+                stats.put("total", 0);
+                stats.put("waiting", 0);
+            }
+            pools.put(entry.getKey(), stats);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("maxPoolSizePerTenant", settings.maxPoolSizePerTenant());
+        result.put("maxTotalConnections", settings.maxTotalConnections());
+        result.put("openPools", pools.size());
+        result.put("activeConnections", totalActive);
+        result.put("pools", pools);
+        return result;
+    }
+}
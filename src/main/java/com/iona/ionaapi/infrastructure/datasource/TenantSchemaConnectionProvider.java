@@ -0,0 +1,69 @@
+package com.iona.ionaapi.infrastructure.datasource;
+
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Fournisseur de connexions Hibernate pour le mode "schema"
+ * Emprunte les connexions au pool partagé et bascule leur search_path sur le schema du tenant
+ */
+public class TenantSchemaConnectionProvider implements MultiTenantConnectionProvider<String> {
+
+    private final DataSource sharedDataSource;
+
+    public TenantSchemaConnectionProvider(DataSource sharedDataSource) {
+        this.sharedDataSource = sharedDataSource;
+    }
+
+    /**
+     * Connexion sans tenant (métadonnées, outils de schema Hibernate) : schema public
+     */
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return SearchPathDataSource.applySearchPath(sharedDataSource.getConnection(), "public");
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * L'identifiant reçu est déjà un nom de schema (voir TenantIdentifierResolver)
+     */
+    @Override
+    public Connection getConnection(String schema) throws SQLException {
+        return SearchPathDataSource.applySearchPath(sharedDataSource.getConnection(), schema);
+    }
+
+    @Override
+    public void releaseConnection(String schema, Connection connection) throws SQLException {
+        // Le prochain emprunt repositionne le search_path, inutile de le réinitialiser ici
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this) || unwrapType.isInstance(sharedDataSource);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isInstance(this)) {
+            return (T) this;
+        }
+        if (unwrapType.isInstance(sharedDataSource)) {
+            return (T) sharedDataSource;
+        }
+        throw new IllegalArgumentException("Type non supporté: " + unwrapType);
+    }
+}
@@ -0,0 +1,93 @@
+package com.iona.ionaapi.infrastructure.dto;
+
+import com.iona.ionaapi.application.service.AnalysisJob;
+import com.iona.ionaapi.domain.InsuranceCertificateDto;
+import com.iona.ionaapi.domain.entities.AiStatus;
+import com.iona.ionaapi.domain.entities.Attestation;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class AnalysisJobResponse {
+    private UUID jobId;
+    private String tenantId;
+    private String fileName;
+    private String status;
+    private int progressPercent;
+    private Instant submittedAt;
+    private Instant completedAt;
+    private String error;
+    private Integer riskScore;
+    private InsuranceCertificateDto result;
+
+    // Constructeurs
+    public AnalysisJobResponse() {}
+
+    public static AnalysisJobResponse from(AnalysisJob job) {
+        AnalysisJobResponse response = new AnalysisJobResponse();
+        response.jobId = job.getJobId();
+        response.tenantId = job.getTenantId();
+        response.fileName = job.getAttestation().getFileName();
+        response.status = job.getStatus().getCode();
+        response.progressPercent = job.getProgressPercent();
+        response.submittedAt = job.getSubmittedAt();
+        response.completedAt = job.getCompletedAt();
+        response.error = job.getError();
+        response.riskScore = job.getRiskScore();
+        response.result = job.getResult();
+        return response;
+    }
+
+    /**
+     * Status read from the persisted attestation, once its in-memory job is gone
+     * The extracted certificate is not kept: it is served by the report endpoint
+     */
+    public static AnalysisJobResponse from(Attestation attestation, Integer riskScore) {
+        AnalysisJobResponse response = new AnalysisJobResponse();
+        response.jobId = attestation.getId();
+        response.tenantId = attestation.getTenantId();
+        response.fileName = attestation.getFileName();
+        response.status = attestation.getAiStatus().getCode();
+        response.progressPercent = attestation.getAiProgressPercent() != null ? attestation.getAiProgressPercent() : 0;
+        response.submittedAt = attestation.getUploadedAt();
+        if (attestation.getAiStatus() != AiStatus.PENDING && attestation.getAiStatus() != AiStatus.ANALYZING) {
+            response.completedAt = attestation.getUpdatedAt();
+        }
+        if (attestation.getAiStatus() == AiStatus.ERROR) {
+            response.error = "Analysis failed";
+        }
+        response.riskScore = riskScore;
+        return response;
+    }
+
+    // Getters et Setters
+    public UUID getJobId() { return jobId; }
+    public void setJobId(UUID jobId) { this.jobId = jobId; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getProgressPercent() { return progressPercent; }
+    public void setProgressPercent(int progressPercent) { this.progressPercent = progressPercent; }
+
+    public Instant getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(Instant submittedAt) { this.submittedAt = submittedAt; }
+
+    public Instant getCompletedAt() { return completedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public Integer getRiskScore() { return riskScore; }
+    public void setRiskScore(Integer riskScore) { this.riskScore = riskScore; }
+
+    public InsuranceCertificateDto getResult() { return result; }
+    public void setResult(InsuranceCertificateDto result) { this.result = result; }
+}
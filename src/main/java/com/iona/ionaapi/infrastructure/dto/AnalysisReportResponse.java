@@ -0,0 +1,174 @@
+package com.iona.ionaapi.infrastructure.dto;
+
+import com.iona.ionaapi.domain.action.AiAction;
+import com.iona.ionaapi.domain.entities.AIAnalysisReport;
+import com.iona.ionaapi.domain.entities.AiAlert;
+import com.iona.ionaapi.domain.entities.AiRecommendation;
+import com.iona.ionaapi.domain.entities.Coverage;
+import com.iona.ionaapi.domain.entities.ExtractedData;
+import com.iona.ionaapi.infrastructure.repository.ReportFetchProfile;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Analysis report view; only the parts loaded by the requested profile are filled, the others stay null
+ * Must be built inside the transaction that loaded the report
+ */
+public class AnalysisReportResponse {
+    private UUID id;
+    private UUID attestationId;
+    private String profile;
+    private String status;
+    private Integer globalScore;
+    private Integer confidence;
+    private Integer riskScore;
+    private Instant analyzedAt;
+    private String issuer;
+    private String policyNumber;
+    private LocalDate issueDate;
+    private LocalDate expiryDate;
+    private BigDecimal coverageAmount;
+    private List<CoverageView> coverages;
+    private List<String> exclusions;
+    private List<String> coveredActivities;
+    private List<String> geographicScope;
+    private List<AlertView> alerts;
+    private List<RecommendationView> recommendations;
+    private List<ActionView> actions;
+
+    public record CoverageView(String type, String description, BigDecimal amount, Boolean valid,
+                               LocalDate validityStart, LocalDate validityEnd) {
+        static CoverageView from(Coverage coverage) {
+            return new CoverageView(coverage.getType(), coverage.getDescription(), coverage.getAmount(),
+                    coverage.getIsValid(), coverage.getValidityPeriod().getStartDate(),
+                    coverage.getValidityPeriod().getEndDate());
+        }
+    }
+
+    public record AlertView(UUID id, String severity, String category, String title, String description,
+                            List<String> affectedItems, Boolean resolved) {
+        static AlertView from(AiAlert alert) {
+            return new AlertView(alert.getId(), alert.getSeverity().name(), alert.getCategory().name(),
+                    alert.getTitle(), alert.getDescription(), alert.getAffectedItems(), alert.getResolved());
+        }
+    }
+
+    public record RecommendationView(UUID id, String type, String priority, String title, String description) {
+        static RecommendationView from(AiRecommendation recommendation) {
+            return new RecommendationView(recommendation.getId(), recommendation.getType().name(),
+                    recommendation.getPriority().name(), recommendation.getTitle(), recommendation.getDescription());
+        }
+    }
+
+    public record ActionView(UUID id, String status, String priority, String title, LocalDate dueDate) {
+        static ActionView from(AiAction action) {
+            return new ActionView(action.getId(), action.getStatus().name(), action.getPriority().name(),
+                    action.getTitle(), action.getDueDate());
+        }
+    }
+
+    // Constructors
+    public AnalysisReportResponse() {}
+
+    public static AnalysisReportResponse from(AIAnalysisReport report, ReportFetchProfile profile) {
+        AnalysisReportResponse response = new AnalysisReportResponse();
+        response.id = report.getId();
+        response.attestationId = report.getAttestationId();
+        response.profile = profile.name().toLowerCase().replace('_', '-');
+        response.status = report.getStatus().getCode();
+        response.globalScore = report.getGlobalScore();
+        response.confidence = report.getConfidence();
+        response.analyzedAt = report.getAnalyzedAt();
+
+        if (profile != ReportFetchProfile.ALERTS_ONLY) {
+            ExtractedData data = report.getExtractedData();
+            if (data != null) {
+                response.issuer = data.getIssuer();
+                response.policyNumber = data.getPolicyNumber();
+                response.issueDate = data.getIssueDate();
+                response.expiryDate = data.getExpiryDate();
+                response.coverageAmount = data.getCoverageAmount();
+                if (profile == ReportFetchProfile.FULL) {
+                    response.coverages = data.getCoverages().stream().map(CoverageView::from).toList();
+                    response.exclusions = data.getExclusions();
+                    response.coveredActivities = data.getCoveredActivities();
+                    response.geographicScope = data.getGeographicScope();
+                }
+            }
+        }
+        if (profile != ReportFetchProfile.SUMMARY) {
+            response.alerts = report.getAlerts().stream().map(AlertView::from).toList();
+            response.riskScore = report.calculateRiskScore();
+        }
+        if (profile == ReportFetchProfile.FULL) {
+            response.recommendations = report.getRecommendations().stream().map(RecommendationView::from).toList();
+            response.actions = report.getActions().stream().map(ActionView::from).toList();
+        }
+        return response;
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public UUID getAttestationId() { return attestationId; }
+    public void setAttestationId(UUID attestationId) { this.attestationId = attestationId; }
+
+    public String getProfile() { return profile; }
+    public void setProfile(String profile) { this.profile = profile; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getGlobalScore() { return globalScore; }
+    public void setGlobalScore(Integer globalScore) { this.globalScore = globalScore; }
+
+    public Integer getConfidence() { return confidence; }
+    public void setConfidence(Integer confidence) { this.confidence = confidence; }
+
+    public Integer getRiskScore() { return riskScore; }
+    public void setRiskScore(Integer riskScore) { this.riskScore = riskScore; }
+
+    public Instant getAnalyzedAt() { return analyzedAt; }
+    public void setAnalyzedAt(Instant analyzedAt) { this.analyzedAt = analyzedAt; }
+
+    public String getIssuer() { return issuer; }
+    public void setIssuer(String issuer) { this.issuer = issuer; }
+
+    public String getPolicyNumber() { return policyNumber; }
+    public void setPolicyNumber(String policyNumber) { this.policyNumber = policyNumber; }
+
+    public LocalDate getIssueDate() { return issueDate; }
+    public void setIssueDate(LocalDate issueDate) { this.issueDate = issueDate; }
+
+    public LocalDate getExpiryDate() { return expiryDate; }
+    public void setExpiryDate(LocalDate expiryDate) { this.expiryDate = expiryDate; }
+
+    public BigDecimal getCoverageAmount() { return coverageAmount; }
+    public void setCoverageAmount(BigDecimal coverageAmount) { this.coverageAmount = coverageAmount; }
+
+    public List<CoverageView> getCoverages() { return coverages; }
+    public void setCoverages(List<CoverageView> coverages) { this.coverages = coverages; }
+
+    public List<String> getExclusions() { return exclusions; }
+    public void setExclusions(List<String> exclusions) { this.exclusions = exclusions; }
+
+    public List<String> getCoveredActivities() { return coveredActivities; }
+    public void setCoveredActivities(List<String> coveredActivities) { this.coveredActivities = coveredActivities; }
+
+    public List<String> getGeographicScope() { return geographicScope; }
+    public void setGeographicScope(List<String> geographicScope) { this.geographicScope = geographicScope; }
+
+    public List<AlertView> getAlerts() { return alerts; }
+    public void setAlerts(List<AlertView> alerts) { this.alerts = alerts; }
+
+    public List<RecommendationView> getRecommendations() { return recommendations; }
+    public void setRecommendations(List<RecommendationView> recommendations) { this.recommendations = recommendations; }
+
+    public List<ActionView> getActions() { return actions; }
+    public void setActions(List<ActionView> actions) { this.actions = actions; }
+}
@@ -0,0 +1,78 @@
+package com.iona.ionaapi.infrastructure.dto;
+
+import com.iona.ionaapi.domain.entities.AiStatus;
+import com.iona.ionaapi.domain.entities.AttestationType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Attestation summary for lists, built directly by a JPQL constructor expression
+ */
+public class AttestationSummary {
+    private UUID id;
+    private String fileName;
+    private AttestationType type;
+    private AiStatus aiStatus;
+    private Integer aiProgressPercent;
+    private Boolean isValid;
+    private LocalDate expiryDate;
+    private String insurerName;
+    private String policyNumber;
+    private Integer globalScore;
+    private Instant createdAt;
+
+    // Constructors
+    public AttestationSummary() {}
+
+    public AttestationSummary(UUID id, String fileName, AttestationType type, AiStatus aiStatus,
+                              Integer aiProgressPercent, Boolean isValid, LocalDate expiryDate,
+                              String insurerName, String policyNumber, Integer globalScore, Instant createdAt) {
+        this.id = id;
+        this.fileName = fileName;
+        this.type = type;
+        this.aiStatus = aiStatus;
+        this.aiProgressPercent = aiProgressPercent;
+        this.isValid = isValid;
+        this.expiryDate = expiryDate;
+        this.insurerName = insurerName;
+        this.policyNumber = policyNumber;
+        this.globalScore = globalScore;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public AttestationType getType() { return type; }
+    public void setType(AttestationType type) { this.type = type; }
+
+    public AiStatus getAiStatus() { return aiStatus; }
+    public void setAiStatus(AiStatus aiStatus) { this.aiStatus = aiStatus; }
+
+    public Integer getAiProgressPercent() { return aiProgressPercent; }
+    public void setAiProgressPercent(Integer aiProgressPercent) { this.aiProgressPercent = aiProgressPercent; }
+
+    public Boolean getIsValid() { return isValid; }
+    public void setIsValid(Boolean isValid) { this.isValid = isValid; }
+
+    public LocalDate getExpiryDate() { return expiryDate; }
+    public void setExpiryDate(LocalDate expiryDate) { this.expiryDate = expiryDate; }
+
+    public String getInsurerName() { return insurerName; }
+    public void setInsurerName(String insurerName) { this.insurerName = insurerName; }
+
+    public String getPolicyNumber() { return policyNumber; }
+    public void setPolicyNumber(String policyNumber) { this.policyNumber = policyNumber; }
+
+    public Integer getGlobalScore() { return globalScore; }
+    public void setGlobalScore(Integer globalScore) { this.globalScore = globalScore; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
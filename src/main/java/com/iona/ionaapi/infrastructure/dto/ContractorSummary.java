@@ -4,7 +4,9 @@ import com.iona.ionaapi.domain.contractor.Contractor;
 import com.iona.ionaapi.domain.contractor.enums.ContractorSpecialty;
 import com.iona.ionaapi.domain.contractor.enums.ContractorType;
 
+import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Contractor summary for lists (lighter version without full details)
@@ -33,6 +35,22 @@ public class ContractorSummary {
         }
     }
     
+    /**
+     * Projection constructor used by the JPQL list query (primary contact left-joined,
+     * specialties filled afterwards in a single batched query)
+     */
+    public ContractorSummary(UUID id, String name, ContractorType type,
+                             String primaryContactFirstName, String primaryContactLastName, String primaryContactPhone) {
+        this.id = id.toString();
+        this.name = name;
+        this.type = type;
+        this.specialties = new HashSet<>();
+        if (primaryContactFirstName != null) {
+            this.primaryContactName = primaryContactFirstName + " " + primaryContactLastName;
+            this.primaryContactPhone = primaryContactPhone;
+        }
+    }
+    
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -0,0 +1,47 @@
+package com.iona.ionaapi.infrastructure.dto;
+
+import java.util.List;
+
+/**
+ * Page of a keyset (cursor) pagination
+ * nextCursor is an opaque token to pass back to get the following page, null on the last page
+ * totalElements is only filled when the client asked for it (it costs a count query)
+ */
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+    private Long totalElements;
+
+    // Constructors
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.size = items.size();
+    }
+
+    public CursorPage(List<T> items, String nextCursor, Long totalElements) {
+        this(items, nextCursor);
+        this.totalElements = totalElements;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+}
@@ -0,0 +1,15 @@
+package com.iona.ionaapi.infrastructure.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Attestation or coverage expiring within the requested window
+ *
+ * @param id            attestation or coverage id
+ * @param attestationId attestation holding the item (same as id for an attestation)
+ * @param label         file name of the attestation, or coverage type
+ */
+public record ExpiringItem(UUID id, UUID attestationId, UUID intervenantId, String label,
+                           LocalDate expiryDate, long daysUntilExpiry) {
+}
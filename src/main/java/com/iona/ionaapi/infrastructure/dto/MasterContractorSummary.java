@@ -0,0 +1,50 @@
+package com.iona.ionaapi.infrastructure.dto;
+
+import com.iona.ionaapi.domain.mastercontractor.enums.MasterContractorType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Master contractor summary for lists, built directly by a JPQL constructor expression
+ */
+public class MasterContractorSummary {
+    private String id;
+    private String name;
+    private MasterContractorType type;
+    private String siret;
+    private String address;
+    private Instant createdAt;
+
+    // Constructors
+    public MasterContractorSummary() {}
+
+    public MasterContractorSummary(UUID id, String name, MasterContractorType type, String siret,
+                                   String address, Instant createdAt) {
+        this.id = id.toString();
+        this.name = name;
+        this.type = type;
+        this.siret = siret;
+        this.address = address;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public MasterContractorType getType() { return type; }
+    public void setType(MasterContractorType type) { this.type = type; }
+
+    public String getSiret() { return siret; }
+    public void setSiret(String siret) { this.siret = siret; }
+
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -1,6 +1,5 @@
 package com.iona.ionaapi.infrastructure.dto;
 
-import com.iona.ionaapi.domain.contractor.Contractor;
 import org.springframework.data.domain.Page;
 
 /**
@@ -9,13 +8,13 @@ import org.springframework.data.domain.Page;
 public class PagedContractorResponse {
     private boolean success;
     private String message;
-    private Page<Contractor> contractors;
+    private Page<ContractorSummary> contractors;
     private String tenantId;
     
     // Constructors
     public PagedContractorResponse() {}
     
-    public PagedContractorResponse(boolean success, String message, Page<Contractor> contractors, String tenantId) {
+    public PagedContractorResponse(boolean success, String message, Page<ContractorSummary> contractors, String tenantId) {
         this.success = success;
         this.message = message;
         this.contractors = contractors;
@@ -29,8 +28,8 @@ public class PagedContractorResponse {
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
     
-    public Page<Contractor> getContractors() { return contractors; }
-    public void setContractors(Page<Contractor> contractors) { this.contractors = contractors; }
+    public Page<ContractorSummary> getContractors() { return contractors; }
+    public void setContractors(Page<ContractorSummary> contractors) { this.contractors = contractors; }
     
     public String getTenantId() { return tenantId; }
     public void setTenantId(String tenantId) { this.tenantId = tenantId; }
@@ -1,6 +1,5 @@
 package com.iona.ionaapi.infrastructure.dto;
 
-import com.iona.ionaapi.domain.mastercontractor.MasterContractor;
 import org.springframework.data.domain.Page;
 
 /**
@@ -9,13 +8,13 @@ import org.springframework.data.domain.Page;
 public class PagedMasterContractorResponse {
     private boolean success;
     private String message;
-    private Page<MasterContractor> masterContractors;
+    private Page<MasterContractorSummary> masterContractors;
     private String tenantId;
     
     // Constructors
     public PagedMasterContractorResponse() {}
     
-    public PagedMasterContractorResponse(boolean success, String message, Page<MasterContractor> masterContractors, String tenantId) {
+    public PagedMasterContractorResponse(boolean success, String message, Page<MasterContractorSummary> masterContractors, String tenantId) {
         this.success = success;
         this.message = message;
         this.masterContractors = masterContractors;
@@ -29,8 +28,8 @@ public class PagedMasterContractorResponse {
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
     
-    public Page<MasterContractor> getMasterContractors() { return masterContractors; }
-    public void setMasterContractors(Page<MasterContractor> masterContractors) { this.masterContractors = masterContractors; }
+    public Page<MasterContractorSummary> getMasterContractors() { return masterContractors; }
+    public void setMasterContractors(Page<MasterContractorSummary> masterContractors) { this.masterContractors = masterContractors; }
     
     public String getTenantId() { return tenantId; }
     public void setTenantId(String tenantId) { this.tenantId = tenantId; }
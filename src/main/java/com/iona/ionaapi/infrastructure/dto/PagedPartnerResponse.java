@@ -1,18 +1,17 @@
 package com.iona.ionaapi.infrastructure.dto;
 
-import com.iona.ionaapi.domain.partner.Partner;
 import org.springframework.data.domain.Page;
 
 public class PagedPartnerResponse {
     private boolean success;
     private String message;
-    private Page<Partner> partners;
+    private Page<PartnerSummary> partners;
     private String tenantId;
     
     // Constructeurs
     public PagedPartnerResponse() {}
     
-    public PagedPartnerResponse(boolean success, String message, Page<Partner> partners, String tenantId) {
+    public PagedPartnerResponse(boolean success, String message, Page<PartnerSummary> partners, String tenantId) {
         this.success = success;
         this.message = message;
         this.partners = partners;
@@ -26,8 +25,8 @@ public class PagedPartnerResponse {
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
     
-    public Page<Partner> getPartners() { return partners; }
-    public void setPartners(Page<Partner> partners) { this.partners = partners; }
+    public Page<PartnerSummary> getPartners() { return partners; }
+    public void setPartners(Page<PartnerSummary> partners) { this.partners = partners; }
     
     public String getTenantId() { return tenantId; }
     public void setTenantId(String tenantId) { this.tenantId = tenantId; }
@@ -0,0 +1,60 @@
+package com.iona.ionaapi.infrastructure.dto;
+
+import com.iona.ionaapi.domain.partner.enums.PartnerStatus;
+import com.iona.ionaapi.domain.partner.enums.PartnerType;
+
+import java.util.UUID;
+
+/**
+ * Partner summary for lists, built directly by a JPQL constructor expression
+ */
+public class PartnerSummary {
+    private String id;
+    private String name;
+    private PartnerType partnerType;
+    private String siret;
+    private String contactEmail;
+    private String phone;
+    private String city;
+    private PartnerStatus status;
+
+    // Constructors
+    public PartnerSummary() {}
+
+    public PartnerSummary(UUID id, String name, PartnerType partnerType, String siret,
+                          String contactEmail, String phone, String city, PartnerStatus status) {
+        this.id = id.toString();
+        this.name = name;
+        this.partnerType = partnerType;
+        this.siret = siret;
+        this.contactEmail = contactEmail;
+        this.phone = phone;
+        this.city = city;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public PartnerType getPartnerType() { return partnerType; }
+    public void setPartnerType(PartnerType partnerType) { this.partnerType = partnerType; }
+
+    public String getSiret() { return siret; }
+    public void setSiret(String siret) { this.siret = siret; }
+
+    public String getContactEmail() { return contactEmail; }
+    public void setContactEmail(String contactEmail) { this.contactEmail = contactEmail; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public PartnerStatus getStatus() { return status; }
+    public void setStatus(PartnerStatus status) { this.status = status; }
+}
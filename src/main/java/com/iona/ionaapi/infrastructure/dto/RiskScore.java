@@ -0,0 +1,17 @@
+package com.iona.ionaapi.infrastructure.dto;
+
+import java.util.UUID;
+
+/**
+ * Risk score of a contractor or project, computed from the latest analysis report of each attestation
+ *
+ * @param reportCount             latest reports taken into account
+ * @param unresolvedCriticalCount critical alerts not yet resolved
+ */
+public record RiskScore(UUID id, String name, long riskScore, long criticalCount, long warningCount,
+                        long unresolvedCriticalCount, long reportCount) {
+
+    public boolean hasCriticalIssues() {
+        return unresolvedCriticalCount > 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.iona.ionaapi.infrastructure.dto;
+
+import java.util.UUID;
+
+/**
+ * Search result: id, name, detail (SIRET, or address for projects) and trigram similarity score (0..1)
+ */
+public record SearchHit(UUID id, String name, String detail, double score) {
+}
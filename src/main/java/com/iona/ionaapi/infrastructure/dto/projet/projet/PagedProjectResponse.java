@@ -1,6 +1,5 @@
 package com.iona.ionaapi.infrastructure.dto.projet.projet;
 
-import com.iona.ionaapi.domain.project.Project;
 import org.springframework.data.domain.Page;
 
 /**
@@ -9,13 +8,13 @@ import org.springframework.data.domain.Page;
 public class PagedProjectResponse {
     private boolean success;
     private String message;
-    private Page<Project> projects;
+    private Page<ProjectSummary> projects;
     private String tenantId;
     
     // Constructors
     public PagedProjectResponse() {}
     
-    public PagedProjectResponse(boolean success, String message, Page<Project> projects, String tenantId) {
+    public PagedProjectResponse(boolean success, String message, Page<ProjectSummary> projects, String tenantId) {
         this.success = success;
         this.message = message;
         this.projects = projects;
@@ -29,8 +28,8 @@ public class PagedProjectResponse {
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
     
-    public Page<Project> getProjects() { return projects; }
-    public void setProjects(Page<Project> projects) { this.projects = projects; }
+    public Page<ProjectSummary> getProjects() { return projects; }
+    public void setProjects(Page<ProjectSummary> projects) { this.projects = projects; }
     
     public String getTenantId() { return tenantId; }
     public void setTenantId(String tenantId) { this.tenantId = tenantId; }
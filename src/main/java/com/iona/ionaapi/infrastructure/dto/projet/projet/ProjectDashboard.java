@@ -1,10 +1,12 @@
 package com.iona.ionaapi.infrastructure.dto.projet.projet;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 /**
  * Project dashboard statistics
+ * Read from the materialized dashboard; refreshedAt tells how recent the figures are
  */
 public class ProjectDashboard {
     private long totalProjects;
@@ -17,6 +19,7 @@ public class ProjectDashboard {
     private BigDecimal averageComplianceScore;
     private List<ProjectSummary> recentProjects;
     private List<ProjectSummary> urgentProjects;
+    private Instant refreshedAt;
     
     // Constructors
     public ProjectDashboard() {}
@@ -51,4 +54,7 @@ public class ProjectDashboard {
     
     public List<ProjectSummary> getUrgentProjects() { return urgentProjects; }
     public void setUrgentProjects(List<ProjectSummary> urgentProjects) { this.urgentProjects = urgentProjects; }
+    
+    public Instant getRefreshedAt() { return refreshedAt; }
+    public void setRefreshedAt(Instant refreshedAt) { this.refreshedAt = refreshedAt; }
 }
\ No newline at end of file
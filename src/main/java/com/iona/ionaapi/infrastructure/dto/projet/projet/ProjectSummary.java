@@ -5,6 +5,7 @@ import com.iona.ionaapi.domain.project.enums.AIAnalysisStatus;
 import com.iona.ionaapi.domain.project.enums.ProjectStatus;
 
 import java.math.BigDecimal;
+import java.util.UUID;
 
 /**
  * Project summary for dashboard and lists (lighter version)
@@ -34,6 +35,23 @@ public class ProjectSummary {
         this.contractorsCount = project.getProjectContractors().size();
     }
     
+    /**
+     * Projection constructor used by the JPQL list query (contractors counted in SQL)
+     */
+    public ProjectSummary(UUID id, String name, String address, BigDecimal cost, ProjectStatus status,
+                          AIAnalysisStatus aiStatus, Integer compliancePercent, String ownerName,
+                          Long contractorsCount) {
+        this.id = id.toString();
+        this.name = name;
+        this.address = address;
+        this.cost = cost;
+        this.status = status;
+        this.aiStatus = aiStatus;
+        this.compliancePercent = compliancePercent;
+        this.ownerName = ownerName;
+        this.contractorsCount = contractorsCount != null ? contractorsCount.intValue() : 0;
+    }
+    
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -1,6 +1,8 @@
 package com.iona.ionaapi.infrastructure.filter;
 
 import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantProvisioningService;
+import com.iona.ionaapi.infrastructure.tenant.TenantResolver;
 import com.iona.ionaapi.infrastructure.tenant.TenantService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -15,9 +17,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Filtre HTTP pour intercepter les requêtes et configurer le contexte tenant
@@ -30,11 +29,16 @@ public class TenantFilter extends OncePerRequestFilter {
     
     private static final Logger logger = LoggerFactory.getLogger(TenantFilter.class);
     public static final String TENANT_HEADER_NAME = "x-tenant-id";
+    public static final String TENANT_PARAMETER_NAME = "tenantId";
+    
+    public static final int PROVISIONING_RETRY_AFTER_SECONDS = 2;
     
     private final TenantService tenantService;
+    private final TenantProvisioningService provisioningService;
     
-    public TenantFilter(TenantService tenantService) {
+    public TenantFilter(TenantService tenantService, TenantProvisioningService provisioningService) {
         this.tenantService = tenantService;
+        this.provisioningService = provisioningService;
     }
     
     @Override
@@ -54,64 +58,36 @@ public class TenantFilter extends OncePerRequestFilter {
                 httpResponse.setHeader("Access-Control-Allow-Headers", "Content-Type, X-Tenant-ID,x-tenant-id,X-Tenant-Id,Authorization");
                 return;
             }
-//            if (!request.getMethod().equalsIgnoreCase("OPTIONS")) {
-//                response.setHeader("Access-Control-Allow-Origin", "http://localhost:4200");
-//                response.setHeader("Access-Control-Allow-Credentials", "true");
-//                response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
-//                response.setHeader("Access-Control-Allow-Headers", "Content-Type,X-Tenant-ID,x-tenant-id,X-Tenant-Id");
-//                return;
-//            }
-
-            Map<String, Object> debugInfo = new HashMap<>();
-
-            // Tenant actuel du contexte
-
-            // Tous les headers reçus
-            Map<String, String> headers = new HashMap<>();
-            Enumeration<String> headerNames = request.getHeaderNames();
-            while (headerNames.hasMoreElements()) {
-                String headerName = headerNames.nextElement();
-                String headerValue = request.getHeader(headerName);
-                headers.put(headerName, headerValue);
-            }
-//            debugInfo.put("allHeaders", headers);
-//            log.info("tenantHeaders {}",headers);
-
-            // Tests spécifiques des headers tenant
-            Map<String, String> tenantHeaders = new HashMap<>();
-            String[] tenantHeaderVariants = {
-                    "X-Tenant-ID",
-                    "x-tenant-id",
-                    "X-TENANT-ID",
-                    "X-Tenant-Id",
-                    "X-tenant-id"
-            };
-
-            for (String headerName : tenantHeaderVariants) {
-                String headerValue = request.getHeader(headerName);
-                tenantHeaders.put(headerName, headerValue);
-            }
-//            debugInfo.put("tenantHeaders", tenantHeaders);
-//            log.info("tenantHeaders {}",tenantHeaders);
-            // Extrait le tenant depuis la requête
-//            String tenantId = extractTenantFromRequest(request);
-            String tenantId = tenantHeaders.get(TENANT_HEADER_NAME).toString();
+            // Extrait le tenant depuis la requête (lookup de header insensible à la casse)
+            TenantResolver.Resolution tenant = TenantResolver.resolve(extractTenantFromRequest(request));
+            String tenantId = tenant != null ? tenant.tenantId() : null;
 
             if (shouldValidateTenant(requestURI)) {
-                if (tenantId == null || tenantId.trim().isEmpty()) {
+                if (tenantId == null || tenantId.isEmpty()) {
                     handleMissingTenant(response, requestURI);
                     return;
                 }
                 
-                if (!tenantService.isValidTenantId(tenantId)) {
+                if (!tenant.valid()) {
                     handleInvalidTenant(response, tenantId, requestURI);
                     return;
                 }
                 
                 // Crée automatiquement le tenant s'il n'existe pas (pour le développement)
+                // Le provisionnement s'exécute en arrière-plan ; le client réessaie après Retry-After
                 if (!tenantService.tenantExists(tenantId)) {
                     logger.info("Création automatique du tenant: {}", tenantId);
-                    tenantService.createTenant(tenantId);
+                    provisioningService.provision(tenantId);
+                    handleTenantProvisioning(response, tenantId);
+                    return;
+                }
+
+                // Schema en retard sur les migrations : mis à jour par le provisionnement, comme une création
+                if (!tenantService.isMigrated(tenantId)) {
+                    logger.info("Migration du schema du tenant à sa première requête: {}", tenantId);
+                    provisioningService.provision(tenantId);
+                    handleTenantProvisioning(response, tenantId);
+                    return;
                 }
             }
             
@@ -144,17 +120,18 @@ public class TenantFilter extends OncePerRequestFilter {
      */
     private String extractTenantFromRequest(HttpServletRequest request) {
 
+        // Priorité 1: Header (les noms de header HTTP sont insensibles à la casse)
         String tenantId = request.getHeader(TENANT_HEADER_NAME);
 
-        if (tenantId != null && !tenantId.trim().isEmpty()) {
-            return tenantId.trim();
+        if (tenantId != null && !tenantId.isBlank()) {
+            return tenantId;
         }
 
-        // Priorité 2: Paramètre de requête (pour les tests)
-        tenantId = request.getParameter("tenantId");
-        if (tenantId != null && !tenantId.trim().isEmpty()) {
+        // Priorité 2: Paramètre de requête (tests, EventSource qui ne peut pas envoyer de header)
+        tenantId = request.getParameter(TENANT_PARAMETER_NAME);
+        if (tenantId != null && !tenantId.isBlank()) {
             logger.debug("Tenant trouvé dans les paramètres: {}", tenantId);
-            return tenantId.trim();
+            return tenantId;
         }
 
         return null;
@@ -169,6 +146,7 @@ public class TenantFilter extends OncePerRequestFilter {
                !requestURI.startsWith("/api/health") &&
                !requestURI.startsWith("/api/actuator") &&
                !requestURI.startsWith("/api/tenants") &&  // Gestion des tenants
+               !requestURI.startsWith("/api/v1/tenants") &&
                requestURI.startsWith("/api/");
     }
     
@@ -201,4 +179,18 @@ public class TenantFilter extends OncePerRequestFilter {
             tenantId
         ));
     }
-}
\ No newline at end of file
+    
+    /**
+     * Gère le cas où le tenant est en cours de provisionnement
+     */
+    private void handleTenantProvisioning(HttpServletResponse response, String tenantId) 
+            throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", String.valueOf(PROVISIONING_RETRY_AFTER_SECONDS));
+        response.setContentType("application/json");
+        response.getWriter().write(String.format(
+            "{\"error\":\"Tenant en cours de création\",\"tenantId\":\"%s\",\"message\":\"Veuillez réessayer dans quelques secondes\"}", 
+            tenantId
+        ));
+    }
+}
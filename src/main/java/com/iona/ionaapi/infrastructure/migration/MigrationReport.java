@@ -0,0 +1,26 @@
+package com.iona.ionaapi.infrastructure.migration;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Rapport d'une campagne de migration sur l'ensemble des schemas tenant
+ *
+ * @param startedAt    début de la campagne
+ * @param targetVersion version cible
+ * @param totalSchemas nombre de schemas à migrer
+ * @param completed    nombre de schemas traités
+ * @param failed       nombre de schemas en échec
+ * @param durationMs   durée totale (ou écoulée si la campagne est en cours)
+ * @param running      true tant que la campagne est en cours
+ * @param results      résultats par schema
+ */
+public record MigrationReport(Instant startedAt,
+                              int targetVersion,
+                              int totalSchemas,
+                              int completed,
+                              int failed,
+                              long durationMs,
+                              boolean running,
+                              List<SchemaMigrationResult> results) {
+}
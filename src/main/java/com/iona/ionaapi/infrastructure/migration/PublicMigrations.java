@@ -0,0 +1,42 @@
+package com.iona.ionaapi.infrastructure.migration;
+
+import java.util.List;
+
+/**
+ * Migrations du schema public (tables partagées entre tenants), dans l'ordre d'application
+ * Même moteur que les schemas tenant : versions suivies dans public.schema_version
+ */
+public final class PublicMigrations {
+
+    private PublicMigrations() {
+    }
+
+    /**
+     * V1 : cache partagé des analyses LLM (clé SHA-256 du modèle, de la version du prompt et du texte)
+     */
+    static final SchemaMigration V1_LLM_ANALYSIS_CACHE = new SchemaMigration(1, "Cache partagé des analyses LLM", List.of(
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.llm_analysis_cache (
+                cache_key CHAR(64) PRIMARY KEY,
+                model_name VARCHAR(100) NOT NULL,
+                prompt_version VARCHAR(64) NOT NULL,
+                result JSONB NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+            )
+            """
+    ));
+
+    /**
+     * Liste ordonnée des migrations du schema public
+     */
+    public static final List<SchemaMigration> ALL = List.of(
+            V1_LLM_ANALYSIS_CACHE
+    );
+
+    /**
+     * Version la plus récente
+     */
+    public static int latestVersion() {
+        return ALL.get(ALL.size() - 1).version();
+    }
+}
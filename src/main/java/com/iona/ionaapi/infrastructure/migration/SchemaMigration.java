@@ -0,0 +1,32 @@
+package com.iona.ionaapi.infrastructure.migration;
+
+import java.util.List;
+
+/**
+ * Migration versionnée d'un schema
+ * Les instructions SQL utilisent le marqueur {schema}, remplacé par le nom du schema cible
+ *
+ * @param version     numéro de version, strictement croissant
+ * @param description description courte enregistrée dans schema_version
+ * @param statements  instructions SQL exécutées dans l'ordre, dans une même transaction
+ */
+public record SchemaMigration(int version, String description, List<String> statements) {
+
+    public static final String SCHEMA_PLACEHOLDER = "{schema}";
+
+    public SchemaMigration {
+        if (version <= 0) {
+            throw new IllegalArgumentException("La version de migration doit être positive: " + version);
+        }
+        statements = List.copyOf(statements);
+    }
+
+    /**
+     * Instructions SQL pour un schema donné
+     */
+    public List<String> statementsFor(String schema) {
+        return statements.stream()
+                .map(statement -> statement.replace(SCHEMA_PLACEHOLDER, schema))
+                .toList();
+    }
+}
@@ -0,0 +1,21 @@
+package com.iona.ionaapi.infrastructure.migration;
+
+/**
+ * Résultat de la migration d'un schema
+ *
+ * @param schema      schema migré
+ * @param fromVersion version avant migration
+ * @param toVersion   version après migration
+ * @param durationMs  durée de la migration
+ * @param error       message d'erreur, null en cas de succès
+ */
+public record SchemaMigrationResult(String schema, int fromVersion, int toVersion, long durationMs, String error) {
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public boolean isChanged() {
+        return toVersion != fromVersion;
+    }
+}
@@ -0,0 +1,48 @@
+package com.iona.ionaapi.infrastructure.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Une fois l'application démarrée, migre le schema public
+ * Les schemas tenant sont migrés à la demande (provisionnement, première requête d'un tenant en retard) ;
+ * la campagne sur tous les schemas au démarrage reste activable, elle s'exécute alors en arrière-plan
+ */
+@Component
+public class TenantMigrationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantMigrationRunner.class);
+
+    private final TenantMigrationService migrationService;
+
+    @Value("${iona.migration.migrate-all-on-startup:false}")
+    private boolean migrateAllOnStartup;
+
+    public TenantMigrationRunner(TenantMigrationService migrationService) {
+        this.migrationService = migrationService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        // Tables partagées : migrées avant les schemas tenant, quelle que soit la configuration
+        SchemaMigrationResult publicResult = migrationService.migratePublic();
+        if (!publicResult.isSuccess()) {
+            logger.error("Migration du schema public en échec: {}", publicResult.error());
+        }
+
+        if (!migrateAllOnStartup) {
+            logger.debug("Migration des schemas au démarrage désactivée");
+            return;
+        }
+
+        try {
+            migrationService.migrateAllAsync();
+        } catch (Exception e) {
+            logger.error("Impossible de lancer la migration des schemas tenant", e);
+        }
+    }
+}
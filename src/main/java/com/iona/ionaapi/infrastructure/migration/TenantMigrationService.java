@@ -0,0 +1,337 @@
+package com.iona.ionaapi.infrastructure.migration;
+
+import com.iona.ionaapi.infrastructure.tenant.TenantEventBus;
+import com.iona.ionaapi.infrastructure.tenant.TenantEventType;
+import com.iona.ionaapi.infrastructure.tenant.TenantResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moteur de migration versionné des schemas tenant
+ * Chaque schema enregistre ses versions appliquées dans sa table schema_version ;
+ * un schema est migré à son provisionnement, ou à sa première utilisation sur le noeud s'il est en retard ;
+ * la migration de tous les schemas (campagne) s'exécute en parallèle sur un pool borné
+ */
+@Service
+public class TenantMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantMigrationService.class);
+
+    public static final String VERSION_TABLE = "schema_version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+    private final TenantEventBus eventBus;
+    private final List<SchemaMigration> migrations;
+    private final List<SchemaMigration> publicMigrations;
+
+    // Extensions installées : tant que pg_trgm manque, chaque migration retente de l'installer
+    private final ReentrantLock extensionsLock = new ReentrantLock();
+    private volatile boolean extensionsReady;
+
+    // Schemas tenant vus à la dernière version par ce noeud : ils ne sont plus relus
+    private final Set<String> upToDateSchemas = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean campaignRunning = new AtomicBoolean();
+
+    // État de la dernière campagne (ou de la campagne en cours)
+    private volatile Instant campaignStartedAt;
+    private volatile int campaignTotal;
+    private volatile long campaignDurationMs;
+    private final AtomicInteger campaignFailed = new AtomicInteger();
+    private final List<SchemaMigrationResult> campaignResults = new ArrayList<>();
+
+    public TenantMigrationService(@Qualifier("adminDataSource") DataSource adminDataSource,
+                                  @Qualifier("tenantMigrationExecutor") TaskExecutor executor,
+                                  TenantEventBus eventBus) {
+        this.jdbcTemplate = new JdbcTemplate(adminDataSource);
+        // Gestionnaire de transactions local : le gestionnaire JPA reste le seul bean transactionnel
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(adminDataSource));
+        this.executor = executor;
+        this.eventBus = eventBus;
+        this.migrations = TenantMigrations.ALL.stream()
+                .sorted(Comparator.comparingInt(SchemaMigration::version))
+                .toList();
+        this.publicMigrations = PublicMigrations.ALL.stream()
+                .sorted(Comparator.comparingInt(SchemaMigration::version))
+                .toList();
+    }
+
+    /**
+     * Crée le schema si nécessaire et lui applique les migrations manquantes
+     */
+    public SchemaMigrationResult migrate(String schema) {
+        SchemaMigrationResult result = migrate(schema, migrations);
+        if (result.isSuccess() && result.toVersion() >= TenantMigrations.latestVersion()) {
+            upToDateSchemas.add(schema);
+        }
+        return result;
+    }
+
+    /**
+     * Indique si un schema tenant existant est à la dernière version des migrations
+     * Seule la première vérification d'un schema à jour lit sa table schema_version
+     */
+    public boolean isUpToDate(String schema) {
+        if (upToDateSchemas.contains(schema)) {
+            return true;
+        }
+        try {
+            if (currentVersion(schema) >= TenantMigrations.latestVersion()) {
+                upToDateSchemas.add(schema);
+                return true;
+            }
+        } catch (Exception e) {
+            // Table schema_version absente : le schema sera créé ou complété par sa migration
+            logger.debug("Version du schema '{}' illisible: {}", schema, e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Applique les migrations manquantes du schema public (tables partagées entre tenants)
+     */
+    public SchemaMigrationResult migratePublic() {
+        return migrate(TenantResolver.PUBLIC_SCHEMA, publicMigrations);
+    }
+
+    private SchemaMigrationResult migrate(String schema, List<SchemaMigration> migrations) {
+        long start = System.nanoTime();
+        int fromVersion = 0;
+        int currentVersion = 0;
+
+        try {
+            ensureExtensions();
+            ensureVersionTable(schema);
+
+            fromVersion = currentVersion(schema);
+            currentVersion = fromVersion;
+
+            for (SchemaMigration migration : migrations) {
+                if (migration.version() <= currentVersion) {
+                    continue;
+                }
+                applyMigration(schema, migration);
+                currentVersion = migration.version();
+            }
+
+            long durationMs = elapsedMs(start);
+            if (currentVersion != fromVersion) {
+                logger.info("Schema '{}' migré de la version {} à {} en {} ms", schema, fromVersion, currentVersion, durationMs);
+            } else {
+                logger.debug("Schema '{}' déjà à jour (version {})", schema, currentVersion);
+            }
+            return new SchemaMigrationResult(schema, fromVersion, currentVersion, durationMs, null);
+
+        } catch (Exception e) {
+            logger.error("Erreur lors de la migration du schema '{}' (version {})", schema, currentVersion, e);
+            return new SchemaMigrationResult(schema, fromVersion, currentVersion, elapsedMs(start), e.getMessage());
+        }
+    }
+
+    /**
+     * Lance la migration de tous les schemas tenant en arrière-plan
+     * Si une campagne est déjà en cours, retourne son état sans en démarrer une nouvelle
+     */
+    public MigrationReport migrateAllAsync() {
+        if (!campaignRunning.compareAndSet(false, true)) {
+            logger.info("Campagne de migration déjà en cours");
+            return getReport();
+        }
+
+        List<String> schemas;
+        try {
+            schemas = listTenantSchemas();
+        } catch (RuntimeException e) {
+            campaignRunning.set(false);
+            throw e;
+        }
+
+        synchronized (campaignResults) {
+            campaignResults.clear();
+        }
+        campaignFailed.set(0);
+        campaignTotal = schemas.size();
+        campaignDurationMs = 0;
+        campaignStartedAt = Instant.now();
+        long start = System.nanoTime();
+
+        logger.info("Migration de {} schemas tenant vers la version {}", schemas.size(), TenantMigrations.latestVersion());
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(schemas.size());
+        for (String schema : schemas) {
+            futures.add(CompletableFuture.runAsync(() -> recordResult(migrate(schema)), executor));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> {
+                    campaignDurationMs = elapsedMs(start);
+                    campaignRunning.set(false);
+                    if (error != null) {
+                        logger.error("Campagne de migration interrompue", error);
+                    }
+                    logger.info("Campagne de migration terminée: {} schemas, {} en échec, {} ms",
+                            campaignTotal, campaignFailed.get(), campaignDurationMs);
+                });
+
+        return getReport();
+    }
+
+    /**
+     * État de la dernière campagne de migration
+     */
+    public MigrationReport getReport() {
+        List<SchemaMigrationResult> results;
+        synchronized (campaignResults) {
+            results = List.copyOf(campaignResults);
+        }
+        boolean running = campaignRunning.get();
+        long durationMs = running && campaignStartedAt != null
+                ? Instant.now().toEpochMilli() - campaignStartedAt.toEpochMilli()
+                : campaignDurationMs;
+
+        return new MigrationReport(campaignStartedAt, TenantMigrations.latestVersion(), campaignTotal,
+                results.size(), campaignFailed.get(), durationMs, running, results);
+    }
+
+    /**
+     * Liste les schemas tenant existants
+     */
+    public List<String> listTenantSchemas() {
+        return jdbcTemplate.queryForList(
+                "SELECT nspname FROM pg_catalog.pg_namespace WHERE nspname LIKE 'tenant\\_%' ORDER BY nspname",
+                String.class);
+    }
+
+    private void recordResult(SchemaMigrationResult result) {
+        synchronized (campaignResults) {
+            campaignResults.add(result);
+            if (campaignResults.size() % 50 == 0 || campaignResults.size() == campaignTotal) {
+                logger.info("Migration des schemas: {}/{}", campaignResults.size(), campaignTotal);
+            }
+        }
+        if (!result.isSuccess()) {
+            campaignFailed.incrementAndGet();
+        } else if (result.isChanged()) {
+            eventBus.publish(TenantEventType.MIGRATED, tenantIdOf(result.schema()));
+        }
+    }
+
+    /**
+     * Crée le schema et sa table schema_version sous le verrou consultatif du schema :
+     * deux noeuds qui créent le même schema en même temps ne se heurtent pas sur le catalogue
+     */
+    private void ensureVersionTable(String schema) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext(?))", Object.class, schema);
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + quote(schema));
+            jdbcTemplate.execute(String.format("""
+                CREATE TABLE IF NOT EXISTS %s.%s (
+                    version INTEGER PRIMARY KEY,
+                    description VARCHAR(255) NOT NULL,
+                    applied_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+                    execution_ms BIGINT NOT NULL
+                )
+                """, quote(schema), VERSION_TABLE));
+        });
+    }
+
+    /**
+     * Applique une migration dans une transaction, sous verrou consultatif du schema
+     * pour qu'un seul noeud migre un schema donné à la fois
+     */
+    private void applyMigration(String schema, SchemaMigration migration) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext(?))", Object.class, schema);
+
+            // Un autre noeud a pu appliquer la migration pendant l'attente du verrou
+            if (currentVersion(schema) >= migration.version()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            for (String statement : migration.statementsFor(quote(schema))) {
+                jdbcTemplate.execute(statement);
+            }
+            jdbcTemplate.update(String.format(
+                    "INSERT INTO %s.%s (version, description, execution_ms) VALUES (?, ?, ?)", quote(schema), VERSION_TABLE),
+                    migration.version(), migration.description(), elapsedMs(start));
+
+            logger.debug("Migration V{} appliquée au schema '{}'", migration.version(), schema);
+        });
+    }
+
+    private int currentVersion(String schema) {
+        Integer version = jdbcTemplate.queryForObject(
+                String.format("SELECT COALESCE(MAX(version), 0) FROM %s.%s", quote(schema), VERSION_TABLE),
+                Integer.class);
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Active les extensions UUID (gen_random_uuid) et trigrammes (recherche approchée)
+     * Marquées installées seulement une fois pg_trgm présente : après un échec, la prochaine migration
+     * (campagne, création ou mise à jour d'un tenant) retente l'installation
+     */
+    private void ensureExtensions() {
+        if (extensionsReady) {
+            return;
+        }
+        extensionsLock.lock();
+        try {
+            if (extensionsReady) {
+                return;
+            }
+            try {
+                jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pgcrypto");
+                logger.debug("Extension pgcrypto activée");
+            } catch (Exception e) {
+                // gen_random_uuid() est natif depuis PostgreSQL 13 ; les UUID sont de toute façon générés par l'application
+                logger.warn("Impossible d'activer l'extension pgcrypto: {}", e.getMessage());
+            }
+            try {
+                // Installée dans public : les requêtes tenant la référencent en nom qualifié
+                jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public");
+                extensionsReady = true;
+                logger.debug("Extension pg_trgm activée");
+            } catch (Exception e) {
+                // La migration V7 échouera sur les schemas concernés tant que l'extension n'est pas installée
+                logger.warn("Impossible d'activer l'extension pg_trgm, nouvel essai à la prochaine migration: {}", e.getMessage());
+            }
+        } finally {
+            extensionsLock.unlock();
+        }
+    }
+
+    private static String tenantIdOf(String schema) {
+        return schema.startsWith(TenantResolver.SCHEMA_PREFIX)
+                ? schema.substring(TenantResolver.SCHEMA_PREFIX.length())
+                : schema;
+    }
+
+    private static String quote(String schema) {
+        return "\"" + schema.replace("\"", "\"\"") + "\"";
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
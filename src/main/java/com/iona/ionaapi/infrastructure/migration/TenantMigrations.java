@@ -0,0 +1,467 @@
+package com.iona.ionaapi.infrastructure.migration;
+
+import java.util.List;
+
+/**
+ * Migrations des schemas tenant, dans l'ordre d'application
+ * Toutes les instructions sont idempotentes : les schemas créés avant le suivi des versions
+ * (ou par ddl-auto=update) peuvent être migrés depuis la version 0
+ */
+public final class TenantMigrations {
+
+    private TenantMigrations() {
+    }
+
+    /**
+     * V1 : tables historiques créées par TenantService
+     */
+    static final SchemaMigration V1_BASE_TABLES = new SchemaMigration(1, "Tables partenaires, donneurs d'ordre et projets", List.of(
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.partners (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                name VARCHAR(255) NOT NULL,
+                partner_type VARCHAR(50) NOT NULL,
+                siret VARCHAR(50) NOT NULL,
+                contact_email VARCHAR(255) NOT NULL,
+                phone VARCHAR(50),
+                street VARCHAR(255),
+                postal_code VARCHAR(20),
+                city VARCHAR(100),
+                country VARCHAR(100),
+                status VARCHAR(50) NOT NULL DEFAULT 'ACTIVE',
+                created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                last_updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                UNIQUE(siret)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.master_contractors (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                name VARCHAR(255) NOT NULL,
+                type VARCHAR(50) NOT NULL,
+                siret VARCHAR(50) NOT NULL,
+                address TEXT NOT NULL,
+                created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                last_updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                UNIQUE(siret)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.contacts (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                first_name VARCHAR(100) NOT NULL,
+                last_name VARCHAR(100) NOT NULL,
+                email VARCHAR(255) NOT NULL,
+                phone VARCHAR(50) NOT NULL,
+                position VARCHAR(100),
+                is_primary BOOLEAN NOT NULL DEFAULT FALSE,
+                master_contractor_id UUID,
+                created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                last_updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                FOREIGN KEY (master_contractor_id) REFERENCES {schema}.master_contractors(id) ON DELETE CASCADE
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.projects (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                name VARCHAR(255) NOT NULL,
+                address TEXT NOT NULL,
+                cost DECIMAL(15,2),
+                opening_date DATE,
+                owner_id UUID,
+                mission TEXT,
+                status VARCHAR(50) NOT NULL DEFAULT 'PLANNED',
+                ai_global_status VARCHAR(50) DEFAULT 'PENDING',
+                ai_progress_percent INTEGER DEFAULT 0,
+                created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                last_updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                FOREIGN KEY (owner_id) REFERENCES {schema}.master_contractors(id)
+            )
+            """
+    ));
+
+    /**
+     * V2 : entreprises intervenantes, intervenants de projet, documents
+     * et colonnes de projets jusque-là ajoutées par ddl-auto=update
+     */
+    static final SchemaMigration V2_CONTRACTORS = new SchemaMigration(2, "Entreprises intervenantes et colonnes projets", List.of(
+            "ALTER TABLE {schema}.projects ADD COLUMN IF NOT EXISTS owner_name VARCHAR(255) NOT NULL DEFAULT ''",
+            "ALTER TABLE {schema}.projects ADD COLUMN IF NOT EXISTS ai_status VARCHAR(50) DEFAULT 'PENDING'",
+            "ALTER TABLE {schema}.projects ADD COLUMN IF NOT EXISTS ai_last_analysis TIMESTAMP WITH TIME ZONE",
+            "ALTER TABLE {schema}.projects ADD COLUMN IF NOT EXISTS ai_compliance_score DECIMAL(5,2)",
+            "ALTER TABLE {schema}.projects ADD COLUMN IF NOT EXISTS ai_issues_count INTEGER DEFAULT 0",
+            "ALTER TABLE {schema}.projects ADD COLUMN IF NOT EXISTS ai_analysis_summary TEXT",
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.contractors (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                name VARCHAR(255) NOT NULL,
+                type VARCHAR(50) NOT NULL,
+                siret VARCHAR(50) NOT NULL,
+                address VARCHAR(255) NOT NULL,
+                status VARCHAR(50) NOT NULL DEFAULT 'ACTIVE',
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+                last_updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.contractor_specialties (
+                contractor_id UUID NOT NULL REFERENCES {schema}.contractors(id) ON DELETE CASCADE,
+                specialty VARCHAR(50)
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_contractor_specialties_contractor ON {schema}.contractor_specialties (contractor_id)",
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.contractor_contacts (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                first_name VARCHAR(255) NOT NULL,
+                last_name VARCHAR(255) NOT NULL,
+                email VARCHAR(255) NOT NULL,
+                phone VARCHAR(255) NOT NULL,
+                position VARCHAR(255),
+                is_primary BOOLEAN NOT NULL DEFAULT FALSE,
+                contractor_id UUID REFERENCES {schema}.contractors(id) ON DELETE CASCADE,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+                last_updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_contractor_contacts_contractor ON {schema}.contractor_contacts (contractor_id)",
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.project_contractors (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                project_id UUID REFERENCES {schema}.projects(id) ON DELETE CASCADE,
+                contractor_id UUID,
+                role VARCHAR(255),
+                name VARCHAR(255),
+                contract_amount DECIMAL(15,2),
+                start_date DATE,
+                end_date DATE,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_project_contractors_project ON {schema}.project_contractors (project_id)",
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.project_documents (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                project_id UUID REFERENCES {schema}.projects(id) ON DELETE CASCADE,
+                document_name VARCHAR(255) NOT NULL,
+                document_type VARCHAR(255),
+                file_path VARCHAR(255),
+                file_size BIGINT,
+                content_type VARCHAR(255),
+                uploaded_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_project_documents_project ON {schema}.project_documents (project_id)"
+    ));
+
+    /**
+     * V3 : attestations et graphe d'analyse IA
+     */
+    static final SchemaMigration V3_ATTESTATIONS = new SchemaMigration(3, "Attestations et rapports d'analyse IA", List.of(
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.extracted_data (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                document_type VARCHAR(255) NOT NULL,
+                issuer VARCHAR(255) NOT NULL,
+                issue_date DATE NOT NULL,
+                expiry_date DATE NOT NULL,
+                policy_number VARCHAR(100) NOT NULL,
+                coverage_amount DECIMAL(15,2) NOT NULL,
+                deductible DECIMAL(15,2),
+                premium DECIMAL(15,2),
+                subcontracting_allowed BOOLEAN NOT NULL DEFAULT FALSE,
+                subcontracting_limit DECIMAL(15,2),
+                tenant_id VARCHAR(50) NOT NULL
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.coverages (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                type VARCHAR(100) NOT NULL,
+                description TEXT,
+                amount DECIMAL(15,2) NOT NULL,
+                is_valid BOOLEAN NOT NULL,
+                validity_start DATE,
+                validity_end DATE,
+                tenant_id VARCHAR(50) NOT NULL,
+                extracted_data_id UUID REFERENCES {schema}.extracted_data(id) ON DELETE CASCADE
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_coverages_extracted_data ON {schema}.coverages (extracted_data_id)",
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.extracted_data_exclusions (
+                extracted_data_id UUID NOT NULL REFERENCES {schema}.extracted_data(id) ON DELETE CASCADE,
+                exclusion TEXT
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.extracted_data_covered_activities (
+                extracted_data_id UUID NOT NULL REFERENCES {schema}.extracted_data(id) ON DELETE CASCADE,
+                activity VARCHAR(255)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.extracted_data_geographic_scope (
+                extracted_data_id UUID NOT NULL REFERENCES {schema}.extracted_data(id) ON DELETE CASCADE,
+                zone VARCHAR(255)
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_extracted_data_exclusions_owner ON {schema}.extracted_data_exclusions (extracted_data_id)",
+            "CREATE INDEX IF NOT EXISTS idx_extracted_data_activities_owner ON {schema}.extracted_data_covered_activities (extracted_data_id)",
+            "CREATE INDEX IF NOT EXISTS idx_extracted_data_scope_owner ON {schema}.extracted_data_geographic_scope (extracted_data_id)",
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.ai_analysis_reports (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                attestation_id UUID NOT NULL,
+                analyzed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                status VARCHAR(50) NOT NULL,
+                global_score INTEGER NOT NULL,
+                extracted_data_id UUID UNIQUE REFERENCES {schema}.extracted_data(id),
+                processing_time INTEGER NOT NULL,
+                confidence INTEGER NOT NULL,
+                version VARCHAR(50) NOT NULL,
+                tenant_id VARCHAR(50) NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+                updated_at TIMESTAMP WITH TIME ZONE
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.ai_recommendations (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                type VARCHAR(50) NOT NULL,
+                priority VARCHAR(50) NOT NULL,
+                title VARCHAR(255) NOT NULL,
+                description TEXT,
+                impact TEXT,
+                estimated_cost DECIMAL(15,2),
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+                tenant_id VARCHAR(50) NOT NULL,
+                analysis_report_id UUID REFERENCES {schema}.ai_analysis_reports(id) ON DELETE CASCADE
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.ai_alerts (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                severity VARCHAR(50) NOT NULL,
+                category VARCHAR(50) NOT NULL,
+                title VARCHAR(255) NOT NULL,
+                description TEXT,
+                detected_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                resolved BOOLEAN NOT NULL DEFAULT FALSE,
+                resolved_at TIMESTAMP WITH TIME ZONE,
+                tenant_id VARCHAR(50) NOT NULL,
+                analysis_report_id UUID REFERENCES {schema}.ai_analysis_reports(id) ON DELETE CASCADE
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.alert_affected_items (
+                alert_id UUID NOT NULL REFERENCES {schema}.ai_alerts(id) ON DELETE CASCADE,
+                item VARCHAR(255)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.ai_actions (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                status VARCHAR(50) NOT NULL,
+                priority VARCHAR(50) NOT NULL,
+                category VARCHAR(50) NOT NULL,
+                title VARCHAR(255) NOT NULL,
+                description TEXT,
+                due_date DATE,
+                assigned_to VARCHAR(255),
+                completed_at TIMESTAMP WITH TIME ZONE,
+                notes TEXT,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+                tenant_id VARCHAR(50) NOT NULL,
+                analysis_report_id UUID REFERENCES {schema}.ai_analysis_reports(id) ON DELETE CASCADE
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_ai_recommendations_report ON {schema}.ai_recommendations (analysis_report_id)",
+            "CREATE INDEX IF NOT EXISTS idx_ai_alerts_report ON {schema}.ai_alerts (analysis_report_id)",
+            "CREATE INDEX IF NOT EXISTS idx_alert_affected_items_alert ON {schema}.alert_affected_items (alert_id)",
+            "CREATE INDEX IF NOT EXISTS idx_ai_actions_report ON {schema}.ai_actions (analysis_report_id)",
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.attestations (
+                id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                file_name VARCHAR(255) NOT NULL,
+                uploaded_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                ai_status VARCHAR(50) NOT NULL,
+                file_url TEXT,
+                s3_object_key VARCHAR(500),
+                intervenant_id UUID NOT NULL,
+                type VARCHAR(50) NOT NULL,
+                file_size BIGINT NOT NULL,
+                uploaded_by VARCHAR(255) NOT NULL,
+                ai_progress_percent INTEGER NOT NULL DEFAULT 0,
+                is_valid BOOLEAN NOT NULL DEFAULT FALSE,
+                expiry_date DATE,
+                ai_analysis_report_id UUID UNIQUE REFERENCES {schema}.ai_analysis_reports(id),
+                tenant_id VARCHAR(50) NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+                updated_at TIMESTAMP WITH TIME ZONE
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.attestation_tags (
+                attestation_id UUID NOT NULL REFERENCES {schema}.attestations(id) ON DELETE CASCADE,
+                tag VARCHAR(255)
+            )
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_attestation_intervenant ON {schema}.attestations (intervenant_id)",
+            "CREATE INDEX IF NOT EXISTS idx_attestation_status ON {schema}.attestations (ai_status)",
+            "CREATE INDEX IF NOT EXISTS idx_attestation_tenant ON {schema}.attestations (tenant_id)",
+            "CREATE INDEX IF NOT EXISTS idx_attestation_tags_attestation ON {schema}.attestation_tags (attestation_id)"
+    ));
+
+    /**
+     * V4 : index de la pagination par clé des attestations (les plus récentes d'abord)
+     */
+    static final SchemaMigration V4_ATTESTATION_KEYSET = new SchemaMigration(4, "Index de pagination des attestations", List.of(
+            "CREATE INDEX IF NOT EXISTS idx_attestation_created ON {schema}.attestations (created_at DESC, id DESC)"
+    ));
+
+    /**
+     * V5 : clés étrangères des enfants du rapport obligatoires (insérées directement, sans UPDATE de rattachement)
+     */
+    static final SchemaMigration V5_REPORT_CHILDREN_NOT_NULL = new SchemaMigration(5, "Rattachement obligatoire des enfants du rapport", List.of(
+            "ALTER TABLE {schema}.coverages ALTER COLUMN extracted_data_id SET NOT NULL",
+            "ALTER TABLE {schema}.ai_recommendations ALTER COLUMN analysis_report_id SET NOT NULL",
+            "ALTER TABLE {schema}.ai_alerts ALTER COLUMN analysis_report_id SET NOT NULL",
+            "ALTER TABLE {schema}.ai_actions ALTER COLUMN analysis_report_id SET NOT NULL"
+    ));
+
+    /**
+     * V6 : index de la pagination par clé des listes (colonne de tri, id)
+     * siret est déjà couvert par sa contrainte d'unicité
+     */
+    static final SchemaMigration V6_LIST_KEYSET = new SchemaMigration(6, "Index de pagination par clé des listes", List.of(
+            "CREATE INDEX IF NOT EXISTS idx_partner_name_id ON {schema}.partners (name, id)",
+            "CREATE INDEX IF NOT EXISTS idx_partner_created_id ON {schema}.partners (created_at, id)",
+            "CREATE INDEX IF NOT EXISTS idx_master_contractor_name_id ON {schema}.master_contractors (name, id)",
+            "CREATE INDEX IF NOT EXISTS idx_master_contractor_created_id ON {schema}.master_contractors (created_at, id)",
+            "CREATE INDEX IF NOT EXISTS idx_contractor_name_id ON {schema}.contractors (name, id)",
+            "CREATE INDEX IF NOT EXISTS idx_contractor_created_id ON {schema}.contractors (created_at, id)",
+            "CREATE INDEX IF NOT EXISTS idx_project_name_id ON {schema}.projects (name, id)",
+            "CREATE INDEX IF NOT EXISTS idx_project_created_id ON {schema}.projects (created_at, id)"
+    ));
+
+    /**
+     * V7 : index trigrammes (pg_trgm, installée dans public) pour la recherche approchée par nom,
+     * et index text_pattern_ops pour la recherche par préfixe de SIRET
+     */
+    static final SchemaMigration V7_TRIGRAM_SEARCH = new SchemaMigration(7, "Index de recherche par trigrammes et préfixe SIRET", List.of(
+            "CREATE INDEX IF NOT EXISTS idx_contractor_name_trgm ON {schema}.contractors USING gin (name public.gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_partner_name_trgm ON {schema}.partners USING gin (name public.gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_master_contractor_name_trgm ON {schema}.master_contractors USING gin (name public.gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_project_name_trgm ON {schema}.projects USING gin (name public.gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_contractor_siret_prefix ON {schema}.contractors (siret text_pattern_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_partner_siret_prefix ON {schema}.partners (siret text_pattern_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_master_contractor_siret_prefix ON {schema}.master_contractors (siret text_pattern_ops)"
+    ));
+
+    /**
+     * V8 : tableau de bord projets matérialisé (une seule ligne, rafraîchie par ProjectDashboardService)
+     * et index partiel des projets urgents (non conformes et non terminés)
+     */
+    static final SchemaMigration V8_PROJECT_DASHBOARD = new SchemaMigration(8, "Tableau de bord projets matérialisé", List.of(
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.project_dashboard (
+                id SMALLINT PRIMARY KEY CHECK (id = 1),
+                total_projects BIGINT NOT NULL,
+                active_projects BIGINT NOT NULL,
+                completed_projects BIGINT NOT NULL,
+                pending_analysis BIGINT NOT NULL,
+                compliant_projects BIGINT NOT NULL,
+                non_compliant_projects BIGINT NOT NULL,
+                total_value DECIMAL(19,2) NOT NULL,
+                average_compliance_score DECIMAL(5,2),
+                recent_projects JSONB NOT NULL,
+                urgent_projects JSONB NOT NULL,
+                refreshed_at TIMESTAMP WITH TIME ZONE NOT NULL
+            )
+            """,
+            """
+            CREATE INDEX IF NOT EXISTS idx_project_urgent ON {schema}.projects (ai_compliance_score, id)
+            WHERE ai_status = 'NON_COMPLIANT' AND status NOT IN ('COMPLETED', 'CANCELLED')
+            """
+    ));
+
+    /**
+     * V9 : dernier rapport par (entreprise, type d'attestation) pour le classement par risque,
+     * lisible par parcours d'index seul
+     */
+    static final SchemaMigration V9_RISK_RANKING = new SchemaMigration(9, "Index du classement par risque", List.of(
+            """
+            CREATE INDEX IF NOT EXISTS idx_attestation_latest_report
+            ON {schema}.attestations (intervenant_id, type, created_at DESC, id DESC) INCLUDE (ai_analysis_report_id)
+            WHERE ai_analysis_report_id IS NOT NULL
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_project_contractors_contractor ON {schema}.project_contractors (contractor_id)"
+    ));
+
+    /**
+     * V10 : index d'échéance des attestations et des couvertures, et point de reprise du scanner d'échéances
+     * La ligne initiale a un horizon passé : le premier passage traite toute la fenêtre
+     */
+    static final SchemaMigration V10_EXPIRY_SCAN = new SchemaMigration(10, "Index d'échéance et point de reprise du scanner", List.of(
+            "CREATE INDEX IF NOT EXISTS idx_attestation_expiry ON {schema}.attestations (expiry_date, id) WHERE expiry_date IS NOT NULL",
+            "CREATE INDEX IF NOT EXISTS idx_coverage_validity_end ON {schema}.coverages (validity_end, id) WHERE validity_end IS NOT NULL",
+            """
+            CREATE TABLE IF NOT EXISTS {schema}.expiry_scan_checkpoint (
+                id SMALLINT PRIMARY KEY CHECK (id = 1),
+                horizon DATE NOT NULL,
+                scanned_at TIMESTAMP WITH TIME ZONE NOT NULL
+            )
+            """,
+            """
+            INSERT INTO {schema}.expiry_scan_checkpoint (id, horizon, scanned_at)
+            VALUES (1, DATE '1970-01-01', TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00')
+            ON CONFLICT (id) DO NOTHING
+            """
+    ));
+
+    /**
+     * V11 : le classement par risque part de la dernière attestation, analysée ou non :
+     * l'index partiel de V9 (attestations analysées seulement) est remplacé par un index complet
+     */
+    static final SchemaMigration V11_RISK_LATEST_ATTESTATION = new SchemaMigration(11, "Index de la dernière attestation par type", List.of(
+            """
+            CREATE INDEX IF NOT EXISTS idx_attestation_latest
+            ON {schema}.attestations (intervenant_id, type, created_at DESC, id DESC) INCLUDE (ai_analysis_report_id)
+            """,
+            "DROP INDEX IF EXISTS {schema}.idx_attestation_latest_report"
+    ));
+
+    /**
+     * V12 : horizon critique du point de reprise, pour passer en CRITICAL les alertes d'échéance à l'approche
+     * Une valeur passée fait réexaminer toute la fenêtre critique au premier passage
+     */
+    static final SchemaMigration V12_EXPIRY_CRITICAL_HORIZON = new SchemaMigration(12, "Horizon critique du scanner d'échéances", List.of(
+            "ALTER TABLE {schema}.expiry_scan_checkpoint ADD COLUMN IF NOT EXISTS critical_horizon DATE NOT NULL DEFAULT DATE '1970-01-01'"
+    ));
+
+    /**
+     * Liste ordonnée des migrations tenant
+     */
+    public static final List<SchemaMigration> ALL = List.of(
+            V1_BASE_TABLES,
+            V2_CONTRACTORS,
+            V3_ATTESTATIONS,
+            V4_ATTESTATION_KEYSET,
+            V5_REPORT_CHILDREN_NOT_NULL,
+            V6_LIST_KEYSET,
+            V7_TRIGRAM_SEARCH,
+            V8_PROJECT_DASHBOARD,
+            V9_RISK_RANKING,
+            V10_EXPIRY_SCAN,
+            V11_RISK_LATEST_ATTESTATION,
+            V12_EXPIRY_CRITICAL_HORIZON
+    );
+
+    /**
+     * Version la plus récente
+     */
+    public static int latestVersion() {
+        return ALL.get(ALL.size() - 1).version();
+    }
+}
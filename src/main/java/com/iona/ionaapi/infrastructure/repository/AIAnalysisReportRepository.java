@@ -0,0 +1,36 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.domain.entities.AIAnalysisReport;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AIAnalysisReportRepository extends JpaRepository<AIAnalysisReport, UUID> {
+
+    /**
+     * Rapport et données extraites en une requête
+     */
+    @EntityGraph(AIAnalysisReport.GRAPH_SUMMARY)
+    @Query("SELECT r FROM AIAnalysisReport r WHERE r.attestationId = :attestationId")
+    Optional<AIAnalysisReport> findSummaryByAttestationId(@Param("attestationId") UUID attestationId);
+
+    /**
+     * Rapport, données extraites et couvertures ; les autres collections suivent par sous-requête
+     */
+    @EntityGraph(AIAnalysisReport.GRAPH_FULL)
+    @Query("SELECT r FROM AIAnalysisReport r WHERE r.attestationId = :attestationId")
+    Optional<AIAnalysisReport> findFullByAttestationId(@Param("attestationId") UUID attestationId);
+
+    /**
+     * Rapport et alertes ; les éléments concernés suivent par sous-requête
+     */
+    @EntityGraph(AIAnalysisReport.GRAPH_ALERTS)
+    @Query("SELECT r FROM AIAnalysisReport r WHERE r.attestationId = :attestationId")
+    Optional<AIAnalysisReport> findAlertsByAttestationId(@Param("attestationId") UUID attestationId);
+}
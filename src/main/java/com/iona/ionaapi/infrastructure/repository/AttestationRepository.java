@@ -0,0 +1,87 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.application.service.dto.AttestationStats;
+import com.iona.ionaapi.domain.entities.AiStatus;
+import com.iona.ionaapi.domain.entities.Attestation;
+import com.iona.ionaapi.infrastructure.dto.AttestationSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AttestationRepository extends JpaRepository<Attestation, UUID> {
+
+    String SUMMARY_SELECT = """
+            SELECT new com.iona.ionaapi.infrastructure.dto.AttestationSummary(
+                a.id, a.fileName, a.type, a.aiStatus, a.aiProgressPercent, a.isValid, a.expiryDate,
+                d.issuer, d.policyNumber, r.globalScore, a.createdAt)
+            FROM Attestation a
+            LEFT JOIN a.aiAnalysisReport r
+            LEFT JOIN r.extractedData d
+            """;
+
+    /**
+     * Première page des attestations, les plus récentes d'abord
+     */
+    @Query(SUMMARY_SELECT + " ORDER BY a.createdAt DESC, a.id DESC")
+    List<AttestationSummary> findSummaries(Limit limit);
+
+    /**
+     * Page suivante d'une pagination par clé (createdAt, id)
+     */
+    @Query(SUMMARY_SELECT + """
+            WHERE a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<AttestationSummary> findSummariesAfter(@Param("createdAt") Instant createdAt,
+                                                @Param("id") UUID id,
+                                                Limit limit);
+
+    /**
+     * Compteurs par statut d'analyse en un seul passage (clauses FILTER)
+     */
+    @Query("""
+            SELECT new com.iona.ionaapi.application.service.dto.AttestationStats(
+                COUNT(a) FILTER (WHERE a.aiStatus = PENDING),
+                COUNT(a) FILTER (WHERE a.aiStatus = ANALYZING),
+                COUNT(a) FILTER (WHERE a.aiStatus = COMPLIANT),
+                COUNT(a) FILTER (WHERE a.aiStatus = NON_COMPLIANT),
+                COUNT(a) FILTER (WHERE a.aiStatus = ERROR),
+                COUNT(a))
+            FROM Attestation a
+            """)
+    AttestationStats computeStats();
+
+    /**
+     * Statut d'analyse courant, sans charger l'entité
+     */
+    @Query("SELECT a.aiStatus FROM Attestation a WHERE a.id = :id")
+    Optional<AiStatus> findAiStatusById(@Param("id") UUID id);
+
+    /**
+     * Analyses en attente ou en cours dont l'état n'a pas changé depuis la date donnée
+     */
+    @Query("""
+            SELECT a.id FROM Attestation a
+            WHERE a.aiStatus IN (PENDING, ANALYZING) AND COALESCE(a.updatedAt, a.createdAt) < :before
+            """)
+    List<UUID> findStalledAnalysisIds(@Param("before") Instant before);
+
+    /**
+     * Met à jour l'état d'analyse sans recharger l'agrégat
+     */
+    @Modifying
+    @Query("UPDATE Attestation a SET a.aiStatus = :status, a.aiProgressPercent = :progress, a.updatedAt = :now WHERE a.id = :id")
+    int updateAnalysisState(@Param("id") UUID id,
+                            @Param("status") AiStatus status,
+                            @Param("progress") int progress,
+                            @Param("now") Instant now);
+}
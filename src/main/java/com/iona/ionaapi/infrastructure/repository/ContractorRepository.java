@@ -5,12 +5,18 @@ import com.iona.ionaapi.domain.contractor.Contractor;
 import com.iona.ionaapi.domain.contractor.enums.ContractorSpecialty;
 import com.iona.ionaapi.domain.contractor.enums.ContractorStatus;
 import com.iona.ionaapi.domain.contractor.enums.ContractorType;
+import com.iona.ionaapi.infrastructure.dto.ContractorSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import com.iona.ionaapi.application.service.dto.ContractorStats;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,6 +26,34 @@ import java.util.UUID;
  */
 @Repository
 public interface ContractorRepository extends JpaRepository<Contractor, UUID> {
+
+    String SUMMARY_PROJECTION = """
+            new com.iona.ionaapi.infrastructure.dto.ContractorSummary(
+                c.id, c.name, c.type, pc.firstName, pc.lastName, pc.phone)
+            """;
+
+    /**
+     * One row per contractor: when several contacts are flagged primary, the one with the smallest id is shown
+     */
+    String SUMMARY_FROM = """
+            Contractor c
+            LEFT JOIN c.contacts pc ON pc.id = (
+                SELECT p.id FROM ContractorContact p
+                WHERE p.contractor = c AND p.isPrimary = true
+                ORDER BY p.id
+                LIMIT 1)
+            """;
+
+    String SUMMARY_COUNT = "SELECT COUNT(c) FROM Contractor c";
+
+    /**
+     * Contractor list paginated by key (sorted on name, siret or createdAt, ties broken by id)
+     */
+    KeysetQuery<ContractorSummary> SUMMARY_KEYSET = new KeysetQuery<>(ContractorSummary.class, SUMMARY_PROJECTION, SUMMARY_FROM, "c", SUMMARY_COUNT,
+            Map.of("name", KeysetQuery.SortKey.text("c.name"),
+                    "siret", KeysetQuery.SortKey.text("c.siret"),
+                    "createdAt", KeysetQuery.SortKey.instant("c.createdAt")),
+            "name");
     
     /**
      * Find contractor by SIRET
@@ -36,12 +70,6 @@ public interface ContractorRepository extends JpaRepository<Contractor, UUID> {
      */
     List<Contractor> findByStatus(ContractorStatus status);
     
-    /**
-     * Search contractors by name (case insensitive)
-     */
-    @Query("SELECT c FROM Contractor c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Contractor> searchByName(@Param("name") String name);
-    
     /**
      * Find contractors by specialty
      */
@@ -76,4 +104,31 @@ public interface ContractorRepository extends JpaRepository<Contractor, UUID> {
      */
     @Query("SELECT c FROM Contractor c WHERE c.status = 'ACTIVE'")
     List<Contractor> findActiveContractors();
-}
\ No newline at end of file
+    
+    /**
+     * Paged contractor list, restricted to the displayed columns and the primary contact
+     */
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + " FROM " + SUMMARY_FROM, countQuery = SUMMARY_COUNT)
+    Page<ContractorSummary> findSummaries(Pageable pageable);
+    
+    /**
+     * Specialties of a page of contractors, as (contractor id, specialty) pairs
+     */
+    @Query("SELECT c.id, s FROM Contractor c JOIN c.specialties s WHERE c.id IN :ids")
+    List<Object[]> findSpecialtiesByContractorIds(@Param("ids") Collection<UUID> ids);
+    
+    /**
+     * Dashboard counters in a single pass over the contractors (aggregate FILTER clauses)
+     */
+    @Query("""
+            SELECT new com.iona.ionaapi.application.service.dto.ContractorStats(
+                COUNT(c) FILTER (WHERE c.type = GENERAL_CONTRACTOR),
+                COUNT(c) FILTER (WHERE c.type = SUBCONTRACTOR),
+                COUNT(c) FILTER (WHERE c.type = SPECIALIST),
+                COUNT(c) FILTER (WHERE c.type = CONSULTANT),
+                COUNT(c),
+                COUNT(c) FILTER (WHERE c.status = ACTIVE))
+            FROM Contractor c
+            """)
+    ContractorStats computeStats();
+}
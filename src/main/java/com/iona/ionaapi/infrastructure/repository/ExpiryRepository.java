@@ -0,0 +1,224 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.infrastructure.dto.ExpiringItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Échéances des attestations (expiry_date) et des couvertures (validity_end) du tenant courant
+ * Les requêtes parcourent les index d'échéance (migration V10) sur la seule fenêtre demandée,
+ * sans charger les entités ; les alertes d'échéance sont créées, puis passées en CRITICAL à l'approche
+ * de l'échéance, en une instruction par type d'élément
+ */
+@Repository
+public class ExpiryRepository {
+
+    public static final String ALERT_CATEGORY = "EXPIRY";
+
+    private static final String ATTESTATIONS = """
+            SELECT a.id, a.id AS attestation_id, a.intervenant_id, a.file_name AS label, a.expiry_date AS expiry_date
+            FROM attestations a
+            WHERE a.expiry_date > ? AND a.expiry_date <= ?
+            """;
+
+    private static final String COVERAGES = """
+            SELECT c.id, a.id AS attestation_id, a.intervenant_id, c.type AS label, c.validity_end AS expiry_date
+            FROM coverages c
+            JOIN ai_analysis_reports r ON r.extracted_data_id = c.extracted_data_id
+            JOIN attestations a ON a.ai_analysis_report_id = r.id
+            WHERE c.validity_end > ? AND c.validity_end <= ?
+            """;
+
+    private static final String ATTESTATION_TITLE = "'Attestation expirant le ' || to_char(a.expiry_date, 'DD/MM/YYYY')";
+    private static final String COVERAGE_TITLE = "'Couverture ' || c.type || ' expirant le ' || to_char(c.validity_end, 'DD/MM/YYYY')";
+
+    // Éléments entrés dans la fenêtre depuis le dernier passage, ou modifiés depuis ; le titre daté évite les doublons,
+    // quelle que soit la sévérité de l'alerte existante (son passage en CRITICAL relève de ESCALATE_*)
+    private static final String INSERT_ATTESTATION_ALERTS = """
+            INSERT INTO ai_alerts (severity, category, title, description, detected_at, resolved, tenant_id, analysis_report_id)
+            SELECT CASE WHEN a.expiry_date <= ? THEN 'CRITICAL' ELSE 'WARNING' END, '%1$s', %2$s,
+                   'L''attestation ' || a.file_name || ' expire dans ' || (a.expiry_date - CAST(? AS DATE)) || ' jour(s)',
+                   now(), FALSE, a.tenant_id, a.ai_analysis_report_id
+            FROM attestations a
+            WHERE a.expiry_date > ? AND a.expiry_date <= ?
+              AND a.ai_analysis_report_id IS NOT NULL
+              AND (a.expiry_date > ? OR COALESCE(a.updated_at, a.created_at) > ?)
+              AND NOT EXISTS (SELECT 1 FROM ai_alerts al
+                              WHERE al.analysis_report_id = a.ai_analysis_report_id
+                                AND al.category = '%1$s' AND al.title = %2$s)
+            """.formatted(ALERT_CATEGORY, ATTESTATION_TITLE);
+
+    private static final String INSERT_COVERAGE_ALERTS = """
+            INSERT INTO ai_alerts (severity, category, title, description, detected_at, resolved, tenant_id, analysis_report_id)
+            SELECT CASE WHEN c.validity_end <= ? THEN 'CRITICAL' ELSE 'WARNING' END, '%1$s', %2$s,
+                   'La couverture ' || c.type || ' de l''attestation ' || a.file_name
+                       || ' expire dans ' || (c.validity_end - CAST(? AS DATE)) || ' jour(s)',
+                   now(), FALSE, a.tenant_id, r.id
+            FROM coverages c
+            JOIN ai_analysis_reports r ON r.extracted_data_id = c.extracted_data_id
+            JOIN attestations a ON a.ai_analysis_report_id = r.id
+            WHERE c.validity_end > ? AND c.validity_end <= ?
+              AND (c.validity_end > ? OR COALESCE(a.updated_at, a.created_at) > ?)
+              AND NOT EXISTS (SELECT 1 FROM ai_alerts al
+                              WHERE al.analysis_report_id = r.id
+                                AND al.category = '%1$s' AND al.title = %2$s)
+            """.formatted(ALERT_CATEGORY, COVERAGE_TITLE);
+
+    // Alertes WARNING des éléments entrés dans la fenêtre critique depuis le dernier passage, ou modifiés depuis :
+    // l'alerte existante passe en CRITICAL et redevient non résolue, sans doublon
+    private static final String ESCALATE_ATTESTATION_ALERTS = """
+            UPDATE ai_alerts al
+            SET severity = 'CRITICAL', resolved = FALSE, resolved_at = NULL,
+                description = 'L''attestation ' || a.file_name || ' expire dans ' || (a.expiry_date - CAST(? AS DATE)) || ' jour(s)'
+            FROM attestations a
+            WHERE a.expiry_date > ? AND a.expiry_date <= ?
+              AND (a.expiry_date > ? OR COALESCE(a.updated_at, a.created_at) > ?)
+              AND al.analysis_report_id = a.ai_analysis_report_id
+              AND al.category = '%1$s' AND al.title = %2$s AND al.severity <> 'CRITICAL'
+            """.formatted(ALERT_CATEGORY, ATTESTATION_TITLE);
+
+    private static final String ESCALATE_COVERAGE_ALERTS = """
+            UPDATE ai_alerts al
+            SET severity = 'CRITICAL', resolved = FALSE, resolved_at = NULL,
+                description = 'La couverture ' || c.type || ' de l''attestation ' || a.file_name
+                    || ' expire dans ' || (c.validity_end - CAST(? AS DATE)) || ' jour(s)'
+            FROM coverages c
+            JOIN ai_analysis_reports r ON r.extracted_data_id = c.extracted_data_id
+            JOIN attestations a ON a.ai_analysis_report_id = r.id
+            WHERE c.validity_end > ? AND c.validity_end <= ?
+              AND (c.validity_end > ? OR COALESCE(a.updated_at, a.created_at) > ?)
+              AND al.analysis_report_id = r.id
+              AND al.category = '%1$s' AND al.title = %2$s AND al.severity <> 'CRITICAL'
+            """.formatted(ALERT_CATEGORY, COVERAGE_TITLE);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExpiryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Attestations expirant dans ]today, until], par échéance croissante puis id
+     *
+     * @param after position de la dernière ligne de la page précédente, null pour la première page
+     */
+    public List<ExpiringItem> findExpiringAttestations(LocalDate today, LocalDate until, KeysetCursor after, int limit) {
+        return findExpiring(ATTESTATIONS, "a.expiry_date", "a.id", today, until, after, limit);
+    }
+
+    /**
+     * Couvertures expirant dans ]today, until], par échéance croissante puis id
+     *
+     * @param after position de la dernière ligne de la page précédente, null pour la première page
+     */
+    public List<ExpiringItem> findExpiringCoverages(LocalDate today, LocalDate until, KeysetCursor after, int limit) {
+        return findExpiring(COVERAGES, "c.validity_end", "c.id", today, until, after, limit);
+    }
+
+    /**
+     * Verrouille le point de reprise du tenant pour la transaction courante
+     * Vide si un autre noeud est en train de scanner ce tenant
+     */
+    public Optional<Checkpoint> lockCheckpoint() {
+        return jdbcTemplate.query("""
+                        SELECT horizon, critical_horizon, scanned_at FROM expiry_scan_checkpoint WHERE id = 1
+                        FOR UPDATE SKIP LOCKED
+                        """,
+                        (rs, rowNum) -> new Checkpoint(rs.getObject("horizon", LocalDate.class),
+                                rs.getObject("critical_horizon", LocalDate.class), rs.getTimestamp("scanned_at").toInstant()))
+                .stream()
+                .findFirst();
+    }
+
+    public void saveCheckpoint(LocalDate horizon, LocalDate criticalHorizon, Instant scannedAt) {
+        jdbcTemplate.update("UPDATE expiry_scan_checkpoint SET horizon = ?, critical_horizon = ?, scanned_at = ? WHERE id = 1",
+                horizon, criticalHorizon, Timestamp.from(scannedAt));
+    }
+
+    /**
+     * Crée une alerte d'échéance pour chaque attestation analysée nouvellement dans la fenêtre ]today, horizon]
+     *
+     * @param criticalUntil échéances jusqu'à cette date signalées en CRITICAL, au-delà en WARNING
+     * @return nombre d'alertes créées
+     */
+    public int insertAttestationAlerts(LocalDate today, LocalDate horizon, LocalDate criticalUntil, Checkpoint since) {
+        return jdbcTemplate.update(INSERT_ATTESTATION_ALERTS, criticalUntil, today, today, horizon,
+                since.horizon(), Timestamp.from(since.scannedAt()));
+    }
+
+    /**
+     * Crée une alerte d'échéance pour chaque couverture nouvellement dans la fenêtre ]today, horizon]
+     *
+     * @param criticalUntil échéances jusqu'à cette date signalées en CRITICAL, au-delà en WARNING
+     * @return nombre d'alertes créées
+     */
+    public int insertCoverageAlerts(LocalDate today, LocalDate horizon, LocalDate criticalUntil, Checkpoint since) {
+        return jdbcTemplate.update(INSERT_COVERAGE_ALERTS, criticalUntil, today, today, horizon,
+                since.horizon(), Timestamp.from(since.scannedAt()));
+    }
+
+    /**
+     * Passe en CRITICAL les alertes d'échéance des attestations nouvellement dans la fenêtre ]today, criticalUntil]
+     *
+     * @return nombre d'alertes escaladées
+     */
+    public int escalateAttestationAlerts(LocalDate today, LocalDate criticalUntil, Checkpoint since) {
+        return jdbcTemplate.update(ESCALATE_ATTESTATION_ALERTS, today, today, criticalUntil,
+                since.criticalHorizon(), Timestamp.from(since.scannedAt()));
+    }
+
+    /**
+     * Passe en CRITICAL les alertes d'échéance des couvertures nouvellement dans la fenêtre ]today, criticalUntil]
+     *
+     * @return nombre d'alertes escaladées
+     */
+    public int escalateCoverageAlerts(LocalDate today, LocalDate criticalUntil, Checkpoint since) {
+        return jdbcTemplate.update(ESCALATE_COVERAGE_ALERTS, today, today, criticalUntil,
+                since.criticalHorizon(), Timestamp.from(since.scannedAt()));
+    }
+
+    private List<ExpiringItem> findExpiring(String select, String expiryColumn, String idColumn,
+                                            LocalDate today, LocalDate until, KeysetCursor after, int limit) {
+        List<Object> args = new ArrayList<>(List.of(today, until));
+        String sql = select;
+        if (after != null) {
+            sql += " AND (" + expiryColumn + ", " + idColumn + ") > (?, ?)";
+            args.add(parseDate(after.sortValue()));
+            args.add(after.id());
+        }
+        sql += " ORDER BY " + expiryColumn + ", " + idColumn + " LIMIT ?";
+        args.add(limit);
+
+        RowMapper<ExpiringItem> mapper = (rs, rowNum) -> {
+            LocalDate expiryDate = rs.getObject("expiry_date", LocalDate.class);
+            return new ExpiringItem(rs.getObject("id", UUID.class), rs.getObject("attestation_id", UUID.class),
+                    rs.getObject("intervenant_id", UUID.class), rs.getString("label"), expiryDate,
+                    ChronoUnit.DAYS.between(today, expiryDate));
+        };
+        return jdbcTemplate.query(sql, mapper, args.toArray());
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor date: " + value, e);
+        }
+    }
+
+    /**
+     * Dernier passage du scanner : horizons déjà couverts (fenêtre d'alerte et fenêtre critique) et début du passage
+     */
+    public record Checkpoint(LocalDate horizon, LocalDate criticalHorizon, Instant scannedAt) {
+    }
+}
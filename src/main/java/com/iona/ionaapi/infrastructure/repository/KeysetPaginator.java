@@ -0,0 +1,121 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs keyset (seek) pagination over a KeysetQuery
+ * Each page reads at most size + 1 rows starting right after the cursor position,
+ * so its cost does not grow with the depth of the page; the total is only counted on demand
+ * The cursor records the sort it was produced for: it is refused under another sort or direction
+ */
+@Component
+public class KeysetPaginator {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Separates the sort spec from the sort value in the cursor (never part of a sort key name)
+    private static final char SORT_SEPARATOR = '=';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param sort         sort key name, optionally followed by ",desc" (e.g. "name", "createdAt,desc")
+     * @param cursor       nextCursor of the previous page, null or blank for the first page
+     * @param includeTotal also count all rows (one more query)
+     * @throws IllegalArgumentException on an unknown sort key, an invalid cursor or a cursor of another sort
+     */
+    public <T> CursorPage<T> page(KeysetQuery<T> query, String sort, String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        SortOrder order = SortOrder.parse(query, sort);
+        String id = query.alias() + ".id";
+
+        StringBuilder jpql = new StringBuilder("SELECT ")
+                .append(query.select()).append(", ").append(order.key().path()).append(", ").append(id)
+                .append(" FROM ").append(query.from());
+
+        KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        if (position != null) {
+            // Redundant range predicate first, so the (column, id) index is scanned from the position
+            String range = order.descending() ? "<" : ">";
+            jpql.append(" WHERE ").append(order.key().path()).append(' ').append(range).append("= :sortValue")
+                    .append(" AND (").append(order.key().path()).append(' ').append(range).append(" :sortValue")
+                    .append(" OR ").append(id).append(' ').append(range).append(" :lastId)");
+        }
+        String direction = order.descending() ? " DESC" : " ASC";
+        jpql.append(" ORDER BY ").append(order.key().path()).append(direction).append(", ").append(id).append(direction);
+
+        TypedQuery<Object[]> select = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setMaxResults(pageSize + 1);
+        if (position != null) {
+            select.setParameter("sortValue", order.key().parser().apply(order.valueOf(position)));
+            select.setParameter("lastId", position.id());
+        }
+        List<Object[]> rows = select.getResultList();
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Object[]> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        List<T> items = new ArrayList<>(pageRows.size());
+        for (Object[] row : pageRows) {
+            items.add(query.type().cast(row[0]));
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Object[] last = pageRows.get(pageSize - 1);
+            nextCursor = new KeysetCursor(order.spec() + SORT_SEPARATOR + last[1], (UUID) last[2]).encode();
+        }
+
+        Long total = includeTotal
+                ? entityManager.createQuery(query.countQuery(), Long.class).getSingleResult()
+                : null;
+        return new CursorPage<>(items, nextCursor, total);
+    }
+
+    private record SortOrder(String name, KeysetQuery.SortKey key, boolean descending) {
+
+        String spec() {
+            return descending ? name + ",desc" : name;
+        }
+
+        /**
+         * Sort value of a cursor produced by a page of this same sort
+         */
+        String valueOf(KeysetCursor cursor) {
+            String raw = cursor.sortValue();
+            int separator = raw.indexOf(SORT_SEPARATOR);
+            if (separator < 0 || !raw.substring(0, separator).equals(spec())) {
+                throw new IllegalArgumentException("Cursor does not match sort: " + spec());
+            }
+            return raw.substring(separator + 1);
+        }
+
+        static SortOrder parse(KeysetQuery<?> query, String sort) {
+            String name = sort == null || sort.isBlank() ? query.defaultSort() : sort.trim();
+            boolean descending = false;
+            int comma = name.indexOf(',');
+            if (comma >= 0) {
+                String direction = name.substring(comma + 1).trim();
+                name = name.substring(0, comma).trim();
+                if (direction.equalsIgnoreCase("desc")) {
+                    descending = true;
+                } else if (!direction.equalsIgnoreCase("asc")) {
+                    throw new IllegalArgumentException("Invalid sort direction: " + direction);
+                }
+            }
+            KeysetQuery.SortKey key = query.sortKeys().get(name);
+            if (key == null) {
+                throw new IllegalArgumentException("Unsupported sort: " + name + " (allowed: " + query.sortKeys().keySet() + ")");
+            }
+            return new SortOrder(name, key, descending);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * JPQL description of a list that can be paginated by key
+ *
+ * @param select      constructor expression of the returned rows
+ * @param from        FROM clause, joins included, declaring the root alias
+ * @param alias       alias of the root entity, whose id breaks ties between equal sort values
+ * @param countQuery  JPQL count of all rows, only run when the client asks for the total
+ * @param sortKeys    sortable columns by request parameter name
+ * @param defaultSort request parameter name of the default sort
+ */
+public record KeysetQuery<T>(Class<T> type, String select, String from, String alias, String countQuery,
+                             Map<String, SortKey> sortKeys, String defaultSort) {
+
+    public KeysetQuery {
+        if (!sortKeys.containsKey(defaultSort)) {
+            throw new IllegalArgumentException("Default sort is not a sort key: " + defaultSort);
+        }
+        sortKeys = Map.copyOf(sortKeys);
+    }
+
+    /**
+     * Sortable column: JPQL path (must be NOT NULL) and parser of its value stored in the cursor
+     */
+    public record SortKey(String path, Function<String, ?> parser) {
+
+        public static SortKey text(String path) {
+            return new SortKey(path, Function.identity());
+        }
+
+        public static SortKey instant(String path) {
+            return new SortKey(path, value -> {
+                try {
+                    return Instant.parse(value);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid cursor position: " + value);
+                }
+            });
+        }
+    }
+}
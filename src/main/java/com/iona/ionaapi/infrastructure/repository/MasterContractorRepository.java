@@ -2,12 +2,17 @@ package com.iona.ionaapi.infrastructure.repository;
 
 import com.iona.ionaapi.domain.mastercontractor.MasterContractor;
 import com.iona.ionaapi.domain.mastercontractor.enums.MasterContractorType;
+import com.iona.ionaapi.infrastructure.dto.MasterContractorSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import com.iona.ionaapi.application.service.dto.MasterContractorStats;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,6 +22,24 @@ import java.util.UUID;
  */
 @Repository
 public interface MasterContractorRepository extends JpaRepository<MasterContractor, UUID> {
+
+    String SUMMARY_PROJECTION = """
+            new com.iona.ionaapi.infrastructure.dto.MasterContractorSummary(
+                mc.id, mc.name, mc.type, mc.siret, mc.address, mc.createdAt)
+            """;
+
+    String SUMMARY_FROM = "MasterContractor mc";
+
+    String SUMMARY_COUNT = "SELECT COUNT(mc) FROM MasterContractor mc";
+
+    /**
+     * Master contractor list paginated by key (sorted on name, siret or createdAt, ties broken by id)
+     */
+    KeysetQuery<MasterContractorSummary> SUMMARY_KEYSET = new KeysetQuery<>(MasterContractorSummary.class, SUMMARY_PROJECTION, SUMMARY_FROM, "mc", SUMMARY_COUNT,
+            Map.of("name", KeysetQuery.SortKey.text("mc.name"),
+                    "siret", KeysetQuery.SortKey.text("mc.siret"),
+                    "createdAt", KeysetQuery.SortKey.instant("mc.createdAt")),
+            "name");
     
     /**
      * Find master contractor by SIRET
@@ -28,12 +51,6 @@ public interface MasterContractorRepository extends JpaRepository<MasterContract
      */
     List<MasterContractor> findByType(MasterContractorType type);
     
-    /**
-     * Search master contractors by name (case insensitive)
-     */
-    @Query("SELECT mc FROM MasterContractor mc WHERE LOWER(mc.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<MasterContractor> searchByName(@Param("name") String name);
-    
     /**
      * Check if SIRET already exists
      */
@@ -44,4 +61,22 @@ public interface MasterContractorRepository extends JpaRepository<MasterContract
      */
     @Query("SELECT COUNT(mc) FROM MasterContractor mc WHERE mc.type = :type")
     long countByType(@Param("type") MasterContractorType type);
-}
\ No newline at end of file
+    
+    /**
+     * Paged master contractor list, restricted to the displayed columns
+     */
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + " FROM " + SUMMARY_FROM, countQuery = SUMMARY_COUNT)
+    Page<MasterContractorSummary> findSummaries(Pageable pageable);
+    
+    /**
+     * Counters by type in a single pass over the master contractors (aggregate FILTER clauses)
+     */
+    @Query("""
+            SELECT new com.iona.ionaapi.application.service.dto.MasterContractorStats(
+                COUNT(mc) FILTER (WHERE mc.type = PRIVATE),
+                COUNT(mc) FILTER (WHERE mc.type = PUBLIC),
+                COUNT(mc))
+            FROM MasterContractor mc
+            """)
+    MasterContractorStats computeStats();
+}
@@ -3,17 +3,40 @@ package com.iona.ionaapi.infrastructure.repository;
 import com.iona.ionaapi.domain.partner.enums.PartnerStatus;
 import com.iona.ionaapi.domain.partner.enums.PartnerType;
 import com.iona.ionaapi.domain.partner.Partner;
+import com.iona.ionaapi.infrastructure.dto.PartnerSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import com.iona.ionaapi.application.service.dto.PartnerStats;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PartnerRepository extends JpaRepository<Partner, UUID> {
+
+    String SUMMARY_PROJECTION = """
+            new com.iona.ionaapi.infrastructure.dto.PartnerSummary(
+                p.id, p.name, p.partnerType, p.siret, p.contactEmail, p.phone, p.address.city, p.status)
+            """;
+
+    String SUMMARY_FROM = "Partner p";
+
+    String SUMMARY_COUNT = "SELECT COUNT(p) FROM Partner p";
+
+    /**
+     * Liste des partners paginée par clé (tri sur name, siret ou createdAt, départagé par id)
+     */
+    KeysetQuery<PartnerSummary> SUMMARY_KEYSET = new KeysetQuery<>(PartnerSummary.class, SUMMARY_PROJECTION, SUMMARY_FROM, "p", SUMMARY_COUNT,
+            Map.of("name", KeysetQuery.SortKey.text("p.name"),
+                    "siret", KeysetQuery.SortKey.text("p.siret"),
+                    "createdAt", KeysetQuery.SortKey.instant("p.createdAt")),
+            "name");
     
     /**
      * Trouve un partner par SIRET
@@ -30,12 +53,6 @@ public interface PartnerRepository extends JpaRepository<Partner, UUID> {
      */
     List<Partner> findByStatus(PartnerStatus status);
     
-    /**
-     * Recherche de partners par nom (insensible à la casse)
-     */
-    @Query("SELECT p FROM Partner p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Partner> searchByName(@Param("name") String name);
-    
     /**
      * Compte le nombre de partners par type
      */
@@ -46,4 +63,24 @@ public interface PartnerRepository extends JpaRepository<Partner, UUID> {
      * Vérifie si un SIRET existe déjà
      */
     boolean existsBySiret(String siret);
-}
\ No newline at end of file
+    
+    /**
+     * Liste paginée des partners, limitée aux colonnes affichées
+     */
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + " FROM " + SUMMARY_FROM, countQuery = SUMMARY_COUNT)
+    Page<PartnerSummary> findSummaries(Pageable pageable);
+    
+    /**
+     * Compteurs par type en un seul passage sur les partners (clauses FILTER)
+     */
+    @Query("""
+            SELECT new com.iona.ionaapi.application.service.dto.PartnerStats(
+                COUNT(p) FILTER (WHERE p.partnerType = BROKER),
+                COUNT(p) FILTER (WHERE p.partnerType = INSURER),
+                COUNT(p) FILTER (WHERE p.partnerType = MASTER_CONTRACTOR),
+                COUNT(p) FILTER (WHERE p.partnerType = CONTRACTOR),
+                COUNT(p))
+            FROM Partner p
+            """)
+    PartnerStats computeStats();
+}
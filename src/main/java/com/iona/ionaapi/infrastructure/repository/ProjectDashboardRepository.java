@@ -0,0 +1,126 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectDashboard;
+import com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectSummary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tableau de bord projets matérialisé dans la table project_dashboard du tenant courant (migration V8)
+ * La lecture est une recherche par clé primaire ; le calcul complet est fait par refresh en une seule instruction
+ */
+@Repository
+public class ProjectDashboardRepository {
+
+    // Même contenu que la projection JPQL ProjectRepository.SUMMARY_PROJECTION
+    private static final String SUMMARY_JSON = """
+            jsonb_build_object(
+                'id', p.id, 'name', p.name, 'address', p.address, 'cost', p.cost,
+                'status', p.status, 'aiStatus', p.ai_status, 'compliancePercent', p.ai_progress_percent,
+                'ownerName', p.owner_name,
+                'contractorsCount', (SELECT COUNT(*) FROM project_contractors pc WHERE pc.project_id = p.id))
+            """;
+
+    private static final String REFRESH_SQL = """
+            INSERT INTO project_dashboard (id, total_projects, active_projects, completed_projects, pending_analysis,
+                compliant_projects, non_compliant_projects, total_value, average_compliance_score,
+                recent_projects, urgent_projects, refreshed_at)
+            SELECT 1, s.total, s.active, s.completed, s.pending, s.compliant, s.non_compliant, s.total_value, s.average_score,
+                (SELECT COALESCE(jsonb_agg(r.summary ORDER BY r.created_at DESC, r.id DESC), '[]'::jsonb)
+                 FROM (SELECT p.id, p.created_at, %1$s AS summary
+                       FROM projects p
+                       ORDER BY p.created_at DESC, p.id DESC
+                       LIMIT ?) r),
+                (SELECT COALESCE(jsonb_agg(u.summary ORDER BY u.ai_compliance_score, u.id), '[]'::jsonb)
+                 FROM (SELECT p.id, p.ai_compliance_score, %1$s AS summary
+                       FROM projects p
+                       WHERE p.ai_status = 'NON_COMPLIANT' AND p.status NOT IN ('COMPLETED', 'CANCELLED')
+                       ORDER BY p.ai_compliance_score, p.id
+                       LIMIT ?) u),
+                now()
+            FROM (SELECT COUNT(*) AS total,
+                         COUNT(*) FILTER (WHERE status IN ('STARTED', 'IN_PROGRESS')) AS active,
+                         COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed,
+                         COUNT(*) FILTER (WHERE ai_status = 'PENDING') AS pending,
+                         COUNT(*) FILTER (WHERE ai_status = 'COMPLIANT') AS compliant,
+                         COUNT(*) FILTER (WHERE ai_status = 'NON_COMPLIANT') AS non_compliant,
+                         COALESCE(SUM(cost), 0) AS total_value,
+                         ROUND(AVG(ai_compliance_score), 2) AS average_score
+                  FROM projects) s
+            ON CONFLICT (id) DO UPDATE SET
+                total_projects = EXCLUDED.total_projects,
+                active_projects = EXCLUDED.active_projects,
+                completed_projects = EXCLUDED.completed_projects,
+                pending_analysis = EXCLUDED.pending_analysis,
+                compliant_projects = EXCLUDED.compliant_projects,
+                non_compliant_projects = EXCLUDED.non_compliant_projects,
+                total_value = EXCLUDED.total_value,
+                average_compliance_score = EXCLUDED.average_compliance_score,
+                recent_projects = EXCLUDED.recent_projects,
+                urgent_projects = EXCLUDED.urgent_projects,
+                refreshed_at = EXCLUDED.refreshed_at
+            """.formatted(SUMMARY_JSON);
+
+    private static final TypeReference<List<ProjectSummary>> SUMMARY_LIST = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ProjectDashboardRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Tableau de bord du tenant courant, vide s'il n'a jamais été calculé
+     */
+    public Optional<ProjectDashboard> find() {
+        return jdbcTemplate.query("SELECT * FROM project_dashboard WHERE id = 1", (rs, rowNum) -> map(rs))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Recalcule le tableau de bord du tenant courant
+     *
+     * @param listSize nombre de projets récents et de projets urgents conservés
+     */
+    public void refresh(int listSize) {
+        jdbcTemplate.update(REFRESH_SQL, listSize, listSize);
+    }
+
+    private ProjectDashboard map(ResultSet rs) throws SQLException {
+        ProjectDashboard dashboard = new ProjectDashboard();
+        dashboard.setTotalProjects(rs.getLong("total_projects"));
+        dashboard.setActiveProjects(rs.getLong("active_projects"));
+        dashboard.setCompletedProjects(rs.getLong("completed_projects"));
+        dashboard.setPendingAnalysis(rs.getLong("pending_analysis"));
+        dashboard.setCompliantProjects(rs.getLong("compliant_projects"));
+        dashboard.setNonCompliantProjects(rs.getLong("non_compliant_projects"));
+        dashboard.setTotalValue(rs.getBigDecimal("total_value"));
+        dashboard.setAverageComplianceScore(rs.getBigDecimal("average_compliance_score"));
+        dashboard.setRecentProjects(readSummaries(rs.getString("recent_projects")));
+        dashboard.setUrgentProjects(readSummaries(rs.getString("urgent_projects")));
+        Timestamp refreshedAt = rs.getTimestamp("refreshed_at");
+        dashboard.setRefreshedAt(refreshedAt != null ? refreshedAt.toInstant() : null);
+        return dashboard;
+    }
+
+    private List<ProjectSummary> readSummaries(String json) {
+        try {
+            return objectMapper.readValue(json, SUMMARY_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Tableau de bord projets illisible: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.iona.ionaapi.infrastructure.repository;
 import com.iona.ionaapi.domain.project.Project;
 import com.iona.ionaapi.domain.project.enums.AIAnalysisStatus;
 import com.iona.ionaapi.domain.project.enums.ProjectStatus;
+import com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import com.iona.ionaapi.application.service.dto.ProjectStats;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +14,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,6 +24,25 @@ import java.util.UUID;
  */
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
+
+    String SUMMARY_PROJECTION = """
+            new com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectSummary(
+                p.id, p.name, p.address, p.cost, p.status, p.aiAnalysis.status,
+                p.aiAnalysis.progressPercent, p.ownerName,
+                (SELECT COUNT(pc) FROM ProjectContractor pc WHERE pc.project = p))
+            """;
+
+    String SUMMARY_FROM = "Project p";
+
+    String SUMMARY_COUNT = "SELECT COUNT(p) FROM Project p";
+
+    /**
+     * Project list paginated by key (sorted on name or createdAt, ties broken by id)
+     */
+    KeysetQuery<ProjectSummary> SUMMARY_KEYSET = new KeysetQuery<>(ProjectSummary.class, SUMMARY_PROJECTION, SUMMARY_FROM, "p", SUMMARY_COUNT,
+            Map.of("name", KeysetQuery.SortKey.text("p.name"),
+                    "createdAt", KeysetQuery.SortKey.instant("p.createdAt")),
+            "name");
     
     /**
      * Find projects by owner (master contractor)
@@ -38,12 +62,6 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
     @Query("SELECT p FROM Project p WHERE p.aiAnalysis.status = :status")
     List<Project> findByAIAnalysisStatus(@Param("status") AIAnalysisStatus status);
     
-    /**
-     * Search projects by name (case insensitive)
-     */
-    @Query("SELECT p FROM Project p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Project> searchByName(@Param("name") String name);
-    
     /**
      * Find projects with opening date in range
      */
@@ -79,4 +97,28 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
      */
     @Query("SELECT COUNT(p) FROM Project p WHERE p.aiAnalysis.status = :status")
     long countByAIStatus(@Param("status") AIAnalysisStatus status);
-}
\ No newline at end of file
+    
+    /**
+     * Paged project list, restricted to the displayed columns; contractors are counted in SQL
+     */
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + " FROM " + SUMMARY_FROM, countQuery = SUMMARY_COUNT)
+    Page<ProjectSummary> findSummaries(Pageable pageable);
+    
+    /**
+     * Dashboard counters in a single pass over the projects (aggregate FILTER clauses)
+     */
+    @Query("""
+            SELECT new com.iona.ionaapi.application.service.dto.ProjectStats(
+                COUNT(p) FILTER (WHERE p.status = PLANNED),
+                COUNT(p) FILTER (WHERE p.status = STARTED),
+                COUNT(p) FILTER (WHERE p.status = IN_PROGRESS),
+                COUNT(p) FILTER (WHERE p.status = COMPLETED),
+                COUNT(p) FILTER (WHERE p.status = CANCELLED),
+                COUNT(p) FILTER (WHERE p.aiAnalysis.status = PENDING),
+                COUNT(p) FILTER (WHERE p.aiAnalysis.status = COMPLIANT),
+                COUNT(p) FILTER (WHERE p.aiAnalysis.status = NON_COMPLIANT),
+                COUNT(p))
+            FROM Project p
+            """)
+    ProjectStats computeStats();
+}
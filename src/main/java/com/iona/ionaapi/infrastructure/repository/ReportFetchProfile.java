@@ -0,0 +1,33 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import java.util.Locale;
+
+/**
+ * Profils de chargement d'un rapport d'analyse
+ * SUMMARY : rapport et données extraites
+ * FULL : graphe complet (couvertures, listes, alertes, recommandations, actions)
+ * ALERTS_ONLY : rapport et alertes avec leurs éléments concernés
+ */
+public enum ReportFetchProfile {
+    SUMMARY,
+    FULL,
+    ALERTS_ONLY;
+
+    /**
+     * Accepte "summary", "full", "alerts-only" ou "alerts"
+     */
+    public static ReportFetchProfile fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return SUMMARY;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        if ("ALERTS".equals(normalized)) {
+            return ALERTS_ONLY;
+        }
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown report profile: " + value);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.domain.entities.AIAnalysisReport;
+import com.iona.ionaapi.infrastructure.dto.RiskScore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Classement des entreprises et des projets par score de risque, calculé en une seule requête ensembliste
+ * Seule la dernière attestation de chaque (entreprise, type d'attestation) compte, notée par son rapport comme
+ * AIAnalysisReport.calculateRiskScore. Une attestation plus récente dont l'analyse n'est pas terminée remplace
+ * la précédente : le type ne compte plus jusqu'à la fin de son analyse, plutôt que d'être noté sur un document périmé.
+ * Le parcours est servi par l'index idx_attestation_latest (migration V11)
+ */
+@Repository
+public class RiskScoringRepository {
+
+    private static final String CONTRACTOR_RISK = """
+            WITH latest AS (
+                SELECT intervenant_id, report_id FROM (
+                    SELECT DISTINCT ON (a.intervenant_id, a.type) a.intervenant_id, a.ai_analysis_report_id AS report_id
+                    FROM attestations a
+                    ORDER BY a.intervenant_id, a.type, a.created_at DESC, a.id DESC
+                ) last_attestation
+                WHERE report_id IS NOT NULL
+            ),
+            contractor_risk AS (
+                SELECT l.intervenant_id AS contractor_id,
+                       COUNT(DISTINCT l.report_id) AS reports,
+                       COUNT(al.id) FILTER (WHERE al.severity = 'CRITICAL') AS critical,
+                       COUNT(al.id) FILTER (WHERE al.severity = 'WARNING') AS warning,
+                       COUNT(al.id) FILTER (WHERE al.severity = 'CRITICAL' AND NOT al.resolved) AS unresolved_critical
+                FROM latest l
+                LEFT JOIN ai_alerts al ON al.analysis_report_id = l.report_id
+                GROUP BY l.intervenant_id
+            )
+            """;
+
+    private static final String CONTRACTOR_RANKING = CONTRACTOR_RISK + """
+            SELECT * FROM (
+                SELECT c.id, c.name, r.critical * %d + r.warning * %d AS risk_score,
+                       r.critical, r.warning, r.unresolved_critical, r.reports
+                FROM contractor_risk r
+                JOIN contractors c ON c.id = r.contractor_id
+            ) ranked
+            """.formatted(AIAnalysisReport.CRITICAL_RISK_WEIGHT, AIAnalysisReport.WARNING_RISK_WEIGHT);
+
+    // Le risque d'un projet cumule celui des entreprises qui y interviennent
+    private static final String PROJECT_RANKING = CONTRACTOR_RISK + """
+            SELECT * FROM (
+                SELECT p.id, p.name, SUM(r.critical) * %d + SUM(r.warning) * %d AS risk_score,
+                       SUM(r.critical) AS critical, SUM(r.warning) AS warning,
+                       SUM(r.unresolved_critical) AS unresolved_critical, SUM(r.reports) AS reports
+                FROM (SELECT DISTINCT project_id, contractor_id FROM project_contractors) pc
+                JOIN contractor_risk r ON r.contractor_id = pc.contractor_id
+                JOIN projects p ON p.id = pc.project_id
+                GROUP BY p.id, p.name
+            ) ranked
+            """.formatted(AIAnalysisReport.CRITICAL_RISK_WEIGHT, AIAnalysisReport.WARNING_RISK_WEIGHT);
+
+    private static final String AFTER_POSITION = " WHERE risk_score < ? OR (risk_score = ? AND id > ?)";
+    private static final String ORDER_AND_LIMIT = " ORDER BY risk_score DESC, id LIMIT ?";
+
+    private static final RowMapper<RiskScore> RISK_MAPPER = (rs, rowNum) -> new RiskScore(
+            rs.getObject("id", UUID.class), rs.getString("name"), rs.getLong("risk_score"),
+            rs.getLong("critical"), rs.getLong("warning"), rs.getLong("unresolved_critical"), rs.getLong("reports"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RiskScoringRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Entreprises du tenant courant, de la plus risquée à la moins risquée (départage par id)
+     *
+     * @param after position de la dernière ligne de la page précédente, null pour la première page
+     */
+    public List<RiskScore> rankContractors(KeysetCursor after, int limit) {
+        return rank(CONTRACTOR_RANKING, after, limit);
+    }
+
+    /**
+     * Projets du tenant courant, du plus risqué au moins risqué (départage par id)
+     *
+     * @param after position de la dernière ligne de la page précédente, null pour la première page
+     */
+    public List<RiskScore> rankProjects(KeysetCursor after, int limit) {
+        return rank(PROJECT_RANKING, after, limit);
+    }
+
+    private List<RiskScore> rank(String ranking, KeysetCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = ranking;
+        if (after != null) {
+            long score = parseScore(after.sortValue());
+            sql += AFTER_POSITION;
+            args.add(score);
+            args.add(score);
+            args.add(after.id());
+        }
+        args.add(limit);
+        return jdbcTemplate.query(sql + ORDER_AND_LIMIT, RISK_MAPPER, args.toArray());
+    }
+
+    private static long parseScore(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor score: " + value, e);
+        }
+    }
+}
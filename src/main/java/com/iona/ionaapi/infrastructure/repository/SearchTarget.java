@@ -0,0 +1,34 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+/**
+ * Tables couvertes par la recherche approchée
+ * detailColumn : seconde colonne renvoyée dans les résultats (siret, ou adresse pour les projets)
+ */
+public enum SearchTarget {
+    CONTRACTOR("contractors", "siret", true),
+    PARTNER("partners", "siret", true),
+    MASTER_CONTRACTOR("master_contractors", "siret", true),
+    PROJECT("projects", "address", false);
+
+    private final String table;
+    private final String detailColumn;
+    private final boolean hasSiret;
+
+    SearchTarget(String table, String detailColumn, boolean hasSiret) {
+        this.table = table;
+        this.detailColumn = detailColumn;
+        this.hasSiret = hasSiret;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public String detailColumn() {
+        return detailColumn;
+    }
+
+    public boolean hasSiret() {
+        return hasSiret;
+    }
+}
@@ -0,0 +1,116 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.infrastructure.dto.SearchHit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Recherche approchée par trigrammes (pg_trgm) dans le schema du tenant courant
+ * Les index GIN gin_trgm_ops (migration V7) servent à la fois l'opérateur de similarité et ILIKE '%...%' ;
+ * l'extension vit dans public et le search_path des connexions tenant ne contient que le schema du tenant,
+ * d'où les références qualifiées public.similarity / OPERATOR(public.%)
+ */
+@Repository
+public class TrigramSearchRepository {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // En dessous de 3 caractères, la similarité n'a pas de sens et l'index trigramme ne filtre rien :
+    // simple recherche « contient », en parcourant l'index (name, id) dans l'ordre jusqu'à la limite
+    static final int MIN_TRIGRAM_LENGTH = 3;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern SIRET_PREFIX = Pattern.compile("\\d{1,14}");
+
+    private static final RowMapper<SearchHit> HIT_MAPPER = (rs, rowNum) -> new SearchHit(
+            rs.getObject("id", UUID.class), rs.getString("name"), rs.getString("detail"), rs.getDouble("score"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TrigramSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Résultats classés par similarité décroissante : noms proches (fautes de frappe comprises)
+     * et noms contenant le texte recherché ; en dessous de 3 caractères, noms contenant le texte, par ordre alphabétique
+     *
+     * @throws IllegalArgumentException si le texte recherché est vide
+     */
+    public List<SearchHit> searchByName(SearchTarget target, String text, int limit) {
+        String query = normalize(text);
+        int boundedLimit = boundLimit(limit);
+
+        if (query.length() < MIN_TRIGRAM_LENGTH) {
+            String sql = String.format("""
+                    SELECT id, name, %s AS detail, 1.0 AS score
+                    FROM %s
+                    WHERE name ILIKE ? ESCAPE '\\'
+                    ORDER BY name, id
+                    LIMIT ?
+                    """, target.detailColumn(), target.table());
+            return jdbcTemplate.query(sql, HIT_MAPPER, "%" + escapeLike(query) + "%", boundedLimit);
+        }
+
+        String sql = String.format("""
+                SELECT id, name, %s AS detail, public.similarity(name, ?) AS score
+                FROM %s
+                WHERE name OPERATOR(public.%%) ? OR name ILIKE ? ESCAPE '\\'
+                ORDER BY score DESC, name, id
+                LIMIT ?
+                """, target.detailColumn(), target.table());
+        return jdbcTemplate.query(sql, HIT_MAPPER, query, query, "%" + escapeLike(query) + "%", boundedLimit);
+    }
+
+    /**
+     * Recherche par préfixe de SIRET (index text_pattern_ops), espaces ignorés
+     *
+     * @throws IllegalArgumentException si la table n'a pas de SIRET ou si le préfixe n'est pas numérique
+     */
+    public List<SearchHit> searchBySiretPrefix(SearchTarget target, String prefix, int limit) {
+        if (!target.hasSiret()) {
+            throw new IllegalArgumentException("No SIRET on " + target.name().toLowerCase(Locale.ROOT));
+        }
+        String digits = normalizeSiretPrefix(prefix);
+
+        String sql = String.format("""
+                SELECT id, name, siret AS detail, 1.0 AS score
+                FROM %s
+                WHERE siret LIKE ?
+                ORDER BY siret, id
+                LIMIT ?
+                """, target.table());
+        return jdbcTemplate.query(sql, HIT_MAPPER, digits + "%", boundLimit(limit));
+    }
+
+    static String normalize(String text) {
+        String query = text == null ? "" : WHITESPACE.matcher(text.trim()).replaceAll(" ");
+        if (query.isEmpty()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        return query;
+    }
+
+    static String normalizeSiretPrefix(String prefix) {
+        String digits = prefix == null ? "" : WHITESPACE.matcher(prefix).replaceAll("");
+        if (!SIRET_PREFIX.matcher(digits).matches()) {
+            throw new IllegalArgumentException("SIRET prefix must be 1 to 14 digits: " + prefix);
+        }
+        return digits;
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    static int boundLimit(int limit) {
+        return limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,38 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Bus d'événements tenant limité au noeud courant (instance unique, tests)
+ * Activé par iona.tenant.events.bus=local
+ */
+@Component
+@ConditionalOnProperty(name = "iona.tenant.events.bus", havingValue = "local")
+public class LocalTenantEventBus implements TenantEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalTenantEventBus.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public LocalTenantEventBus(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(TenantEventType type, String tenantId) {
+        logger.debug("Événement tenant local: {} {}", type, tenantId);
+        eventPublisher.publishEvent(new TenantEvent(type, tenantId, nodeId));
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,149 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Bus d'événements tenant basé sur PostgreSQL LISTEN/NOTIFY
+ * Publication via pg_notify (délivrée au commit de la transaction courante) ;
+ * un thread dédié écoute le canal sur sa propre connexion, hors pool
+ */
+@Component
+@ConditionalOnProperty(name = "iona.tenant.events.bus", havingValue = "postgres", matchIfMissing = true)
+public class PostgresTenantEventBus implements TenantEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresTenantEventBus.class);
+
+    public static final String CHANNEL = "iona_tenant_events";
+
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${spring.datasource.url:jdbc:postgresql://localhost:5432/iona}")
+    private String databaseUrl;
+
+    @Value("${spring.datasource.username:iona_app}")
+    private String databaseUsername;
+
+    @Value("${spring.datasource.password:password}")
+    private String databasePassword;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresTenantEventBus(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(TenantEventType type, String tenantId) {
+        TenantEvent event = new TenantEvent(type, tenantId, nodeId);
+
+        // Réaction immédiate sur ce noeud ; les autres noeuds réagissent à la notification
+        eventPublisher.publishEvent(event);
+
+        try {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, CHANNEL, event.toPayload());
+            logger.debug("Événement tenant notifié: {}", event.toPayload());
+        } catch (Exception e) {
+            // Les autres noeuds retomberont sur l'expiration de leurs caches
+            logger.warn("Impossible de notifier l'événement {} pour le tenant '{}': {}", type, tenantId, e.getMessage());
+        }
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "iona-tenant-events");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /**
+     * Boucle d'écoute : reconnexion avec délai croissant en cas de perte de connexion ou d'erreur inattendue
+     */
+    private void listenLoop() {
+        long reconnectDelay = 1_000;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(databaseUrl, databaseUsername, databasePassword)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                logger.info("Écoute des événements tenant sur le canal {}", CHANNEL);
+                reconnectDelay = 1_000;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                // Toute erreur (y compris d'exécution) provoque une reconnexion : le thread d'écoute ne doit pas mourir
+                if (!running) {
+                    break;
+                }
+                logger.warn("Écoute des événements tenant interrompue ({}), nouvelle tentative dans {} ms",
+                        e.getMessage(), reconnectDelay);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+        logger.info("Écoute des événements tenant arrêtée");
+    }
+
+    private void dispatch(String payload) {
+        try {
+            TenantEvent event = TenantEvent.fromPayload(payload);
+            if (nodeId.equals(event.originNode())) {
+                // Déjà traité localement lors de la publication
+                return;
+            }
+            logger.info("Événement tenant reçu d'un autre noeud: {} {}", event.type(), event.tenantId());
+            eventPublisher.publishEvent(event);
+        } catch (Exception e) {
+            logger.error("Erreur lors du traitement de l'événement tenant: {}", payload, e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exécuteur propageant le tenant et limitant le nombre de tâches simultanées par tenant
+ * Les tâches au-delà de la limite attendent dans la file bornée de leur tenant (sans bloquer le soumetteur) ;
+ * chaque worker enchaîne ensuite les tâches en attente de son tenant, sans repasser par l'exécuteur délégué.
+ * Une tâche n'est acceptée que si un worker est garanti de l'exécuter : sinon (exécuteur délégué saturé,
+ * file du tenant pleine) le soumetteur reçoit une RejectedExecutionException et la tâche n'est pas conservée
+ */
+public class TenantAwareExecutor implements AsyncTaskExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantAwareExecutor.class);
+
+    private static final String NO_TENANT_KEY = "";
+
+    private final Executor delegate;
+    private final int maxConcurrentPerTenant;
+    private final int maxPendingPerTenant;
+    private final Map<String, TenantQueue> queues = new ConcurrentHashMap<>();
+
+    public TenantAwareExecutor(Executor delegate, int maxConcurrentPerTenant, int maxPendingPerTenant) {
+        if (maxConcurrentPerTenant <= 0) {
+            throw new IllegalArgumentException("La limite de concurrence par tenant doit être positive");
+        }
+        if (maxPendingPerTenant < 0) {
+            throw new IllegalArgumentException("La taille de file par tenant ne peut pas être négative");
+        }
+        this.delegate = delegate;
+        this.maxConcurrentPerTenant = maxConcurrentPerTenant;
+        this.maxPendingPerTenant = maxPendingPerTenant;
+    }
+
+    /**
+     * @throws RejectedExecutionException si l'exécuteur délégué refuse le worker, si la file du tenant est pleine,
+     *                                    ou si aucun worker démarré ne peut reprendre la tâche
+     */
+    @Override
+    public void execute(Runnable task) {
+        String tenant = TenantContext.getTenant();
+        TenantQueue queue = queues.computeIfAbsent(tenant != null ? tenant : NO_TENANT_KEY, key -> new TenantQueue());
+        Runnable wrapped = TenantContext.wrap(task);
+
+        queue.lock.lock();
+        try {
+            if (queue.running >= maxConcurrentPerTenant) {
+                enqueue(queue, wrapped);
+                return;
+            }
+            queue.running++;
+            queue.starting++;
+        } finally {
+            queue.lock.unlock();
+        }
+        startWorker(queue, wrapped);
+    }
+
+    /**
+     * Nombre de tâches en cours pour un tenant
+     */
+    public int getRunning(String tenant) {
+        TenantQueue queue = queues.get(tenant);
+        if (queue == null) {
+            return 0;
+        }
+        queue.lock.lock();
+        try {
+            return queue.running;
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    /**
+     * Nombre de tâches en attente pour un tenant
+     */
+    public int getPending(String tenant) {
+        TenantQueue queue = queues.get(tenant);
+        if (queue == null) {
+            return 0;
+        }
+        queue.lock.lock();
+        try {
+            return queue.pending.size();
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    /**
+     * Met la tâche en attente derrière les workers du tenant ; appelé sous le verrou de la file
+     * Seul un worker accepté par l'exécuteur délégué relit la file en sortie : un worker encore en cours
+     * de démarrage peut être refusé, il ne garantit donc pas la reprise de la tâche
+     */
+    private void enqueue(TenantQueue queue, Runnable task) {
+        if (queue.running - queue.starting <= 0) {
+            throw new RejectedExecutionException("Aucun worker démarré pour reprendre la tâche du tenant");
+        }
+        if (queue.pending.size() >= maxPendingPerTenant) {
+            logger.warn("File du tenant pleine ({} tâches en attente), tâche rejetée", queue.pending.size());
+            throw new RejectedExecutionException("File d'attente du tenant pleine");
+        }
+        queue.pending.addLast(task);
+    }
+
+    private void startWorker(TenantQueue queue, Runnable first) {
+        try {
+            delegate.execute(() -> runWorker(queue, first));
+        } catch (RejectedExecutionException e) {
+            queue.lock.lock();
+            try {
+                queue.running--;
+                queue.starting--;
+            } finally {
+                queue.lock.unlock();
+            }
+            throw e;
+        }
+        queue.lock.lock();
+        try {
+            queue.starting--;
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    /**
+     * Exécute une tâche puis les tâches en attente du même tenant, et libère la place quand la file est vide
+     * La lecture de la file et la libération de la place sont atomiques : une tâche mise en attente
+     * est toujours vue par un worker
+     */
+    private void runWorker(TenantQueue queue, Runnable first) {
+        Runnable task = first;
+        while (task != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Erreur non gérée dans une tâche asynchrone", e);
+            }
+
+            queue.lock.lock();
+            try {
+                task = queue.pending.pollFirst();
+                if (task == null) {
+                    queue.running--;
+                }
+            } finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * File d'attente et compteurs d'un tenant, protégés par un verrou court
+     * (ReentrantLock : pas d'épinglage des threads porteurs avec les threads virtuels)
+     */
+    private static final class TenantQueue {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<Runnable> pending = new ArrayDeque<>();
+        // Places occupées, dont les workers en cours de soumission à l'exécuteur délégué
+        private int running;
+        private int starting;
+    }
+}
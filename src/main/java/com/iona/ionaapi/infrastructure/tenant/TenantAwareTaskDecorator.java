@@ -0,0 +1,15 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Propage le tenant du thread soumetteur au thread d'exécution
+ * Appliqué aux exécuteurs @Async, aux tâches planifiées et aux exécuteurs dédiés
+ */
+public class TenantAwareTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContext.wrap(runnable);
+    }
+}
@@ -3,9 +3,13 @@ package com.iona.ionaapi.infrastructure.tenant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Callable;
+
 /**
  * Contexte de tenant utilisant ThreadLocal pour stocker l'identifiant du tenant actuel
  * Approche simple et efficace pour la gestion multi-tenant
+ * Compatible avec les threads virtuels (un contexte par thread virtuel) ; les méthodes
+ * runWithTenant / callWithTenant délimitent la portée du tenant comme le ferait un ScopedValue
  */
 public class TenantContext {
     
@@ -58,4 +62,54 @@ public class TenantContext {
         String tenant = getTenant();
         return tenant != null ? tenant : "default";
     }
-}
\ No newline at end of file
+    
+    /**
+     * Exécute une tâche pour un tenant donné puis restaure le tenant précédent
+     */
+    public static void runWithTenant(String tenant, Runnable task) {
+        String previous = CURRENT_TENANT.get();
+        try {
+            set(tenant);
+            task.run();
+        } finally {
+            set(previous);
+        }
+    }
+    
+    /**
+     * Exécute un calcul pour un tenant donné puis restaure le tenant précédent
+     */
+    public static <T> T callWithTenant(String tenant, Callable<T> task) throws Exception {
+        String previous = CURRENT_TENANT.get();
+        try {
+            set(tenant);
+            return task.call();
+        } finally {
+            set(previous);
+        }
+    }
+    
+    /**
+     * Capture le tenant courant dans une tâche destinée à un autre thread
+     */
+    public static Runnable wrap(Runnable task) {
+        String captured = CURRENT_TENANT.get();
+        return () -> runWithTenant(captured, task);
+    }
+    
+    /**
+     * Capture le tenant courant dans un calcul destiné à un autre thread
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        String captured = CURRENT_TENANT.get();
+        return () -> callWithTenant(captured, task);
+    }
+    
+    private static void set(String tenant) {
+        if (tenant != null && !tenant.trim().isEmpty()) {
+            CURRENT_TENANT.set(tenant.trim());
+        } else {
+            CURRENT_TENANT.remove();
+        }
+    }
+}
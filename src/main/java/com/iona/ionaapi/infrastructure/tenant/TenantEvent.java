@@ -0,0 +1,33 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+/**
+ * Événement de cycle de vie d'un tenant, publié localement et diffusé aux autres noeuds
+ *
+ * @param type     type d'événement
+ * @param tenantId identifiant du tenant
+ * @param originNode identifiant du noeud émetteur
+ */
+public record TenantEvent(TenantEventType type, String tenantId, String originNode) {
+
+    private static final String SEPARATOR = "|";
+
+    public String schemaName() {
+        return TenantResolver.resolveSchemaName(tenantId);
+    }
+
+    /**
+     * Sérialise l'événement pour NOTIFY : TYPE|tenantId|noeud
+     * Le séparateur ne peut pas apparaître dans un tenant ID valide
+     */
+    public String toPayload() {
+        return type.name() + SEPARATOR + tenantId + SEPARATOR + originNode;
+    }
+
+    public static TenantEvent fromPayload(String payload) {
+        String[] parts = payload != null ? payload.split("\\|", -1) : new String[0];
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Payload d'événement tenant invalide: " + payload);
+        }
+        return new TenantEvent(TenantEventType.valueOf(parts[0]), parts[1], parts[2]);
+    }
+}
@@ -0,0 +1,18 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+/**
+ * Bus de diffusion des événements tenant entre les noeuds de l'application
+ * Chaque événement est aussi republié localement comme ApplicationEvent
+ */
+public interface TenantEventBus {
+
+    /**
+     * Publie un événement pour ce noeud et pour les autres noeuds
+     */
+    void publish(TenantEventType type, String tenantId);
+
+    /**
+     * Identifiant de ce noeud
+     */
+    String getNodeId();
+}
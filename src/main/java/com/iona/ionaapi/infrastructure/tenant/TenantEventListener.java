@@ -0,0 +1,68 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import com.iona.ionaapi.infrastructure.datasource.MultiTenantDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+
+/**
+ * Réagit aux événements tenant (locaux ou reçus d'autres noeuds) :
+ * caches d'existence, pools de connexions et cache d'entités
+ * Les événements publiés dans une transaction sont traités après son commit
+ */
+@Component
+public class TenantEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantEventListener.class);
+
+    private final TenantExistenceCache tenantsCache;
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public TenantEventListener(TenantExistenceCache tenantsCache, DataSource dataSource,
+                               EntityManagerFactory entityManagerFactory) {
+        this.tenantsCache = tenantsCache;
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTenantEvent(TenantEvent event) {
+        String schemaName = event.schemaName();
+
+        switch (event.type()) {
+            case CREATED -> tenantsCache.put(schemaName, true);
+            case DELETED -> {
+                tenantsCache.put(schemaName, false);
+                closePool(schemaName);
+                evictEntityCache();
+            }
+            case MIGRATED -> {
+                tenantsCache.invalidate(schemaName);
+                evictEntityCache();
+            }
+        }
+
+        logger.debug("Événement tenant appliqué: {} {} (schema: {})", event.type(), event.tenantId(), schemaName);
+    }
+
+    /**
+     * Ferme le pool du schema (mode routing uniquement)
+     */
+    private void closePool(String schemaName) {
+        if (dataSource instanceof MultiTenantDataSource multiTenantDataSource) {
+            multiTenantDataSource.getRegistry().remove(schemaName);
+        }
+    }
+
+    private void evictEntityCache() {
+        if (entityManagerFactory.getCache() != null) {
+            entityManagerFactory.getCache().evictAll();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+/**
+ * Types d'événements de cycle de vie d'un tenant diffusés entre les noeuds
+ */
+public enum TenantEventType {
+    CREATED,
+    DELETED,
+    MIGRATED
+}
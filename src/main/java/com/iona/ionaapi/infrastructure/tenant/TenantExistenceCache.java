@@ -0,0 +1,160 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache borné de l'existence des schemas tenant
+ * Les entrées positives et négatives ont chacune leur durée de vie : un tenant créé sur
+ * un autre noeud est vu au plus tard à l'expiration de l'entrée négative
+ * Plein, le cache est purgé d'un coup jusqu'à 90 % de sa taille : le parcours des entrées
+ * n'a lieu qu'une fois toutes les maxSize / 10 insertions, pas à chaque insertion
+ */
+@Component
+public class TenantExistenceCache {
+
+    private final int maxSize;
+    private final int sweepTarget;
+    private final long positiveTtlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public TenantExistenceCache(@Value("${iona.tenant.cache.max-size:10000}") int maxSize,
+                                @Value("${iona.tenant.cache.positive-ttl-ms:600000}") long positiveTtlMs,
+                                @Value("${iona.tenant.cache.negative-ttl-ms:30000}") long negativeTtlMs,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this(maxSize, positiveTtlMs, negativeTtlMs, meterRegistry.getIfAvailable(), System::nanoTime);
+    }
+
+    TenantExistenceCache(int maxSize, long positiveTtlMs, long negativeTtlMs,
+                         MeterRegistry meterRegistry, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("La taille du cache tenant doit être positive");
+        }
+        this.maxSize = maxSize;
+        this.sweepTarget = maxSize - Math.max(1, maxSize / 10);
+        this.positiveTtlNanos = TimeUnit.MILLISECONDS.toNanos(positiveTtlMs);
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+        this.clock = clock;
+
+        if (meterRegistry != null) {
+            this.hits = Counter.builder("iona.tenant.cache").tag("result", "hit")
+                    .description("Vérifications d'existence de tenant servies par le cache")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("iona.tenant.cache").tag("result", "miss")
+                    .description("Vérifications d'existence de tenant nécessitant la base")
+                    .register(meterRegistry);
+            this.evictions = Counter.builder("iona.tenant.cache.evictions")
+                    .description("Entrées évincées du cache tenant (taille maximale atteinte)")
+                    .register(meterRegistry);
+            Gauge.builder("iona.tenant.cache.size", entries, Map::size)
+                    .description("Nombre d'entrées du cache tenant")
+                    .register(meterRegistry);
+        } else {
+            this.hits = null;
+            this.misses = null;
+            this.evictions = null;
+        }
+    }
+
+    /**
+     * Retourne l'existence mise en cache du schema, ou null si inconnue ou expirée
+     */
+    public Boolean get(String schemaName) {
+        Entry entry = entries.get(schemaName);
+        if (entry != null) {
+            if (entry.expiresAt - clock.getAsLong() > 0) {
+                increment(hits);
+                return entry.exists;
+            }
+            entries.remove(schemaName, entry);
+        }
+        increment(misses);
+        return null;
+    }
+
+    public void put(String schemaName, boolean exists) {
+        long now = clock.getAsLong();
+        if (entries.size() >= maxSize && !entries.containsKey(schemaName)) {
+            sweep(now);
+        }
+        entries.put(schemaName, new Entry(exists, now + (exists ? positiveTtlNanos : negativeTtlNanos)));
+    }
+
+    public void invalidate(String schemaName) {
+        entries.remove(schemaName);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Ramène le cache sous sa marque basse : entrées expirées, puis entrées négatives
+     * (les moins coûteuses à reperdre), puis entrées quelconques
+     * Un seul thread purge à la fois ; les autres insèrent sans attendre (dépassement passager)
+     */
+    private void sweep(long now) {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            int before = entries.size();
+            entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+            if (entries.size() > sweepTarget) {
+                removeUntilTarget(true);
+            }
+            if (entries.size() > sweepTarget) {
+                removeUntilTarget(false);
+            }
+
+            if (evictions != null) {
+                evictions.increment(Math.max(before - entries.size(), 0));
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private void removeUntilTarget(boolean negativeOnly) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > sweepTarget && iterator.hasNext()) {
+            if (!iterator.next().exists || !negativeOnly) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private record Entry(boolean exists, long expiresAt) {
+    }
+}
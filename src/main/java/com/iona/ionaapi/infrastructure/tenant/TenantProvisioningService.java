@@ -0,0 +1,88 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provisionnement asynchrone des tenants
+ * La création du schema et des tables s'exécute hors du thread HTTP ; les demandes
+ * concurrentes pour un même tenant partagent une seule exécution en cours
+ */
+@Service
+public class TenantProvisioningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantProvisioningService.class);
+
+    private final TenantService tenantService;
+    private final TaskExecutor executor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Provisionnements en cours, un seul par tenant
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public TenantProvisioningService(TenantService tenantService,
+                                     @Qualifier("tenantProvisioningExecutor") TaskExecutor executor,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.tenantService = tenantService;
+        this.executor = executor;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Lance (ou rejoint) le provisionnement d'un tenant
+     * Le futur retourné se termine lorsque le tenant est prêt
+     */
+    public CompletableFuture<Void> provision(String tenantId) {
+        if (!tenantService.isValidTenantId(tenantId)) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Tenant ID invalide: " + tenantId));
+        }
+
+        String key = tenantId.trim();
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            logger.debug("Provisionnement déjà en cours pour le tenant: {}", key);
+            return existing;
+        }
+
+        try {
+            executor.execute(() -> runProvisioning(key, created));
+            logger.info("Provisionnement du tenant '{}' planifié", key);
+        } catch (RuntimeException e) {
+            // File pleine : la demande sera retentée par le client
+            logger.warn("Provisionnement du tenant '{}' refusé: {}", key, e.getMessage());
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    /**
+     * Indique si un provisionnement est en cours pour ce tenant
+     */
+    public boolean isProvisioning(String tenantId) {
+        return tenantId != null && inFlight.containsKey(tenantId.trim());
+    }
+
+    private void runProvisioning(String tenantId, CompletableFuture<Void> future) {
+        try {
+            tenantService.createTenant(tenantId);
+            eventPublisher.publishEvent(new TenantReadyEvent(tenantId, TenantResolver.resolveSchemaName(tenantId)));
+            future.complete(null);
+            logger.info("Tenant '{}' provisionné", tenantId);
+        } catch (Exception e) {
+            logger.error("Échec du provisionnement du tenant '{}'", tenantId, e);
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(tenantId, future);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+/**
+ * Événement publié lorsqu'un tenant a été provisionné et peut recevoir des requêtes
+ *
+ * @param tenantId   identifiant du tenant
+ * @param schemaName schema PostgreSQL du tenant
+ */
+public record TenantReadyEvent(String tenantId, String schemaName) {
+}
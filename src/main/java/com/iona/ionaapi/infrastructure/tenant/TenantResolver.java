@@ -0,0 +1,176 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Résolution des identifiants de tenant : validation et calcul du nom de schema
+ * Sans expression régulière ; les résolutions valides sont mises en cache (borné, lecture sans verrou)
+ * pour qu'une requête d'un tenant déjà vu n'alloue rien
+ */
+public final class TenantResolver {
+
+    public static final String PUBLIC_SCHEMA = "public";
+    public static final String SCHEMA_PREFIX = "tenant_";
+
+    static final int MIN_LENGTH = 3;
+    static final int MAX_LENGTH = 50;
+    static final int MAX_CACHED_ENTRIES = 10_000;
+
+    // Caractères autorisés dans un tenant ID : [a-zA-Z0-9_-]
+    private static final boolean[] ALLOWED_CHARS = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            ALLOWED_CHARS[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            ALLOWED_CHARS[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            ALLOWED_CHARS[c] = true;
+        }
+        ALLOWED_CHARS['_'] = true;
+        ALLOWED_CHARS['-'] = true;
+    }
+
+    // Cache borné lu sans verrou (aucun moniteur global sur le chemin de chaque requête) :
+    // à la limite, une entrée quelconque est évincée avant l'insertion ; une résolution évincée est
+    // simplement recalculée. Seules les résolutions valides y entrent
+    private static final Map<String, Resolution> CACHE = new ConcurrentHashMap<>(256);
+
+    private TenantResolver() {
+    }
+
+    /**
+     * Résultat de la résolution d'un tenant ID brut
+     *
+     * @param tenantId   identifiant nettoyé (sans espaces de bordure)
+     * @param schemaName schema PostgreSQL correspondant
+     * @param valid      true si l'identifiant respecte le format attendu
+     */
+    public record Resolution(String tenantId, String schemaName, boolean valid) {
+    }
+
+    /**
+     * Résout un tenant ID brut (header, paramètre...), depuis le cache si possible
+     */
+    public static Resolution resolve(String rawTenantId) {
+        if (rawTenantId == null) {
+            return null;
+        }
+
+        Resolution cached = CACHE.get(rawTenantId);
+        if (cached != null) {
+            return cached;
+        }
+
+        String tenantId = rawTenantId.trim();
+        Resolution resolution = new Resolution(tenantId, computeSchemaName(tenantId), isValidTenantId(tenantId));
+        if (resolution.valid()) {
+            if (CACHE.size() >= MAX_CACHED_ENTRIES) {
+                evictOne();
+            }
+            Resolution existing = CACHE.putIfAbsent(rawTenantId, resolution);
+            return existing != null ? existing : resolution;
+        }
+        return resolution;
+    }
+
+    /**
+     * Évince une entrée quelconque ; des insertions concurrentes peuvent dépasser
+     * la limite de quelques entrées, résorbées par les insertions suivantes
+     */
+    private static void evictOne() {
+        Iterator<String> keys = CACHE.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Valide le format d'un tenant ID
+     * Format: lettres, chiffres, tirets et underscores, longueur 3-50
+     */
+    public static boolean isValidTenantId(String tenantId) {
+        if (tenantId == null) {
+            return false;
+        }
+
+        int start = 0;
+        int end = tenantId.length();
+        while (start < end && Character.isWhitespace(tenantId.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(tenantId.charAt(end - 1))) {
+            end--;
+        }
+
+        int length = end - start;
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            char c = tenantId.charAt(i);
+            if (c >= ALLOWED_CHARS.length || !ALLOWED_CHARS[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Résout le nom du schema PostgreSQL basé sur l'identifiant du tenant
+     * Format: tenant_{tenantId} (préfixe non dupliqué) ou "public" par défaut
+     */
+    public static String resolveSchemaName(String tenantId) {
+        if (tenantId == null) {
+            return PUBLIC_SCHEMA;
+        }
+        Resolution resolution = resolve(tenantId);
+        return resolution.schemaName();
+    }
+
+    /**
+     * Normalise le tenant : minuscules, caractères invalides remplacés par '_', underscores multiples fusionnés
+     */
+    static String computeSchemaName(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) {
+            return PUBLIC_SCHEMA;
+        }
+
+        String lower = tenantId.toLowerCase();
+        StringBuilder clean = new StringBuilder(SCHEMA_PREFIX.length() + lower.length());
+        char previous = 0;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+            char normalized = allowed ? c : '_';
+            if (normalized == '_' && previous == '_') {
+                continue;
+            }
+            clean.append(normalized);
+            previous = normalized;
+        }
+
+        // Si le tenant commence déjà par "tenant_", on ne l'ajoute pas
+        if (clean.length() >= SCHEMA_PREFIX.length() && clean.indexOf(SCHEMA_PREFIX) == 0) {
+            return clean.toString();
+        }
+        return clean.insert(0, SCHEMA_PREFIX).toString();
+    }
+
+    /**
+     * Vide le cache de résolution (tests, rechargement)
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    static int cacheSize() {
+        return CACHE.size();
+    }
+}
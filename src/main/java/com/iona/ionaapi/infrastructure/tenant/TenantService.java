@@ -1,5 +1,7 @@
 package com.iona.ionaapi.infrastructure.tenant;
 
+import com.iona.ionaapi.infrastructure.migration.SchemaMigrationResult;
+import com.iona.ionaapi.infrastructure.migration.TenantMigrationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -9,8 +11,6 @@ import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service pour la gestion dynamique des tenants
@@ -24,12 +24,22 @@ public class TenantService {
     private final JdbcTemplate jdbcTemplate;
     private final DataSource dataSource;
 
-    // Cache des tenants enregistrés pour éviter les vérifications répétées
-    private final Map<String, Boolean> tenantsCache = new ConcurrentHashMap<>();
+    // Cache des tenants enregistrés pour éviter les vérifications répétées (borné, avec TTL)
+    private final TenantExistenceCache tenantsCache;
 
-    public TenantService(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+    // Diffusion des créations/suppressions aux autres noeuds
+    private final TenantEventBus eventBus;
+
+    // Création et mise à jour versionnée des tables du schema
+    private final TenantMigrationService migrationService;
+
+    public TenantService(JdbcTemplate jdbcTemplate, DataSource dataSource, TenantExistenceCache tenantsCache,
+                         TenantEventBus eventBus, TenantMigrationService migrationService) {
         this.jdbcTemplate = jdbcTemplate;
         this.dataSource = dataSource;
+        this.tenantsCache = tenantsCache;
+        this.eventBus = eventBus;
+        this.migrationService = migrationService;
     }
 
     /**
@@ -43,23 +53,25 @@ public class TenantService {
 
         String schemaName = resolveSchemaName(tenantId);
 
-        if (schemaExists(schemaName)) {
-            logger.warn("Le schema '{}' existe déjà pour le tenant '{}'", schemaName, tenantId);
-            tenantsCache.put(tenantId, true);
-            return;
+        boolean alreadyExists = schemaExists(schemaName);
+        if (alreadyExists) {
+            logger.warn("Le schema '{}' existe déjà pour le tenant '{}', mise à jour de ses migrations", schemaName, tenantId);
         }
 
         try {
-            // Crée le schema
-            createSchema(schemaName);
-
-            // Crée les tables dans le nouveau schema
-            createTablesInSchema(schemaName);
+            // Crée le schema et applique les migrations manquantes (idempotent)
+            SchemaMigrationResult result = migrationService.migrate(schemaName);
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Migration du schema en échec: " + result.error());
+            }
 
-            // Met en cache le tenant
-            tenantsCache.put(tenantId, true);
+            // Met en cache le tenant et prévient les autres noeuds
+            tenantsCache.put(schemaName, true);
+            if (!alreadyExists) {
+                eventBus.publish(TenantEventType.CREATED, tenantId);
+            }
 
-            logger.info("Tenant '{}' créé avec succès (schema: '{}')", tenantId, schemaName);
+            logger.info("Tenant '{}' créé avec succès (schema: '{}', version {})", tenantId, schemaName, result.toVersion());
 
         } catch (Exception e) {
             logger.error("Erreur lors de la création du tenant '{}'", tenantId, e);
@@ -76,33 +88,35 @@ public class TenantService {
         }
 
         // Vérifie le cache d'abord
-        Boolean cached = tenantsCache.get(tenantId);
+        String schemaName = resolveSchemaName(tenantId);
+        Boolean cached = tenantsCache.get(schemaName);
         if (cached != null) {
             return cached;
         }
 
         // Vérifie dans la base de données
-        String schemaName = resolveSchemaName(tenantId);
         boolean exists = schemaExists(schemaName);
 
-        // Met en cache le résultat
-        tenantsCache.put(tenantId, exists);
+        // Met en cache le résultat (les résultats négatifs expirent plus vite)
+        tenantsCache.put(schemaName, exists);
 
         return exists;
     }
 
+    /**
+     * Indique si le schema d'un tenant existant est à la dernière version des migrations
+     * Sinon son provisionnement le met à jour (createTenant est idempotent)
+     */
+    public boolean isMigrated(String tenantId) {
+        return migrationService.isUpToDate(resolveSchemaName(tenantId));
+    }
+
     /**
      * Valide le format d'un tenant ID
      */
     public boolean isValidTenantId(String tenantId) {
-        if (tenantId == null || tenantId.trim().isEmpty()) {
-            return false;
-        }
-
-        String cleanTenant = tenantId.trim();
-
         // Format: lettres, chiffres, tirets et underscores, longueur 3-50
-        return cleanTenant.matches("^[a-zA-Z0-9_-]{3,50}$");
+        return TenantResolver.isValidTenantId(tenantId);
     }
 
     /**
@@ -153,8 +167,9 @@ public class TenantService {
                 String dropSQL = "DROP SCHEMA " + schemaName + " CASCADE";
                 jdbcTemplate.execute(dropSQL);
 
-                // Supprime du cache
-                tenantsCache.remove(tenantId);
+                // Supprime du cache ; le pool est fermé sur chaque noeud à réception de l'événement
+                tenantsCache.invalidate(schemaName);
+                eventBus.publish(TenantEventType.DELETED, tenantId);
 
                 logger.warn("Tenant '{}' supprimé (schema: '{}')", tenantId, schemaName);
             } else {
@@ -167,137 +182,14 @@ public class TenantService {
         }
     }
 
-    /**
-     * Crée un schema PostgreSQL
-     */
-    private void createSchema(String schemaName) {
-        String createSQL = "CREATE SCHEMA IF NOT EXISTS " + schemaName;
-        jdbcTemplate.execute(createSQL);
-        logger.debug("Schema '{}' créé", schemaName);
-    }
-
-    /**
-     * Crée toutes les tables nécessaires dans le nouveau schema
-     */
-    private void createTablesInSchema(String schemaName) {
-        try {
-            logger.info("Création des tables dans le schema '{}'", schemaName);
-
-            // S'assurer que les extensions UUID sont disponibles
-            enableUuidExtensions();
-
-            // Table partners
-            String createPartnersTable = String.format("""
-                CREATE TABLE IF NOT EXISTS %s.partners (
-                    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
-                    name VARCHAR(255) NOT NULL,
-                    partner_type VARCHAR(50) NOT NULL,
-                    siret VARCHAR(50) NOT NULL,
-                    contact_email VARCHAR(255) NOT NULL,
-                    phone VARCHAR(50),
-                    street VARCHAR(255),
-                    postal_code VARCHAR(20),
-                    city VARCHAR(100),
-                    country VARCHAR(100),
-                    status VARCHAR(50) NOT NULL DEFAULT 'ACTIVE',
-                    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-                    last_updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
-                    UNIQUE(siret)
-                )
-                """, schemaName);
-            jdbcTemplate.execute(createPartnersTable);
-
-            // Table master_contractors
-            String createMasterContractorsTable = String.format("""
-                CREATE TABLE IF NOT EXISTS %s.master_contractors (
-                    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
-                    name VARCHAR(255) NOT NULL,
-                    type VARCHAR(50) NOT NULL,
-                    siret VARCHAR(50) NOT NULL,
-                    address TEXT NOT NULL,
-                    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-                    last_updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
-                    UNIQUE(siret)
-                )
-                """, schemaName);
-            jdbcTemplate.execute(createMasterContractorsTable);
-
-            // Table contacts
-            String createContactsTable = String.format("""
-                CREATE TABLE IF NOT EXISTS %s.contacts (
-                    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
-                    first_name VARCHAR(100) NOT NULL,
-                    last_name VARCHAR(100) NOT NULL,
-                    email VARCHAR(255) NOT NULL,
-                    phone VARCHAR(50) NOT NULL,
-                    position VARCHAR(100),
-                    is_primary BOOLEAN NOT NULL DEFAULT FALSE,
-                    master_contractor_id UUID,
-                    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-                    last_updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
-                    FOREIGN KEY (master_contractor_id) REFERENCES %s.master_contractors(id) ON DELETE CASCADE
-                )
-                """, schemaName, schemaName);
-            jdbcTemplate.execute(createContactsTable);
-
-            // Table projects (pour le futur)
-            String createProjectsTable = String.format("""
-                CREATE TABLE IF NOT EXISTS %s.projects (
-                    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
-                    name VARCHAR(255) NOT NULL,
-                    address TEXT NOT NULL,
-                    cost DECIMAL(15,2),
-                    opening_date DATE,
-                    owner_id UUID,
-                    mission TEXT,
-                    status VARCHAR(50) NOT NULL DEFAULT 'PLANNED',
-                    ai_global_status VARCHAR(50) DEFAULT 'PENDING',
-                    ai_progress_percent INTEGER DEFAULT 0,
-                    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
-                    last_updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
-                    FOREIGN KEY (owner_id) REFERENCES %s.master_contractors(id)
-                )
-                """, schemaName, schemaName);
-            jdbcTemplate.execute(createProjectsTable);
-
-            logger.info("Tables créées avec succès dans le schema '{}'", schemaName);
-
-        } catch (Exception e) {
-            logger.error("Erreur lors de la création des tables dans le schema '{}'", schemaName, e);
-            throw new RuntimeException("Impossible de créer les tables dans le schema: " + schemaName, e);
-        }
-    }
-
-    /**
-     * Active les extensions UUID nécessaires pour PostgreSQL
-     */
-    private void enableUuidExtensions() {
-        try {
-            // Tentative d'activation de l'extension pgcrypto (PostgreSQL moderne)
-            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pgcrypto");
-            logger.debug("Extension pgcrypto activée");
-        } catch (Exception e1) {
-            logger.debug("Tentative pgcrypto échouée: {}", e1.getMessage());
-            try {
-                // Tentative d'activation de l'extension uuid-ossp (PostgreSQL classique)
-                jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
-                logger.debug("Extension uuid-ossp activée");
-            } catch (Exception e2) {
-                logger.warn("Impossible d'activer les extensions UUID: pgcrypto={}, uuid-ossp={}",
-                        e1.getMessage(), e2.getMessage());
-                logger.info("Utilisation de UUID générés par l'application");
-            }
-        }
-    }
-
     /**
      * Vérifie si un schema existe
      */
     private boolean schemaExists(String schemaName) {
         try {
-            String query = "SELECT 1 FROM information_schema.schemata WHERE schema_name = ?";
-            List<Map<String, Object>> result = jdbcTemplate.queryForList(query, schemaName);
-            return !result.isEmpty();
+            // pg_namespace est indexé sur nspname, contrairement à la vue information_schema.schemata
+            String query = "SELECT EXISTS (SELECT 1 FROM pg_catalog.pg_namespace WHERE nspname = ?)";
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(query, Boolean.class, schemaName));
         } catch (Exception e) {
             logger.error("Erreur lors de la vérification du schema '{}'", schemaName, e);
             return false;
@@ -308,20 +200,7 @@ public class TenantService {
      * Résout le nom du schema basé sur le tenant ID
      */
     private String resolveSchemaName(String tenantId) {
-        if (tenantId == null || tenantId.trim().isEmpty()) {
-            return "public";
-        }
-
-        String cleanTenant = tenantId.toLowerCase()
-                .replaceAll("[^a-z0-9_-]", "_")
-                .replaceAll("_{2,}", "_");
-
-        // Si le tenant commence déjà par "tenant_", on ne l'ajoute pas
-        if (cleanTenant.startsWith("tenant_")) {
-            return cleanTenant;
-        }
-
-        return "tenant_" + cleanTenant;
+        return TenantResolver.resolveSchemaName(tenantId);
     }
 
     /**
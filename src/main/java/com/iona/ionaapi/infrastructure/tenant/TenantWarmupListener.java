@@ -0,0 +1,45 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import com.iona.ionaapi.infrastructure.config.DataSourceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Prépare un tenant fraîchement provisionné : ouvre son pool et établit une première connexion
+ * afin que sa première requête ne paie pas ce coût
+ */
+@Component
+public class TenantWarmupListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantWarmupListener.class);
+
+    private final DataSourceConfig dataSourceConfig;
+    private final DataSource dataSource;
+
+    public TenantWarmupListener(DataSourceConfig dataSourceConfig, DataSource dataSource) {
+        this.dataSourceConfig = dataSourceConfig;
+        this.dataSource = dataSource;
+    }
+
+    @EventListener
+    public void onTenantReady(TenantReadyEvent event) {
+        try {
+            dataSourceConfig.addTenantDataSource(event.tenantId());
+
+            TenantContext.callWithTenant(event.tenantId(), () -> {
+                try (Connection ignored = dataSource.getConnection()) {
+                    logger.debug("Pool préchauffé pour le schema: {}", event.schemaName());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // Le préchauffage est une optimisation : le tenant reste utilisable
+            logger.warn("Préchauffage impossible pour le tenant '{}': {}", event.tenantId(), e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.iona.ionaapi.infrastructure.web;
 
 import com.iona.ionaapi.application.service.ContractorService;
+import com.iona.ionaapi.application.service.RiskScoringService;
+import com.iona.ionaapi.application.service.dto.ContractorStats;
 import com.iona.ionaapi.domain.contractor.Contractor;
 import com.iona.ionaapi.domain.contractor.ContractorContact;
 import com.iona.ionaapi.domain.contractor.enums.ContractorSpecialty;
@@ -33,9 +35,11 @@ public class ContractorController {
     private static final Logger logger = LoggerFactory.getLogger(ContractorController.class);
     
     private final ContractorService contractorService;
+    private final RiskScoringService riskScoringService;
     
-    public ContractorController(ContractorService contractorService) {
+    public ContractorController(ContractorService contractorService, RiskScoringService riskScoringService) {
         this.contractorService = contractorService;
+        this.riskScoringService = riskScoringService;
     }
     
     /**
@@ -215,7 +219,7 @@ public class ContractorController {
             logger.debug("Retrieving contractors for tenant: {} (page={}, size={})", tenant, page, size);
             
             Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-            Page<Contractor> contractors = contractorService.getAllContractors(pageable);
+            Page<ContractorSummary> contractors = contractorService.getAllContractors(pageable);
             
             return ResponseEntity.ok(new PagedContractorResponse(true, "Contractors retrieved", contractors, tenant));
             
@@ -225,6 +229,58 @@ public class ContractorController {
         }
     }
     
+    /**
+     * Ranks contractors by risk score, riskiest first
+     * The score weighs the critical and warning alerts of the latest analysis report of each attestation
+     * Pass the returned nextCursor to get the following page
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/v1/contractors/risk?size=20"
+     */
+    @GetMapping("/risk")
+    public ResponseEntity<CursorPage<RiskScore>> rankContractorsByRisk(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            return ResponseEntity.ok(riskScoringService.rankContractors(cursor, size));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid contractor risk page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error ranking contractors by risk", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Lists contractors with keyset pagination
+     * sort: name (default), siret or createdAt, with ",desc" for descending order
+     * Pass the returned nextCursor to get the following page; includeTotal=true adds the total (count query)
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/v1/contractors/cursor?size=20&sort=name"
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ContractorSummary>> listContractors(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        try {
+            return ResponseEntity.ok(contractorService.listContractors(cursor, size, sort, includeTotal));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid contractor page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving contractors", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Retrieves a contractor by ID
      * 
@@ -277,20 +333,50 @@ public class ContractorController {
     }
     
     /**
-     * Search contractors by name
+     * Search contractors by name, ranked by similarity
+     * Tolerates typos; limit caps the number of results (20 by default, 100 at most)
      * 
      * Test:
-     * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/contractors/search?name=martin"
+     * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/v1/contractors/search?name=martn&limit=10"
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Contractor>> searchContractors(@RequestParam String name) {
+    public ResponseEntity<List<SearchHit>> searchContractors(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "20") int limit) {
         try {
             String tenant = TenantContext.getTenantOrDefault();
             logger.debug("Searching contractors by name '{}' for tenant: {}", name, tenant);
             
-            List<Contractor> contractors = contractorService.searchContractorsByName(name);
-            return ResponseEntity.ok(contractors);
+            return ResponseEntity.ok(contractorService.searchContractorsByName(name, limit));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid contractor search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error searching contractors", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Search contractors by SIRET prefix
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/v1/contractors/search/siret?prefix=552100&limit=10"
+     */
+    @GetMapping("/search/siret")
+    public ResponseEntity<List<SearchHit>> searchContractorsBySiret(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            String tenant = TenantContext.getTenantOrDefault();
+            logger.debug("Searching contractors by SIRET prefix '{}' for tenant: {}", prefix, tenant);
+            
+            return ResponseEntity.ok(contractorService.searchContractorsBySiretPrefix(prefix, limit));
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid contractor search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error searching contractors", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -304,12 +390,12 @@ public class ContractorController {
      * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/contractors/stats"
      */
     @GetMapping("/stats")
-    public ResponseEntity<ContractorService.ContractorStats> getContractorStats() {
+    public ResponseEntity<ContractorStats> getContractorStats() {
         try {
             String tenant = TenantContext.getTenantOrDefault();
             logger.debug("Generating contractor stats for tenant: {}", tenant);
             
-            ContractorService.ContractorStats stats = contractorService.getContractorStats();
+            ContractorStats stats = contractorService.getContractorStats();
             return ResponseEntity.ok(stats);
             
         } catch (Exception e) {
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -192,7 +193,7 @@ public class MasterContractorController {
             logger.debug("Retrieving master contractors for tenant: {} (page={}, size={})", tenant, page, size);
 
             Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-            Page<MasterContractor> masterContractors = masterContractorService.getAllMasterContractors(pageable);
+            Page<MasterContractorSummary> masterContractors = masterContractorService.getAllMasterContractors(pageable);
 
             return ResponseEntity.ok(new PagedMasterContractorResponse(true, "Master contractors retrieved", masterContractors, tenant));
 
@@ -201,6 +202,33 @@ public class MasterContractorController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    /**
+     * Lists master contractors with keyset pagination
+     * sort: name (default), siret or createdAt, with ",desc" for descending order
+     * Pass the returned nextCursor to get the following page; includeTotal=true adds the total (count query)
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: courtier-lacroix" "http://localhost:8080/api/v1/master-contractors/cursor?size=20&sort=name"
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<MasterContractorSummary>> listMasterContractors(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        try {
+            return ResponseEntity.ok(masterContractorService.listMasterContractors(cursor, size, sort, includeTotal));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid master contractor page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving master contractors", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 
     /**
      * Retrieves a master contractor by ID
@@ -227,4 +255,56 @@ public class MasterContractorController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    /**
+     * Search master contractors by name, ranked by similarity
+     * Tolerates typos; limit caps the number of results (20 by default, 100 at most)
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: courtier-lacroix" "http://localhost:8080/api/v1/master-contractors/search?name=martn&limit=10"
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<SearchHit>> searchMasterContractors(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            String tenant = TenantContext.getTenantOrDefault();
+            logger.debug("Searching master contractors by name '{}' for tenant: {}", name, tenant);
+            
+            return ResponseEntity.ok(masterContractorService.searchMasterContractorsByName(name, limit));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid master contractor search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error searching master contractors", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Search master contractors by SIRET prefix
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: courtier-lacroix" "http://localhost:8080/api/v1/master-contractors/search/siret?prefix=552100&limit=10"
+     */
+    @GetMapping("/search/siret")
+    public ResponseEntity<List<SearchHit>> searchMasterContractorsBySiret(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            String tenant = TenantContext.getTenantOrDefault();
+            logger.debug("Searching master contractors by SIRET prefix '{}' for tenant: {}", prefix, tenant);
+            
+            return ResponseEntity.ok(masterContractorService.searchMasterContractorsBySiretPrefix(prefix, limit));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid master contractor search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error searching master contractors", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
 }
\ No newline at end of file
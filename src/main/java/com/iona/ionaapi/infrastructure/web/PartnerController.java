@@ -5,8 +5,11 @@ import com.iona.ionaapi.application.service.dto.PartnerStats;
 import com.iona.ionaapi.domain.partner.enums.PartnerType;
 import com.iona.ionaapi.domain.partner.Partner;
 import com.iona.ionaapi.infrastructure.dto.CreatePartnerRequest;
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
 import com.iona.ionaapi.infrastructure.dto.PagedPartnerResponse;
 import com.iona.ionaapi.infrastructure.dto.PartnerResponse;
+import com.iona.ionaapi.infrastructure.dto.PartnerSummary;
+import com.iona.ionaapi.infrastructure.dto.SearchHit;
 import com.iona.ionaapi.infrastructure.dto.UpdatePartnerRequest;
 import com.iona.ionaapi.infrastructure.tenant.TenantContext;
 import org.springframework.data.domain.Page;
@@ -96,7 +99,7 @@ public class PartnerController {
             logger.debug("Récupération des partners pour le tenant: {} (page={}, size={})", tenant, page, size);
             
             Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-            Page<Partner> partners = partnerService.getAllPartners(pageable);
+            Page<PartnerSummary> partners = partnerService.getAllPartners(pageable);
             
             return ResponseEntity.ok(new PagedPartnerResponse(true, "Partners récupérés", partners, tenant));
             
@@ -106,6 +109,33 @@ public class PartnerController {
         }
     }
     
+    /**
+     * Liste les partners par pagination par clé
+     * sort: name (défaut), siret ou createdAt, suffixé de ",desc" pour un tri décroissant
+     * Repasser le nextCursor retourné pour obtenir la page suivante ; includeTotal=true ajoute le total (requête count)
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: courtier-lacroix" "http://localhost:8080/api/v1/partners/cursor?size=20&sort=name"
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<PartnerSummary>> listPartners(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        try {
+            return ResponseEntity.ok(partnerService.listPartners(cursor, size, sort, includeTotal));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Page de partners invalide: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Erreur lors de la récupération des partners", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Récupère un partner par ID
      * 
@@ -215,20 +245,50 @@ public class PartnerController {
     }
     
     /**
-     * Recherche des partners par nom
+     * Recherche des partners par nom, classés par similarité
+     * Tolère les fautes de frappe ; limit borne le nombre de résultats (20 par défaut, 100 au plus)
      * 
      * Test:
-     * curl -H "X-Tenant-ID: courtier-lacroix" "http://localhost:8080/api/partners/search?name=test"
+     * curl -H "X-Tenant-ID: courtier-lacroix" "http://localhost:8080/api/v1/partners/search?name=martn&limit=10"
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Partner>> searchPartners(@RequestParam String name) {
+    public ResponseEntity<List<SearchHit>> searchPartners(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "20") int limit) {
         try {
             String tenant = TenantContext.getTenantOrDefault();
             logger.debug("Recherche de partners par nom '{}' pour le tenant: {}", name, tenant);
             
-            List<Partner> partners = partnerService.searchPartnersByName(name);
-            return ResponseEntity.ok(partners);
+            return ResponseEntity.ok(partnerService.searchPartnersByName(name, limit));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Recherche de partners invalide: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Erreur lors de la recherche de partners", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Recherche des partners par préfixe de SIRET
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: courtier-lacroix" "http://localhost:8080/api/v1/partners/search/siret?prefix=552100&limit=10"
+     */
+    @GetMapping("/search/siret")
+    public ResponseEntity<List<SearchHit>> searchPartnersBySiret(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            String tenant = TenantContext.getTenantOrDefault();
+            logger.debug("Recherche de partners par préfixe SIRET '{}' pour le tenant: {}", prefix, tenant);
+            
+            return ResponseEntity.ok(partnerService.searchPartnersBySiretPrefix(prefix, limit));
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("Recherche de partners invalide: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Erreur lors de la recherche de partners", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
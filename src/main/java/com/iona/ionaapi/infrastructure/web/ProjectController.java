@@ -1,15 +1,22 @@
 package com.iona.ionaapi.infrastructure.web;
 
 import com.iona.ionaapi.application.service.ProjectService;
+import com.iona.ionaapi.application.service.RiskScoringService;
+import com.iona.ionaapi.application.service.dto.ProjectStats;
 import com.iona.ionaapi.domain.project.Project;
 import com.iona.ionaapi.domain.project.ProjectContractor;
 import com.iona.ionaapi.domain.project.enums.ProjectStatus;
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.dto.RiskScore;
+import com.iona.ionaapi.infrastructure.dto.SearchHit;
 import com.iona.ionaapi.infrastructure.dto.projet.AIAnalysisUpdateRequest;
 import com.iona.ionaapi.infrastructure.dto.projet.CreateProjectRequest;
 import com.iona.ionaapi.infrastructure.dto.projet.ProjectContractorRequest;
 import com.iona.ionaapi.infrastructure.dto.projet.UpdateProjectRequest;
 import com.iona.ionaapi.infrastructure.dto.projet.projet.PagedProjectResponse;
+import com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectDashboard;
 import com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectResponse;
+import com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectSummary;
 import com.iona.ionaapi.infrastructure.tenant.TenantContext;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -40,9 +47,11 @@ public class ProjectController {
     private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
     
     private final ProjectService projectService;
+    private final RiskScoringService riskScoringService;
     
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, RiskScoringService riskScoringService) {
         this.projectService = projectService;
+        this.riskScoringService = riskScoringService;
     }
     
     /**
@@ -232,7 +241,7 @@ public class ProjectController {
             logger.debug("Retrieving projects for tenant: {} (page={}, size={})", tenant, page, size);
             
             Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-            Page<Project> projects = projectService.getAllProjects(pageable);
+            Page<ProjectSummary> projects = projectService.getAllProjects(pageable);
             
             return ResponseEntity.ok(new PagedProjectResponse(true, "Projects retrieved", projects, tenant));
             
@@ -242,6 +251,33 @@ public class ProjectController {
         }
     }
     
+    /**
+     * Lists projects with keyset pagination
+     * sort: name (default) or createdAt, with ",desc" for descending order
+     * Pass the returned nextCursor to get the following page; includeTotal=true adds the total (count query)
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/v1/projects/cursor?size=20&sort=createdAt,desc"
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ProjectSummary>> listProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        try {
+            return ResponseEntity.ok(projectService.listProjects(cursor, size, sort, includeTotal));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid project page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving projects", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Retrieves a project by ID
      * 
@@ -273,20 +309,25 @@ public class ProjectController {
      */
     
     /**
-     * Search projects by name
+     * Search projects by name, ranked by similarity
+     * Tolerates typos; limit caps the number of results (20 by default, 100 at most)
      * 
      * Test:
-     * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/projects/search?name=jardins"
+     * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/v1/projects/search?name=jardin&limit=10"
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Project>> searchProjects(@RequestParam String name) {
+    public ResponseEntity<List<SearchHit>> searchProjects(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "20") int limit) {
         try {
             String tenant = TenantContext.getTenantOrDefault();
             logger.debug("Searching projects by name '{}' for tenant: {}", name, tenant);
             
-            List<Project> projects = projectService.searchProjectsByName(name);
-            return ResponseEntity.ok(projects);
+            return ResponseEntity.ok(projectService.searchProjectsByName(name, limit));
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid project search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error searching projects", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -437,6 +478,49 @@ public class ProjectController {
         }
     }
     
+    /**
+     * Ranks projects by risk score, riskiest first
+     * The score weighs the critical and warning alerts of the latest analysis report of each attestation
+     * held by the contractors assigned to the project
+     * Pass the returned nextCursor to get the following page
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/v1/projects/risk?size=20"
+     */
+    @GetMapping("/risk")
+    public ResponseEntity<CursorPage<RiskScore>> rankProjectsByRisk(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            return ResponseEntity.ok(riskScoringService.rankProjects(cursor, size));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid project risk page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error ranking projects by risk", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Get the project dashboard (totals, recent and urgent projects)
+     * Read from the materialized dashboard, refreshed in the background after project changes
+     * 
+     * Test:
+     * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/v1/projects/dashboard"
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<ProjectDashboard> getProjectDashboard() {
+        try {
+            return ResponseEntity.ok(projectService.getProjectDashboard());
+        } catch (Exception e) {
+            logger.error("Error loading project dashboard", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Get project statistics
      * 
@@ -444,12 +528,12 @@ public class ProjectController {
      * curl -H "X-Tenant-ID: vers" "http://localhost:8080/api/projects/stats"
      */
     @GetMapping("/stats")
-    public ResponseEntity<ProjectService.ProjectStats> getProjectStats() {
+    public ResponseEntity<ProjectStats> getProjectStats() {
         try {
             String tenant = TenantContext.getTenantOrDefault();
             logger.debug("Generating project stats for tenant: {}", tenant);
             
-            ProjectService.ProjectStats stats = projectService.getProjectStats();
+            ProjectStats stats = projectService.getProjectStats();
             return ResponseEntity.ok(stats);
             
         } catch (Exception e) {
@@ -2,8 +2,13 @@ package com.iona.ionaapi.infrastructure.web;
 
 import com.iona.ionaapi.infrastructure.dto.TenantInfo;
 import com.iona.ionaapi.infrastructure.dto.TenantResponse;
+import com.iona.ionaapi.infrastructure.filter.TenantFilter;
+import com.iona.ionaapi.infrastructure.migration.MigrationReport;
+import com.iona.ionaapi.infrastructure.migration.TenantMigrationService;
+import com.iona.ionaapi.infrastructure.tenant.TenantProvisioningService;
+import com.iona.ionaapi.infrastructure.tenant.TenantResolver;
 import com.iona.ionaapi.infrastructure.tenant.TenantService;
-import com.iona.ionaapi.infrastructure.config.DataSourceConfig;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,11 +29,14 @@ public class TenantController {
     private static final Logger logger = LoggerFactory.getLogger(TenantController.class);
     
     private final TenantService tenantService;
-    private final DataSourceConfig dataSourceConfig;
+    private final TenantProvisioningService provisioningService;
+    private final TenantMigrationService migrationService;
     
-    public TenantController(TenantService tenantService, DataSourceConfig dataSourceConfig) {
+    public TenantController(TenantService tenantService, TenantProvisioningService provisioningService,
+                            TenantMigrationService migrationService) {
         this.tenantService = tenantService;
-        this.dataSourceConfig = dataSourceConfig;
+        this.provisioningService = provisioningService;
+        this.migrationService = migrationService;
     }
     
     /**
@@ -53,21 +61,20 @@ public class TenantController {
                     .body(new TenantResponse(true, "Tenant déjà existant", createTenantInfo(tenantId)));
             }
             
-            // Crée le tenant
-            tenantService.createTenant(tenantId);
-            
-            // Ajoute la DataSource (optionnel selon l'implémentation)
-            try {
-                dataSourceConfig.addTenantDataSource(tenantId);
-            } catch (Exception e) {
-                logger.warn("Avertissement lors de l'ajout de la DataSource pour {}: {}", tenantId, e.getMessage());
+            if (!tenantService.isValidTenantId(tenantId)) {
+                return ResponseEntity.badRequest()
+                    .body(new TenantResponse(false, "Tenant ID invalide: " + tenantId, null));
             }
             
+            // Lance la création en arrière-plan ; le pool est préchauffé à la fin (TenantReadyEvent)
+            provisioningService.provision(tenantId);
+            
             TenantInfo tenantInfo = createTenantInfo(tenantId);
             
-            logger.info("Tenant '{}' créé avec succès", tenantId);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new TenantResponse(true, "Tenant créé avec succès", tenantInfo));
+            logger.info("Création du tenant '{}' acceptée", tenantId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(TenantFilter.PROVISIONING_RETRY_AFTER_SECONDS))
+                .body(new TenantResponse(true, "Création du tenant en cours", tenantInfo));
             
         } catch (Exception e) {
             logger.error("Erreur lors de la création du tenant: {}", request.getTenantId(), e);
@@ -92,6 +99,29 @@ public class TenantController {
         }
     }
     
+    /**
+     * Lance la migration de tous les schemas tenant vers la dernière version
+     */
+    @PostMapping("/migrations")
+    public ResponseEntity<MigrationReport> migrateAllTenants() {
+        try {
+            logger.info("Demande de migration de tous les schemas tenant");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(migrationService.migrateAllAsync());
+            
+        } catch (Exception e) {
+            logger.error("Erreur lors du lancement de la migration des tenants", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Progression et durées de la dernière campagne de migration
+     */
+    @GetMapping("/migrations")
+    public ResponseEntity<MigrationReport> getMigrationReport() {
+        return ResponseEntity.ok(migrationService.getReport());
+    }
+    
     /**
      * Vérifie si un tenant existe
      */
@@ -104,7 +134,8 @@ public class TenantController {
             return ResponseEntity.ok(Map.of(
                 "tenantId", tenantId,
                 "exists", exists,
-                "valid", valid
+                "valid", valid,
+                "provisioning", provisioningService.isProvisioning(tenantId)
             ));
             
         } catch (Exception e) {
@@ -161,7 +192,7 @@ public class TenantController {
      * Crée les informations d'un tenant
      */
     private TenantInfo createTenantInfo(String tenantId) {
-        return new TenantInfo(tenantId, "tenant_" + tenantId.toLowerCase(), 
+        return new TenantInfo(tenantId, TenantResolver.resolveSchemaName(tenantId), 
                              tenantService.tenantExists(tenantId));
     }
     
@@ -0,0 +1,192 @@
+package com.iona.ionaapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Two-tier cache of raw LLM analysis results, keyed by a SHA-256 of the active model
+ * (the Mistral model name, or the provider name for offline providers such as the stub),
+ * the prompt version and the extracted document text.
+ * A bounded in-memory LRU sits in front of the shared public.llm_analysis_cache table
+ * (created by the public schema migrations), so identical attestations are analysed once
+ * across all tenants and nodes. If the table is unavailable the cache degrades to memory only.
+ */
+@Service
+@Slf4j
+public class LlmAnalysisCache {
+
+    public static final String TABLE = "public.llm_analysis_cache";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String modelName;
+    private final int maxEntries;
+    private final boolean persistentEnabled;
+
+    private final Map<String, String> memory;
+    private final ReentrantLock memoryLock = new ReentrantLock();
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public LlmAnalysisCache(@Qualifier("adminDataSource") DataSource adminDataSource,
+                            @Value("${iona.llm.provider:mistral}") String provider,
+                            @Value("${mistral.model.name:mistral-small-latest}") String modelName,
+                            @Value("${iona.llm.cache.max-entries:1000}") int maxEntries,
+                            @Value("${iona.llm.cache.persistent:true}") boolean persistentEnabled,
+                            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("LLM cache size must be positive");
+        }
+        this.jdbcTemplate = new JdbcTemplate(adminDataSource);
+        // Stub answers must never be served for (or mixed with) real model analyses
+        this.modelName = "mistral".equals(provider) ? modelName : provider;
+        this.maxEntries = maxEntries;
+        this.persistentEnabled = persistentEnabled;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true);
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            this.memoryHits = Counter.builder("iona.llm.cache").tag("result", "hit").tag("tier", "memory")
+                    .description("LLM analyses served from the in-memory cache")
+                    .register(meterRegistry);
+            this.databaseHits = Counter.builder("iona.llm.cache").tag("result", "hit").tag("tier", "database")
+                    .description("LLM analyses served from the persistent cache")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("iona.llm.cache").tag("result", "miss").tag("tier", "none")
+                    .description("LLM analyses requiring a model call")
+                    .register(meterRegistry);
+            Gauge.builder("iona.llm.cache.size", this, LlmAnalysisCache::memorySize)
+                    .description("Entries held in the in-memory LLM cache")
+                    .register(meterRegistry);
+        } else {
+            this.memoryHits = null;
+            this.databaseHits = null;
+            this.misses = null;
+        }
+    }
+
+    /**
+     * Builds the cache key of a document analysis.
+     * Any change to the model, the prompt or the instructions yields a different key.
+     */
+    public String keyFor(String promptVersion, String additionalInstructions, String content) {
+        return sha256(modelName + '\n' + promptVersion + '\n'
+                + (additionalInstructions == null ? "" : additionalInstructions) + '\n'
+                + (content == null ? "" : content.strip()));
+    }
+
+    /**
+     * Returns the cached raw result of an analysis, looking in memory first and then in the database
+     */
+    public Optional<String> get(String key) {
+        String cached;
+        memoryLock.lock();
+        try {
+            cached = memory.get(key);
+        } finally {
+            memoryLock.unlock();
+        }
+        if (cached != null) {
+            increment(memoryHits);
+            return Optional.of(cached);
+        }
+
+        cached = loadPersistent(key);
+        if (cached != null) {
+            increment(databaseHits);
+            putInMemory(key, cached);
+            return Optional.of(cached);
+        }
+
+        increment(misses);
+        return Optional.empty();
+    }
+
+    /**
+     * Stores a successfully parsed analysis result in both tiers
+     */
+    public void put(String key, String promptVersion, String result) {
+        putInMemory(key, result);
+
+        if (persistentEnabled) {
+            try {
+                jdbcTemplate.update("INSERT INTO " + TABLE + " (cache_key, model_name, prompt_version, result) "
+                                + "VALUES (?, ?, ?, CAST(? AS jsonb)) ON CONFLICT (cache_key) DO NOTHING",
+                        key, modelName, promptVersion, result);
+            } catch (Exception e) {
+                log.warn("Unable to persist LLM analysis {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    public int memorySize() {
+        memoryLock.lock();
+        try {
+            return memory.size();
+        } finally {
+            memoryLock.unlock();
+        }
+    }
+
+    public static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String loadPersistent(String key) {
+        if (!persistentEnabled) {
+            return null;
+        }
+        try {
+            List<String> rows = jdbcTemplate.queryForList(
+                    "SELECT result::text FROM " + TABLE + " WHERE cache_key = ?", String.class, key);
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (Exception e) {
+            log.warn("Unable to read LLM analysis cache {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putInMemory(String key, String result) {
+        memoryLock.lock();
+        try {
+            memory.put(key, result);
+            if (memory.size() > maxEntries) {
+                // Access-ordered map: the first entry is the least recently used
+                String eldest = memory.keySet().iterator().next();
+                memory.remove(eldest);
+            }
+        } finally {
+            memoryLock.unlock();
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
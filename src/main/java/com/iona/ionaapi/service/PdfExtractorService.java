@@ -1,51 +1,52 @@
 package com.iona.ionaapi.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageTree;
-import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
 
 @Service
 @Slf4j
 public class PdfExtractorService {
 
-    public String loadDataIntoVectorStore(Resource pdfResource) throws IOException, IOException {
-        PDDocument document = PDDocument.load(pdfResource.getInputStream());
-        PDPageTree pdPages = document.getPages();
-        PDFTextStripper pdfTextStripper = new PDFTextStripper();
-        int page = 0;
-        System.out.println("pdPages size  " + pdPages.getCount());
-        for (PDPage pdPage : pdPages) {
-            ++page;
-            pdfTextStripper.setStartPage(page);
-            pdfTextStripper.setEndPage(page);
-            PDResources resources = pdPage.getResources();
-            List<String> media = new ArrayList<>();
-            String textContent = pdfTextStripper.getText(document);
-            log.info("textContent " + textContent);
-            if(page==0){
-                return textContent;
-            }
+    /**
+     * Heap budget for parsing one document; anything beyond spills to a temporary scratch file
+     */
+    @Value("${iona.pdf.max-main-memory-bytes:8388608}")
+    private long maxMainMemoryBytes = 8 * 1024 * 1024;
+
+    /**
+     * Parses the document once and returns the text of pages startPage..endPage (1-based, inclusive).
+     * The end page is clamped to the document length.
+     */
+    public String extractText(Resource pdfResource, int startPage, int endPage) throws IOException {
+        if (startPage < 1 || endPage < startPage) {
+            throw new IllegalArgumentException("Invalid page range: " + startPage + "-" + endPage);
         }
-        return null;
-    }
 
-    public String extractPage(Resource pdfResource, int pageNumber) throws IOException {
-        try (PDDocument document = PDDocument.load(pdfResource.getInputStream())) {
+        try (InputStream inputStream = pdfResource.getInputStream();
+             PDDocument document = PDDocument.load(inputStream, MemoryUsageSetting.setupMixed(maxMainMemoryBytes))) {
+            int lastPage = Math.min(endPage, document.getNumberOfPages());
+            if (startPage > lastPage) {
+                return "";
+            }
+
             PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setStartPage(pageNumber);
-            stripper.setEndPage(pageNumber);
+            stripper.setStartPage(startPage);
+            stripper.setEndPage(lastPage);
             stripper.setSortByPosition(true);
             return stripper.getText(document);
         }
     }
 
+    public String extractPage(Resource pdfResource, int pageNumber) throws IOException {
+        return extractText(pdfResource, pageNumber, pageNumber);
+    }
+
 }
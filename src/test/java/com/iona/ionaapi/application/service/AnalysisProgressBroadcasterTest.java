@@ -0,0 +1,124 @@
+package com.iona.ionaapi.application.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisProgressBroadcasterTest {
+
+    private static final String TENANT = "axa-assurance";
+
+    @Test
+    void coalescesProgressButKeepsEachStatusTransition() {
+        AnalysisProgressBroadcaster broadcaster = broadcaster(10, 100, Runnable::run);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(TENANT, emitter);
+
+        broadcaster.publish(TENANT, event("job-1", "analyzing", 10));
+        broadcaster.publish(TENANT, event("job-1", "analyzing", 30));
+        broadcaster.publish(TENANT, event("job-1", "analyzing", 80));
+        broadcaster.publish(TENANT, event("job-1", "compliant", 100));
+        broadcaster.publish(TENANT, event("job-2", "pending", 0));
+        broadcaster.flush();
+
+        assertEquals(List.of("job-1:analyzing:80", "job-1:compliant:100", "job-2:pending:0"), emitter.received());
+
+        // Le tampon est vidé : un second flush n'envoie rien
+        broadcaster.flush();
+        assertEquals(3, emitter.received().size());
+    }
+
+    @Test
+    void rejectsSubscribersBeyondTenantLimit() {
+        AnalysisProgressBroadcaster broadcaster = broadcaster(2, 100, Runnable::run);
+        broadcaster.subscribe(TENANT, new RecordingEmitter());
+        broadcaster.subscribe(TENANT, new RecordingEmitter());
+
+        assertThrows(IllegalStateException.class, () -> broadcaster.subscribe(TENANT, new RecordingEmitter()));
+        // La limite est par tenant
+        broadcaster.subscribe("bouygues", new RecordingEmitter());
+        assertEquals(3, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void sendsOffTheFlushThreadAndDropsSlowSubscribers() {
+        List<Runnable> sendTasks = new ArrayList<>();
+        AnalysisProgressBroadcaster broadcaster = broadcaster(10, 2, sendTasks::add);
+        RecordingEmitter slow = new RecordingEmitter();
+        broadcaster.subscribe(TENANT, slow);
+
+        broadcaster.publish(TENANT, event("job-1", "pending", 0));
+        broadcaster.publish(TENANT, event("job-2", "pending", 0));
+        broadcaster.flush();
+
+        // Rien n'est écrit par le flush lui-même, une seule tâche d'envoi pour l'abonné
+        assertTrue(slow.received().isEmpty());
+        assertEquals(1, sendTasks.size());
+
+        // Troisième événement alors que les deux premiers ne sont pas livrés : l'abonné est déconnecté
+        broadcaster.publish(TENANT, event("job-3", "pending", 0));
+        broadcaster.flush();
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void deliversOutboxOnSendExecutor() {
+        List<Runnable> sendTasks = new ArrayList<>();
+        AnalysisProgressBroadcaster broadcaster = broadcaster(10, 100, sendTasks::add);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(TENANT, emitter);
+
+        broadcaster.publish(TENANT, event("job-1", "pending", 0));
+        broadcaster.flush();
+        broadcaster.publish(TENANT, event("job-2", "pending", 0));
+        broadcaster.flush();
+        assertEquals(1, sendTasks.size());
+
+        sendTasks.remove(0).run();
+        assertEquals(List.of("job-1:pending:0", "job-2:pending:0"), emitter.received());
+    }
+
+    private static AnalysisProgressBroadcaster broadcaster(int maxSubscribers, int maxPending, Executor sendExecutor) {
+        return new AnalysisProgressBroadcaster(60_000, maxSubscribers, maxPending, sendExecutor,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    private static AnalysisProgressEvent event(String id, String status, int progress) {
+        return new AnalysisProgressEvent(AnalysisProgressEvent.ATTESTATION, id, status, progress);
+    }
+
+    /**
+     * Emitter recording the progress events written to it
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> received = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            Set<DataWithMediaType> parts = builder.build();
+            for (DataWithMediaType part : parts) {
+                if (part.getData() instanceof AnalysisProgressEvent event) {
+                    received.add(event.id() + ':' + event.status() + ':' + event.progressPercent());
+                }
+            }
+        }
+
+        @Override
+        public void send(Object object, MediaType mediaType) {
+            throw new UnsupportedOperationException();
+        }
+
+        private List<String> received() {
+            return received;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.iona.ionaapi.application.service;
+
+import com.iona.ionaapi.domain.entities.AiStatus;
+import com.iona.ionaapi.domain.entities.Attestation;
+import com.iona.ionaapi.domain.entities.AttestationType;
+import com.iona.ionaapi.infrastructure.dto.AnalysisJobResponse;
+import com.iona.ionaapi.infrastructure.dto.AnalysisReportResponse;
+import com.iona.ionaapi.infrastructure.repository.ReportFetchProfile;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantResolver;
+import com.iona.ionaapi.infrastructure.tenant.TenantService;
+import com.iona.ionaapi.support.EmbeddedPostgresContext;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the whole analysis pipeline (upload, worker, LLM, report persistence) against the stub model
+ */
+@SpringBootTest
+class AttestationAnalysisServiceTest {
+
+    private static final String TENANT = "analysis-e2e";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresContext.register(registry);
+    }
+
+    @Autowired
+    private AttestationAnalysisService analysisService;
+
+    @Autowired
+    private AttestationService attestationService;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        tenantService.createTenant(TENANT);
+        TenantContext.setTenant(TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void analysesUploadedAttestationUntilReportIsAvailable() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "decennale.pdf", "application/pdf", blankPdf());
+
+        AnalysisJob job = analysisService.submit(file, UUID.randomUUID(), AttestationType.DECENNALE, "e2e");
+        UUID jobId = job.getJobId();
+
+        AnalysisJob finished = awaitFinished(jobId);
+        assertNull(finished.getError());
+        assertEquals(AiStatus.COMPLIANT, finished.getStatus());
+        assertEquals(100, finished.getProgressPercent());
+        assertEquals("SARL Bâtiments Durables", finished.getResult().getCompanyName());
+
+        Optional<AnalysisReportResponse> report = attestationService.getReport(jobId, ReportFetchProfile.FULL);
+        assertTrue(report.isPresent());
+        assertEquals(AiStatus.COMPLIANT.getCode(), report.get().getStatus());
+        assertEquals(finished.getRiskScore(), report.get().getRiskScore());
+    }
+
+    @Test
+    void jobsAreVisibleToTheirTenantOnly() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "rc-pro.pdf", "application/pdf", blankPdf());
+        UUID jobId = analysisService.submit(file, UUID.randomUUID(), AttestationType.RC_PRO, "e2e").getJobId();
+        awaitFinished(jobId);
+
+        TenantContext.setTenant("other-tenant");
+        assertTrue(analysisService.getJob(jobId).isEmpty());
+    }
+
+    @Test
+    void statusIsServedFromTheAttestationOnceTheJobIsGone() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "decennale.pdf", "application/pdf", blankPdf());
+        UUID jobId = analysisService.submit(file, UUID.randomUUID(), AttestationType.DECENNALE, "e2e").getJobId();
+        AnalysisJob finished = awaitFinished(jobId);
+
+        // Same state as after the retention period or a restart
+        jobs().remove(jobId);
+        assertTrue(analysisService.getJob(jobId).isEmpty());
+
+        AnalysisJobResponse status = analysisService.getStatus(jobId).orElseThrow();
+        assertEquals(AiStatus.COMPLIANT.getCode(), status.getStatus());
+        assertEquals(100, status.getProgressPercent());
+        assertEquals(finished.getRiskScore(), status.getRiskScore());
+        assertNotNull(status.getCompletedAt());
+        assertNull(status.getResult());
+
+        tenantService.createTenant("analysis-e2e-other");
+        TenantContext.setTenant("analysis-e2e-other");
+        assertTrue(analysisService.getStatus(jobId).isEmpty());
+    }
+
+    @Test
+    void stalledAnalysesAreFailedOnRecovery() {
+        UUID stalled = register("stalled.pdf").getId();
+        UUID recent = register("recent.pdf").getId();
+        backdate(stalled, Duration.ofHours(1));
+
+        analysisService.recoverStalledAnalyses();
+
+        assertEquals(AiStatus.ERROR.getCode(), analysisService.getStatus(stalled).orElseThrow().getStatus());
+        assertEquals(AiStatus.PENDING.getCode(), analysisService.getStatus(recent).orElseThrow().getStatus());
+    }
+
+    private Attestation register(String fileName) {
+        return attestationService.register(new Attestation(fileName, UUID.randomUUID(), AttestationType.RC_PRO,
+                1024L, "e2e", "uploads/" + TENANT + "/" + fileName, TENANT));
+    }
+
+    private void backdate(UUID attestationId, Duration age) {
+        Timestamp at = Timestamp.from(Instant.now().minus(age));
+        jdbcTemplate.update("UPDATE \"" + TenantResolver.resolveSchemaName(TENANT)
+                + "\".attestations SET created_at = ?, updated_at = ? WHERE id = ?", at, at, attestationId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UUID, AnalysisJob> jobs() {
+        return (Map<UUID, AnalysisJob>) ReflectionTestUtils.getField(analysisService, "jobs");
+    }
+
+    private AnalysisJob awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            AnalysisJob job = analysisService.getJob(jobId).orElseThrow();
+            if (job.isFinished()) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Analysis job " + jobId + " did not finish");
+    }
+
+    private static byte[] blankPdf() throws Exception {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            document.addPage(new PDPage());
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
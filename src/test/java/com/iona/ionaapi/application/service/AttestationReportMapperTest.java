@@ -0,0 +1,60 @@
+package com.iona.ionaapi.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iona.ionaapi.config.StubChatModel;
+import com.iona.ionaapi.domain.InsuranceCertificateDto;
+import com.iona.ionaapi.domain.entities.AIAnalysisReport;
+import com.iona.ionaapi.domain.entities.AiStatus;
+import com.iona.ionaapi.domain.entities.Severity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttestationReportMapperTest {
+
+    private final AttestationReportMapper mapper = new AttestationReportMapper();
+
+    @Test
+    void mapsStubModelAnswerToCompliantReport() throws Exception {
+        String answer = new StubChatModel(0).chat("prompt");
+        InsuranceCertificateDto certificate = new ObjectMapper().readValue(answer, InsuranceCertificateDto.class);
+
+        AIAnalysisReport report = mapper.toReport(UUID.randomUUID(), certificate, 120, "test", "tenant_a");
+
+        assertEquals(AiStatus.COMPLIANT, report.getStatus());
+        assertEquals(0, new BigDecimal("10000000").compareTo(report.getExtractedData().getCoverageAmount()));
+        assertEquals(2, report.getExtractedData().getCoverages().size());
+        assertEquals(0, report.countAlertsBySeverity(Severity.CRITICAL));
+        assertEquals(100, report.getConfidence());
+    }
+
+    @Test
+    void rejectsCertificateWithoutDates() {
+        InsuranceCertificateDto certificate = new InsuranceCertificateDto();
+        certificate.setPolicyNumber("POL1");
+        certificate.setInsurerName("AXA");
+        certificate.setStartDate("Non précisé");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> mapper.toReport(UUID.randomUUID(), certificate, 10, "test", "tenant_a"));
+    }
+
+    @Test
+    void parsesFrenchAmounts() {
+        assertEquals(new BigDecimal("10000000"), AttestationReportMapper.parseAmount("10 000 000 € par sinistre"));
+        assertEquals(new BigDecimal("1500000.50"), AttestationReportMapper.parseAmount("1.500.000,50 €"));
+        assertEquals(new BigDecimal("1500000"), AttestationReportMapper.parseAmount("1 500 000 €."));
+        assertNull(AttestationReportMapper.parseAmount("Non précisé"));
+    }
+
+    @Test
+    void parsesDecimalPointAndThousandsCommaAmounts() {
+        assertEquals(new BigDecimal("1500000.50"), AttestationReportMapper.parseAmount("1500000.50 €"));
+        assertEquals(new BigDecimal("1500000.00"), AttestationReportMapper.parseAmount("1,500,000.00"));
+        assertEquals(new BigDecimal("1500"), AttestationReportMapper.parseAmount("1,500 €"));
+        assertEquals(new BigDecimal("1500.5"), AttestationReportMapper.parseAmount("1500,5 €"));
+    }
+}
@@ -0,0 +1,152 @@
+package com.iona.ionaapi.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iona.ionaapi.config.StubChatModel;
+import com.iona.ionaapi.domain.InsuranceCertificateDto;
+import com.iona.ionaapi.domain.entities.AIAnalysisReport;
+import com.iona.ionaapi.domain.entities.AiAlert;
+import com.iona.ionaapi.domain.entities.AiStatus;
+import com.iona.ionaapi.domain.entities.AlertCategory;
+import com.iona.ionaapi.domain.entities.Attestation;
+import com.iona.ionaapi.domain.entities.AttestationType;
+import com.iona.ionaapi.domain.entities.Severity;
+import com.iona.ionaapi.infrastructure.dto.AnalysisReportResponse;
+import com.iona.ionaapi.infrastructure.repository.ReportFetchProfile;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantService;
+import com.iona.ionaapi.support.EmbeddedPostgresContext;
+import com.iona.ionaapi.support.RecordingStatementInspector;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement counts of the attestation persistence paths, measured with Hibernate statistics
+ */
+@SpringBootTest
+class AttestationServiceTest {
+
+    private static final String TENANT = "attestation-sql";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresContext.register(registry);
+    }
+
+    @Autowired
+    private AttestationService attestationService;
+
+    @Autowired
+    private AttestationReportMapper reportMapper;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        tenantService.createTenant(TENANT);
+        TenantContext.setTenant(TENANT);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void savesReportGraphWithoutForeignKeyUpdates() throws Exception {
+        Attestation attestation = registerAttestation();
+        AIAnalysisReport report = stubReport(attestation.getId());
+        int children = report.getAlerts().size() + report.getActions().size() + report.getRecommendations().size()
+                + report.getExtractedData().getCoverages().size();
+        assertTrue(children > 0);
+
+        statistics.clear();
+        RecordingStatementInspector.clear();
+        attestationService.completeAnalysis(attestation.getId(), report);
+
+        List<String> childUpdates = RecordingStatementInspector.statements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("update"))
+                .filter(sql -> !sql.startsWith("update attestations "))
+                .toList();
+        assertEquals(List.of(), childUpdates);
+        assertEquals(1, statistics.getEntityUpdateCount(), "only the attestation row is updated");
+        // 1 select of the attestation, one batched insert per table of the graph (7), 1 update of the attestation
+        assertEquals(9, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void loadsEachReportProfileWithBoundedQueries() throws Exception {
+        UUID small = analysedAttestation(0);
+        UUID large = analysedAttestation(20);
+
+        // SUMMARY: one join; FULL: one join + 7 subselects; ALERTS_ONLY: one join + affected items
+        Map<ReportFetchProfile, Long> expected = Map.of(
+                ReportFetchProfile.SUMMARY, 1L,
+                ReportFetchProfile.FULL, 8L,
+                ReportFetchProfile.ALERTS_ONLY, 2L);
+        for (ReportFetchProfile profile : ReportFetchProfile.values()) {
+            assertEquals(expected.get(profile), countReportQueries(small, profile), profile + " with a small report");
+            assertEquals(expected.get(profile), countReportQueries(large, profile), profile + " with a large report");
+        }
+    }
+
+    private long countReportQueries(UUID attestationId, ReportFetchProfile profile) {
+        statistics.clear();
+        Optional<AnalysisReportResponse> response = attestationService.getReport(attestationId, profile);
+        assertTrue(response.isPresent());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Attestation with a stub report, enlarged with extra alerts and extracted list entries
+     */
+    private UUID analysedAttestation(int extraChildren) throws Exception {
+        Attestation attestation = registerAttestation();
+        AIAnalysisReport report = stubReport(attestation.getId());
+        for (int i = 0; i < extraChildren; i++) {
+            report.addAlert(new AiAlert(Severity.WARNING, AlertCategory.COVERAGE, "Alerte " + i, "Test",
+                    List.of("élément " + i, "autre " + i), TENANT));
+            report.getExtractedData().addExclusion("Exclusion " + i);
+            report.getExtractedData().addCoveredActivity("Activité " + i);
+            report.getExtractedData().addGeographicZone("Zone " + i);
+        }
+        attestationService.completeAnalysis(attestation.getId(), report);
+        return attestation.getId();
+    }
+
+    private Attestation registerAttestation() {
+        Attestation attestation = attestationService.register(new Attestation("decennale.pdf", UUID.randomUUID(),
+                AttestationType.DECENNALE, 1024L, "test", "uploads/" + TENANT + "/decennale.pdf", TENANT));
+        attestationService.recordAnalysisState(attestation.getId(), AiStatus.ANALYZING, 30);
+        return attestation;
+    }
+
+    private AIAnalysisReport stubReport(UUID attestationId) throws Exception {
+        String answer = new StubChatModel(0).chat("prompt");
+        InsuranceCertificateDto certificate = new ObjectMapper().readValue(answer, InsuranceCertificateDto.class);
+        return reportMapper.toReport(attestationId, certificate, 100, "test", TENANT);
+    }
+}
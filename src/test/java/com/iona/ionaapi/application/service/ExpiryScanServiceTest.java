@@ -0,0 +1,180 @@
+package com.iona.ionaapi.application.service;
+
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.dto.ExpiringItem;
+import com.iona.ionaapi.infrastructure.migration.TenantMigrationService;
+import com.iona.ionaapi.infrastructure.repository.ExpiryRepository;
+import com.iona.ionaapi.infrastructure.tenant.LocalTenantEventBus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Expiry listings and scanner run of one tenant, on an embedded PostgreSQL
+ */
+class ExpiryScanServiceTest {
+
+    private static final String SCHEMA = "tenant_expiry_scan";
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static ExpiryRepository expiryRepository;
+    private static ExpiryScanService service;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        TenantMigrationService migrationService = new TenantMigrationService(postgres.getPostgresDatabase(),
+                new SyncTaskExecutor(), new LocalTenantEventBus(event -> { }));
+        migrationService.migrate(SCHEMA);
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl("postgres", "postgres") + "&currentSchema=" + SCHEMA);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        expiryRepository = new ExpiryRepository(jdbcTemplate);
+        service = new ExpiryScanService(expiryRepository, migrationService, new SyncTaskExecutor(),
+                new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(service, "windowDays", 60);
+        ReflectionTestUtils.setField(service, "criticalDays", 15);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE ai_alerts, attestations, ai_analysis_reports, coverages, extracted_data CASCADE");
+        expiryRepository.saveCheckpoint(LocalDate.of(1970, 1, 1), LocalDate.of(1970, 1, 1), Instant.EPOCH);
+    }
+
+    @Test
+    void pagesExpiringAttestationsSoonestFirst() {
+        LocalDate today = LocalDate.now();
+        List<UUID> expected = new ArrayList<>();
+        for (int days : new int[]{2, 5, 5, 9, 14}) {
+            expected.add(attestation(today.plusDays(days)));
+        }
+        attestation(today.plusDays(40));
+        attestation(today.minusDays(1));
+        // Same expiry date: ordered by id, as the keyset
+        expected.subList(1, 3).sort((a, b) -> a.toString().compareTo(b.toString()));
+
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ExpiringItem> page = service.listExpiringAttestations(30, cursor, 2);
+            page.getItems().forEach(item -> seen.add(item.id()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void listsExpiringCoveragesWithTheirAttestation() {
+        LocalDate today = LocalDate.now();
+        UUID attestation = attestation(today.plusDays(200));
+        coverage(attestation, "RC", today.plusDays(10));
+        coverage(attestation, "DECENNALE", today.plusDays(100));
+
+        CursorPage<ExpiringItem> page = service.listExpiringCoverages(30, null, 10);
+
+        assertEquals(1, page.getItems().size());
+        ExpiringItem item = page.getItems().get(0);
+        assertEquals("RC", item.label());
+        assertEquals(attestation, item.attestationId());
+        assertEquals(10, item.daysUntilExpiry());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void rejectsWindowOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> service.listExpiringAttestations(0, null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.listExpiringCoverages(ExpiryScanService.MAX_WINDOW_DAYS + 1, null, 10));
+    }
+
+    @Test
+    void scanRaisesAlertsOnceAndAdvancesCheckpoint() {
+        LocalDate today = LocalDate.now();
+        attestation(today.plusDays(5));
+        attestation(today.plusDays(30));
+        attestation(today.plusDays(90));
+
+        assertEquals(2, service.scanCurrentTenant());
+        assertEquals(0, service.scanCurrentTenant());
+
+        ExpiryRepository.Checkpoint checkpoint = expiryRepository.lockCheckpoint().orElseThrow();
+        assertEquals(today.plusDays(60), checkpoint.horizon());
+        assertEquals(today.plusDays(15), checkpoint.criticalHorizon());
+        assertEquals(List.of("CRITICAL", "WARNING"),
+                jdbcTemplate.queryForList("SELECT severity FROM ai_alerts ORDER BY severity", String.class));
+    }
+
+    @Test
+    void scanEscalatesWarningsOnceTheCriticalWindowReachesThem() {
+        LocalDate today = LocalDate.now();
+        attestation(today.plusDays(20));
+        assertEquals(1, service.scanCurrentTenant());
+
+        // Previous run as if five days ago: its critical horizon stopped before the attestation
+        expiryRepository.saveCheckpoint(today.plusDays(55), today.plusDays(10), Instant.now());
+        ReflectionTestUtils.setField(service, "criticalDays", 25);
+        try {
+            assertEquals(1, service.scanCurrentTenant());
+        } finally {
+            ReflectionTestUtils.setField(service, "criticalDays", 15);
+        }
+
+        assertEquals(List.of("CRITICAL"), jdbcTemplate.queryForList("SELECT severity FROM ai_alerts", String.class));
+    }
+
+    private static UUID attestation(LocalDate expiryDate) {
+        UUID extractedData = jdbcTemplate.queryForObject("""
+                INSERT INTO extracted_data (document_type, issuer, issue_date, expiry_date, policy_number, coverage_amount, tenant_id)
+                VALUES ('Attestation', 'Assureur', DATE '2020-01-01', DATE '2040-01-01', 'P-1', 1000, 'expiry')
+                RETURNING id
+                """, UUID.class);
+        UUID report = jdbcTemplate.queryForObject("""
+                INSERT INTO ai_analysis_reports (attestation_id, analyzed_at, status, global_score, extracted_data_id,
+                                                 processing_time, confidence, version, tenant_id)
+                VALUES (gen_random_uuid(), now(), 'COMPLIANT', 80, ?, 1, 90, 'test', 'expiry')
+                RETURNING id
+                """, UUID.class, extractedData);
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO attestations (file_name, uploaded_at, ai_status, intervenant_id, type, file_size, uploaded_by,
+                                          expiry_date, ai_analysis_report_id, tenant_id, created_at)
+                VALUES ('attestation.pdf', now(), 'COMPLIANT', gen_random_uuid(), 'DECENNALE', 1, 'test', ?, ?, 'expiry',
+                        now() - INTERVAL '2 days')
+                RETURNING id
+                """, UUID.class, expiryDate, report);
+    }
+
+    private static void coverage(UUID attestation, String type, LocalDate validityEnd) {
+        jdbcTemplate.update("""
+                INSERT INTO coverages (type, amount, is_valid, validity_end, tenant_id, extracted_data_id)
+                SELECT ?, 1000, TRUE, ?, 'expiry', r.extracted_data_id
+                FROM attestations a JOIN ai_analysis_reports r ON r.id = a.ai_analysis_report_id
+                WHERE a.id = ?
+                """, type, validityEnd, attestation);
+    }
+}
@@ -0,0 +1,164 @@
+package com.iona.ionaapi.application.service;
+
+import com.iona.ionaapi.infrastructure.dto.projet.projet.ProjectDashboard;
+import com.iona.ionaapi.infrastructure.repository.ProjectDashboardRepository;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectDashboardServiceTest {
+
+    private static final String TENANT = "dashboard";
+
+    private FakeDashboardRepository repository;
+    private ProjectDashboardService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FakeDashboardRepository();
+        service = new ProjectDashboardService(repository,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(service, "listSize", 5);
+        ReflectionTestUtils.setField(service, "maxAgeMs", 60_000L);
+        ReflectionTestUtils.setField(service, "idleEvictionMs", 3_600_000L);
+        TenantContext.setTenant(TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TenantContext.clear();
+    }
+
+    @Test
+    void markDirtyRefreshesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.markDirty();
+
+        service.refreshDirty();
+        assertEquals(List.of(), repository.refreshes, "nothing refreshed before the commit");
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+
+        service.refreshDirty();
+        assertEquals(List.of(TENANT), repository.refreshes);
+
+        // A burst of changes is refreshed once, and a clean tenant is not refreshed again
+        service.markDirty();
+        service.markDirty();
+        service.refreshDirty();
+        service.refreshDirty();
+        assertEquals(List.of(TENANT, TENANT), repository.refreshes);
+    }
+
+    @Test
+    void markDirtyNeverRefreshesAfterRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.markDirty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        service.refreshDirty();
+        assertEquals(List.of(), repository.refreshes);
+    }
+
+    @Test
+    void refreshesDashboardsOlderThanMaxAge() {
+        repository.stored.put(TENANT, dashboard(Instant.now().minusSeconds(120)));
+        service.getDashboard();
+
+        service.refreshExpired();
+        assertEquals(List.of(TENANT), repository.refreshes);
+
+        // Refreshed just now: younger than the maximum age
+        service.refreshExpired();
+        assertEquals(List.of(TENANT), repository.refreshes);
+    }
+
+    @Test
+    void leavesRecentDashboardsAlone() {
+        repository.stored.put(TENANT, dashboard(Instant.now()));
+        service.getDashboard();
+
+        service.refreshExpired();
+        assertEquals(List.of(), repository.refreshes);
+    }
+
+    @Test
+    void forgetsTenantsNoLongerRead() throws Exception {
+        ReflectionTestUtils.setField(service, "idleEvictionMs", 10L);
+        repository.stored.put(TENANT, dashboard(Instant.now().minusSeconds(120)));
+        service.getDashboard();
+        Thread.sleep(20);
+
+        service.refreshExpired();
+        assertEquals(List.of(), repository.refreshes, "idle tenant evicted instead of refreshed");
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(service, "refreshedAt")).isEmpty());
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(service, "lastReadNanos")).isEmpty());
+
+        service.refreshExpired();
+        assertEquals(List.of(), repository.refreshes);
+    }
+
+    @Test
+    void computesMissingDashboardOnFirstRead() {
+        ProjectDashboard dashboard = service.getDashboard();
+
+        assertNotNull(dashboard.getRefreshedAt());
+        assertEquals(List.of(TENANT), repository.refreshes);
+    }
+
+    private static ProjectDashboard dashboard(Instant refreshedAt) {
+        ProjectDashboard dashboard = new ProjectDashboard();
+        dashboard.setRefreshedAt(refreshedAt);
+        return dashboard;
+    }
+
+    /**
+     * Dashboard table in memory, recording the tenant of each refresh
+     */
+    private static class FakeDashboardRepository extends ProjectDashboardRepository {
+
+        private final Map<String, ProjectDashboard> stored = new HashMap<>();
+        private final List<String> refreshes = new ArrayList<>();
+
+        FakeDashboardRepository() {
+            super(null, null);
+        }
+
+        @Override
+        public Optional<ProjectDashboard> find() {
+            return Optional.ofNullable(stored.get(TenantContext.getTenantOrDefault()));
+        }
+
+        @Override
+        public void refresh(int listSize) {
+            String tenant = TenantContext.getTenantOrDefault();
+            refreshes.add(tenant);
+            stored.put(tenant, dashboard(Instant.now()));
+        }
+    }
+}
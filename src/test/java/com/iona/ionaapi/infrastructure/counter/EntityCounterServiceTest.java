@@ -0,0 +1,146 @@
+package com.iona.ionaapi.infrastructure.counter;
+
+import com.iona.ionaapi.application.service.AttestationService;
+import com.iona.ionaapi.domain.entities.AiStatus;
+import com.iona.ionaapi.domain.entities.Attestation;
+import com.iona.ionaapi.domain.entities.AttestationType;
+import com.iona.ionaapi.infrastructure.repository.AttestationRepository;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantService;
+import com.iona.ionaapi.support.EmbeddedPostgresContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counters kept up to date by the committed deltas, checked against a reconciliation
+ */
+@SpringBootTest
+class EntityCounterServiceTest {
+
+    private static final String TENANT = "entity-counters";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresContext.register(registry);
+    }
+
+    @Autowired
+    private EntityCounterService counterService;
+
+    @Autowired
+    private AttestationService attestationService;
+
+    @Autowired
+    private AttestationRepository attestationRepository;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        tenantService.createTenant(TENANT);
+        TenantContext.setTenant(TENANT);
+        attestationRepository.deleteAll();
+        // Loads the counters of the tenant, so that the deltas below are applied rather than reloaded
+        assertEquals(0, counterService.total(CountedEntity.ATTESTATION));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void countsInsertStatusTransitionAndDelete() {
+        Attestation attestation = register();
+        assertEquals(1, counterService.total(CountedEntity.ATTESTATION));
+        assertEquals(1, status(AiStatus.PENDING));
+
+        // Bulk update: reported by recordTransition after the commit
+        attestationService.recordAnalysisState(attestation.getId(), AiStatus.ANALYZING, 10);
+        assertEquals(0, status(AiStatus.PENDING));
+        assertEquals(1, status(AiStatus.ANALYZING));
+
+        // Entity update: reported by the post-commit listener
+        attestationService.markAnalysisAsFailed(attestation.getId(), "test");
+        assertEquals(0, status(AiStatus.ANALYZING));
+        assertEquals(1, status(AiStatus.ERROR));
+
+        attestationRepository.deleteById(attestation.getId());
+        assertEquals(0, counterService.total(CountedEntity.ATTESTATION));
+        assertEquals(0, status(AiStatus.ERROR));
+
+        assertNoDrift();
+    }
+
+    @Test
+    void recordTransitionAppliesOnlyAfterCommit() {
+        Attestation attestation = register();
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            attestationService.recordAnalysisState(attestation.getId(), AiStatus.ANALYZING, 10);
+            assertEquals(1, status(AiStatus.PENDING), "not applied before the commit");
+            tx.setRollbackOnly();
+        });
+        assertEquals(1, status(AiStatus.PENDING));
+        assertEquals(0, status(AiStatus.ANALYZING));
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            attestationService.recordAnalysisState(attestation.getId(), AiStatus.ANALYZING, 10);
+            assertEquals(1, status(AiStatus.PENDING), "not applied before the commit");
+        });
+        assertEquals(0, status(AiStatus.PENDING));
+        assertEquals(1, status(AiStatus.ANALYZING));
+
+        assertNoDrift();
+    }
+
+    @Test
+    void reconciliationCorrectsWritesMadeOutsideHibernate() {
+        Attestation attestation = register();
+        transactionTemplate.executeWithoutResult(tx -> attestationRepository.updateAnalysisState(
+                attestation.getId(), AiStatus.ANALYZING, 10, Instant.now()));
+        assertEquals(1, status(AiStatus.PENDING), "bulk update without recordTransition");
+
+        counterService.reconcileAll();
+
+        assertEquals(0, status(AiStatus.PENDING));
+        assertEquals(1, status(AiStatus.ANALYZING));
+    }
+
+    private Attestation register() {
+        return attestationService.register(new Attestation("decennale.pdf", UUID.randomUUID(),
+                AttestationType.DECENNALE, 1024L, "test", "uploads/" + TENANT + "/decennale.pdf", TENANT));
+    }
+
+    private long status(AiStatus status) {
+        return counterService.count(CountedEntity.ATTESTATION, "aiStatus", status);
+    }
+
+    /**
+     * A reconciliation right after the deltas finds the counters already exact
+     */
+    private void assertNoDrift() {
+        long total = counterService.total(CountedEntity.ATTESTATION);
+        long pending = status(AiStatus.PENDING);
+        long analyzing = status(AiStatus.ANALYZING);
+        counterService.reconcileAll();
+        assertEquals(total, counterService.total(CountedEntity.ATTESTATION));
+        assertEquals(pending, status(AiStatus.PENDING));
+        assertEquals(analyzing, status(AiStatus.ANALYZING));
+    }
+}
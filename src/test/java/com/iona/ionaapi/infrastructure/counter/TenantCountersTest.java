@@ -0,0 +1,85 @@
+package com.iona.ionaapi.infrastructure.counter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantCountersTest {
+
+    private static final CountedEntity ENTITY = CountedEntity.ATTESTATION;
+
+    @Test
+    void replaceReportsAndCorrectsDrift() {
+        TenantCounters counters = new TenantCounters();
+        counters.apply(List.of(total(3), status("PENDING", 2), status("ERROR", 1)));
+
+        long drift = counters.replace(ENTITY, 4, Map.of(key("PENDING"), 1L, key("COMPLIANT"), 3L));
+
+        // total 3 -> 4, PENDING 2 -> 1, ERROR 1 -> 0, COMPLIANT 0 -> 3
+        assertEquals(1 + 1 + 1 + 3, drift);
+        assertEquals(4, counters.total(ENTITY));
+        assertEquals(1, counters.count(ENTITY, "aiStatus", "PENDING"));
+        assertEquals(0, counters.count(ENTITY, "aiStatus", "ERROR"));
+        assertEquals(3, counters.count(ENTITY, "aiStatus", "COMPLIANT"));
+        assertEquals(0, counters.replace(ENTITY, 4, Map.of(key("PENDING"), 1L, key("COMPLIANT"), 3L)));
+    }
+
+    @Test
+    void replayDeltasCommittedDuringSnapshot() {
+        TenantCounters counters = new TenantCounters();
+        counters.apply(List.of(total(2), status("PENDING", 2)));
+
+        counters.beginSnapshot(ENTITY);
+        // Validated after the query started: absent from the snapshot below
+        counters.apply(List.of(total(1), status("PENDING", 1)));
+        counters.apply(List.of(status("PENDING", -1), status("COMPLIANT", 1)));
+        long drift = counters.replace(ENTITY, 2, Map.of(key("PENDING"), 2L));
+
+        assertEquals(0, drift);
+        assertEquals(3, counters.total(ENTITY));
+        assertEquals(2, counters.count(ENTITY, "aiStatus", "PENDING"));
+        assertEquals(1, counters.count(ENTITY, "aiStatus", "COMPLIANT"));
+
+        // The snapshot is over: later deltas are no longer replayed on the next replace
+        counters.apply(List.of(total(1)));
+        assertEquals(1, counters.replace(ENTITY, 3, Map.of(key("PENDING"), 2L, key("COMPLIANT"), 1L)));
+        assertEquals(3, counters.total(ENTITY));
+    }
+
+    @Test
+    void firstLoadBuffersDeltasOfEveryEntity() {
+        TenantCounters counters = new TenantCounters(true);
+        counters.apply(List.of(total(1), status("PENDING", 1)));
+
+        counters.replace(ENTITY, 5, Map.of(key("PENDING"), 5L));
+
+        assertEquals(6, counters.total(ENTITY));
+        assertEquals(6, counters.count(ENTITY, "aiStatus", "PENDING"));
+    }
+
+    @Test
+    void abortedSnapshotKeepsCurrentValues() {
+        TenantCounters counters = new TenantCounters();
+        counters.beginSnapshot(ENTITY);
+        counters.apply(List.of(total(2)));
+        counters.abortSnapshot(ENTITY);
+
+        assertEquals(2, counters.total(ENTITY));
+        assertEquals(0, counters.replace(ENTITY, 2, Map.of()));
+    }
+
+    private static EntityCounterService.Delta total(long amount) {
+        return new EntityCounterService.Delta(ENTITY, null, null, amount);
+    }
+
+    private static EntityCounterService.Delta status(String value, long amount) {
+        return new EntityCounterService.Delta(ENTITY, "aiStatus", value, amount);
+    }
+
+    private static String key(String value) {
+        return TenantCounters.key(ENTITY, "aiStatus", value);
+    }
+}
@@ -0,0 +1,121 @@
+package com.iona.ionaapi.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantDataSourceRegistryTest {
+
+    private TenantDataSourceFactory factory;
+    private TenantDataSourceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        // 3 pools de 5 connexions maximum ; aucune connexion n'est ouverte tant qu'aucune n'est empruntée
+        TenantPoolSettings settings = new TenantPoolSettings(5, 0, 60_000, 1_800_000, 1_000, 15);
+        factory = new TenantDataSourceFactory("jdbc:postgresql://localhost:5432/iona", "iona", "iona",
+                "org.postgresql.Driver", settings, null);
+        registry = new TenantDataSourceRegistry(factory, 0, Set.of("public"), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+        factory.close();
+    }
+
+    @Test
+    void createsDataSourceLazilyAndReusesIt() {
+        assertFalse(registry.contains("tenant_a"));
+
+        DataSource first = registry.getDataSource("tenant_a");
+        DataSource second = registry.getDataSource("tenant_a");
+
+        assertSame(first, second);
+        assertTrue(registry.contains("tenant_a"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedButKeepsPinnedSchemas() {
+        registry.getDataSource("public");
+        registry.getDataSource("tenant_a");
+        registry.getDataSource("tenant_b");
+
+        // tenant_a redevient le plus récent, tenant_b devient la victime
+        registry.getDataSource("tenant_a");
+        registry.getDataSource("tenant_c");
+
+        assertEquals(3, registry.size());
+        assertTrue(registry.contains("public"));
+        assertTrue(registry.contains("tenant_a"));
+        assertTrue(registry.contains("tenant_c"));
+        assertFalse(registry.contains("tenant_b"));
+        assertFalse(factory.getPools().containsKey("tenant_b"));
+    }
+
+    @Test
+    void removeClosesPool() {
+        HikariDataSource dataSource = (HikariDataSource) registry.getDataSource("tenant_a");
+
+        registry.remove("tenant_a");
+
+        assertFalse(registry.contains("tenant_a"));
+        assertTrue(dataSource.isClosed());
+    }
+
+    @Test
+    void neverEvictsPoolWithBorrowedConnection() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             TenantDataSourceFactory pgFactory = postgresFactory(postgres);
+             TenantDataSourceRegistry pgRegistry = new TenantDataSourceRegistry(pgFactory, 0, Set.of("public"), null)) {
+
+            pgRegistry.getDataSource("public");
+            HikariDataSource busy = (HikariDataSource) pgRegistry.getDataSource("tenant_a");
+            pgRegistry.getDataSource("tenant_b");
+
+            try (Connection ignored = busy.getConnection()) {
+                // tenant_a est le moins récemment utilisé mais a une connexion empruntée : tenant_b est évincé
+                pgRegistry.getDataSource("tenant_c");
+
+                assertFalse(busy.isClosed());
+                assertTrue(pgRegistry.contains("tenant_a"));
+                assertFalse(pgRegistry.contains("tenant_b"));
+                assertTrue(pgRegistry.contains("tenant_c"));
+            }
+        }
+    }
+
+    @Test
+    void failsInsteadOfClosingBusyPoolsWhenNoneIsIdle() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             TenantDataSourceFactory pgFactory = postgresFactory(postgres);
+             TenantDataSourceRegistry pgRegistry = new TenantDataSourceRegistry(pgFactory, 0, Set.of("public"), null)) {
+
+            pgRegistry.getDataSource("public");
+            HikariDataSource first = (HikariDataSource) pgRegistry.getDataSource("tenant_a");
+            HikariDataSource second = (HikariDataSource) pgRegistry.getDataSource("tenant_b");
+
+            try (Connection a = first.getConnection(); Connection b = second.getConnection()) {
+                assertThrows(IllegalStateException.class, () -> pgRegistry.getDataSource("tenant_c"));
+
+                assertFalse(first.isClosed());
+                assertFalse(second.isClosed());
+                assertFalse(pgRegistry.contains("tenant_c"));
+            }
+        }
+    }
+
+    private static TenantDataSourceFactory postgresFactory(EmbeddedPostgres postgres) {
+        TenantPoolSettings settings = new TenantPoolSettings(5, 0, 60_000, 1_800_000, 1_000, 15);
+        return new TenantDataSourceFactory(postgres.getJdbcUrl("postgres", "postgres"), "postgres", "postgres",
+                "org.postgresql.Driver", settings, null);
+    }
+}
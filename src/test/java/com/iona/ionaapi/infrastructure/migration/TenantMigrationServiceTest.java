@@ -0,0 +1,123 @@
+package com.iona.ionaapi.infrastructure.migration;
+
+import com.iona.ionaapi.infrastructure.tenant.LocalTenantEventBus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantMigrationServiceTest {
+
+    private static EmbeddedPostgres postgres;
+    private static TenantMigrationService migrationService;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        migrationService = new TenantMigrationService(postgres.getPostgresDatabase(), new SyncTaskExecutor(),
+                new LocalTenantEventBus(event -> { }));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void concurrentNodesMigrateNewSchemaWithoutConflict() throws Exception {
+        int nodes = 4;
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(nodes);
+        try {
+            List<CompletableFuture<SchemaMigrationResult>> results = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return migrationService.migrate("tenant_concurrent");
+                }, pool));
+            }
+            go.countDown();
+
+            for (CompletableFuture<SchemaMigrationResult> result : results) {
+                SchemaMigrationResult migration = result.get();
+                assertTrue(migration.isSuccess(), migration.error());
+                assertEquals(TenantMigrations.latestVersion(), migration.toVersion());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void migrationIsIdempotent() {
+        SchemaMigrationResult first = migrationService.migrate("tenant_idempotent");
+        SchemaMigrationResult second = migrationService.migrate("tenant_idempotent");
+
+        assertTrue(first.isChanged());
+        assertEquals(TenantMigrations.latestVersion(), second.fromVersion());
+        assertFalse(second.isChanged());
+    }
+
+    @Test
+    void outdatedSchemaIsDetectedUntilMigrated() {
+        JdbcTemplate jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+        assertFalse(migrationService.isUpToDate("tenant_lazy"));
+
+        // Schema left at version 0 by an older node
+        jdbc.execute("CREATE SCHEMA tenant_lazy");
+        jdbc.execute("CREATE TABLE tenant_lazy.schema_version (version INTEGER PRIMARY KEY, "
+                + "description VARCHAR(255) NOT NULL, applied_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(), "
+                + "execution_ms BIGINT NOT NULL)");
+        assertFalse(migrationService.isUpToDate("tenant_lazy"));
+
+        assertTrue(migrationService.migrate("tenant_lazy").isSuccess());
+        assertTrue(migrationService.isUpToDate("tenant_lazy"));
+
+        // Another node reads the version once
+        TenantMigrationService otherNode = new TenantMigrationService(postgres.getPostgresDatabase(),
+                new SyncTaskExecutor(), new LocalTenantEventBus(event -> { }));
+        assertTrue(otherNode.isUpToDate("tenant_lazy"));
+    }
+
+    @Test
+    void extensionsAreRetriedAfterAFailedInstall() {
+        JdbcTemplate admin = new JdbcTemplate(postgres.getPostgresDatabase());
+        admin.execute("CREATE ROLE iona_migrator LOGIN PASSWORD 'migrator'");
+        admin.execute("CREATE DATABASE extension_retry");
+        JdbcTemplate database = new JdbcTemplate(postgres.getDatabase("postgres", "extension_retry"));
+        database.execute("REVOKE CREATE ON SCHEMA public FROM PUBLIC");
+
+        DriverManagerDataSource restricted = new DriverManagerDataSource(
+                postgres.getJdbcUrl("iona_migrator", "extension_retry"), "iona_migrator", "migrator");
+        TenantMigrationService service = new TenantMigrationService(restricted, new SyncTaskExecutor(),
+                new LocalTenantEventBus(event -> { }));
+
+        // No privilege yet: neither the extensions nor the schema can be created
+        assertFalse(service.migrate("tenant_extension_retry").isSuccess());
+
+        admin.execute("GRANT CREATE ON DATABASE extension_retry TO iona_migrator");
+        database.execute("GRANT CREATE ON SCHEMA public TO iona_migrator");
+
+        SchemaMigrationResult retry = service.migrate("tenant_extension_retry");
+        assertTrue(retry.isSuccess(), retry.error());
+        assertEquals(TenantMigrations.latestVersion(), retry.toVersion());
+        assertEquals(1, database.queryForObject(
+                "SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class));
+    }
+}
@@ -0,0 +1,118 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.application.service.dto.ContractorStats;
+import com.iona.ionaapi.domain.contractor.Contractor;
+import com.iona.ionaapi.domain.contractor.ContractorContact;
+import com.iona.ionaapi.domain.contractor.enums.ContractorStatus;
+import com.iona.ionaapi.domain.contractor.enums.ContractorType;
+import com.iona.ionaapi.infrastructure.dto.ContractorSummary;
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantService;
+import com.iona.ionaapi.support.EmbeddedPostgresContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contractor list and dashboard queries against a migrated tenant schema
+ */
+@SpringBootTest
+class ContractorRepositoryTest {
+
+    private static final String TENANT = "contractor-repository";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresContext.register(registry);
+    }
+
+    @Autowired
+    private ContractorRepository contractorRepository;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @BeforeEach
+    void setUp() {
+        tenantService.createTenant(TENANT);
+        TenantContext.setTenant(TENANT);
+        contractorRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void summariesListEachContractorOnceWithASinglePrimaryContact() {
+        Contractor withContacts = contractor("Alpha Bâtiment", "11111111100011");
+        withContacts.addContact(contact("Anne", "Martin", false));
+        withContacts.addContact(contact("Bruno", "Petit", true));
+        withContacts.addContact(contact("Chloé", "Durand", true));
+        withContacts = contractorRepository.save(withContacts);
+        contractorRepository.save(contractor("Beta Couverture", "22222222200022"));
+
+        ContractorContact expected = withContacts.getContacts().stream()
+                .filter(ContractorContact::isPrimary)
+                .min(Comparator.comparing(c -> c.getId().toString()))
+                .orElseThrow();
+
+        Page<ContractorSummary> page = contractorRepository.findSummaries(PageRequest.of(0, 10, Sort.by("name")));
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of("Alpha Bâtiment", "Beta Couverture"), page.getContent().stream().map(ContractorSummary::getName).toList());
+        assertEquals(expected.getFullName(), page.getContent().get(0).getPrimaryContactName());
+        assertNull(page.getContent().get(1).getPrimaryContactName());
+
+        CursorPage<ContractorSummary> keyset = keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "name", null, 10, true);
+        assertEquals(2, keyset.getItems().size());
+        assertEquals(2L, keyset.getTotalElements());
+        assertEquals(expected.getFullName(), keyset.getItems().get(0).getPrimaryContactName());
+        assertNull(keyset.getNextCursor());
+    }
+
+    @Test
+    void computesStatsInOnePass() {
+        assertEquals(new ContractorStats(0, 0, 0, 0, 0, 0), contractorRepository.computeStats());
+
+        contractorRepository.save(contractor("Alpha", "11111111100011", ContractorType.GENERAL_CONTRACTOR, ContractorStatus.ACTIVE));
+        contractorRepository.save(contractor("Beta", "22222222200022", ContractorType.SUBCONTRACTOR, ContractorStatus.ACTIVE));
+        contractorRepository.save(contractor("Gamma", "33333333300033", ContractorType.SUBCONTRACTOR, ContractorStatus.SUSPENDED));
+        contractorRepository.save(contractor("Delta", "44444444400044", ContractorType.CONSULTANT, ContractorStatus.BLACKLISTED));
+
+        assertEquals(new ContractorStats(1, 2, 0, 1, 4, 2), contractorRepository.computeStats());
+    }
+
+    private static Contractor contractor(String name, String siret) {
+        return new Contractor(name, ContractorType.SUBCONTRACTOR, siret, "1 rue des Artisans, Lyon");
+    }
+
+    private static Contractor contractor(String name, String siret, ContractorType type, ContractorStatus status) {
+        Contractor contractor = new Contractor(name, type, siret, "1 rue des Artisans, Lyon");
+        contractor.setStatus(status);
+        return contractor;
+    }
+
+    private static ContractorContact contact(String firstName, String lastName, boolean primary) {
+        ContractorContact contact = new ContractorContact(firstName, lastName,
+                firstName.toLowerCase() + "@example.fr", "0600000000");
+        contact.setPrimary(primary);
+        return contact;
+    }
+}
@@ -0,0 +1,241 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.infrastructure.dto.ExpiringItem;
+import com.iona.ionaapi.infrastructure.migration.TenantMigrationService;
+import com.iona.ionaapi.infrastructure.tenant.LocalTenantEventBus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Expiry alert statements against the checkpoint of the previous run
+ */
+class ExpiryRepositoryTest {
+
+    private static final String SCHEMA = "tenant_expiry";
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 1);
+    private static final int WINDOW_DAYS = 60;
+    private static final int CRITICAL_DAYS = 15;
+    private static final ExpiryRepository.Checkpoint NEVER_SCANNED = new ExpiryRepository.Checkpoint(
+            LocalDate.of(1970, 1, 1), LocalDate.of(1970, 1, 1), Instant.EPOCH);
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static ExpiryRepository repository;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        new TenantMigrationService(postgres.getPostgresDatabase(), new SyncTaskExecutor(),
+                new LocalTenantEventBus(event -> { })).migrate(SCHEMA);
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl("postgres", "postgres") + "&currentSchema=" + SCHEMA));
+        repository = new ExpiryRepository(jdbcTemplate);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE ai_alerts, attestations, ai_analysis_reports, coverages, extracted_data CASCADE");
+    }
+
+    @Test
+    void raisesOneAlertPerItemInWindowWithSeverityByDistance() {
+        UUID critical = attestation(TODAY.plusDays(5), hoursAgo(48));
+        UUID warning = attestation(TODAY.plusDays(30), hoursAgo(48));
+        attestation(TODAY.plusDays(90), hoursAgo(48));
+        attestation(TODAY, hoursAgo(48));
+
+        assertEquals(2, insertAttestationAlerts(TODAY, NEVER_SCANNED));
+        assertEquals(Map.of(critical, "CRITICAL", warning, "WARNING"), severities());
+
+        // Same items picked again (full rescan or overlapping checkpoint): the dated title avoids duplicates
+        assertEquals(0, insertAttestationAlerts(TODAY, NEVER_SCANNED));
+        assertEquals(2, alertCount());
+    }
+
+    @Test
+    void picksOnlyItemsNewInWindowOrChangedSinceCheckpoint() {
+        ExpiryRepository.Checkpoint since = new ExpiryRepository.Checkpoint(
+                TODAY.plusDays(WINDOW_DAYS), TODAY.plusDays(CRITICAL_DAYS), hoursAgo(1));
+        UUID entering = attestation(TODAY.plusDays(WINDOW_DAYS + 1), hoursAgo(48));
+        attestation(TODAY.plusDays(40), hoursAgo(48));
+        UUID changed = attestation(TODAY.plusDays(41), hoursAgo(48));
+        jdbcTemplate.update("UPDATE attestations SET updated_at = now() WHERE id = ?", changed);
+
+        assertEquals(2, insertAttestationAlerts(TODAY.plusDays(1), since));
+        assertEquals(Map.of(entering, "WARNING", changed, "WARNING"), severities());
+    }
+
+    @Test
+    void escalatesWarningOnceItEntersCriticalWindow() {
+        UUID attestation = attestation(TODAY.plusDays(20), hoursAgo(48));
+        assertEquals(1, insertAttestationAlerts(TODAY, NEVER_SCANNED));
+        assertEquals(Map.of(attestation, "WARNING"), severities());
+        jdbcTemplate.update("UPDATE ai_alerts SET resolved = TRUE, resolved_at = now()");
+
+        // Next run: the critical window moved from TODAY+15 to TODAY+21 and now holds the attestation
+        LocalDate later = TODAY.plusDays(6);
+        ExpiryRepository.Checkpoint since = new ExpiryRepository.Checkpoint(
+                TODAY.plusDays(WINDOW_DAYS), TODAY.plusDays(CRITICAL_DAYS), hoursAgo(1));
+        assertEquals(1, repository.escalateAttestationAlerts(later, later.plusDays(CRITICAL_DAYS), since));
+        assertEquals(0, insertAttestationAlerts(later, since));
+
+        assertEquals(Map.of(attestation, "CRITICAL"), severities());
+        assertEquals(1, alertCount());
+        assertEquals(Boolean.FALSE, jdbcTemplate.queryForObject("SELECT resolved FROM ai_alerts", Boolean.class));
+        assertEquals("L'attestation attestation.pdf expire dans 14 jour(s)",
+                jdbcTemplate.queryForObject("SELECT description FROM ai_alerts", String.class));
+
+        // Already critical: nothing left to escalate
+        assertEquals(0, repository.escalateAttestationAlerts(later, later.plusDays(CRITICAL_DAYS), NEVER_SCANNED));
+    }
+
+    @Test
+    void doesNotEscalateItemsAlreadyInCriticalWindowAtPreviousRun() {
+        attestation(TODAY.plusDays(20), hoursAgo(48));
+        insertAttestationAlerts(TODAY, NEVER_SCANNED);
+
+        // Unchanged item, critical horizon already past it at the previous run: left to the full rescan
+        ExpiryRepository.Checkpoint since = new ExpiryRepository.Checkpoint(
+                TODAY.plusDays(WINDOW_DAYS), TODAY.plusDays(25), hoursAgo(1));
+        assertEquals(0, repository.escalateAttestationAlerts(TODAY.plusDays(6), TODAY.plusDays(21), since));
+    }
+
+    @Test
+    void raisesAndEscalatesCoverageAlerts() {
+        UUID report = analysedReport();
+        attestation(TODAY.plusDays(300), hoursAgo(48), report);
+        coverage(report, "RC", TODAY.plusDays(10));
+        coverage(report, "DECENNALE", TODAY.plusDays(20));
+
+        assertEquals(2, repository.insertCoverageAlerts(TODAY, TODAY.plusDays(WINDOW_DAYS),
+                TODAY.plusDays(CRITICAL_DAYS), NEVER_SCANNED));
+        assertEquals(Map.of("Couverture RC expirant le 11/01/2030", "CRITICAL",
+                "Couverture DECENNALE expirant le 21/01/2030", "WARNING"), severitiesByTitle());
+
+        LocalDate later = TODAY.plusDays(6);
+        ExpiryRepository.Checkpoint since = new ExpiryRepository.Checkpoint(
+                TODAY.plusDays(WINDOW_DAYS), TODAY.plusDays(CRITICAL_DAYS), hoursAgo(1));
+        assertEquals(1, repository.escalateCoverageAlerts(later, later.plusDays(CRITICAL_DAYS), since));
+        assertEquals(0, repository.insertCoverageAlerts(later, later.plusDays(WINDOW_DAYS),
+                later.plusDays(CRITICAL_DAYS), since));
+        assertEquals(Map.of("Couverture RC expirant le 11/01/2030", "CRITICAL",
+                "Couverture DECENNALE expirant le 21/01/2030", "CRITICAL"), severitiesByTitle());
+    }
+
+    @Test
+    void savesCheckpointHorizons() {
+        Instant scannedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        repository.saveCheckpoint(TODAY.plusDays(WINDOW_DAYS), TODAY.plusDays(CRITICAL_DAYS), scannedAt);
+
+        ExpiryRepository.Checkpoint checkpoint = repository.lockCheckpoint().orElseThrow();
+        assertEquals(new ExpiryRepository.Checkpoint(TODAY.plusDays(WINDOW_DAYS), TODAY.plusDays(CRITICAL_DAYS), scannedAt),
+                checkpoint);
+    }
+
+    @Test
+    void listsExpiringItemsByKeyset() {
+        UUID first = attestation(TODAY.plusDays(3), hoursAgo(1));
+        UUID second = attestation(TODAY.plusDays(7), hoursAgo(1));
+        attestation(TODAY.plusDays(30), hoursAgo(1));
+
+        List<UUID> page = repository.findExpiringAttestations(TODAY, TODAY.plusDays(10), null, 1).stream()
+                .map(ExpiringItem::id).toList();
+        assertEquals(List.of(first), page);
+        List<UUID> next = repository.findExpiringAttestations(TODAY, TODAY.plusDays(10),
+                        new KeysetCursor(TODAY.plusDays(3).toString(), first), 10).stream()
+                .map(ExpiringItem::id).toList();
+        assertEquals(List.of(second), next);
+        assertEquals(7, repository.findExpiringAttestations(TODAY, TODAY.plusDays(10), null, 10).get(1).daysUntilExpiry());
+    }
+
+    private static Instant hoursAgo(int hours) {
+        return Instant.now().minus(hours, ChronoUnit.HOURS);
+    }
+
+    private int insertAttestationAlerts(LocalDate today, ExpiryRepository.Checkpoint since) {
+        return repository.insertAttestationAlerts(today, today.plusDays(WINDOW_DAYS), today.plusDays(CRITICAL_DAYS), since);
+    }
+
+    private static int alertCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ai_alerts", Integer.class);
+    }
+
+    /**
+     * Severity of the expiry alert of each attestation
+     */
+    private static Map<UUID, String> severities() {
+        Map<UUID, String> severities = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT a.id, al.severity FROM ai_alerts al JOIN attestations a ON a.ai_analysis_report_id = al.analysis_report_id
+                WHERE al.category = 'EXPIRY'
+                """, rs -> {
+            severities.put(rs.getObject("id", UUID.class), rs.getString("severity"));
+        });
+        return severities;
+    }
+
+    private static Map<String, String> severitiesByTitle() {
+        Map<String, String> severities = new HashMap<>();
+        jdbcTemplate.query("SELECT title, severity FROM ai_alerts WHERE category = 'EXPIRY'",
+                rs -> {
+                    severities.put(rs.getString("title"), rs.getString("severity"));
+                });
+        return severities;
+    }
+
+    private static UUID attestation(LocalDate expiryDate, Instant createdAt) {
+        return attestation(expiryDate, createdAt, analysedReport());
+    }
+
+    private static UUID attestation(LocalDate expiryDate, Instant createdAt, UUID report) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO attestations (file_name, uploaded_at, ai_status, intervenant_id, type, file_size, uploaded_by,
+                                          expiry_date, ai_analysis_report_id, tenant_id, created_at)
+                VALUES ('attestation.pdf', now(), 'COMPLIANT', gen_random_uuid(), 'DECENNALE', 1, 'test', ?, ?, 'expiry', ?)
+                RETURNING id
+                """, UUID.class, expiryDate, report, Timestamp.from(createdAt));
+    }
+
+    private static UUID analysedReport() {
+        UUID extractedData = jdbcTemplate.queryForObject("""
+                INSERT INTO extracted_data (document_type, issuer, issue_date, expiry_date, policy_number, coverage_amount, tenant_id)
+                VALUES ('Attestation', 'Assureur', DATE '2029-01-01', DATE '2031-01-01', 'P-1', 1000, 'expiry')
+                RETURNING id
+                """, UUID.class);
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO ai_analysis_reports (attestation_id, analyzed_at, status, global_score, extracted_data_id,
+                                                 processing_time, confidence, version, tenant_id)
+                VALUES (gen_random_uuid(), now(), 'COMPLIANT', 80, ?, 1, 90, 'test', 'expiry')
+                RETURNING id
+                """, UUID.class, extractedData);
+    }
+
+    private static void coverage(UUID report, String type, LocalDate validityEnd) {
+        jdbcTemplate.update("""
+                INSERT INTO coverages (type, amount, is_valid, validity_end, tenant_id, extracted_data_id)
+                SELECT ?, 1000, TRUE, ?, 'expiry', extracted_data_id FROM ai_analysis_reports WHERE id = ?
+                """, type, validityEnd, report);
+    }
+}
@@ -0,0 +1,157 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.domain.contractor.Contractor;
+import com.iona.ionaapi.domain.contractor.enums.ContractorType;
+import com.iona.ionaapi.infrastructure.dto.ContractorSummary;
+import com.iona.ionaapi.infrastructure.dto.CursorPage;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantService;
+import com.iona.ionaapi.support.EmbeddedPostgresContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset pagination of the contractor list over rows sharing their sort value
+ */
+@SpringBootTest
+class KeysetPaginatorTest {
+
+    private static final String TENANT = "keyset-paginator";
+    private static final List<String> NAMES = List.of("Alpha", "Beta", "Delta", "Gamma");
+    private static final int ROWS = 22;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresContext.register(registry);
+    }
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private ContractorRepository contractorRepository;
+
+    @Autowired
+    private TenantService tenantService;
+
+    private final List<Contractor> contractors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tenantService.createTenant(TENANT);
+        TenantContext.setTenant(TENANT);
+        contractorRepository.deleteAll();
+
+        // Four names and three creation instants shared by many rows: every page boundary falls on a tie
+        Instant base = Instant.parse("2026-03-01T08:00:00Z");
+        for (int i = 0; i < ROWS; i++) {
+            Contractor contractor = new Contractor(NAMES.get(i % NAMES.size()), ContractorType.SUBCONTRACTOR,
+                    String.format("%014d", i), "1 rue des Artisans, Lyon");
+            contractor.setCreatedAt(base.plus(i % 3, ChronoUnit.HOURS));
+            contractors.add(contractorRepository.save(contractor));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void walksEveryRowOnceInNameThenIdOrder() {
+        List<String> expected = expectedIds(Comparator.comparing(Contractor::getName)
+                .thenComparing(c -> c.getId().toString()));
+
+        assertEquals(expected, walk("name", 5));
+        // Default sort is the name
+        assertEquals(expected, walk(null, 5));
+    }
+
+    @Test
+    void walksEveryRowOnceInDescendingOrder() {
+        List<String> expected = expectedIds(Comparator.comparing(Contractor::getName)
+                .thenComparing(c -> c.getId().toString()).reversed());
+
+        assertEquals(expected, walk("name,desc", 4));
+    }
+
+    @Test
+    void walksInstantSortKeysWithTies() {
+        List<String> expected = expectedIds(Comparator.comparing(Contractor::getCreatedAt)
+                .thenComparing(c -> c.getId().toString()));
+
+        assertEquals(expected, walk("createdAt", 3));
+    }
+
+    @Test
+    void lastFullPageHasNoNextCursor() {
+        // 22 rows in pages of 11: the second page ends exactly on the last row
+        CursorPage<ContractorSummary> first = keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "name", null, 11, false);
+        assertNotNull(first.getNextCursor());
+
+        CursorPage<ContractorSummary> second = keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "name",
+                first.getNextCursor(), 11, false);
+        assertEquals(11, second.getItems().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void countsTotalOnlyOnDemand() {
+        CursorPage<ContractorSummary> withTotal = keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "name", null, 5, true);
+        CursorPage<ContractorSummary> withoutTotal = keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "name", null, 5, false);
+
+        assertEquals((long) ROWS, withTotal.getTotalElements());
+        assertNull(withoutTotal.getTotalElements());
+        assertEquals(withTotal.getItems().size(), withoutTotal.getItems().size());
+    }
+
+    @Test
+    void rejectsCursorOfAnotherSort() {
+        String nameCursor = keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "name", null, 5, false).getNextCursor();
+        String createdCursor = keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "createdAt", null, 5, false).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "name,desc", nameCursor, 5, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "createdAt", nameCursor, 5, false));
+        // A text sort would accept the instant as a value: the cursor's sort is checked, not just its format
+        assertThrows(IllegalArgumentException.class,
+                () -> keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "siret", createdCursor, 5, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "name", "not-a-cursor", 5, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, "name,sideways", null, 5, false));
+    }
+
+    private List<String> walk(String sort, int size) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ContractorSummary> page = keysetPaginator.page(ContractorRepository.SUMMARY_KEYSET, sort, cursor, size, false);
+            assertFalse(page.getItems().isEmpty());
+            assertTrue(page.getItems().size() <= size);
+            page.getItems().forEach(item -> ids.add(item.getId()));
+            cursor = page.getNextCursor();
+            assertTrue(++pages <= ROWS, "Pagination does not terminate");
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<String> expectedIds(Comparator<Contractor> order) {
+        return contractors.stream().sorted(order).map(c -> c.getId().toString()).toList();
+    }
+}
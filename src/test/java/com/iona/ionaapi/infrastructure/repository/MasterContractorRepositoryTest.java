@@ -0,0 +1,60 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.application.service.dto.MasterContractorStats;
+import com.iona.ionaapi.domain.mastercontractor.MasterContractor;
+import com.iona.ionaapi.domain.mastercontractor.enums.MasterContractorType;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantService;
+import com.iona.ionaapi.support.EmbeddedPostgresContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Master contractor dashboard queries against a migrated tenant schema
+ */
+@SpringBootTest
+class MasterContractorRepositoryTest {
+
+    private static final String TENANT = "master-contractor-repository";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresContext.register(registry);
+    }
+
+    @Autowired
+    private MasterContractorRepository masterContractorRepository;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @BeforeEach
+    void setUp() {
+        tenantService.createTenant(TENANT);
+        TenantContext.setTenant(TENANT);
+        masterContractorRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void computesStatsInOnePass() {
+        assertEquals(new MasterContractorStats(0, 0, 0), masterContractorRepository.computeStats());
+
+        masterContractorRepository.save(new MasterContractor("Nexity", MasterContractorType.PRIVATE, "11111111100011", "Paris"));
+        masterContractorRepository.save(new MasterContractor("Ville de Nantes", MasterContractorType.PUBLIC, "22222222200022", "Nantes"));
+        masterContractorRepository.save(new MasterContractor("Région Bretagne", MasterContractorType.PUBLIC, "33333333300033", "Rennes"));
+
+        assertEquals(new MasterContractorStats(1, 2, 3), masterContractorRepository.computeStats());
+    }
+}
@@ -0,0 +1,61 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.application.service.dto.PartnerStats;
+import com.iona.ionaapi.domain.partner.Partner;
+import com.iona.ionaapi.domain.partner.enums.PartnerType;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantService;
+import com.iona.ionaapi.support.EmbeddedPostgresContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Partner dashboard queries against a migrated tenant schema
+ */
+@SpringBootTest
+class PartnerRepositoryTest {
+
+    private static final String TENANT = "partner-repository";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresContext.register(registry);
+    }
+
+    @Autowired
+    private PartnerRepository partnerRepository;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @BeforeEach
+    void setUp() {
+        tenantService.createTenant(TENANT);
+        TenantContext.setTenant(TENANT);
+        partnerRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void computesStatsInOnePass() {
+        assertEquals(new PartnerStats(0, 0, 0, 0, 0), partnerRepository.computeStats());
+
+        partnerRepository.save(new Partner("Cabinet Durand", PartnerType.BROKER, "11111111100011", "contact@durand.fr"));
+        partnerRepository.save(new Partner("Courtage Ouest", PartnerType.BROKER, "22222222200022", "contact@ouest.fr"));
+        partnerRepository.save(new Partner("SMABTP", PartnerType.INSURER, "33333333300033", "contact@smabtp.fr"));
+        partnerRepository.save(new Partner("Bâtir Lyon", PartnerType.CONTRACTOR, "44444444400044", "contact@batir.fr"));
+
+        assertEquals(new PartnerStats(2, 1, 0, 1, 4), partnerRepository.computeStats());
+    }
+}
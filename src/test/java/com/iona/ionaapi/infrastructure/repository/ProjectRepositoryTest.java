@@ -0,0 +1,84 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.application.service.dto.ProjectStats;
+import com.iona.ionaapi.domain.mastercontractor.MasterContractor;
+import com.iona.ionaapi.domain.mastercontractor.enums.MasterContractorType;
+import com.iona.ionaapi.domain.project.Project;
+import com.iona.ionaapi.domain.project.enums.AIAnalysisStatus;
+import com.iona.ionaapi.domain.project.enums.ProjectStatus;
+import com.iona.ionaapi.infrastructure.tenant.TenantContext;
+import com.iona.ionaapi.infrastructure.tenant.TenantService;
+import com.iona.ionaapi.support.EmbeddedPostgresContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Project dashboard queries against a migrated tenant schema
+ */
+@SpringBootTest
+class ProjectRepositoryTest {
+
+    private static final String TENANT = "project-repository";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresContext.register(registry);
+    }
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private MasterContractorRepository masterContractorRepository;
+
+    @Autowired
+    private TenantService tenantService;
+
+    private UUID ownerId;
+
+    @BeforeEach
+    void setUp() {
+        tenantService.createTenant(TENANT);
+        TenantContext.setTenant(TENANT);
+        projectRepository.deleteAll();
+        masterContractorRepository.deleteAll();
+        ownerId = masterContractorRepository.save(new MasterContractor("Ville de Nantes", MasterContractorType.PUBLIC,
+                "22222222200022", "Nantes")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void computesStatsInOnePass() {
+        assertEquals(new ProjectStats(0, 0, 0, 0, 0, 0, 0, 0, 0), projectRepository.computeStats());
+
+        projectRepository.save(project("Groupe scolaire", ProjectStatus.PLANNED, AIAnalysisStatus.PENDING));
+        projectRepository.save(project("Résidence Les Tilleuls", ProjectStatus.IN_PROGRESS, AIAnalysisStatus.COMPLIANT));
+        projectRepository.save(project("Gymnase", ProjectStatus.IN_PROGRESS, AIAnalysisStatus.NON_COMPLIANT));
+        projectRepository.save(project("Médiathèque", ProjectStatus.COMPLETED, AIAnalysisStatus.COMPLIANT));
+        // Counted in the total only
+        projectRepository.save(project("Piscine", ProjectStatus.ON_HOLD, AIAnalysisStatus.IN_PROGRESS));
+
+        assertEquals(new ProjectStats(1, 0, 2, 1, 0, 1, 2, 1, 5), projectRepository.computeStats());
+    }
+
+    private Project project(String name, ProjectStatus status, AIAnalysisStatus analysisStatus) {
+        Project project = new Project(name, "2 place de la Mairie, Nantes", ownerId);
+        project.setOwnerName("Ville de Nantes");
+        project.setStatus(status);
+        project.getAiAnalysis().setStatus(analysisStatus);
+        return project;
+    }
+}
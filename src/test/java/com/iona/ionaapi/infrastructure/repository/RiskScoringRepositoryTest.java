@@ -0,0 +1,177 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.domain.entities.AIAnalysisReport;
+import com.iona.ionaapi.infrastructure.dto.RiskScore;
+import com.iona.ionaapi.infrastructure.migration.TenantMigrationService;
+import com.iona.ionaapi.infrastructure.tenant.LocalTenantEventBus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskScoringRepositoryTest {
+
+    private static final String SCHEMA = "tenant_risk";
+    private static final int CRITICAL = AIAnalysisReport.CRITICAL_RISK_WEIGHT;
+    private static final int WARNING = AIAnalysisReport.WARNING_RISK_WEIGHT;
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static RiskScoringRepository repository;
+
+    private static UUID reanalysed;
+    private static UUID mixed;
+    private static final List<UUID> tied = new ArrayList<>();
+    private static UUID project;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        new TenantMigrationService(postgres.getPostgresDatabase(), new SyncTaskExecutor(),
+                new LocalTenantEventBus(event -> { })).migrate(SCHEMA);
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl("postgres", "postgres") + "&currentSchema=" + SCHEMA));
+        repository = new RiskScoringRepository(jdbcTemplate);
+
+        Instant now = Instant.now();
+
+        // Only the latest DECENNALE report counts; the RC_PRO type is being re-analysed, so its older report is ignored
+        reanalysed = contractor("Reanalysed");
+        attestation(reanalysed, "DECENNALE", now.minusSeconds(300), report("CRITICAL", "CRITICAL"));
+        attestation(reanalysed, "DECENNALE", now.minusSeconds(200), report("WARNING"));
+        attestation(reanalysed, "RC_PRO", now.minusSeconds(300), report("CRITICAL"));
+        attestation(reanalysed, "RC_PRO", now.minusSeconds(100), null);
+
+        mixed = contractor("Mixed");
+        attestation(mixed, "DECENNALE", now, report("CRITICAL", "WARNING"));
+
+        for (int i = 0; i < 3; i++) {
+            UUID contractor = contractor("Tied " + i);
+            attestation(contractor, "AUTO", now, report("CRITICAL"));
+            tied.add(contractor);
+        }
+        // PostgreSQL orders uuids byte by byte, as their text form; UUID.compareTo compares signed longs
+        tied.sort(Comparator.comparing(UUID::toString));
+        jdbcTemplate.update("UPDATE ai_alerts SET resolved = TRUE WHERE severity = 'CRITICAL' AND analysis_report_id IN "
+                + "(SELECT ai_analysis_report_id FROM attestations WHERE type = 'AUTO')");
+
+        contractor("Without attestation");
+
+        project = jdbcTemplate.queryForObject(
+                "INSERT INTO projects (name, address) VALUES ('Chantier', 'Paris') RETURNING id", UUID.class);
+        // The same contractor assigned twice to a project counts once
+        for (UUID contractor : List.of(reanalysed, mixed, mixed)) {
+            jdbcTemplate.update("INSERT INTO project_contractors (project_id, contractor_id) VALUES (?, ?)", project, contractor);
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void scoresLatestReportOfEachAttestationType() {
+        List<RiskScore> ranking = repository.rankContractors(null, 10);
+
+        assertEquals(List.of(mixed, tied.get(0), tied.get(1), tied.get(2), reanalysed),
+                ranking.stream().map(RiskScore::id).toList());
+
+        RiskScore top = ranking.get(0);
+        assertEquals(CRITICAL + WARNING, top.riskScore());
+        assertEquals(1, top.criticalCount());
+        assertEquals(1, top.warningCount());
+        assertEquals(1, top.unresolvedCriticalCount());
+        assertEquals(1, top.reportCount());
+
+        RiskScore last = ranking.get(4);
+        assertEquals(WARNING, last.riskScore(), "older DECENNALE report and RC_PRO under analysis ignored");
+        assertEquals(0, last.criticalCount());
+        assertEquals(1, last.reportCount());
+
+        RiskScore resolved = ranking.get(1);
+        assertEquals(CRITICAL, resolved.riskScore());
+        assertEquals(0, resolved.unresolvedCriticalCount());
+    }
+
+    @Test
+    void pagesAcrossEqualScoresWithoutGapsOrDuplicates() {
+        List<UUID> seen = new ArrayList<>();
+        KeysetCursor after = null;
+        List<RiskScore> page;
+        do {
+            page = repository.rankContractors(after, 2);
+            assertTrue(page.size() <= 2);
+            page.forEach(row -> seen.add(row.id()));
+            if (!page.isEmpty()) {
+                RiskScore lastRow = page.get(page.size() - 1);
+                after = new KeysetCursor(Long.toString(lastRow.riskScore()), lastRow.id());
+            }
+        } while (!page.isEmpty());
+
+        assertEquals(repository.rankContractors(null, 10).stream().map(RiskScore::id).toList(), seen);
+    }
+
+    @Test
+    void sumsRiskOfDistinctProjectContractors() {
+        List<RiskScore> ranking = repository.rankProjects(null, 10);
+
+        assertEquals(1, ranking.size());
+        RiskScore score = ranking.get(0);
+        assertEquals(project, score.id());
+        assertEquals(CRITICAL + 2L * WARNING, score.riskScore());
+        assertEquals(1, score.criticalCount());
+        assertEquals(2, score.warningCount());
+        assertEquals(2, score.reportCount());
+    }
+
+    @Test
+    void rejectsMalformedCursorScore() {
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.rankContractors(new KeysetCursor("high", UUID.randomUUID()), 10));
+    }
+
+    private static UUID contractor(String name) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO contractors (name, type, siret, address) VALUES (?, 'ENTREPRISE', '00000000000000', 'Paris')
+                RETURNING id
+                """, UUID.class, name);
+    }
+
+    private static UUID report(String... severities) {
+        UUID report = jdbcTemplate.queryForObject("""
+                INSERT INTO ai_analysis_reports (attestation_id, analyzed_at, status, global_score, processing_time,
+                                                 confidence, version, tenant_id)
+                VALUES (gen_random_uuid(), NOW(), 'COMPLIANT', 80, 1, 90, 'test', 'risk')
+                RETURNING id
+                """, UUID.class);
+        for (String severity : severities) {
+            jdbcTemplate.update("""
+                    INSERT INTO ai_alerts (severity, category, title, detected_at, tenant_id, analysis_report_id)
+                    VALUES (?, 'COVERAGE', 'Alerte', NOW(), 'risk', ?)
+                    """, severity, report);
+        }
+        return report;
+    }
+
+    private static void attestation(UUID contractor, String type, Instant createdAt, UUID report) {
+        jdbcTemplate.update("""
+                INSERT INTO attestations (file_name, uploaded_at, ai_status, intervenant_id, type, file_size, uploaded_by,
+                                          ai_analysis_report_id, tenant_id, created_at)
+                VALUES ('attestation.pdf', NOW(), ?, ?, ?, 1, 'test', ?, 'risk', ?)
+                """, report != null ? "COMPLIANT" : "ANALYZING", contractor, type, report,
+                Timestamp.from(createdAt));
+    }
+}
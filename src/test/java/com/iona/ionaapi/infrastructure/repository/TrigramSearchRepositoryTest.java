@@ -0,0 +1,125 @@
+package com.iona.ionaapi.infrastructure.repository;
+
+import com.iona.ionaapi.infrastructure.dto.SearchHit;
+import com.iona.ionaapi.infrastructure.migration.TenantMigrationService;
+import com.iona.ionaapi.infrastructure.tenant.LocalTenantEventBus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Name and SIRET search through a tenant connection, whose search_path holds the tenant schema only
+ * (pg_trgm lives in public)
+ */
+class TrigramSearchRepositoryTest {
+
+    private static final String SCHEMA = "tenant_search";
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static TrigramSearchRepository repository;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        new TenantMigrationService(postgres.getPostgresDatabase(), new SyncTaskExecutor(),
+                new LocalTenantEventBus(event -> { })).migrate(SCHEMA);
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl("postgres", "postgres") + "&currentSchema=" + SCHEMA));
+        repository = new TrigramSearchRepository(jdbcTemplate);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute("TRUNCATE contractors CASCADE");
+    }
+
+    @Test
+    void tenantConnectionDoesNotSeeThePublicSchema() {
+        assertEquals(SCHEMA, jdbcTemplate.queryForObject("SHOW search_path", String.class));
+        // Unqualified, the pg_trgm function is not found: the repository must use public.similarity
+        assertThrows(Exception.class, () -> jdbcTemplate.queryForObject("SELECT similarity('a', 'b')", Double.class));
+    }
+
+    @Test
+    void ranksExactNameThenTyposAndLongerNames() {
+        contractor("Eiffage Energie", "10000000000001");
+        contractor("Eifage Energie", "10000000000002");
+        contractor("Eiffage Energie Systemes Grand Est", "10000000000003");
+        contractor("Colas Rail", "10000000000004");
+
+        List<SearchHit> hits = repository.searchByName(SearchTarget.CONTRACTOR, "  eiffage   energie ", 10);
+
+        // The typo does not contain the text: it only matches through OPERATOR(public.%)
+        assertEquals(List.of("Eiffage Energie", "Eifage Energie", "Eiffage Energie Systemes Grand Est"), names(hits));
+        assertEquals(1.0, hits.get(0).score());
+        assertTrue(hits.get(1).score() >= hits.get(2).score());
+        assertEquals("10000000000001", hits.get(0).detail());
+    }
+
+    @Test
+    void shortTextMatchesInsideNames() {
+        contractor("Colas Rail", "10000000000001");
+        contractor("Bolloré Logistics", "10000000000002");
+        contractor("Vinci", "10000000000003");
+
+        assertEquals(List.of("Bolloré Logistics", "Colas Rail"),
+                names(repository.searchByName(SearchTarget.CONTRACTOR, "OL", 10)));
+        assertEquals(List.of("Bolloré Logistics"), names(repository.searchByName(SearchTarget.CONTRACTOR, "OL", 1)));
+    }
+
+    @Test
+    void escapesLikeWildcards() {
+        contractor("100% Bois", "10000000000001");
+        contractor("A_B Couverture", "10000000000002");
+        contractor("AXB Couverture", "10000000000003");
+
+        assertEquals(List.of("100% Bois"), names(repository.searchByName(SearchTarget.CONTRACTOR, "%", 10)));
+        assertEquals(List.of("A_B Couverture"), names(repository.searchByName(SearchTarget.CONTRACTOR, "_", 10)));
+
+        List<String> trigramHits = names(repository.searchByName(SearchTarget.CONTRACTOR, "a_b", 10));
+        assertTrue(trigramHits.contains("A_B Couverture"));
+        assertFalse(trigramHits.contains("AXB Couverture"));
+    }
+
+    @Test
+    void findsSiretsByPrefixIgnoringSpaces() {
+        contractor("Alpha", "12345678900011");
+        contractor("Beta", "12345999900022");
+        contractor("Gamma", "99945678900033");
+
+        List<SearchHit> hits = repository.searchBySiretPrefix(SearchTarget.CONTRACTOR, "123 45", 10);
+        assertEquals(List.of("12345678900011", "12345999900022"), hits.stream().map(SearchHit::detail).toList());
+        assertEquals(List.of("Alpha"), names(repository.searchBySiretPrefix(SearchTarget.CONTRACTOR, "1234567", 10)));
+        assertTrue(repository.searchBySiretPrefix(SearchTarget.CONTRACTOR, "5", 10).isEmpty());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.searchBySiretPrefix(SearchTarget.CONTRACTOR, "12%", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.searchBySiretPrefix(SearchTarget.PROJECT, "123", 10));
+    }
+
+    private static void contractor(String name, String siret) {
+        jdbcTemplate.update("INSERT INTO contractors (id, name, type, siret, address) VALUES (?, ?, 'SUBCONTRACTOR', ?, 'Lyon')",
+                UUID.randomUUID(), name, siret);
+    }
+
+    private static List<String> names(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::name).toList();
+    }
+}
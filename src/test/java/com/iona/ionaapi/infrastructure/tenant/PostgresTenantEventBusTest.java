@@ -0,0 +1,82 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgresTenantEventBusTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void deliversPublishedEventToOtherNodeOnly() throws Exception {
+        BlockingQueue<Object> receivedByA = new LinkedBlockingQueue<>();
+        BlockingQueue<Object> receivedByB = new LinkedBlockingQueue<>();
+        PostgresTenantEventBus nodeA = bus(receivedByA);
+        PostgresTenantEventBus nodeB = bus(receivedByB);
+        try {
+            nodeA.start();
+            nodeB.start();
+            awaitListeners(2);
+
+            nodeA.publish(TenantEventType.CREATED, "axa-assurance");
+
+            // Le noeud émetteur traite l'événement localement, sans le recevoir une seconde fois par NOTIFY
+            TenantEvent local = (TenantEvent) receivedByA.poll(5, TimeUnit.SECONDS);
+            assertEquals(new TenantEvent(TenantEventType.CREATED, "axa-assurance", nodeA.getNodeId()), local);
+
+            TenantEvent remote = (TenantEvent) receivedByB.poll(5, TimeUnit.SECONDS);
+            assertEquals(new TenantEvent(TenantEventType.CREATED, "axa-assurance", nodeA.getNodeId()), remote);
+
+            Thread.sleep(700);
+            assertTrue(receivedByA.isEmpty());
+            assertTrue(receivedByB.isEmpty());
+        } finally {
+            nodeA.stop();
+            nodeB.stop();
+        }
+    }
+
+    private static PostgresTenantEventBus bus(BlockingQueue<Object> received) {
+        PostgresTenantEventBus bus = new PostgresTenantEventBus(
+                new JdbcTemplate(postgres.getPostgresDatabase()), received::add);
+        ReflectionTestUtils.setField(bus, "databaseUrl", postgres.getJdbcUrl("postgres", "postgres"));
+        ReflectionTestUtils.setField(bus, "databaseUsername", "postgres");
+        ReflectionTestUtils.setField(bus, "databasePassword", "postgres");
+        return bus;
+    }
+
+    private static void awaitListeners(int expected) throws InterruptedException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer listening = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE query = 'LISTEN " + PostgresTenantEventBus.CHANNEL + "'",
+                    Integer.class);
+            if (listening != null && listening >= expected) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Les noeuds n'écoutent pas le canal " + PostgresTenantEventBus.CHANNEL);
+    }
+}
@@ -0,0 +1,193 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantAwareExecutorTest {
+
+    // Exécuteur manuel : les tâches sont lancées explicitement par le test
+    private final List<Runnable> submitted = new ArrayList<>();
+    private final TenantAwareExecutor executor = new TenantAwareExecutor(submitted::add, 2, 10);
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void limitsConcurrentTasksPerTenantAndPropagatesTenant() {
+        List<String> seenTenants = new ArrayList<>();
+
+        TenantContext.setTenant("axa-assurance");
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> seenTenants.add(TenantContext.getTenant()));
+        }
+        TenantContext.setTenant("bouygues");
+        executor.execute(() -> seenTenants.add(TenantContext.getTenant()));
+        TenantContext.clear();
+
+        // 2 tâches axa lancées (limite), 1 en attente ; bouygues n'est pas bloqué
+        assertEquals(3, submitted.size());
+        assertEquals(2, executor.getRunning("axa-assurance"));
+        assertEquals(1, executor.getPending("axa-assurance"));
+
+        submitted.remove(0).run();
+
+        // Le worker axa enchaîne la tâche en attente sans repasser par l'exécuteur délégué
+        assertEquals(2, submitted.size());
+        assertEquals(0, executor.getPending("axa-assurance"));
+        assertEquals(1, executor.getRunning("axa-assurance"));
+
+        while (!submitted.isEmpty()) {
+            submitted.remove(0).run();
+        }
+        assertEquals(List.of("axa-assurance", "axa-assurance", "axa-assurance", "bouygues"), seenTenants);
+        assertEquals(0, executor.getRunning("axa-assurance"));
+        assertNull(TenantContext.getTenant());
+    }
+
+    @Test
+    void rejectedTaskIsNeitherQueuedNorCounted() {
+        TenantAwareExecutor saturated = new TenantAwareExecutor(task -> {
+            throw new RejectedExecutionException("saturé");
+        }, 2, 10);
+
+        TenantContext.setTenant("axa-assurance");
+        assertThrows(RejectedExecutionException.class, () -> saturated.execute(() -> { }));
+
+        assertEquals(0, saturated.getPending("axa-assurance"));
+        assertEquals(0, saturated.getRunning("axa-assurance"));
+    }
+
+    @Test
+    void workerKeepsDrainingAfterFailingTask() {
+        List<String> done = new ArrayList<>();
+
+        TenantAwareExecutor single = new TenantAwareExecutor(submitted::add, 1, 10);
+        single.execute(() -> {
+            throw new IllegalStateException("échec");
+        });
+        single.execute(() -> done.add("suivante"));
+
+        submitted.remove(0).run();
+
+        assertEquals(List.of("suivante"), done);
+        assertTrue(submitted.isEmpty());
+        assertEquals(0, single.getRunning(""));
+    }
+
+    @Test
+    void rejectsTaskBeyondTenantQueueCapacity() {
+        TenantAwareExecutor bounded = new TenantAwareExecutor(submitted::add, 1, 1);
+
+        TenantContext.setTenant("axa-assurance");
+        bounded.execute(() -> { });
+        bounded.execute(() -> { });
+        assertThrows(RejectedExecutionException.class, () -> bounded.execute(() -> { }));
+
+        assertEquals(1, bounded.getRunning("axa-assurance"));
+        assertEquals(1, bounded.getPending("axa-assurance"));
+    }
+
+    @Test
+    void queuedTasksRunEvenOnceDelegateIsSaturated() {
+        boolean[] saturated = {false};
+        List<String> done = new ArrayList<>();
+        TenantAwareExecutor single = new TenantAwareExecutor(task -> {
+            if (saturated[0]) {
+                throw new RejectedExecutionException("saturé");
+            }
+            submitted.add(task);
+        }, 1, 10);
+
+        TenantContext.setTenant("axa-assurance");
+        single.execute(() -> done.add("1"));
+        single.execute(() -> done.add("2"));
+        single.execute(() -> done.add("3"));
+        saturated[0] = true;
+
+        submitted.remove(0).run();
+
+        assertEquals(List.of("1", "2", "3"), done);
+        assertEquals(0, single.getRunning("axa-assurance"));
+        assertEquals(0, single.getPending("axa-assurance"));
+    }
+
+    @Test
+    void delegateRejectingWhileAnotherTaskWaitsLeavesNoStrandedTask() {
+        TenantAwareExecutor[] executorRef = new TenantAwareExecutor[1];
+        List<Throwable> concurrentFailures = new ArrayList<>();
+        executorRef[0] = new TenantAwareExecutor(task -> {
+            // Soumission concurrente pendant le démarrage du worker : aucun worker n'est encore garanti
+            try {
+                executorRef[0].execute(() -> { });
+            } catch (RejectedExecutionException e) {
+                concurrentFailures.add(e);
+            }
+            throw new RejectedExecutionException("saturé");
+        }, 1, 10);
+
+        TenantContext.setTenant("axa-assurance");
+        assertThrows(RejectedExecutionException.class, () -> executorRef[0].execute(() -> { }));
+
+        assertEquals(1, concurrentFailures.size(), "the waiting task is rejected, not left without a worker");
+        assertEquals(0, executorRef[0].getPending("axa-assurance"));
+        assertEquals(0, executorRef[0].getRunning("axa-assurance"));
+    }
+
+    @Test
+    void everyAcceptedTaskRunsUnderConcurrentSubmissions() throws Exception {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(3, 3, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        TenantAwareExecutor concurrent = new TenantAwareExecutor(pool, 2, 5);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger executed = new AtomicInteger();
+        ExecutorService submitters = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int s = 0; s < 8; s++) {
+                String tenant = "tenant-" + (s % 2);
+                futures.add(submitters.submit(() -> {
+                    TenantContext.setTenant(tenant);
+                    for (int i = 0; i < 500; i++) {
+                        try {
+                            concurrent.execute(executed::incrementAndGet);
+                            accepted.incrementAndGet();
+                        } catch (RejectedExecutionException e) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    TenantContext.clear();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (executed.get() < accepted.get() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertEquals(accepted.get(), executed.get());
+            for (String tenant : List.of("tenant-0", "tenant-1")) {
+                assertEquals(0, concurrent.getPending(tenant));
+                assertEquals(0, concurrent.getRunning(tenant));
+            }
+        } finally {
+            submitters.shutdownNow();
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantExistenceCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TenantExistenceCache cache(int maxSize) {
+        return new TenantExistenceCache(maxSize, 10_000, 1_000, meterRegistry, now::get);
+    }
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    void negativeEntriesExpireBeforePositiveOnes() {
+        TenantExistenceCache cache = cache(10);
+        cache.put("tenant_a", true);
+        cache.put("tenant_b", false);
+
+        advanceMillis(2_000);
+
+        assertEquals(Boolean.TRUE, cache.get("tenant_a"));
+        assertNull(cache.get("tenant_b"));
+
+        advanceMillis(10_000);
+        assertNull(cache.get("tenant_a"));
+    }
+
+    @Test
+    void staysWithinSizeBound() {
+        TenantExistenceCache cache = cache(2);
+        cache.put("tenant_a", true);
+        cache.put("tenant_b", false);
+        cache.put("tenant_c", true);
+
+        assertEquals(2, cache.size());
+        // L'entrée négative expire la première, c'est donc elle qui est évincée
+        assertNull(cache.get("tenant_b"));
+        assertEquals(1.0, meterRegistry.counter("iona.tenant.cache.evictions").count());
+    }
+
+    @Test
+    void fullCacheIsSweptInOneBatch() {
+        TenantExistenceCache cache = cache(20);
+        for (int i = 0; i < 20; i++) {
+            cache.put("tenant_" + i, true);
+        }
+        advanceMillis(5_000);
+        cache.put("tenant_fresh", true);
+
+        // Une purge libère 10 % de la taille : les insertions suivantes n'en déclenchent pas
+        assertEquals(19, cache.size());
+        assertEquals(2.0, meterRegistry.counter("iona.tenant.cache.evictions").count());
+        cache.put("tenant_next", true);
+        assertEquals(20, cache.size());
+        assertEquals(2.0, meterRegistry.counter("iona.tenant.cache.evictions").count());
+        assertEquals(Boolean.TRUE, cache.get("tenant_fresh"));
+    }
+
+    @Test
+    void expiredEntriesAreSweptBeforeLiveOnes() {
+        TenantExistenceCache cache = cache(4);
+        cache.put("tenant_old", true);
+        advanceMillis(6_000);
+        cache.put("tenant_a", true);
+        cache.put("tenant_b", true);
+        cache.put("tenant_c", true);
+        advanceMillis(5_000);
+
+        cache.put("tenant_d", true);
+
+        assertEquals(4, cache.size());
+        assertNull(cache.get("tenant_old"));
+        assertEquals(Boolean.TRUE, cache.get("tenant_a"));
+        assertEquals(Boolean.TRUE, cache.get("tenant_d"));
+    }
+
+    @Test
+    void countsHitsAndMissesAndSupportsInvalidation() {
+        TenantExistenceCache cache = cache(10);
+        cache.put("tenant_a", true);
+
+        cache.get("tenant_a");
+        cache.invalidate("tenant_a");
+        cache.get("tenant_a");
+
+        assertEquals(1.0, meterRegistry.counter("iona.tenant.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("iona.tenant.cache", "result", "miss").count());
+    }
+}
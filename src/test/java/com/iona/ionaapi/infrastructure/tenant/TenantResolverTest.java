@@ -0,0 +1,112 @@
+package com.iona.ionaapi.infrastructure.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantResolverTest {
+
+    @AfterEach
+    void tearDown() {
+        TenantResolver.clearCache();
+    }
+
+    @Test
+    void validatesTenantIdFormat() {
+        assertTrue(TenantResolver.isValidTenantId("axa-assurance"));
+        assertTrue(TenantResolver.isValidTenantId("  courtier_lacroix  "));
+        assertTrue(TenantResolver.isValidTenantId("a".repeat(50)));
+
+        assertFalse(TenantResolver.isValidTenantId(null));
+        assertFalse(TenantResolver.isValidTenantId("   "));
+        assertFalse(TenantResolver.isValidTenantId("ab"));
+        assertFalse(TenantResolver.isValidTenantId("a".repeat(51)));
+        assertFalse(TenantResolver.isValidTenantId("axa assurance"));
+        assertFalse(TenantResolver.isValidTenantId("axa.assurance"));
+        assertFalse(TenantResolver.isValidTenantId("société"));
+    }
+
+    @Test
+    void resolvesSchemaNameLikePreviousRegexRules() {
+        assertEquals("public", TenantResolver.resolveSchemaName(null));
+        assertEquals("public", TenantResolver.resolveSchemaName("  "));
+        assertEquals("tenant_axa-assurance", TenantResolver.resolveSchemaName("AXA-Assurance"));
+        assertEquals("tenant_a_b", TenantResolver.resolveSchemaName("a..__b"));
+        assertEquals("tenant_default", TenantResolver.resolveSchemaName("default"));
+        // Le préfixe n'est pas dupliqué
+        assertEquals("tenant_bouygues", TenantResolver.resolveSchemaName("tenant_bouygues"));
+    }
+
+    @Test
+    void cachesResolutionPerRawTenantId() {
+        TenantResolver.Resolution first = TenantResolver.resolve(" axa-assurance ");
+        TenantResolver.Resolution second = TenantResolver.resolve(" axa-assurance ");
+
+        assertSame(first, second);
+        assertEquals("axa-assurance", first.tenantId());
+        assertEquals("tenant_axa-assurance", first.schemaName());
+        assertTrue(first.valid());
+        assertNull(TenantResolver.resolve(null));
+    }
+
+    @Test
+    void doesNotCacheInvalidTenantIds() {
+        TenantResolver.Resolution first = TenantResolver.resolve("axa assurance");
+        TenantResolver.Resolution second = TenantResolver.resolve("axa assurance");
+
+        assertFalse(first.valid());
+        assertNotSame(first, second);
+        assertEquals(0, TenantResolver.cacheSize());
+    }
+
+    @Test
+    void staysBoundedBeyondCapacity() {
+        for (int i = 0; i < TenantResolver.MAX_CACHED_ENTRIES; i++) {
+            TenantResolver.resolve("tenant-" + i);
+        }
+        assertEquals(TenantResolver.MAX_CACHED_ENTRIES, TenantResolver.cacheSize());
+
+        TenantResolver.Resolution overflow = TenantResolver.resolve("tenant-overflow");
+        assertEquals(TenantResolver.MAX_CACHED_ENTRIES, TenantResolver.cacheSize());
+        assertSame(overflow, TenantResolver.resolve("tenant-overflow"));
+
+        // Une résolution évincée est recalculée à l'identique
+        for (int i = 0; i < TenantResolver.MAX_CACHED_ENTRIES; i++) {
+            assertEquals("tenant-" + i, TenantResolver.resolve("tenant-" + i).tenantId());
+        }
+        assertEquals(TenantResolver.MAX_CACHED_ENTRIES, TenantResolver.cacheSize());
+    }
+
+    @Test
+    void concurrentResolutionsShareOneCachedEntry() throws Exception {
+        int threads = 8;
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<TenantResolver.Resolution>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    go.await();
+                    return TenantResolver.resolve("axa-assurance");
+                }));
+            }
+            go.countDown();
+
+            TenantResolver.Resolution first = results.get(0).get();
+            for (Future<TenantResolver.Resolution> result : results) {
+                assertSame(first, result.get());
+            }
+            assertEquals(1, TenantResolver.cacheSize());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
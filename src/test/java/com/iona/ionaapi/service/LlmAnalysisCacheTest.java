@@ -0,0 +1,97 @@
+package com.iona.ionaapi.service;
+
+import com.iona.ionaapi.infrastructure.migration.PublicMigrations;
+import com.iona.ionaapi.infrastructure.migration.SchemaMigrationResult;
+import com.iona.ionaapi.infrastructure.migration.TenantMigrationService;
+import com.iona.ionaapi.infrastructure.tenant.LocalTenantEventBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmAnalysisCacheTest {
+
+    private static final String RESULT = "{\"companyName\":\"AXA\"}";
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        SchemaMigrationResult migration = new TenantMigrationService(dataSource, new SyncTaskExecutor(),
+                new LocalTenantEventBus(event -> { })).migratePublic();
+        assertTrue(migration.isSuccess(), migration.error());
+        assertEquals(PublicMigrations.latestVersion(), migration.toVersion());
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void servesRepeatedAnalysisFromMemory() {
+        LlmAnalysisCache cache = cache("mistral-small-latest", false);
+        String key = cache.keyFor("v1", null, "Attestation AXA  ");
+
+        assertEquals(Optional.empty(), cache.get(key));
+        cache.put(key, "v1", RESULT);
+
+        assertEquals(Optional.of(RESULT), cache.get(key));
+        // Les espaces de bordure du texte extrait ne changent pas la clé
+        assertEquals(key, cache.keyFor("v1", null, "Attestation AXA"));
+    }
+
+    @Test
+    void missesAfterModelOrPromptChange() {
+        LlmAnalysisCache small = cache("mistral-small-latest", false);
+        LlmAnalysisCache large = cache("mistral-large-latest", false);
+        String key = small.keyFor("v1", null, "Attestation AXA");
+        small.put(key, "v1", RESULT);
+
+        assertNotEquals(key, large.keyFor("v1", null, "Attestation AXA"));
+        assertNotEquals(key, small.keyFor("v2", null, "Attestation AXA"));
+        assertNotEquals(key, small.keyFor("v1", "Vérifier la franchise", "Attestation AXA"));
+        assertEquals(Optional.empty(), small.get(small.keyFor("v2", null, "Attestation AXA")));
+    }
+
+    @Test
+    void stubProviderNeverSharesKeysWithMistral() {
+        LlmAnalysisCache mistral = cache("mistral-small-latest", false);
+        LlmAnalysisCache stub = new LlmAnalysisCache(dataSource, "stub", "mistral-small-latest", 100, false,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+        assertNotEquals(mistral.keyFor("v1", null, "Attestation AXA"), stub.keyFor("v1", null, "Attestation AXA"));
+    }
+
+    @Test
+    void persistentTierSurvivesNewInstance() {
+        LlmAnalysisCache first = cache("mistral-small-latest", true);
+        String key = first.keyFor("v1", null, "Attestation persistante");
+        first.put(key, "v1", RESULT);
+
+        // Nouvelle instance (autre noeud ou redémarrage) : mémoire vide, lecture depuis la table partagée
+        LlmAnalysisCache second = cache("mistral-small-latest", true);
+        assertEquals(0, second.memorySize());
+        Optional<String> loaded = second.get(key);
+
+        assertTrue(loaded.isPresent());
+        assertEquals(RESULT, loaded.get().replace(" ", ""));
+        assertEquals(1, second.memorySize());
+    }
+
+    private static LlmAnalysisCache cache(String modelName, boolean persistent) {
+        return new LlmAnalysisCache(dataSource, "mistral", modelName, 100, persistent,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+}
@@ -0,0 +1,51 @@
+package com.iona.ionaapi.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Embedded PostgreSQL shared by the Spring context tests of a JVM run
+ */
+public final class EmbeddedPostgresContext {
+
+    private static EmbeddedPostgres postgres;
+
+    private EmbeddedPostgresContext() {
+    }
+
+    public static synchronized EmbeddedPostgres postgres() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // JVM shutdown
+                }
+            }));
+        }
+        return postgres;
+    }
+
+    /**
+     * Points the application datasource at the embedded database and runs the analysis pipeline offline
+     * Hibernate statistics and the statement recorder are on, so tests can count the SQL of a unit of work
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres().getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("iona.llm.provider", () -> "stub");
+        registry.add("iona.tenant.events.bus", () -> "local");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                RecordingStatementInspector.class::getName);
+    }
+}